@@ -60,8 +60,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 public class MetadataExposureServiceImpl implements MetadataExposureService {
     protected Logger log = org.apache.logging.log4j.LogManager.getLogger(MetadataExposureServiceImpl.class);
 
-    protected Map<String, Set<String>> hiddenElementSets = null;
-    protected Map<String, Map<String, Set<String>>> hiddenElementMaps = null;
+    // Both maps are only assigned once they are complete, the sets last as they tell whether the maps are loaded.
+    // They are volatile so that the threads which don't go through the synchronized init() see them complete.
+    protected volatile Map<String, Set<String>> hiddenElementSets = null;
+    protected volatile Map<String, Map<String, Set<String>>> hiddenElementMaps = null;
 
     protected final String CONFIG_PREFIX = "metadata.hide.";
 
@@ -124,8 +126,8 @@ public class MetadataExposureServiceImpl implements MetadataExposureService {
      */
     protected synchronized void init() {
         if (!isInitialized()) {
-            hiddenElementSets = new HashMap<>();
-            hiddenElementMaps = new HashMap<>();
+            Map<String, Set<String>> hiddenElementSets = new HashMap<>();
+            Map<String, Map<String, Set<String>>> hiddenElementMaps = new HashMap<>();
 
             List<String> propertyKeys = configurationService.getPropertyKeys();
             for (String key : propertyKeys) {
@@ -157,6 +159,8 @@ public class MetadataExposureServiceImpl implements MetadataExposureService {
                     }
                 }
             }
+            this.hiddenElementMaps = hiddenElementMaps;
+            this.hiddenElementSets = hiddenElementSets;
         }
     }
 }
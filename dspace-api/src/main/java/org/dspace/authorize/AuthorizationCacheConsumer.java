@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.GroupClosureIndex;
+import org.dspace.event.Consumer;
+import org.dspace.event.Event;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * This consumer invalidates the decisions of the {@link AuthorizationDecisionCache} affected by the changes of a
+ * Context.
+ * <p>
+ * Changes to items, bundles and bitstreams (including their resource policies, which mark them modified) only
+ * invalidate the decisions about these objects and the objects they own, as do items moving in or out of a
+ * collection. Changes to communities and collections, including moving them, are inherited by everything they
+ * contain, and changes to group memberships affect all users, so these invalidate all decisions.
+ * <p>
+ * Changes to groups also discard the closure of the group memberships held by the {@link GroupClosureIndex}.
+ */
+public class AuthorizationCacheConsumer implements Consumer {
+
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
+    private GroupClosureIndex groupClosureIndex;
+
+    // When true all decisions will be invalidated.
+    private boolean invalidateAll = false;
+
+    // When true the closure of the group memberships will be discarded.
+    private boolean groupsChanged = false;
+
+    // Collects the objects whose decisions will be invalidated.
+    private final Set<UUID> toInvalidate = new HashSet<>();
+
+    @Override
+    public void initialize() throws Exception {
+        authorizationDecisionCache = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(AuthorizationDecisionCache.class.getName(), AuthorizationDecisionCache.class);
+        groupClosureIndex = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(GroupClosureIndex.class.getName(), GroupClosureIndex.class);
+    }
+
+    @Override
+    public void consume(Context ctx, Event event) throws Exception {
+        switch (event.getSubjectType()) {
+            case Constants.COMMUNITY:
+            case Constants.COLLECTION:
+                if ((event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE)
+                    && event.getObjectType() == Constants.ITEM) {
+                    // an item moved in or out of the collection
+                    addToInvalidate(event.getObjectID());
+                } else if (event.getEventType() == Event.ADD || event.getEventType() == Event.REMOVE) {
+                    // a collection or community moved in or out of the container: everything it contains inherits
+                    // from its new parents, and the decisions about it aren't scoped to it
+                    invalidateAll = true;
+                } else if (event.getEventType() == Event.MODIFY || event.getEventType() == Event.DELETE) {
+                    invalidateAll = true;
+                }
+                break;
+            case Constants.GROUP:
+                if (event.getEventType() != Event.CREATE) {
+                    invalidateAll = true;
+                    groupsChanged = true;
+                }
+                break;
+            case Constants.ITEM:
+            case Constants.BUNDLE:
+            case Constants.BITSTREAM:
+                addToInvalidate(event.getSubjectID());
+                addToInvalidate(event.getObjectID());
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void end(Context ctx) throws Exception {
+        if (groupsChanged && groupClosureIndex != null) {
+            // the changes are dispatched before they're committed: a snapshot loaded in between would still hold
+            // the previous memberships, so it's discarded again once they're committed
+            groupClosureIndex.invalidate();
+            ctx.afterCommit(groupClosureIndex::invalidate);
+        }
+        if (authorizationDecisionCache != null && authorizationDecisionCache.isEnabled()) {
+            if (invalidateAll) {
+                authorizationDecisionCache.invalidateAll();
+            } else {
+                toInvalidate.forEach(authorizationDecisionCache::invalidate);
+            }
+        }
+        invalidateAll = false;
+        groupsChanged = false;
+        toInvalidate.clear();
+    }
+
+    @Override
+    public void finish(Context ctx) throws Exception {
+    }
+
+    private void addToInvalidate(UUID id) {
+        if (id != null) {
+            toInvalidate.add(id);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Authorization decisions shared by all Contexts, so that the same decision doesn't have to be computed again for
+ * every request. Unlike the read-only cache of a {@link org.dspace.core.Context}, this cache outlives the Context.
+ * <p>
+ * A decision is cached for the user, the special groups of the Context, the object and the action. It is valid
+ * until its time to live has passed or the object, or the item (or container) owning it, is invalidated by
+ * {@link AuthorizationCacheConsumer}. Changes to group memberships invalidate all decisions. Because the events are
+ * dispatched right before the changes are committed to the database, an invalidation also rejects the decisions
+ * computed during the following settle time, which could still have read the old state.
+ * <p>
+ * The cache is bounded: when it's full, the expired and invalidated decisions are removed and, if that isn't enough,
+ * all decisions are dropped.
+ */
+public class AuthorizationDecisionCache {
+
+    private static final Logger log = LogManager.getLogger(AuthorizationDecisionCache.class);
+
+    public static final String ENABLED_PROPERTY = "core.authorization.cache.enabled";
+    public static final String MAX_ENTRIES_PROPERTY = "core.authorization.cache.max-entries";
+    public static final String TTL_PROPERTY = "core.authorization.cache.ttl";
+    public static final String SETTLE_TIME_PROPERTY = "core.authorization.cache.settle-time";
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    private final LongSupplier clock;
+
+    private final Map<Key, Decision> decisions = new ConcurrentHashMap<>();
+    /**
+     * For each invalidated object, the time until which decisions about it are invalid
+     */
+    private final Map<UUID, Long> invalidUntil = new ConcurrentHashMap<>();
+    private volatile long allInvalidUntil = Long.MIN_VALUE;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public AuthorizationDecisionCache() {
+        this(System::currentTimeMillis);
+    }
+
+    AuthorizationDecisionCache(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether decisions should be shared through this cache
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * @return the current time of this cache, in milliseconds. Pass the time at which the computation of a decision
+     * started to {@link #put(Key, long, boolean, UUID)}.
+     */
+    public long currentTime() {
+        return clock.getAsLong();
+    }
+
+    /**
+     * Get the cached decision.
+     *
+     * @param key the user, groups, object and action of the decision
+     * @return the decision, or null if no valid decision is cached
+     */
+    public Boolean get(Key key) {
+        Decision decision = decisions.get(key);
+        if (decision != null && isValid(key, decision, currentTime())) {
+            hits.increment();
+            return decision.authorized();
+        }
+        if (decision != null) {
+            decisions.remove(key, decision);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Cache a decision. It's ignored when the object was invalidated after the computation of the decision started.
+     *
+     * @param key        the user, groups, object and action of the decision
+     * @param computedAt the time at which the computation of the decision started, see {@link #currentTime()}
+     * @param authorized the decision
+     * @param scope      the item or container owning the object, whose invalidation also invalidates the decision,
+     *                   can be null
+     */
+    public void put(Key key, long computedAt, boolean authorized, UUID scope) {
+        Decision decision = new Decision(authorized, computedAt, computedAt + getTimeToLive(), scope);
+        if (!isValid(key, decision, computedAt)) {
+            return;
+        }
+        if (decisions.size() >= getMaxEntries()) {
+            prune();
+        }
+        decisions.put(key, decision);
+    }
+
+    /**
+     * Invalidate the decisions about the object, and about the objects it owns.
+     *
+     * @param id the id of the object
+     */
+    public void invalidate(UUID id) {
+        long until = currentTime() + getSettleTime();
+        invalidUntil.merge(id, until, Math::max);
+        invalidations.increment();
+        if (invalidUntil.size() >= getMaxEntries()) {
+            invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidate all decisions.
+     */
+    public void invalidateAll() {
+        allInvalidUntil = currentTime() + getSettleTime();
+        decisions.clear();
+        invalidUntil.clear();
+        invalidations.increment();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    public int size() {
+        return decisions.size();
+    }
+
+    private boolean isValid(Key key, Decision decision, long now) {
+        if (now >= decision.expiresAt() || decision.computedAt() <= allInvalidUntil) {
+            return false;
+        }
+        Long objectInvalidUntil = invalidUntil.get(key.object());
+        if (objectInvalidUntil != null && decision.computedAt() <= objectInvalidUntil) {
+            return false;
+        }
+        if (decision.scope() != null) {
+            Long scopeInvalidUntil = invalidUntil.get(decision.scope());
+            return scopeInvalidUntil == null || decision.computedAt() > scopeInvalidUntil;
+        }
+        return true;
+    }
+
+    /**
+     * Remove the expired and invalidated decisions, and drop all decisions if the cache is still too full.
+     */
+    private void prune() {
+        long now = currentTime();
+        decisions.entrySet().removeIf(entry -> !isValid(entry.getKey(), entry.getValue(), now));
+        // decisions computed before an invalidation have expired once the time to live has passed
+        long expired = now - getTimeToLive();
+        invalidUntil.values().removeIf(until -> until < expired);
+        if (decisions.size() >= getMaxEntries() * 9L / 10) {
+            log.debug("The authorization decision cache is full, dropping {} decisions", decisions.size());
+            decisions.clear();
+        }
+    }
+
+    private int getMaxEntries() {
+        return Math.max(1, configurationService.getIntProperty(MAX_ENTRIES_PROPERTY, 100000));
+    }
+
+    private long getTimeToLive() {
+        return configurationService.getLongProperty(TTL_PROPERTY, 300) * 1000;
+    }
+
+    private long getSettleTime() {
+        return configurationService.getLongProperty(SETTLE_TIME_PROPERTY, 5) * 1000;
+    }
+
+    void setConfigurationService(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * The user, the special groups of the Context, the object and the action a decision is about. The user is null
+     * for anonymous access.
+     */
+    public record Key(UUID eperson, Set<UUID> specialGroups, UUID object, int action) {
+    }
+
+    private record Decision(boolean authorized, long computedAt, long expiresAt, UUID scope) {
+    }
+}
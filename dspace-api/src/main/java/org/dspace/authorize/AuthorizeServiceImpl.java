@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -88,6 +89,8 @@ public class AuthorizeServiceImpl implements AuthorizeService {
     private SearchService searchService;
     @Autowired(required = true)
     private ConfigurationService configurationService;
+    @Autowired(required = true)
+    protected AuthorizationDecisionCache authorizationDecisionCache;
 
 
     protected AuthorizeServiceImpl() {
@@ -256,6 +259,62 @@ public class AuthorizeServiceImpl implements AuthorizeService {
             return cachedResult;
         }
 
+        // If the decision was made before by another context
+        AuthorizationDecisionCache.Key key = useInheritance ? getSharedCacheKey(c, o, action, e) : null;
+        if (key == null) {
+            return checkPolicies(c, o, action, e, useInheritance);
+        }
+        Boolean sharedResult = authorizationDecisionCache.get(key);
+        if (sharedResult != null) {
+            return sharedResult;
+        }
+        long computedAt = authorizationDecisionCache.currentTime();
+        boolean authorized = checkPolicies(c, o, action, e, useInheritance);
+        authorizationDecisionCache.put(key, computedAt, authorized, getInvalidationScope(c, o));
+        return authorized;
+    }
+
+    /**
+     * Get the key of the decision in the shared {@link AuthorizationDecisionCache}, if it can be shared. Decisions
+     * can't be shared when the context has changes which aren't committed yet, or when authorizing another user
+     * than the current user of the context, whose special groups are unknown.
+     *
+     * @return the key, or null if the decision shouldn't be shared
+     */
+    protected AuthorizationDecisionCache.Key getSharedCacheKey(Context c, DSpaceObject o, int action, EPerson e) {
+        if (!authorizationDecisionCache.isEnabled() || c.hasEvents()) {
+            return null;
+        }
+        UUID epersonId = e == null ? null : e.getID();
+        UUID currentUserId = c.getCurrentUser() == null ? null : c.getCurrentUser().getID();
+        if (!Objects.equals(epersonId, currentUserId)) {
+            return null;
+        }
+        return new AuthorizationDecisionCache.Key(epersonId, Set.copyOf(c.getSpecialGroupUuids()), o.getID(), action);
+    }
+
+    /**
+     * Get the object owning the given object, whose changes also affect the decisions about the given object: the
+     * item or container of a bitstream, or the item of a bundle.
+     *
+     * @return the id of the owning object, or null
+     */
+    protected UUID getInvalidationScope(Context c, DSpaceObject o) throws SQLException {
+        DSpaceObject parent = null;
+        if (o instanceof Bitstream) {
+            parent = bitstreamService.getParentObject(c, (Bitstream) o);
+        } else if (o instanceof Bundle && !((Bundle) o).getItems().isEmpty()) {
+            parent = ((Bundle) o).getItems().get(0);
+        }
+        return parent == null ? null : parent.getID();
+    }
+
+    /**
+     * Check the policies of the object to decide whether the user can perform the action, see
+     * {@link #authorize(Context, DSpaceObject, int, EPerson, boolean)}.
+     */
+    protected boolean checkPolicies(Context c, DSpaceObject o, int action, EPerson e, boolean useInheritance)
+        throws SQLException {
         // is eperson set? if not, userToCheck = null (anonymous)
         EPerson userToCheck = null;
         if (e != null) {
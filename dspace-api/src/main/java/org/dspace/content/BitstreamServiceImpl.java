@@ -7,6 +7,7 @@
  */
 package org.dspace.content;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -307,6 +308,14 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamStorageService.retrieve(context, bitstream);
     }
 
+    @Override
+    public File retrieveFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException {
+        authorizeService.authorizeAction(context, bitstream, Constants.READ);
+
+        return bitstreamStorageService.retrieveFile(context, bitstream);
+    }
+
     @Override
     public boolean isRegisteredBitstream(Bitstream bitstream) {
         return bitstreamStorageService.isRegisteredBitstream(bitstream.getInternalId());
@@ -358,6 +367,17 @@ public class BitstreamServiceImpl extends DSpaceObjectServiceImpl<Bitstream> imp
         return bitstreamDAO.findDuplicateInternalIdentifier(context, bitstream);
     }
 
+    @Override
+    public int countDuplicateInternalIdentifier(Context context, Bitstream bitstream, int storeNumber)
+        throws SQLException {
+        return bitstreamDAO.countDuplicateInternalIdentifier(context, bitstream, storeNumber);
+    }
+
+    @Override
+    public List<Bitstream> findByContent(Context context, Bitstream bitstream, int limit) throws SQLException {
+        return bitstreamDAO.findByContent(context, bitstream, limit);
+    }
+
     @Override
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException {
         return bitstreamDAO.findByItem(context, item);
@@ -503,7 +503,8 @@ public class BundleServiceImpl extends DSpaceObjectServiceImpl<Bundle> implement
 
     @Override
     public void updateLastModified(Context context, Bundle dso) {
-        //No implemented for bundle
+        //Bundles have no last modified date, but fire a modified event since the bundle HAS been modified
+        context.addEvent(new Event(Event.MODIFY, Constants.BUNDLE, dso.getID(), null, getIdentifiers(context, dso)));
     }
 
     @Override
@@ -356,6 +356,34 @@ public class ItemServiceImpl extends DSpaceObjectServiceImpl<Item> implements It
         return itemDAO.findAllRegularItems(context);
     }
 
+    @Override
+    public Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound)
+        throws SQLException {
+        return itemDAO.findAllRegularItems(context, lowerBound, upperBound);
+    }
+
+    @Override
+    public int countAllRegularItems(Context context) throws SQLException {
+        return itemDAO.countAllRegularItems(context);
+    }
+
+    @Override
+    public Map<UUID, Instant> findRegularItemsLastModified(Context context, UUID after, int limit)
+        throws SQLException {
+        return itemDAO.findRegularItemsLastModified(context, after, limit);
+    }
+
+    @Override
+    public void prefetchBundlesAndBitstreams(Context context, List<Item> items) throws SQLException {
+        if (items.size() > 1) {
+            List<UUID> itemIds = new ArrayList<>(items.size());
+            for (Item item : items) {
+                itemIds.add(item.getID());
+            }
+            itemDAO.fetchBundlesAndBitstreams(context, itemIds);
+        }
+    }
+
     @Override
     public Iterator<Item> findBySubmitter(Context context, EPerson eperson) throws SQLException {
         return itemDAO.findBySubmitter(context, eperson);
@@ -33,6 +33,10 @@ public interface BitstreamDAO extends DSpaceObjectLegacySupportDAO<Bitstream> {
 
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    int countDuplicateInternalIdentifier(Context context, Bitstream bitstream, int storeNumber) throws SQLException;
+
+    List<Bitstream> findByContent(Context context, Bitstream bitstream, int limit) throws SQLException;
+
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException;
 
     public Iterator<Bitstream> findByCommunity(Context context, Community community) throws SQLException;
@@ -11,6 +11,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.content.Collection;
@@ -48,6 +49,50 @@ public interface ItemDAO extends DSpaceObjectLegacySupportDAO<Item> {
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID lies within the given range.
+     * UUIDs are compared the way the database compares them, i.e. as unsigned 128 bit values.
+     *
+     * @param context    the DSpace context.
+     * @param lowerBound the lower bound of the range (inclusive), or null for no lower bound.
+     * @param upperBound the upper bound of the range (exclusive), or null for no upper bound.
+     * @return iterator over all regular items within the range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound) throws SQLException;
+
+    /**
+     * Count all regular items (see {@link #findAllRegularItems(Context)}).
+     *
+     * @param context the DSpace context.
+     * @return the number of regular items.
+     * @throws SQLException if database error.
+     */
+    int countAllRegularItems(Context context) throws SQLException;
+
+    /**
+     * Find the last modified dates of the regular items (see {@link #findAllRegularItems(Context)}) with a UUID
+     * greater than the given one, without loading the items themselves. The results are ordered by UUID, so all
+     * regular items can be scanned by passing the last UUID of the previous page.
+     *
+     * @param context the DSpace context.
+     * @param after   only items with a UUID greater than this one are returned, or null to start at the beginning.
+     * @param limit   the maximum number of results.
+     * @return the last modified date of each item, by UUID, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findRegularItemsLastModified(Context context, UUID after, int limit) throws SQLException;
+
+    /**
+     * Load the bundles of the given items, and the bitstreams of those bundles, in two queries rather than two
+     * queries per item and bundle, so that they are in the session when the items are looked at one by one.
+     *
+     * @param context the DSpace context.
+     * @param itemIds the UUIDs of the items, which should be loaded in the session already.
+     * @throws SQLException if database error.
+     */
+    void fetchBundlesAndBitstreams(Context context, List<UUID> itemIds) throws SQLException;
+
     /**
      * Find all Items modified since a Date.
      *
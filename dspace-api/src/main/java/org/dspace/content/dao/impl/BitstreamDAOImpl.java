@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import jakarta.persistence.LockModeType;
 import jakarta.persistence.Query;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
@@ -73,6 +74,36 @@ public class BitstreamDAOImpl extends AbstractHibernateDSODAO<Bitstream> impleme
         return list(context, criteriaQuery, false, Bitstream.class, -1, -1);
     }
 
+    @Override
+    public int countDuplicateInternalIdentifier(Context context, Bitstream bitstream, int storeNumber)
+        throws SQLException {
+        Query query = createQuery(context, "SELECT count(*) FROM Bitstream b " +
+            "WHERE b.internalId = :internalId AND b.storeNumber = :storeNumber AND b.id <> :id");
+        query.setParameter("internalId", bitstream.getInternalId());
+        query.setParameter("storeNumber", storeNumber);
+        query.setParameter("id", bitstream.getID());
+        return count(query);
+    }
+
+    @Override
+    public List<Bitstream> findByContent(Context context, Bitstream bitstream, int limit) throws SQLException {
+        Query query = createQuery(context, "SELECT b FROM Bitstream b " +
+            "WHERE b.checksum = :checksum AND b.checksumAlgorithm = :checksumAlgorithm " +
+            "AND b.sizeBytes = :sizeBytes AND b.storeNumber = :storeNumber AND b.deleted = false " +
+            "AND b.internalId <> :internalId AND b.internalId NOT LIKE '-R%' AND b.id <> :id");
+        query.setParameter("checksum", bitstream.getChecksum());
+        query.setParameter("checksumAlgorithm", bitstream.getChecksumAlgorithm());
+        query.setParameter("sizeBytes", bitstream.getSizeBytes());
+        query.setParameter("storeNumber", bitstream.getStoreNumber());
+        query.setParameter("internalId", bitstream.getInternalId());
+        query.setParameter("id", bitstream.getID());
+        query.setMaxResults(limit);
+        query.setLockMode(LockModeType.PESSIMISTIC_WRITE);
+        @SuppressWarnings("unchecked")
+        List<Bitstream> bitstreams = query.getResultList();
+        return bitstreams;
+    }
+
     @Override
     public List<Bitstream> findBitstreamsWithNoRecentChecksum(Context context) throws SQLException {
         Query query = createQuery(context, "SELECT b FROM MostRecentChecksum c RIGHT JOIN Bitstream b " +
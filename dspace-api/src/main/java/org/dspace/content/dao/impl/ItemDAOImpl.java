@@ -12,7 +12,9 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.persistence.Query;
@@ -100,6 +102,87 @@ public class ItemDAOImpl extends AbstractHibernateDSODAO<Item> implements ItemDA
         return new UUIDIterator<Item>(context, uuids, Item.class, this);
     }
 
+    @Override
+    public Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound)
+        throws SQLException {
+        StringBuilder queryStr = new StringBuilder();
+        queryStr.append("SELECT i.id FROM Item as i ");
+        queryStr.append("LEFT JOIN Version as v ON i = v.item ");
+        queryStr.append("WHERE (i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL))");
+        if (lowerBound != null) {
+            queryStr.append(" AND i.id >= :lower_bound");
+        }
+        if (upperBound != null) {
+            queryStr.append(" AND i.id < :upper_bound");
+        }
+        queryStr.append(" ORDER BY i.id");
+
+        Query query = createQuery(context, queryStr.toString());
+        if (lowerBound != null) {
+            query.setParameter("lower_bound", lowerBound);
+        }
+        if (upperBound != null) {
+            query.setParameter("upper_bound", upperBound);
+        }
+        @SuppressWarnings("unchecked")
+        List<UUID> uuids = query.getResultList();
+        return new UUIDIterator<Item>(context, uuids, Item.class, this);
+    }
+
+    @Override
+    public Map<UUID, Instant> findRegularItemsLastModified(Context context, UUID after, int limit)
+        throws SQLException {
+        StringBuilder queryStr = new StringBuilder();
+        queryStr.append("SELECT i.id, i.lastModified FROM Item as i ");
+        queryStr.append("LEFT JOIN Version as v ON i = v.item ");
+        queryStr.append("WHERE (i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL))");
+        if (after != null) {
+            queryStr.append(" AND i.id > :after");
+        }
+        queryStr.append(" ORDER BY i.id");
+
+        Query query = createQuery(context, queryStr.toString());
+        if (after != null) {
+            query.setParameter("after", after);
+        }
+        query.setMaxResults(limit);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        Map<UUID, Instant> lastModified = new LinkedHashMap<>(rows.size());
+        for (Object[] row : rows) {
+            lastModified.put((UUID) row[0], (Instant) row[1]);
+        }
+        return lastModified;
+    }
+
+    @Override
+    public void fetchBundlesAndBitstreams(Context context, List<UUID> itemIds) throws SQLException {
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        // fetch joins initialize the collections of the items and bundles already in the session
+        Query query = createQuery(context, "SELECT DISTINCT i FROM Item i LEFT JOIN FETCH i.bundles "
+            + "WHERE i.id IN (:itemIds)");
+        query.setParameter("itemIds", itemIds);
+        query.getResultList();
+
+        query = createQuery(context, "SELECT DISTINCT b FROM Item i JOIN i.bundles b LEFT JOIN FETCH b.bitstreams "
+            + "WHERE i.id IN (:itemIds)");
+        query.setParameter("itemIds", itemIds);
+        query.getResultList();
+    }
+
+    @Override
+    public int countAllRegularItems(Context context) throws SQLException {
+        Query query = createQuery(
+            context,
+            "SELECT count(i.id) FROM Item as i " +
+            "LEFT JOIN Version as v ON i = v.item " +
+            "WHERE i.inArchive=true or i.withdrawn=true or (i.inArchive=false and v.id IS NOT NULL)"
+        );
+        return count(query);
+    }
+
     @Override
     public Iterator<Item> findAll(Context context, boolean archived,
                                   boolean withdrawn, boolean discoverable, Instant lastModified)
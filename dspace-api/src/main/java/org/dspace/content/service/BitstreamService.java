@@ -7,6 +7,7 @@
  */
 package org.dspace.content.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -166,6 +167,20 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws IOException, SQLException, AuthorizeException;
 
+    /**
+     * Retrieve the local file holding the contents of the bitstream, when its assetstore keeps them in the local
+     * file system. This allows sending the contents without copying them through the heap.
+     *
+     * @param context   DSpace context object
+     * @param bitstream DSpace bitstream
+     * @return the local file, or null if the contents aren't available as a local file
+     * @throws IOException        if IO error
+     * @throws SQLException       if database error
+     * @throws AuthorizeException if authorization error
+     */
+    public File retrieveFile(Context context, Bitstream bitstream)
+        throws IOException, SQLException, AuthorizeException;
+
     /**
      * Determine if this bitstream is registered (available elsewhere on
      * filesystem than in assetstore). More about registered items:
@@ -198,6 +213,35 @@ public interface BitstreamService extends DSpaceObjectService<Bitstream>, DSpace
 
     public List<Bitstream> findDuplicateInternalIdentifier(Context context, Bitstream bitstream) throws SQLException;
 
+    /**
+     * Count the other bitstreams which share the stored file of the given bitstream in a store, i.e. which have the
+     * same internal identifier and are in that store. The stored file may only be removed from the store when this
+     * count is zero.
+     *
+     * @param context     the dspace context
+     * @param bitstream   the bitstream
+     * @param storeNumber the store of the file
+     * @return the number of other bitstreams (deleted or not) in the store with the same internal identifier
+     * @throws SQLException if database error
+     */
+    public int countDuplicateInternalIdentifier(Context context, Bitstream bitstream, int storeNumber)
+        throws SQLException;
+
+    /**
+     * Find bitstreams whose stored file (probably) has the same content as the given bitstream: the bitstreams in
+     * the same store with the same checksum, checksum algorithm and size, which aren't deleted or registered and
+     * have another internal identifier. The matching bitstreams are locked until the end of the transaction, so
+     * that they can't be deleted (and their file removed by the cleanup) before a bitstream sharing their file is
+     * committed.
+     *
+     * @param context   the dspace context
+     * @param bitstream the bitstream
+     * @param limit     the maximum number of bitstreams to return
+     * @return the matching bitstreams
+     * @throws SQLException if database error
+     */
+    public List<Bitstream> findByContent(Context context, Bitstream bitstream, int limit) throws SQLException;
+
     public Iterator<Bitstream> getItemBitstreams(Context context, Item item) throws SQLException;
 
     public Iterator<Bitstream> getCollectionBitstreams(Context context, Collection collection) throws SQLException;
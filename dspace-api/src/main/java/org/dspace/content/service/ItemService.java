@@ -13,6 +13,7 @@ import java.sql.SQLException;
 import java.time.Instant;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import org.dspace.authorize.AuthorizeException;
@@ -140,6 +141,50 @@ public interface ItemService
      */
     Iterator<Item> findAllRegularItems(Context context) throws SQLException;
 
+    /**
+     * Find all regular items (see {@link #findAllRegularItems(Context)}) whose UUID lies within the given range.
+     * This allows splitting the regular items into partitions which can be processed independently.
+     *
+     * @param context    the DSpace context.
+     * @param lowerBound the lower bound of the range (inclusive), or null for no lower bound.
+     * @param upperBound the upper bound of the range (exclusive), or null for no upper bound.
+     * @return iterator over all regular items within the range.
+     * @throws SQLException if database error.
+     */
+    Iterator<Item> findAllRegularItems(Context context, UUID lowerBound, UUID upperBound) throws SQLException;
+
+    /**
+     * Count all regular items (see {@link #findAllRegularItems(Context)}).
+     *
+     * @param context the DSpace context.
+     * @return the number of regular items.
+     * @throws SQLException if database error.
+     */
+    int countAllRegularItems(Context context) throws SQLException;
+
+    /**
+     * Find the last modified dates of the regular items (see {@link #findAllRegularItems(Context)}) with a UUID
+     * greater than the given one, without loading the items themselves. The results are ordered by UUID, so all
+     * regular items can be scanned by passing the last UUID of the previous page.
+     *
+     * @param context the DSpace context.
+     * @param after   only items with a UUID greater than this one are returned, or null to start at the beginning.
+     * @param limit   the maximum number of results.
+     * @return the last modified date of each item, by UUID, ordered by UUID.
+     * @throws SQLException if database error.
+     */
+    Map<UUID, Instant> findRegularItemsLastModified(Context context, UUID after, int limit) throws SQLException;
+
+    /**
+     * Load the bundles and bitstreams of several items at once, e.g. before getting the thumbnails of a page of
+     * items, so that {@link #getThumbnail(Context, Item, boolean)} and the like don't query them item by item.
+     *
+     * @param context the DSpace context.
+     * @param items   the items.
+     * @throws SQLException if database error.
+     */
+    void prefetchBundlesAndBitstreams(Context context, List<Item> items) throws SQLException;
+
     /**
      * Find all the items in the archive by a given submitter. The order is
      * indeterminate. Only items with the "in archive" flag set are included.
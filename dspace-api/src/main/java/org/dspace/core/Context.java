@@ -28,8 +28,10 @@ import org.dspace.eperson.Group;
 import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.event.Dispatcher;
 import org.dspace.event.Event;
+import org.dspace.event.EventCoalescer;
 import org.dspace.event.factory.EventServiceFactory;
 import org.dspace.event.service.EventService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 import org.dspace.storage.rdbms.DatabaseConfigVO;
 import org.dspace.storage.rdbms.DatabaseUtils;
 import org.dspace.utils.DSpace;
@@ -109,11 +111,21 @@ public class Context implements AutoCloseable {
      */
     private LinkedList<Event> events = null;
 
+    /**
+     * Merges the repeated modification events, created along with the event list
+     */
+    private EventCoalescer eventCoalescer = null;
+
     /**
      * Event dispatcher name
      */
     private String dispName = null;
 
+    /**
+     * Actions to run once the current transaction is committed
+     */
+    private List<Runnable> afterCommitActions = null;
+
     /**
      * Context mode
      */
@@ -449,6 +461,34 @@ public class Context implements AutoCloseable {
                 reloadContextBoundEntities();
             }
         }
+        runAfterCommitActions();
+    }
+
+    /**
+     * Run an action once the current transaction is committed, e.g. to hand over events to a consumer which must
+     * see the committed changes. The action is discarded if the transaction is rolled back instead.
+     *
+     * @param action the action to run
+     */
+    public void afterCommit(Runnable action) {
+        if (afterCommitActions == null) {
+            afterCommitActions = new ArrayList<>();
+        }
+        afterCommitActions.add(action);
+    }
+
+    private void runAfterCommitActions() {
+        List<Runnable> actions = afterCommitActions;
+        afterCommitActions = null;
+        if (actions != null) {
+            for (Runnable action : actions) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.error("Error running an action after the commit", e);
+                }
+            }
+        }
     }
 
 
@@ -472,6 +512,7 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            eventCoalescer = null;
             if (dispatcher != null) {
                 eventService.returnDispatcher(dispName, dispatcher);
             }
@@ -507,9 +548,13 @@ public class Context implements AutoCloseable {
         }
         if (events == null) {
             events = new LinkedList<>();
+            eventCoalescer = new EventCoalescer(DSpaceServicesFactory.getInstance().getConfigurationService()
+                                                                     .getBooleanProperty("event.coalesce", true));
         }
 
-        events.add(event);
+        if (!eventCoalescer.coalesce(event)) {
+            events.add(event);
+        }
     }
 
     /**
@@ -537,7 +582,9 @@ public class Context implements AutoCloseable {
      */
     public Event pollEvent() {
         if (hasEvents()) {
-            return events.poll();
+            Event event = events.poll();
+            eventCoalescer.remove(event);
+            return event;
         } else {
             return null;
         }
@@ -570,6 +617,8 @@ public class Context implements AutoCloseable {
             }
         } finally {
             events = null;
+            eventCoalescer = null;
+            afterCommitActions = null;
         }
     }
 
@@ -608,6 +657,8 @@ public class Context implements AutoCloseable {
                 log.error("Error closing the database connection", ex);
             }
             events = null;
+            eventCoalescer = null;
+            afterCommitActions = null;
         }
     }
 
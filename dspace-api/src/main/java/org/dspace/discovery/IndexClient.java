@@ -7,6 +7,7 @@
  */
 package org.dspace.discovery;
 
+import static org.dspace.discovery.IndexClientOptions.PARALLEL_OPTION;
 import static org.dspace.discovery.IndexClientOptions.TYPE_OPTION;
 
 import java.io.IOException;
@@ -69,6 +70,26 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             }
         }
 
+        int workers = 0;
+        if (commandLine.hasOption(PARALLEL_OPTION)) {
+            try {
+                workers = Integer.parseInt(commandLine.getOptionValue(PARALLEL_OPTION));
+            } catch (NumberFormatException e) {
+                // Not a number, reported below
+            }
+            if (workers < 1) {
+                handler.handleException(String.format("%s is not a valid number of workers for option %s",
+                        commandLine.getOptionValue(PARALLEL_OPTION), PARALLEL_OPTION));
+            }
+            if (indexClientOptions != IndexClientOptions.BUILD
+                    && indexClientOptions != IndexClientOptions.BUILDANDSPELLCHECK) {
+                handler.logWarning(String.format(
+                        "Parallel option, %s, only applicable for entire index rebuild option, b"
+                                + ", parallel option will be ignored",
+                        PARALLEL_OPTION));
+            }
+        }
+
         Optional<IndexableObject> indexableObject = Optional.empty();
 
         if (indexClientOptions == IndexClientOptions.REMOVE || indexClientOptions == IndexClientOptions.INDEX) {
@@ -103,7 +124,11 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
                             TYPE_OPTION));
                 }
                 indexer.deleteIndex();
-                indexer.createIndex(context);
+                if (workers > 0) {
+                    createIndexInParallel(workers);
+                } else {
+                    indexer.createIndex(context);
+                }
                 if (indexClientOptions == IndexClientOptions.BUILDANDSPELLCHECK) {
                     checkRebuildSpellCheck(commandLine, indexer);
                 }
@@ -118,8 +143,14 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
             case INDEX:
                 handler.logInfo("Indexing " + commandLine.getOptionValue('i') + " force " + commandLine.hasOption("f"));
                 final long startTimeMillis = Instant.now().toEpochMilli();
-                final long count = indexAll(indexer, ContentServiceFactory.getInstance().getItemService(), context,
-                    indexableObject.get());
+                final long count;
+                indexer.startBatch();
+                try {
+                    count = indexAll(indexer, ContentServiceFactory.getInstance().getItemService(), context,
+                        indexableObject.get());
+                } finally {
+                    indexer.endBatch();
+                }
                 final long seconds = (Instant.now().toEpochMilli() - startTimeMillis) / 1000;
                 handler.logInfo("Indexed " + count + " object" + (count > 1 ? "s" : "") +
                                 " in " + seconds + " seconds");
@@ -254,6 +285,32 @@ public class IndexClient extends DSpaceRunnable<IndexDiscoveryScriptConfiguratio
         return count;
     }
 
+    /**
+     * Build the index from scratch, indexing the items using the given number of worker threads. All other types
+     * of indexable objects are indexed sequentially, before the items.
+     *
+     * @param workers The number of worker threads used to index the items
+     * @throws SQLException           If database error occurs.
+     * @throws SearchServiceException If the items couldn't be indexed.
+     */
+    private void createIndexInParallel(int workers) throws SQLException, SearchServiceException {
+        for (IndexFactory indexFactory : IndexObjectFactoryFactory.getInstance().getIndexFactories()) {
+            if (!StringUtils.equals(indexFactory.getType(), IndexableItem.TYPE)) {
+                handler.logInfo("Indexing all objects of type " + indexFactory.getType());
+                indexer.updateIndex(context, true, indexFactory.getType());
+            }
+        }
+        final long startTimeMillis = Instant.now().toEpochMilli();
+        ParallelItemIndexer itemIndexer = new ParallelItemIndexer(workers, handler);
+        final long count = itemIndexer.index();
+        final long seconds = (Instant.now().toEpochMilli() - startTimeMillis) / 1000;
+        handler.logInfo("Indexed " + count + " item" + (count != 1 ? "s" : "") + " in " + seconds + " seconds");
+        if (itemIndexer.getFailed() > 0) {
+            handler.logWarning(itemIndexer.getFailed() + " items could not be indexed, check the DSpace logs "
+                    + "for more details");
+        }
+    }
+
     /**
      * Check the command line options and rebuild the spell check if active.
      *
@@ -9,6 +9,8 @@ package org.dspace.discovery;
 
 import java.sql.SQLException;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -19,6 +21,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.service.IndexQueueService;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
 import org.dspace.services.factory.DSpaceServicesFactory;
@@ -48,6 +51,10 @@ public class IndexEventConsumer implements Consumer {
                                                    .getServiceByName(IndexingService.class.getName(),
                                                                      IndexingService.class);
 
+    IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                               .getServiceByName(IndexQueueService.class.getName(),
+                                                                                 IndexQueueService.class);
+
     IndexObjectFactoryFactory indexObjectServiceFactory = IndexObjectFactoryFactory.getInstance();
 
     @Override
@@ -210,10 +217,18 @@ public class IndexEventConsumer implements Consumer {
     @Override
     public void end(Context ctx) throws Exception {
 
+        // without the queue service, e.g. in a trimmed down configuration, the index is updated right away
+        if (indexQueueService != null && indexQueueService.isEnabled()) {
+            enqueue(ctx);
+            return;
+        }
+
         // Change the mode to readonly to improve performance
         Context.Mode originalMode = ctx.getCurrentMode();
         ctx.setMode(Context.Mode.READ_ONLY);
 
+        // Send the changes to the index in batches, they are flushed before the commit below
+        indexer.startBatch();
         try {
             for (String uid : uniqueIdsToDelete) {
                 try {
@@ -234,6 +249,15 @@ public class IndexEventConsumer implements Consumer {
                 indexObject(ctx, iu, true);
             }
         } finally {
+            try {
+                List<String> failed = indexer.endBatch();
+                if (!failed.isEmpty()) {
+                    log.error("Failed while writing objects to the index: " + failed);
+                }
+            } catch (Exception e) {
+                log.error("Failed while writing objects to the index", e);
+            }
+
             if (!objectsToUpdate.isEmpty() || !uniqueIdsToDelete.isEmpty()) {
 
                 indexer.commit();
@@ -248,6 +272,46 @@ public class IndexEventConsumer implements Consumer {
         }
     }
 
+    /**
+     * Queue the objects to add, update and delete instead of indexing them right away. The queue records are saved
+     * with the given context, so they are committed (or rolled back) together with the changes which caused them.
+     * The queue is processed in the background by the {@link org.dspace.discovery.queue.IndexQueueProcessor}.
+     */
+    private void enqueue(Context ctx) throws SQLException {
+        // The records have to be written, switching back to READ_ONLY afterwards flushes them
+        Context.Mode originalMode = ctx.getCurrentMode();
+        if (originalMode == Context.Mode.READ_ONLY) {
+            ctx.setMode(Context.Mode.READ_WRITE);
+        }
+        try {
+            Set<String> uniqueIndexIds = new LinkedHashSet<>(uniqueIdsToDelete);
+            for (IndexableObject iu : objectsToUpdate) {
+                addUniqueIndexId(uniqueIndexIds, iu);
+            }
+            for (IndexableObject iu : createdItemsToUpdate) {
+                addUniqueIndexId(uniqueIndexIds, iu);
+            }
+            for (String uniqueIndexId : uniqueIndexIds) {
+                indexQueueService.enqueue(ctx, uniqueIndexId);
+            }
+            log.debug("Queued {} objects for indexing", uniqueIndexIds.size());
+        } finally {
+            objectsToUpdate.clear();
+            uniqueIdsToDelete.clear();
+            createdItemsToUpdate.clear();
+            if (originalMode == Context.Mode.READ_ONLY) {
+                ctx.setMode(originalMode);
+            }
+        }
+    }
+
+    private void addUniqueIndexId(Set<String> uniqueIndexIds, IndexableObject iu) {
+        String uniqueIndexID = iu.getUniqueIndexID();
+        if (uniqueIndexID != null) {
+            uniqueIndexIds.add(uniqueIndexID);
+        }
+    }
+
     private void indexObject(Context ctx, IndexableObject iu, boolean preDb) throws SQLException {
         /* we let all types through here and
          * allow the search indexer to make
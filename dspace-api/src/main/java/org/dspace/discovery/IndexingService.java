@@ -9,6 +9,7 @@ package org.dspace.discovery;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.solr.client.solrj.SolrServerException;
@@ -72,6 +73,21 @@ public interface IndexingService {
 
     void commit() throws SearchServiceException;
 
+    /**
+     * Start buffering the documents written to and deleted from the index by the current thread, so that they are
+     * sent to the index in batches instead of one by one. Calls can be nested. Every call must be matched by a call
+     * to {@link #endBatch()}, preferably in a finally block.
+     */
+    void startBatch();
+
+    /**
+     * End the batch started by {@link #startBatch()}. When the outermost batch ends, all buffered changes are sent
+     * to the index. Note that the changes still need to be committed.
+     * @return the unique index IDs of the documents which could not be written to or deleted from the index
+     * @throws SearchServiceException if the buffered changes could not be sent to the index
+     */
+    List<String> endBatch() throws SearchServiceException;
+
     void optimize() throws SearchServiceException;
 
     void buildSpellCheck() throws SearchServiceException, IOException;
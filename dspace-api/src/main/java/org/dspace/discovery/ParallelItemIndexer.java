@@ -0,0 +1,284 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.scripts.handler.DSpaceRunnableHandler;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Indexes all regular items into discovery using multiple worker threads.
+ * <p>
+ * The items are split into ranges of UUIDs, which are handed out to the workers. Each worker uses its own
+ * {@link Context} and sends the documents it builds to the search core in batches. While the workers are running,
+ * the throughput and the estimated remaining time are reported through the {@link DSpaceRunnableHandler}.
+ * <p>
+ * This indexer doesn't check whether the items are stale, so it should only be used to (re)build the index.
+ */
+public class ParallelItemIndexer {
+
+    private static final Logger log = LogManager.getLogger(ParallelItemIndexer.class);
+
+    public static final String BATCH_SIZE_PROPERTY = "discovery.index.parallel.batch-size";
+    public static final String PARTITIONS_PER_WORKER_PROPERTY = "discovery.index.parallel.partitions-per-worker";
+    public static final String PROGRESS_INTERVAL_PROPERTY = "discovery.index.parallel.progress-interval";
+
+    private final int workers;
+    private final int batchSize;
+    private final int partitionsPerWorker;
+    private final int progressInterval;
+    private final DSpaceRunnableHandler handler;
+
+    private final ItemService itemService;
+    private final IndexFactory<IndexableItem, Item> itemIndexFactory;
+    private final SolrSearchCore solrSearchCore;
+
+    private final AtomicLong indexed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Create a new indexer
+     * @param workers   The number of worker threads to use
+     * @param handler   The handler used to report progress
+     */
+    @SuppressWarnings("unchecked")
+    public ParallelItemIndexer(int workers, DSpaceRunnableHandler handler) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of workers should be at least 1, got " + workers);
+        }
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        this.workers = workers;
+        this.batchSize = Math.max(1, configurationService.getIntProperty(BATCH_SIZE_PROPERTY, 500));
+        this.partitionsPerWorker =
+            Math.max(1, configurationService.getIntProperty(PARTITIONS_PER_WORKER_PROPERTY, 8));
+        this.progressInterval = Math.max(1, configurationService.getIntProperty(PROGRESS_INTERVAL_PROPERTY, 30));
+        this.handler = handler;
+        this.itemService = ContentServiceFactory.getInstance().getItemService();
+        this.itemIndexFactory = IndexObjectFactoryFactory.getInstance().getIndexFactoryByType(IndexableItem.TYPE);
+        this.solrSearchCore = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                   .getServicesByType(SolrSearchCore.class).get(0);
+    }
+
+    /**
+     * Index all regular items and commit the search core once all workers are done.
+     * @return                          The number of items which were indexed
+     * @throws SQLException             If the items couldn't be counted
+     * @throws SearchServiceException   If a worker failed or the search core couldn't be committed
+     */
+    public long index() throws SQLException, SearchServiceException {
+        long total = countItems();
+        Queue<UUIDRange> partitions = new ConcurrentLinkedQueue<>(partition(workers * partitionsPerWorker));
+        handler.logInfo(String.format("Indexing %d items using %d workers, %d partitions and batches of %d",
+                                      total, workers, partitions.size(), batchSize));
+
+        Instant start = Instant.now();
+        ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        List<Future<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executorService.submit(() -> {
+                indexPartitions(partitions);
+                return null;
+            }));
+        }
+        executorService.shutdown();
+
+        try {
+            while (!executorService.awaitTermination(progressInterval, TimeUnit.SECONDS)) {
+                reportProgress(total, start);
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException("Interrupted while indexing items", e);
+        } catch (ExecutionException e) {
+            executorService.shutdownNow();
+            throw new SearchServiceException("A worker failed while indexing items", e.getCause());
+        }
+
+        try {
+            solrSearchCore.getSolr().commit();
+        } catch (SolrServerException | IOException e) {
+            throw new SearchServiceException("Unable to commit the search core", e);
+        }
+        reportProgress(total, start);
+        return indexed.get();
+    }
+
+    /**
+     * @return the number of items which couldn't be indexed
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private long countItems() throws SQLException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            return itemService.countAllRegularItems(context);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Keep indexing partitions from the given queue until it's empty, using a dedicated Context.
+     */
+    private void indexPartitions(Queue<UUIDRange> partitions) throws SQLException, SolrServerException, IOException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            context.turnOffAuthorisationSystem();
+            List<SolrInputDocument> batch = new ArrayList<>(batchSize);
+            UUIDRange partition;
+            while ((partition = partitions.poll()) != null) {
+                log.debug("Indexing items from {} to {}", partition.getLowerBound(), partition.getUpperBound());
+                Iterator<Item> items = itemService.findAllRegularItems(context, partition.getLowerBound(),
+                                                                       partition.getUpperBound());
+                int processed = 0;
+                while (items.hasNext()) {
+                    Item item = items.next();
+                    IndexableItem indexableItem = new IndexableItem(item);
+                    try {
+                        SolrInputDocument document = itemIndexFactory.buildDocument(context, indexableItem);
+                        itemIndexFactory.completeDocument(context, indexableItem, document);
+                        batch.add(document);
+                    } catch (SQLException | IOException | RuntimeException e) {
+                        failed.incrementAndGet();
+                        log.error("Unable to build the solr document for item {}", item.getID(), e);
+                    }
+                    if (batch.size() >= batchSize) {
+                        flush(batch);
+                    }
+                    context.uncacheEntity(item);
+                    if (++processed % 100 == 0) {
+                        context.uncacheEntities();
+                    }
+                }
+            }
+            flush(batch);
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Send the batch to the search core. When the search core rejects the batch, the documents are sent one by one
+     * so that a single invalid document doesn't prevent the others from being indexed.
+     */
+    private void flush(List<SolrInputDocument> batch) throws SolrServerException, IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        SolrClient solr = solrSearchCore.getSolr();
+        try {
+            solr.add(batch);
+            indexed.addAndGet(batch.size());
+        } catch (SolrException e) {
+            log.warn("The search core rejected a batch of {} documents, retrying them one by one", batch.size(), e);
+            for (SolrInputDocument document : batch) {
+                try {
+                    solr.add(document);
+                    indexed.incrementAndGet();
+                } catch (SolrException documentException) {
+                    failed.incrementAndGet();
+                    log.error("The search core rejected the document for {}",
+                              document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID), documentException);
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void reportProgress(long total, Instant start) {
+        long done = indexed.get() + failed.get();
+        long elapsedMillis = Math.max(1, Duration.between(start, Instant.now()).toMillis());
+        double rate = done * 1000d / elapsedMillis;
+        String eta = "unknown";
+        if (rate > 0) {
+            Duration remaining = Duration.ofSeconds((long) (Math.max(0, total - done) / rate));
+            eta = String.format("%d:%02d:%02d", remaining.toHours(), remaining.toMinutesPart(),
+                                remaining.toSecondsPart());
+        }
+        handler.logInfo(String.format("Indexed %d of %d items (%d failed), %.1f items/s, ETA %s",
+                                      indexed.get(), total, failed.get(), rate, eta));
+    }
+
+    /**
+     * Split the UUID space into the given number of consecutive ranges of (roughly) equal size. The UUIDs are
+     * compared as unsigned 128 bit values, like the database does. The first range has no lower bound and the
+     * last range has no upper bound, so together they cover all UUIDs.
+     * @param count The number of ranges
+     * @return      The ranges, in ascending order
+     */
+    static List<UUIDRange> partition(int count) {
+        List<UUIDRange> partitions = new ArrayList<>(count);
+        long step = Long.divideUnsigned(-1L, count) + 1;
+        UUID lowerBound = null;
+        for (int i = 1; i < count; i++) {
+            UUID upperBound = new UUID(step * i, 0L);
+            partitions.add(new UUIDRange(lowerBound, upperBound));
+            lowerBound = upperBound;
+        }
+        partitions.add(new UUIDRange(lowerBound, null));
+        return partitions;
+    }
+
+    /**
+     * A range of UUIDs, from the lower bound (inclusive) to the upper bound (exclusive). A null bound means the
+     * range is unbounded on that side.
+     */
+    static class UUIDRange {
+        private final UUID lowerBound;
+        private final UUID upperBound;
+
+        UUIDRange(UUID lowerBound, UUID upperBound) {
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        UUID getLowerBound() {
+            return lowerBound;
+        }
+
+        UUID getUpperBound() {
+            return upperBound;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+/**
+ * Buffers the documents written to and deleted from a solr core by the current thread, so that they can be sent as
+ * a single add(Collection) or deleteById(List) request instead of one request per document.
+ * <p>
+ * Buffering is only active on a thread between {@link #begin()} and {@link #end()}, outside of that the changes are
+ * sent to the core right away. Buffered changes are sent when the buffer holds the configured maximum number of
+ * documents or (estimated) bytes, when {@link #flush()} is called and when the outermost {@link #end()} is reached.
+ * <p>
+ * Within the buffer, the last change for a unique ID wins: deleting a buffered document discards it and writing a
+ * document for a buffered delete discards the delete. Buffered deletes are always sent before buffered documents.
+ * When the core rejects a request, its documents or deletes are retried one by one, so that failures can be
+ * reported per document.
+ */
+public class SolrDocumentBuffer {
+
+    private static final Logger log = LogManager.getLogger(SolrDocumentBuffer.class);
+
+    private final Supplier<SolrClient> solrClientSupplier;
+    private final int maxDocuments;
+    private final long maxBytes;
+
+    private final ThreadLocal<PendingChanges> pendingChanges = new ThreadLocal<>();
+
+    /**
+     * @param solrClientSupplier    Supplies the client of the core the changes are sent to
+     * @param maxDocuments          The number of buffered documents (or deletes) which triggers a flush
+     * @param maxBytes              The estimated size in bytes of the buffered documents which triggers a flush
+     */
+    public SolrDocumentBuffer(Supplier<SolrClient> solrClientSupplier, int maxDocuments, long maxBytes) {
+        this.solrClientSupplier = solrClientSupplier;
+        this.maxDocuments = Math.max(1, maxDocuments);
+        this.maxBytes = Math.max(1, maxBytes);
+    }
+
+    /**
+     * Start buffering the changes of the current thread. Calls can be nested, the buffer is only flushed and
+     * released when the outermost {@link #end()} is reached.
+     */
+    public void begin() {
+        PendingChanges changes = pendingChanges.get();
+        if (changes == null) {
+            changes = new PendingChanges();
+            pendingChanges.set(changes);
+        }
+        changes.depth++;
+    }
+
+    /**
+     * End buffering the changes of the current thread, see {@link #begin()}.
+     * @return  The unique IDs of the documents which could not be written or deleted since the outermost
+     *          {@link #begin()}, only returned by the outermost end()
+     * @throws SolrServerException  If the core could not be reached
+     * @throws IOException          If the core could not be reached
+     */
+    public List<String> end() throws SolrServerException, IOException {
+        PendingChanges changes = pendingChanges.get();
+        if (changes == null) {
+            log.warn("end() was called without a matching begin(), ignoring it");
+            return Collections.emptyList();
+        }
+        if (--changes.depth > 0) {
+            return Collections.emptyList();
+        }
+        try {
+            flush();
+            return changes.failed;
+        } finally {
+            pendingChanges.remove();
+        }
+    }
+
+    /**
+     * @return whether the changes of the current thread are being buffered
+     */
+    public boolean isBuffering() {
+        return pendingChanges.get() != null;
+    }
+
+    /**
+     * Write the document, or buffer it when buffering is active on the current thread.
+     * @param document  The document to write
+     * @throws SolrServerException  If the document (or the buffer) could not be sent
+     * @throws IOException          If the document (or the buffer) could not be sent
+     */
+    public void add(SolrInputDocument document) throws SolrServerException, IOException {
+        PendingChanges changes = pendingChanges.get();
+        Object uniqueId = document.getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID);
+        if (changes == null || uniqueId == null) {
+            solrClientSupplier.get().add(document);
+            return;
+        }
+        String id = uniqueId.toString();
+        changes.deletes.remove(id);
+        changes.putDocument(id, document, estimateSize(document));
+        if (changes.documents.size() >= maxDocuments || changes.bytes >= maxBytes) {
+            flush();
+        }
+    }
+
+    /**
+     * Delete the document with the given unique ID, or buffer the delete when buffering is active on the current
+     * thread.
+     * @param id    The unique ID of the document to delete
+     * @throws SolrServerException  If the delete (or the buffer) could not be sent
+     * @throws IOException          If the delete (or the buffer) could not be sent
+     */
+    public void deleteById(String id) throws SolrServerException, IOException {
+        PendingChanges changes = pendingChanges.get();
+        if (changes == null) {
+            solrClientSupplier.get().deleteById(id);
+            return;
+        }
+        changes.removeDocument(id);
+        changes.deletes.add(id);
+        if (changes.deletes.size() >= maxDocuments) {
+            flush();
+        }
+    }
+
+    /**
+     * Delete all documents matching the query. Any buffered changes of the current thread are sent first, so that
+     * the query also applies to them.
+     * @param query The query matching the documents to delete
+     * @throws SolrServerException  If the delete (or the buffer) could not be sent
+     * @throws IOException          If the delete (or the buffer) could not be sent
+     */
+    public void deleteByQuery(String query) throws SolrServerException, IOException {
+        flush();
+        solrClientSupplier.get().deleteByQuery(query);
+    }
+
+    /**
+     * Send the buffered changes of the current thread to the core.
+     * @return  The unique IDs of the documents which could not be written or deleted
+     * @throws SolrServerException  If the core could not be reached
+     * @throws IOException          If the core could not be reached
+     */
+    public List<String> flush() throws SolrServerException, IOException {
+        PendingChanges changes = pendingChanges.get();
+        if (changes == null || (changes.deletes.isEmpty() && changes.documents.isEmpty())) {
+            return Collections.emptyList();
+        }
+        List<String> deletes = new ArrayList<>(changes.deletes);
+        Map<String, SolrInputDocument> documents = new LinkedHashMap<>(changes.documents);
+        changes.clear();
+
+        SolrClient solr = solrClientSupplier.get();
+        List<String> failed = new ArrayList<>();
+        if (!deletes.isEmpty()) {
+            try {
+                solr.deleteById(deletes);
+            } catch (SolrException e) {
+                log.warn("Solr rejected a batch of {} deletes, retrying them one by one", deletes.size(), e);
+                for (String id : deletes) {
+                    try {
+                        solr.deleteById(id);
+                    } catch (SolrException idException) {
+                        log.error("Solr rejected the delete of document {}", id, idException);
+                        failed.add(id);
+                    }
+                }
+            }
+        }
+        if (!documents.isEmpty()) {
+            try {
+                solr.add(documents.values());
+            } catch (SolrException e) {
+                log.warn("Solr rejected a batch of {} documents, retrying them one by one", documents.size(), e);
+                for (Map.Entry<String, SolrInputDocument> document : documents.entrySet()) {
+                    try {
+                        solr.add(document.getValue());
+                    } catch (SolrException documentException) {
+                        log.error("Solr rejected document {}", document.getKey(), documentException);
+                        failed.add(document.getKey());
+                    }
+                }
+            }
+        }
+        changes.failed.addAll(failed);
+        return failed;
+    }
+
+    /**
+     * Roughly estimate the size of the document once it is sent to the core.
+     * @param document  The document
+     * @return          The estimated size in bytes
+     */
+    protected long estimateSize(SolrInputDocument document) {
+        long size = 0;
+        for (SolrInputField field : document) {
+            size += field.getName().length();
+            for (Object value : field) {
+                size += value == null ? 0 : value.toString().length();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The changes buffered by a single thread
+     */
+    private static class PendingChanges {
+        private final Map<String, SolrInputDocument> documents = new LinkedHashMap<>();
+        private final Map<String, Long> documentSizes = new LinkedHashMap<>();
+        private final Set<String> deletes = new LinkedHashSet<>();
+        private final List<String> failed = new ArrayList<>();
+        private long bytes = 0;
+        private int depth = 0;
+
+        private void putDocument(String id, SolrInputDocument document, long size) {
+            removeDocument(id);
+            documents.put(id, document);
+            documentSizes.put(id, size);
+            bytes += size;
+        }
+
+        private void removeDocument(String id) {
+            documents.remove(id);
+            Long size = documentSizes.remove(id);
+            if (size != null) {
+                bytes -= size;
+            }
+        }
+
+        private void clear() {
+            documents.clear();
+            documentSizes.clear();
+            deletes.clear();
+            bytes = 0;
+        }
+    }
+}
@@ -43,6 +43,11 @@ public class SolrSearchCore {
      */
     protected SolrClient solr = null;
 
+    /**
+     * Buffer for the documents written to and deleted from this core, see getDocumentBuffer().
+     */
+    protected SolrDocumentBuffer documentBuffer = null;
+
     /**
      * Default HTTP method to use for all Solr Requests (we prefer POST).
      * This REQUEST_METHOD should be used in all Solr queries, e.g.
@@ -69,6 +74,20 @@ public class SolrSearchCore {
         return solr;
     }
 
+    /**
+     * Get the buffer through which documents should be written to and deleted from this core. If no buffer exists
+     * yet, a new one is created using the "discovery.index.buffer.*" configuration.
+     * @return SolrDocumentBuffer for this core
+     */
+    public synchronized SolrDocumentBuffer getDocumentBuffer() {
+        if (documentBuffer == null) {
+            documentBuffer = new SolrDocumentBuffer(this::getSolr,
+                    configurationService.getIntProperty("discovery.index.buffer.max-documents", 100),
+                    configurationService.getLongProperty("discovery.index.buffer.max-bytes", 10485760L));
+        }
+        return documentBuffer;
+    }
+
     /**
      * Initialize the solr search core
      */
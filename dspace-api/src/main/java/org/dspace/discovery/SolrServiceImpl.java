@@ -44,6 +44,7 @@ import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CursorMarkParams;
 import org.apache.solr.common.params.FacetParams;
 import org.apache.solr.common.params.HighlightParams;
 import org.apache.solr.common.params.MoreLikeThisParams;
@@ -56,6 +57,7 @@ import org.dspace.content.Community;
 import org.dspace.content.DSpaceObject;
 import org.dspace.content.Item;
 import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.core.Email;
@@ -69,6 +71,7 @@ import org.dspace.discovery.configuration.DiscoverySortConfiguration;
 import org.dspace.discovery.indexobject.IndexableCollection;
 import org.dspace.discovery.indexobject.IndexableCommunity;
 import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.indexobject.factory.DSpaceObjectIndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexFactory;
 import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
 import org.dspace.discovery.indexobject.factory.ItemIndexFactory;
@@ -77,6 +80,8 @@ import org.dspace.eperson.factory.EPersonServiceFactory;
 import org.dspace.eperson.service.GroupService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.util.UUIDLongMap;
+import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -222,6 +227,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
             log.info("Try to delete uniqueID:" + uniqueID);
             indexObjectServiceFactory.getIndexableObjectFactory(indexableObject).delete(indexableObject);
             if (commit) {
+                solrSearchCore.getDocumentBuffer().flush();
                 solrSearchCore.getSolr().commit();
             }
         } catch (IOException | SolrServerException exception) {
@@ -263,6 +269,7 @@ public class SolrServiceImpl implements SearchService, IndexingService {
                     log.warn("Object not found in Solr index: " + searchUniqueID);
                 }
                 if (commit) {
+                    solrSearchCore.getDocumentBuffer().flush();
                     solrSearchCore.getSolr().commit();
                 }
             }
@@ -336,35 +343,175 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         updateIndex(context, force, null);
     }
 
+    /**
+     * Iterates over all objects of the given type (or of all types when no type is given) and updates them in the
+     * index.
+     * <p>
+     * Unless the reindexing is forced, the last indexed timestamps of all DSpace objects of a type are first read
+     * from the index in bulk (see {@link #findLastIndexed(String)}), rather than querying the index for every single
+     * object, so that only stale objects are rebuilt. For Items, the last modified dates are also read in bulk from
+     * the database, so unchanged Items aren't even loaded.
+     *
+     * @param context the dspace context
+     * @param force   whether or not to force the reindexing
+     * @param type    the type of the objects to update, or null for all types
+     */
     @Override
     public void updateIndex(Context context, boolean force, String type) {
         try {
             final List<IndexFactory> indexableObjectServices = indexObjectServiceFactory.
                 getIndexFactories();
             int indexObject = 0;
-            for (IndexFactory indexableObjectService : indexableObjectServices) {
-                if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
-                    final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
-                    while (indexableObjects.hasNext()) {
-                        final IndexableObject indexableObject = indexableObjects.next();
-                        indexContent(context, indexableObject, force);
-                        context.uncacheEntity(indexableObject.getIndexedObject());
-                        indexObject++;
-                        if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
-                            context.uncacheEntities();
+            // Send the documents to the index in batches rather than one by one
+            startBatch();
+            try {
+                for (IndexFactory indexableObjectService : indexableObjectServices) {
+                    if (type == null || StringUtils.equals(indexableObjectService.getType(), type)) {
+                        if (!force && indexableObjectService instanceof ItemIndexFactory) {
+                            indexObject += updateStaleItems(context,
+                                                            findLastIndexed(indexableObjectService.getType()));
+                            continue;
+                        }
+                        UUIDLongMap lastIndexed = null;
+                        if (!force && indexableObjectService instanceof DSpaceObjectIndexFactory) {
+                            lastIndexed = findLastIndexed(indexableObjectService.getType());
+                        }
+                        final Iterator<IndexableObject> indexableObjects = indexableObjectService.findAll(context);
+                        while (indexableObjects.hasNext()) {
+                            final IndexableObject indexableObject = indexableObjects.next();
+                            if (lastIndexed == null) {
+                                indexContent(context, indexableObject, force);
+                            } else if (isStale(lastIndexed, (UUID) indexableObject.getID(),
+                                               indexableObject.getLastModified())) {
+                                indexContent(context, indexableObject, true);
+                            }
+                            context.uncacheEntity(indexableObject.getIndexedObject());
+                            indexObject++;
+                            if ((indexObject % 100) == 0 && indexableObjectService instanceof ItemIndexFactory) {
+                                context.uncacheEntities();
+                            }
                         }
                     }
                 }
+            } finally {
+                List<String> failed = endBatch();
+                if (!failed.isEmpty()) {
+                    log.error("{} objects could not be written to the index: {}", failed.size(), failed);
+                }
             }
             if (solrSearchCore.getSolr() != null) {
                 solrSearchCore.getSolr().commit();
             }
 
-        } catch (IOException | SQLException | SolrServerException e) {
+        } catch (IOException | SQLException | SolrServerException | SearchServiceException e) {
             log.error(e.getMessage(), e);
         }
     }
 
+    /**
+     * Reindex the regular Items which are stale according to the given last indexed timestamps. The last modified
+     * dates of the Items are read from the database in pages, only the stale Items are loaded.
+     *
+     * @param context     the dspace context
+     * @param lastIndexed the last indexed timestamp (in epoch milliseconds) of the Items in the index, by UUID
+     * @return the number of Items which were reindexed
+     * @throws SQLException if database error
+     */
+    protected int updateStaleItems(Context context, UUIDLongMap lastIndexed) throws SQLException {
+        final ItemService itemService = contentServiceFactory.getItemService();
+        final int pageSize = configurationService.getIntProperty("discovery.index.staleness.page-size", 10000);
+        int scanned = 0;
+        int updated = 0;
+        UUID after = null;
+        Map<UUID, Instant> page;
+        do {
+            page = itemService.findRegularItemsLastModified(context, after, pageSize);
+            for (Map.Entry<UUID, Instant> lastModified : page.entrySet()) {
+                after = lastModified.getKey();
+                scanned++;
+                if (isStale(lastIndexed, lastModified.getKey(), lastModified.getValue())) {
+                    Item item = itemService.find(context, lastModified.getKey());
+                    if (item != null) {
+                        indexContent(context, new IndexableItem(item), true);
+                        context.uncacheEntity(item);
+                        if ((++updated % 100) == 0) {
+                            context.uncacheEntities();
+                        }
+                    }
+                }
+            }
+        } while (page.size() == pageSize);
+        log.info("{} of {} items were stale and have been reindexed", updated, scanned);
+        return updated;
+    }
+
+    /**
+     * Read the last indexed timestamp of all documents of the given type from the index in one pass, streaming
+     * only the resource ID and last indexed fields using a cursor. The type should be a DSpace object type, as
+     * the resource IDs are expected to be UUIDs.
+     *
+     * @param type the type of the documents
+     * @return the last indexed timestamp (in epoch milliseconds) of the documents, by resource UUID
+     * @throws SolrServerException if the index could not be queried
+     * @throws IOException         if the index could not be queried
+     */
+    protected UUIDLongMap findLastIndexed(String type) throws SolrServerException, IOException {
+        if (solrSearchCore.getSolr() == null) {
+            return new UUIDLongMap(0);
+        }
+        SolrQuery query = new SolrQuery("*:*");
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + type);
+        query.setFields(SearchUtils.RESOURCE_ID_FIELD, SearchUtils.LAST_INDEXED_FIELD);
+        // A cursor requires a sort on the unique key
+        query.setSort(SearchUtils.RESOURCE_UNIQUE_ID, SolrQuery.ORDER.asc);
+        query.setRows(configurationService.getIntProperty("discovery.index.staleness.page-size", 10000));
+
+        UUIDLongMap lastIndexed = null;
+        String cursorMark = CursorMarkParams.CURSOR_MARK_START;
+        while (true) {
+            query.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+            QueryResponse response = solrSearchCore.getSolr().query(query, solrSearchCore.REQUEST_METHOD);
+            if (lastIndexed == null) {
+                lastIndexed = new UUIDLongMap((int) response.getResults().getNumFound());
+            }
+            for (SolrDocument doc : response.getResults()) {
+                UUID id = UUIDUtils.fromString((String) doc.getFirstValue(SearchUtils.RESOURCE_ID_FIELD));
+                Object value = doc.getFirstValue(SearchUtils.LAST_INDEXED_FIELD);
+                // If it's a java.util.Date, convert to an Instant
+                if (value instanceof java.util.Date) {
+                    value = ((java.util.Date) value).toInstant();
+                }
+                if (id != null && value instanceof Instant timestamp) {
+                    lastIndexed.put(id, timestamp.toEpochMilli());
+                }
+            }
+            String nextCursorMark = response.getNextCursorMark();
+            if (cursorMark.equals(nextCursorMark)) {
+                break;
+            }
+            cursorMark = nextCursorMark;
+        }
+        return lastIndexed;
+    }
+
+    /**
+     * Determine whether an object needs to be reindexed, using the same rules as
+     * {@link #requiresIndexing(String, Instant)} but based on timestamps read in bulk.
+     *
+     * @param lastIndexed  the last indexed timestamps (in epoch milliseconds) of the objects in the index
+     * @param id           the UUID of the object
+     * @param lastModified the last modified date of the object
+     * @return true if the object isn't in the index or was modified after it was last indexed
+     */
+    protected boolean isStale(UUIDLongMap lastIndexed, UUID id, Instant lastModified) {
+        if (lastModified == null) {
+            return true;
+        }
+        long indexed = lastIndexed.get(id, Long.MIN_VALUE);
+        // compared as instants, as the last modified date is more precise than the last indexed timestamp
+        return indexed == Long.MIN_VALUE || Instant.ofEpochMilli(indexed).isBefore(lastModified);
+    }
+
     /**
      * Removes all documents from the Lucene index
      */
@@ -493,6 +640,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         solrInputDocument.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueIndexId);
         solrInputDocument.addField(field, fieldModifier);
 
+        // Send any buffered changes first, so the update applies to the latest version of the document
+        solrSearchCore.getDocumentBuffer().flush();
         solrSearchCore.getSolr().add(solrInputDocument);
     }
 
@@ -1526,6 +1675,8 @@ public class SolrServiceImpl implements SearchService, IndexingService {
     public void commit() throws SearchServiceException {
         try {
             if (solrSearchCore.getSolr() != null) {
+                // Make sure the changes buffered by this thread are part of the commit
+                solrSearchCore.getDocumentBuffer().flush();
                 solrSearchCore.getSolr().commit();
             }
         } catch (IOException | SolrServerException e) {
@@ -1533,6 +1684,20 @@ public class SolrServiceImpl implements SearchService, IndexingService {
         }
     }
 
+    @Override
+    public void startBatch() {
+        solrSearchCore.getDocumentBuffer().begin();
+    }
+
+    @Override
+    public List<String> endBatch() throws SearchServiceException {
+        try {
+            return solrSearchCore.getDocumentBuffer().end();
+        } catch (IOException | SolrServerException e) {
+            throw new SearchServiceException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public String escapeQueryChars(String query) {
         // Use Solr's built in query escape tool
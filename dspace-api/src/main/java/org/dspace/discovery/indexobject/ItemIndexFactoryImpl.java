@@ -598,6 +598,12 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         writeDocument(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
     }
 
+    @Override
+    public void completeDocument(Context context, IndexableItem indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException {
+        addFullText(solrInputDocument, new FullTextContentStreams(context, indexableObject.getIndexedObject()));
+    }
+
     @Override
     public List<String> getLocations(Context context, IndexableItem indexableDSpaceObject)
             throws SQLException {
@@ -634,7 +640,7 @@ public class ItemIndexFactoryImpl extends DSpaceObjectIndexFactoryImpl<Indexable
         // Also delete any possible workflowItem / workspaceItem / tasks related to this item
         String query = "inprogress.item:\"" + indexableObjectIdentifier + "\"";
         log.debug("Try to delete all in progress submission [DELETEBYQUERY]:" + query);
-        solrSearchCore.getSolr().deleteByQuery(query);
+        solrSearchCore.getDocumentBuffer().deleteByQuery(query);
     }
 
     @Override
@@ -66,6 +66,19 @@ public interface IndexFactory<T extends IndexableObject, S> {
     void writeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
             throws SQLException, IOException, SolrServerException;
 
+    /**
+     * Add the content to the provided document which writeDocument would otherwise only add right before sending
+     * the document to the solr core (e.g. the extracted full text of an item), without writing the document.
+     * This allows callers to send complete documents to the search core in batches.
+     * @param context               DSpace context object
+     * @param indexableObject       The indexable object the document was built for
+     * @param solrInputDocument     Solr input document to complete
+     * @throws SQLException         If database error
+     * @throws IOException          If IO error
+     */
+    void completeDocument(Context context, T indexableObject, SolrInputDocument solrInputDocument)
+            throws SQLException, IOException;
+
     /**
      * Remove the provided indexable object from the solr core
      * @param indexableObject       The indexable object that we want to remove from the search core
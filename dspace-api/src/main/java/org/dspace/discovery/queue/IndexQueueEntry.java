@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.dspace.core.ReloadableEntity;
+
+/**
+ * Entity that models a record on the discovery index queue. Each record holds the unique index ID of an object
+ * (e.g. "Item-&lt;uuid&gt;") whose search document has to be updated or deleted. The same object can be queued
+ * multiple times, its records are coalesced when the queue is processed.
+ */
+@Entity
+@Table(name = "discovery_index_queue")
+public class IndexQueueEntry implements ReloadableEntity<Integer> {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "discovery_index_queue_id_seq")
+    @SequenceGenerator(name = "discovery_index_queue_id_seq", sequenceName = "discovery_index_queue_id_seq",
+                       allocationSize = 1)
+    private Integer id;
+
+    /**
+     * The unique index ID of the object to (re)index or unindex.
+     */
+    @Column(name = "unique_index_id", nullable = false)
+    private String uniqueIndexId;
+
+    /**
+     * When the object was queued.
+     */
+    @Column(name = "queued", nullable = false)
+    private Instant queued;
+
+    @Override
+    public Integer getID() {
+        return id;
+    }
+
+    public String getUniqueIndexId() {
+        return uniqueIndexId;
+    }
+
+    public void setUniqueIndexId(String uniqueIndexId) {
+        this.uniqueIndexId = uniqueIndexId;
+    }
+
+    public Instant getQueued() {
+        return queued;
+    }
+
+    public void setQueued(Instant queued) {
+        this.queued = queued;
+    }
+
+    @Override
+    public String toString() {
+        return "IndexQueueEntry [id=" + id + ", uniqueIndexId=" + uniqueIndexId + ", queued=" + queued + "]";
+    }
+}
@@ -0,0 +1,217 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.discovery.IndexableObject;
+import org.dspace.discovery.IndexingService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.indexobject.factory.IndexFactory;
+import org.dspace.discovery.indexobject.factory.IndexObjectFactoryFactory;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Processes the discovery index queue, see {@link IndexQueueService}.
+ * <p>
+ * The queue is read in rounds of at most "workers" x "batch-size" records. The records of a round are coalesced by
+ * unique index ID, so an object which was queued many times is only indexed once, and the distinct objects are
+ * spread over a bounded pool of worker threads. Each worker resolves the current state of its objects in its own
+ * {@link Context}: objects which still exist are reindexed, the others are removed from the index. Once all workers
+ * are done the search core is committed and the records of the round are deleted from the queue. When a round fails
+ * (e.g. because the search core can't be reached) its records stay on the queue and are retried on the next run.
+ */
+public class IndexQueueProcessor {
+
+    private static final Logger log = LogManager.getLogger(IndexQueueProcessor.class);
+
+    public static final String WORKERS_PROPERTY = "discovery.index.queue.workers";
+    public static final String BATCH_SIZE_PROPERTY = "discovery.index.queue.batch-size";
+    public static final String MAX_RUN_TIME_PROPERTY = "discovery.index.queue.max-run-time";
+
+    private final int workers;
+    private final int batchSize;
+    private final Duration maxRunTime;
+
+    private final IndexQueueService indexQueueService;
+    private final IndexingService indexingService;
+    private final IndexObjectFactoryFactory indexObjectFactoryFactory;
+
+    /**
+     * Create a new processor, configured by the discovery.index.queue.* properties
+     */
+    public IndexQueueProcessor() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        this.workers = Math.max(1, configurationService.getIntProperty(WORKERS_PROPERTY, 2));
+        this.batchSize = Math.max(1, configurationService.getIntProperty(BATCH_SIZE_PROPERTY, 100));
+        this.maxRunTime = Duration.ofSeconds(configurationService.getLongProperty(MAX_RUN_TIME_PROPERTY, 300));
+        this.indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                      .getServiceByName(IndexQueueService.class.getName(),
+                                                                        IndexQueueService.class);
+        this.indexingService = DSpaceServicesFactory.getInstance().getServiceManager()
+                                                    .getServiceByName(IndexingService.class.getName(),
+                                                                      IndexingService.class);
+        this.indexObjectFactoryFactory = IndexObjectFactoryFactory.getInstance();
+    }
+
+    /**
+     * Scheduled task which processes the queue, if it is enabled.
+     *
+     * @throws SQLException             If the queue couldn't be read or updated
+     * @throws SearchServiceException   If the search core couldn't be updated
+     */
+    public static void runScheduled() throws SQLException, SearchServiceException {
+        IndexQueueProcessor processor = new IndexQueueProcessor();
+        if (processor.indexQueueService.isEnabled()) {
+            processor.process();
+        }
+    }
+
+    /**
+     * Process rounds of records until the queue is empty or the maximum run time is exceeded.
+     *
+     * @return                          The number of distinct objects which were processed
+     * @throws SQLException             If the queue couldn't be read or updated
+     * @throws SearchServiceException   If the search core couldn't be updated
+     */
+    public int process() throws SQLException, SearchServiceException {
+        Instant deadline = Instant.now().plus(maxRunTime);
+        int processed = 0;
+        Context context = new Context();
+        ExecutorService executorService = Executors.newFixedThreadPool(workers);
+        try {
+            List<IndexQueueEntry> entries;
+            while (!(entries = indexQueueService.findOldest(context, workers * batchSize)).isEmpty()) {
+                processed += processRound(executorService, entries);
+                indexQueueService.delete(context, entries);
+                context.commit();
+                context.uncacheEntities();
+                if (Instant.now().isAfter(deadline)) {
+                    log.info("Stopped processing the discovery index queue after {}, {} records are left",
+                             maxRunTime, indexQueueService.countEntries(context));
+                    break;
+                }
+            }
+        } finally {
+            executorService.shutdownNow();
+            context.abort();
+        }
+        if (processed > 0) {
+            log.info("Processed {} objects from the discovery index queue", processed);
+        }
+        return processed;
+    }
+
+    /**
+     * Coalesce the records by unique index ID, process the distinct IDs with the workers and commit the search core.
+     */
+    private int processRound(ExecutorService executorService, List<IndexQueueEntry> entries)
+        throws SearchServiceException {
+        Set<String> uniqueIndexIds = new LinkedHashSet<>();
+        for (IndexQueueEntry entry : entries) {
+            uniqueIndexIds.add(entry.getUniqueIndexId());
+        }
+        List<List<String>> chunks = split(new ArrayList<>(uniqueIndexIds), workers);
+
+        List<Future<Void>> futures = new ArrayList<>(chunks.size());
+        for (List<String> chunk : chunks) {
+            futures.add(executorService.submit(() -> {
+                processChunk(chunk);
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SearchServiceException("Interrupted while processing the discovery index queue", e);
+        } catch (ExecutionException e) {
+            throw new SearchServiceException("A worker failed while processing the discovery index queue",
+                                             e.getCause());
+        }
+        indexingService.commit();
+        return uniqueIndexIds.size();
+    }
+
+    /**
+     * Process the unique index IDs in a dedicated Context, sending the changes to the search core in batches.
+     */
+    private void processChunk(List<String> uniqueIndexIds) throws SQLException, SearchServiceException {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            context.turnOffAuthorisationSystem();
+            indexingService.startBatch();
+            try {
+                for (String uniqueIndexId : uniqueIndexIds) {
+                    processEntry(context, uniqueIndexId);
+                }
+            } finally {
+                List<String> failed = indexingService.endBatch();
+                if (!failed.isEmpty()) {
+                    log.error("Failed while writing objects from the discovery index queue: {}", failed);
+                }
+            }
+        } finally {
+            context.abort();
+        }
+    }
+
+    /**
+     * Bring the search index in line with the current state of the object: objects which no longer exist are
+     * removed from the index, the others are removed and indexed again together with their related indexable
+     * objects (e.g. the workspace item of an item), so that no stale documents are left behind.
+     */
+    @SuppressWarnings("unchecked")
+    private void processEntry(Context context, String uniqueIndexId) {
+        try {
+            IndexFactory indexFactory = indexObjectFactoryFactory.getIndexableObjectFactory(uniqueIndexId);
+            String id = uniqueIndexId.substring(uniqueIndexId.indexOf('-') + 1);
+            Optional<IndexableObject> indexableObject = indexFactory.findIndexableObject(context, id);
+            indexingService.unIndexContent(context, uniqueIndexId, false);
+            if (indexableObject.isPresent()) {
+                for (IndexableObject related : indexObjectFactoryFactory
+                    .getIndexableObjects(context, indexableObject.get().getIndexedObject())) {
+                    indexingService.indexContent(context, related, true, false);
+                }
+            }
+            context.uncacheEntities();
+        } catch (Exception e) {
+            log.error("Failed while processing {} from the discovery index queue", uniqueIndexId, e);
+        }
+    }
+
+    /**
+     * Split the list into at most the given number of chunks of (roughly) equal size.
+     */
+    static <T> List<List<T>> split(List<T> list, int count) {
+        int chunkSize = Math.max(1, (list.size() + count - 1) / count);
+        List<List<T>> chunks = new ArrayList<>(count);
+        for (int start = 0; start < list.size(); start += chunkSize) {
+            chunks.add(list.subList(start, Math.min(list.size(), start + chunkSize)));
+        }
+        return chunks;
+    }
+}
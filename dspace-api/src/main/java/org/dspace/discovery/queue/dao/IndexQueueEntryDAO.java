@@ -0,0 +1,64 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.core.GenericDAO;
+import org.dspace.discovery.queue.IndexQueueEntry;
+
+/**
+ * Database Access Object interface class for the IndexQueueEntry object. The
+ * implementation of this class is responsible for all database calls for the
+ * IndexQueueEntry object and is autowired by spring. This class should only be
+ * accessed from a single service and should never be exposed outside of the API
+ */
+public interface IndexQueueEntryDAO extends GenericDAO<IndexQueueEntry> {
+
+    /**
+     * Find the oldest records on the queue, in the order they were queued.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of records to return
+     * @return              the oldest records
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException;
+
+    /**
+     * Count the records on the queue.
+     *
+     * @param  context      DSpace context object
+     * @return              the number of records
+     * @throws SQLException if an SQL error occurs
+     */
+    long countAll(Context context) throws SQLException;
+
+    /**
+     * Find when the oldest record on the queue was queued.
+     *
+     * @param  context      DSpace context object
+     * @return              the queued date of the oldest record, or null if the queue is empty
+     * @throws SQLException if an SQL error occurs
+     */
+    Instant findOldestQueued(Context context) throws SQLException;
+
+    /**
+     * Delete the records with the given ids.
+     *
+     * @param  context      DSpace context object
+     * @param  ids          the ids of the records to delete
+     * @return              the number of deleted records
+     * @throws SQLException if an SQL error occurs
+     */
+    int deleteByIds(Context context, Collection<Integer> ids) throws SQLException;
+}
@@ -0,0 +1,55 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.dao.impl;
+
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import jakarta.persistence.Query;
+import org.dspace.core.AbstractHibernateDAO;
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+
+/**
+ * Implementation of {@link IndexQueueEntryDAO}.
+ */
+@SuppressWarnings("unchecked")
+public class IndexQueueEntryDAOImpl extends AbstractHibernateDAO<IndexQueueEntry> implements IndexQueueEntryDAO {
+
+    @Override
+    public List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException {
+        Query query = createQuery(context, "FROM IndexQueueEntry ORDER BY id");
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    @Override
+    public long countAll(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT COUNT(entry) FROM IndexQueueEntry entry");
+        return (long) query.getSingleResult();
+    }
+
+    @Override
+    public Instant findOldestQueued(Context context) throws SQLException {
+        Query query = createQuery(context, "SELECT MIN(queued) FROM IndexQueueEntry");
+        return (Instant) query.getSingleResult();
+    }
+
+    @Override
+    public int deleteByIds(Context context, Collection<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Query query = createQuery(context, "DELETE FROM IndexQueueEntry WHERE id IN (:ids)");
+        query.setParameter("ids", ids);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+
+/**
+ * Service that handles the discovery index queue. When the queue is enabled, the {@link
+ * org.dspace.discovery.IndexEventConsumer} queues the objects which have to be (re)indexed or unindexed in the same
+ * transaction as the change itself, instead of updating the search index before the transaction is committed. The
+ * queue is then processed in the background by the {@link org.dspace.discovery.queue.IndexQueueProcessor}.
+ */
+public interface IndexQueueService {
+
+    /**
+     * Configuration property which enables the queue
+     */
+    String ENABLED_PROPERTY = "discovery.index.queue.enabled";
+
+    /**
+     * @return whether the changes should be queued instead of being indexed right away
+     */
+    boolean isEnabled();
+
+    /**
+     * Queue the object with the given unique index ID, the record is saved with the given context.
+     *
+     * @param  context       DSpace context object
+     * @param  uniqueIndexId the unique index ID of the object to (re)index or unindex, e.g. "Item-&lt;uuid&gt;"
+     * @return               the queued record
+     * @throws SQLException  if an SQL error occurs
+     */
+    IndexQueueEntry enqueue(Context context, String uniqueIndexId) throws SQLException;
+
+    /**
+     * Find the oldest records on the queue, in the order they were queued.
+     *
+     * @param  context      DSpace context object
+     * @param  limit        the maximum number of records to return
+     * @return              the oldest records
+     * @throws SQLException if an SQL error occurs
+     */
+    List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException;
+
+    /**
+     * @param  context      DSpace context object
+     * @return              the number of records on the queue (the queue depth)
+     * @throws SQLException if an SQL error occurs
+     */
+    long countEntries(Context context) throws SQLException;
+
+    /**
+     * @param  context      DSpace context object
+     * @return              how long the oldest record has been waiting on the queue, zero if the queue is empty
+     * @throws SQLException if an SQL error occurs
+     */
+    Duration getLag(Context context) throws SQLException;
+
+    /**
+     * Delete the given records from the queue.
+     *
+     * @param  context      DSpace context object
+     * @param  entries      the records to delete
+     * @throws SQLException if an SQL error occurs
+     */
+    void delete(Context context, Collection<IndexQueueEntry> entries) throws SQLException;
+}
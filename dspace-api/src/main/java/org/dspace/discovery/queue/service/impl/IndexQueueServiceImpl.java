@@ -0,0 +1,79 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue.service.impl;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.IndexQueueEntry;
+import org.dspace.discovery.queue.dao.IndexQueueEntryDAO;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Implementation of {@link IndexQueueService}.
+ */
+public class IndexQueueServiceImpl implements IndexQueueService {
+
+    @Autowired
+    private IndexQueueEntryDAO indexQueueEntryDAO;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty(ENABLED_PROPERTY, false);
+    }
+
+    @Override
+    public IndexQueueEntry enqueue(Context context, String uniqueIndexId) throws SQLException {
+        IndexQueueEntry entry = new IndexQueueEntry();
+        entry.setUniqueIndexId(uniqueIndexId);
+        entry.setQueued(Instant.now());
+        return indexQueueEntryDAO.create(context, entry);
+    }
+
+    @Override
+    public List<IndexQueueEntry> findOldest(Context context, int limit) throws SQLException {
+        return indexQueueEntryDAO.findOldest(context, limit);
+    }
+
+    @Override
+    public long countEntries(Context context) throws SQLException {
+        return indexQueueEntryDAO.countAll(context);
+    }
+
+    @Override
+    public Duration getLag(Context context) throws SQLException {
+        Instant oldest = indexQueueEntryDAO.findOldestQueued(context);
+        if (oldest == null) {
+            return Duration.ZERO;
+        }
+        Duration lag = Duration.between(oldest, Instant.now());
+        return lag.isNegative() ? Duration.ZERO : lag;
+    }
+
+    @Override
+    public void delete(Context context, Collection<IndexQueueEntry> entries) throws SQLException {
+        List<Integer> ids = new ArrayList<>(entries.size());
+        for (IndexQueueEntry entry : entries) {
+            ids.add(entry.getID());
+        }
+        indexQueueEntryDAO.deleteByIds(context, ids);
+        for (IndexQueueEntry entry : entries) {
+            context.uncacheEntity(entry);
+        }
+    }
+}
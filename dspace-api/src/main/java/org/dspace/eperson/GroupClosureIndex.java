@@ -0,0 +1,233 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.eperson.dao.Group2GroupCacheDAO;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * In-memory copy of the group2groupcache table (the transitive closure of the group memberships) shared by all
+ * Contexts, so that checking whether a group is a (direct or indirect) member of another group doesn't need a query.
+ * <p>
+ * Every group appearing in the closure gets an ordinal, and the parents of each group are held in a {@link BitSet}
+ * of ordinals. The groups with the most members get the lowest ordinals, so the bitsets stay small even with many
+ * groups: most groups only belong to a few groups, which are the same for many of them.
+ * <p>
+ * The index is an immutable snapshot of the committed closure, loaded with a separate Context. It's discarded when
+ * the group memberships change (see {@link #invalidate()}) and when it's older than its maximum age, which bounds how
+ * long changes made on another node of a cluster are ignored. Because the changes are only committed after the
+ * invalidation, no snapshot is loaded during the following settle time, and the snapshot is invalidated again once
+ * they're committed, in case the commit took longer. Contexts with pending changes must not use the snapshot, as it
+ * doesn't include their own changes.
+ */
+public class GroupClosureIndex {
+
+    private static final Logger log = LogManager.getLogger(GroupClosureIndex.class);
+
+    public static final String ENABLED_PROPERTY = "core.authorization.group-closure.enabled";
+    public static final String MAX_AGE_PROPERTY = "core.authorization.group-closure.max-age";
+    public static final String SETTLE_TIME_PROPERTY = "core.authorization.group-closure.settle-time";
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    @Autowired(required = true)
+    private Group2GroupCacheDAO group2GroupCacheDAO;
+
+    private final LongSupplier clock;
+
+    private volatile Snapshot snapshot;
+    private volatile long invalidUntil = Long.MIN_VALUE;
+
+    public GroupClosureIndex() {
+        this(System::currentTimeMillis);
+    }
+
+    GroupClosureIndex(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether group memberships should be checked with this index
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Get the current snapshot of the closure, loading it if needed.
+     *
+     * @return the snapshot, or null if the index is disabled, settling after an invalidation or can't be loaded
+     */
+    public Snapshot getSnapshot() {
+        if (!isEnabled()) {
+            return null;
+        }
+        Snapshot current = snapshot;
+        long now = clock.getAsLong();
+        if (isValid(current, now)) {
+            return current;
+        }
+        if (now <= invalidUntil) {
+            return null;
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (isValid(current, now)) {
+                return current;
+            }
+            try {
+                long start = clock.getAsLong();
+                current = new Snapshot(loadClosure(), start);
+                log.debug("Loaded the closure of {} groups in {} ms", current.size(), clock.getAsLong() - start);
+            } catch (SQLException e) {
+                log.error("Unable to load the group closure", e);
+                return null;
+            }
+            // don't keep a snapshot loaded while it was being invalidated
+            if (current.getLoadedAt() > invalidUntil) {
+                snapshot = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Discard the current snapshot, because the group memberships are changing.
+     */
+    public void invalidate() {
+        invalidUntil = clock.getAsLong() + getSettleTime();
+        snapshot = null;
+    }
+
+    /**
+     * Load the committed closure, with a separate Context so that uncommitted changes aren't included.
+     *
+     * @return pairs of parent and child group UUIDs
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected Set<Pair<UUID, UUID>> loadClosure() throws SQLException {
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            return group2GroupCacheDAO.getCache(context);
+        }
+    }
+
+    private boolean isValid(Snapshot current, long now) {
+        return current != null && current.getLoadedAt() > invalidUntil && now - current.getLoadedAt() < getMaxAge();
+    }
+
+    private long getMaxAge() {
+        return configurationService.getLongProperty(MAX_AGE_PROPERTY, 60) * 1000;
+    }
+
+    private long getSettleTime() {
+        return configurationService.getLongProperty(SETTLE_TIME_PROPERTY, 5) * 1000;
+    }
+
+    void setConfigurationService(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Immutable transitive closure of the group memberships.
+     */
+    public static class Snapshot {
+
+        private final long loadedAt;
+        private final Map<UUID, Integer> ordinals;
+        private final UUID[] groups;
+        private final BitSet[] parents;
+
+        /**
+         * @param closure  pairs of parent and child group UUIDs, as in the group2groupcache table
+         * @param loadedAt the time at which the closure started loading
+         */
+        Snapshot(Collection<Pair<UUID, UUID>> closure, long loadedAt) {
+            this.loadedAt = loadedAt;
+
+            // count the members of each group, to give the lowest ordinals to the groups with the most members
+            Map<UUID, Integer> memberCounts = new HashMap<>();
+            for (Pair<UUID, UUID> pair : closure) {
+                memberCounts.merge(pair.getLeft(), 1, Integer::sum);
+                memberCounts.putIfAbsent(pair.getRight(), 0);
+            }
+            ordinals = new HashMap<>(memberCounts.size() * 4 / 3 + 1);
+            groups = new UUID[memberCounts.size()];
+            memberCounts.entrySet().stream()
+                        .sorted(Map.Entry.<UUID, Integer>comparingByValue().reversed())
+                        .forEachOrdered(entry -> {
+                            groups[ordinals.size()] = entry.getKey();
+                            ordinals.put(entry.getKey(), ordinals.size());
+                        });
+
+            parents = new BitSet[groups.length];
+            for (Pair<UUID, UUID> pair : closure) {
+                int child = ordinals.get(pair.getRight());
+                if (parents[child] == null) {
+                    parents[child] = new BitSet();
+                }
+                parents[child].set(ordinals.get(pair.getLeft()));
+            }
+        }
+
+        /**
+         * @param parent the UUID of the parent group
+         * @param child  the UUID of the child group
+         * @return whether the child group is a direct or indirect member of the parent group
+         */
+        public boolean isParentOf(UUID parent, UUID child) {
+            Integer childOrdinal = ordinals.get(child);
+            Integer parentOrdinal = ordinals.get(parent);
+            return childOrdinal != null && parentOrdinal != null && parents[childOrdinal] != null
+                && parents[childOrdinal].get(parentOrdinal);
+        }
+
+        /**
+         * @param children the UUIDs of the child groups
+         * @return the UUIDs of the groups the child groups are direct or indirect members of
+         */
+        public Set<UUID> getParents(Collection<UUID> children) {
+            BitSet all = new BitSet();
+            for (UUID child : children) {
+                Integer childOrdinal = ordinals.get(child);
+                if (childOrdinal != null && parents[childOrdinal] != null) {
+                    all.or(parents[childOrdinal]);
+                }
+            }
+            Set<UUID> result = new HashSet<>();
+            all.stream().forEach(ordinal -> result.add(groups[ordinal]));
+            return result;
+        }
+
+        /**
+         * @return the number of groups in the closure
+         */
+        public int size() {
+            return groups.length;
+        }
+
+        public long getLoadedAt() {
+            return loadedAt;
+        }
+    }
+}
@@ -8,7 +8,9 @@
 package org.dspace.eperson;
 
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -73,6 +75,9 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     @Autowired(required = true)
     protected Group2GroupCacheDAO group2GroupCacheDAO;
 
+    @Autowired(required = true)
+    protected GroupClosureIndex groupClosureIndex;
+
     @Autowired(required = true)
     protected CollectionService collectionService;
 
@@ -258,6 +263,10 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
 
     @Override
     public boolean isParentOf(Context context, Group parentGroup, Group childGroup) throws SQLException {
+        GroupClosureIndex.Snapshot closure = getClosureSnapshot(context);
+        if (closure != null && parentGroup != null && childGroup != null) {
+            return closure.isParentOf(parentGroup.getID(), childGroup.getID());
+        }
         return group2GroupCacheDAO.findByParentAndChild(context, parentGroup, childGroup) != null;
     }
 
@@ -366,10 +375,21 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // all the users are members of the anonymous group
         groups.add(findByName(context, Group.ANONYMOUS));
 
-        List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
         // now we have all owning groups, also grab all parents of owning groups
-        for (Group2GroupCache group2GroupCache : groupCache) {
-            groups.add(group2GroupCache.getParent());
+        GroupClosureIndex.Snapshot closure = getClosureSnapshot(context);
+        if (closure != null) {
+            Set<UUID> groupIds = new HashSet<>();
+            for (Group group : groups) {
+                if (group != null) {
+                    groupIds.add(group.getID());
+                }
+            }
+            groups.addAll(groupDAO.findByIds(context, closure.getParents(groupIds)));
+        } else {
+            List<Group2GroupCache> groupCache = group2GroupCacheDAO.findByChildren(context, groups);
+            for (Group2GroupCache group2GroupCache : groupCache) {
+                groups.add(group2GroupCache.getParent());
+            }
         }
 
         context.cacheAllMemberGroupsSet(ePerson, groups);
@@ -563,11 +583,13 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
             ePerson.getGroups().remove(group);
         }
 
-        // empty out group2groupcache table (if we do it after we delete our object we get an issue with references)
-        group2GroupCacheDAO.deleteAll(context);
+        // remove our rows from the group2groupcache table (if we do it after we delete our object we get an issue
+        // with references), only the rows of our former parents have to be computed again
+        Set<UUID> formerParents = group2GroupCacheDAO.findParentIds(context, group.getID());
+        group2GroupCacheDAO.deleteByGroup(context, group.getID());
         // Remove ourself
         groupDAO.delete(context, group);
-        rethinkGroupCache(context, false);
+        updateGroupCache(context, formerParents, getMemberGroupIds(context, false));
 
         log.info(LogHelper.getHeader(context, "delete_group", "group_id="
             + group.getID()));
@@ -658,7 +680,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         }
 
         if (group.isGroupsChanged()) {
-            rethinkGroupCache(context, true);
+            rethinkGroupCache(context, group, true);
             group.clearGroupsChanged();
         }
 
@@ -682,16 +704,7 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
      * @throws SQLException An exception that provides information on a database access error or other errors.
      */
     private Set<Pair<UUID, UUID>> computeNewCache(Context context, boolean flushQueries) throws SQLException {
-        Map<UUID, Set<UUID>> parents = new HashMap<>();
-
-        List<Pair<UUID, UUID>> group2groupResults = groupDAO.getGroup2GroupResults(context, flushQueries);
-        for (Pair<UUID, UUID> group2groupResult : group2groupResults) {
-            UUID parent = group2groupResult.getLeft();
-            UUID child = group2groupResult.getRight();
-
-            parents.putIfAbsent(parent, new HashSet<>());
-            parents.get(parent).add(child);
-        }
+        Map<UUID, Set<UUID>> parents = getMemberGroupIds(context, flushQueries);
 
         // now parents is a hash of all of the IDs of groups that are parents
         // and each hash entry is a hash of all of the IDs of children of those
@@ -730,6 +743,62 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         // correct cache, computed from the Group table
         Set<Pair<UUID, UUID>> newCache = computeNewCache(context, flushQueries);
 
+        applyGroupCacheChanges(context, oldCache, newCache);
+    }
+
+    /**
+     * Update the rows of the group cache AKA the group2groupcache table affected by a change of the direct members
+     * or the direct parents of a group - meant to be called instead of {@link #rethinkGroupCache(Context, boolean)}
+     * when the changed group is known. Only the members of the group itself and of its current and former
+     * (direct or indirect) parents can change, so only their rows are computed again.
+     *
+     * @param context      The relevant DSpace Context.
+     * @param group        The group whose members or parents changed
+     * @param flushQueries flushQueries Flush all pending queries
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    protected void rethinkGroupCache(Context context, Group group, boolean flushQueries) throws SQLException {
+        // the former parents of the group, according to the cache
+        Set<UUID> affected = group2GroupCacheDAO.findParentIds(context, group.getID());
+
+        Map<UUID, Set<UUID>> memberGroupIds = getMemberGroupIds(context, flushQueries);
+        Map<UUID, Set<UUID>> parentGroupIds = new HashMap<>();
+        for (Map.Entry<UUID, Set<UUID>> parent : memberGroupIds.entrySet()) {
+            for (UUID child : parent.getValue()) {
+                parentGroupIds.computeIfAbsent(child, id -> new HashSet<>()).add(parent.getKey());
+            }
+        }
+        // the current parents of the group, found by walking up the Group table
+        affected.addAll(getChildren(parentGroupIds, group.getID()));
+        affected.add(group.getID());
+
+        updateGroupCache(context, affected, memberGroupIds);
+    }
+
+    /**
+     * Compute again the rows of the group cache of the given parent groups.
+     *
+     * @param context        The relevant DSpace Context.
+     * @param parents        UUIDs of the parent groups whose rows should be computed again
+     * @param memberGroupIds Map of parent,child relationships from the Group table
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    private void updateGroupCache(Context context, Set<UUID> parents, Map<UUID, Set<UUID>> memberGroupIds)
+        throws SQLException {
+        Set<Pair<UUID, UUID>> oldCache = group2GroupCacheDAO.getCache(context, parents);
+
+        Set<Pair<UUID, UUID>> newCache = new HashSet<>();
+        for (UUID parent : parents) {
+            for (UUID child : getChildren(memberGroupIds, parent)) {
+                newCache.add(Pair.of(parent, child));
+            }
+        }
+
+        applyGroupCacheChanges(context, oldCache, newCache);
+    }
+
+    private void applyGroupCacheChanges(Context context, Set<Pair<UUID, UUID>> oldCache,
+                                        Set<Pair<UUID, UUID>> newCache) throws SQLException {
         SetUtils.SetView<Pair<UUID, UUID>> toDelete = SetUtils.difference(oldCache, newCache);
         SetUtils.SetView<Pair<UUID, UUID>> toCreate = SetUtils.difference(newCache, oldCache);
 
@@ -740,6 +809,43 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
         for (Pair<UUID, UUID> pair : toCreate ) {
             group2GroupCacheDAO.addToCache(context, pair.getLeft(), pair.getRight());
         }
+
+        if (!toDelete.isEmpty() || !toCreate.isEmpty()) {
+            // invalidated again once committed, in case a snapshot of the previous closure was loaded meanwhile
+            groupClosureIndex.invalidate();
+            context.afterCommit(groupClosureIndex::invalidate);
+        }
+    }
+
+    /**
+     * Returns a map of the UUIDs of all groups having member groups to the UUIDs of their direct member groups.
+     *
+     * @param context      The relevant DSpace Context.
+     * @param flushQueries flushQueries Flush all pending queries
+     * @return Map of parent,child relationships
+     * @throws SQLException An exception that provides information on a database access error or other errors.
+     */
+    private Map<UUID, Set<UUID>> getMemberGroupIds(Context context, boolean flushQueries) throws SQLException {
+        Map<UUID, Set<UUID>> parents = new HashMap<>();
+        for (Pair<UUID, UUID> group2groupResult : groupDAO.getGroup2GroupResults(context, flushQueries)) {
+            parents.computeIfAbsent(group2groupResult.getLeft(), id -> new HashSet<>())
+                   .add(group2groupResult.getRight());
+        }
+        return parents;
+    }
+
+    /**
+     * Get the shared closure of the group memberships, when it can be used with the given Context: the closure
+     * doesn't include the pending changes of a Context, so it's never used while the Context has events to dispatch.
+     *
+     * @param context The relevant DSpace Context.
+     * @return the closure, or null if the group cache should be queried instead
+     */
+    protected GroupClosureIndex.Snapshot getClosureSnapshot(Context context) {
+        if (context.hasEvents()) {
+            return null;
+        }
+        return groupClosureIndex.getSnapshot();
     }
 
     @Override
@@ -843,32 +949,24 @@ public class GroupServiceImpl extends DSpaceObjectServiceImpl<Group> implements
     }
 
     /**
-     * Used recursively to generate a map of ALL of the children of the given
-     * parent
+     * Used to generate a set of ALL of the children of the given parent. Each
+     * child is only walked once, even if it can be reached through several
+     * groups.
      *
      * @param parents Map of parent,child relationships
      * @param parent  the parent you're interested in
-     * @return Map whose keys are all of the children of a parent
+     * @return Set of all of the children of a parent
      */
     protected Set<UUID> getChildren(Map<UUID, Set<UUID>> parents, UUID parent) {
         Set<UUID> myChildren = new HashSet<>();
 
-        // degenerate case, this parent has no children
-        if (!parents.containsKey(parent)) {
-            return myChildren;
-        }
-
-        // got this far, so we must have children
-        Set<UUID> children = parents.get(parent);
-
-        // now iterate over all of the children
-
-        for (UUID child : children) {
-            // add this child's ID to our return set
-            myChildren.add(child);
-
-            // and now its children
-            myChildren.addAll(getChildren(parents, child));
+        Deque<UUID> toWalk = new ArrayDeque<>(parents.getOrDefault(parent, Set.of()));
+        while (!toWalk.isEmpty()) {
+            UUID child = toWalk.pop();
+            // add this child's ID to our return set, and its children if it wasn't walked yet
+            if (myChildren.add(child)) {
+                toWalk.addAll(parents.getOrDefault(child, Set.of()));
+            }
         }
 
         return myChildren;
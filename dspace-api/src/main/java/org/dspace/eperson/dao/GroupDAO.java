@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -202,4 +203,14 @@ public interface GroupDAO extends DSpaceObjectDAO<Group>, DSpaceObjectLegacySupp
      * @throws SQLException if database error
      */
     int countByParent(Context context, Group parent) throws SQLException;
+
+    /**
+     * Find the groups with the given UUIDs, with one query.
+     *
+     * @param context The DSpace context
+     * @param ids     the UUIDs of the groups
+     * @return the groups which exist, in no particular order
+     * @throws SQLException if database error
+     */
+    List<Group> findByIds(Context context, Collection<UUID> ids) throws SQLException;
 }
@@ -8,6 +8,7 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -49,6 +50,29 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         return new HashSet<Pair<UUID, UUID>>(results);
     }
 
+    @Override
+    public Set<Pair<UUID, UUID>> getCache(Context context, Collection<UUID> parents) throws SQLException {
+        if (parents.isEmpty()) {
+            return new HashSet<>();
+        }
+        Query query = createQuery(
+            context,
+            "SELECT new org.apache.commons.lang3.tuple.ImmutablePair(g.parent.id, g.child.id) " +
+                "FROM Group2GroupCache g WHERE g.parent.id IN (:parents)"
+        );
+        query.setParameter("parents", parents);
+        List<Pair<UUID, UUID>> results = query.getResultList();
+        return new HashSet<Pair<UUID, UUID>>(results);
+    }
+
+    @Override
+    public Set<UUID> findParentIds(Context context, UUID child) throws SQLException {
+        Query query = createQuery(context, "SELECT g.parent.id FROM Group2GroupCache g WHERE g.child.id = :child");
+        query.setParameter("child", child);
+        List<UUID> results = query.getResultList();
+        return new HashSet<>(results);
+    }
+
     @Override
     public List<Group2GroupCache> findByParent(Context context, Group group) throws SQLException {
         CriteriaBuilder criteriaBuilder = getCriteriaBuilder(context);
@@ -105,6 +129,15 @@ public class Group2GroupCacheDAOImpl extends AbstractHibernateDAO<Group2GroupCac
         createQuery(context, "delete from Group2GroupCache").executeUpdate();
     }
 
+    @Override
+    public void deleteByGroup(Context context, UUID group) throws SQLException {
+        Query query = getHibernateSession(context).createNativeQuery(
+            "delete from group2groupcache g WHERE g.parent_id = :group OR g.child_id = :group"
+        );
+        query.setParameter("group", group);
+        query.executeUpdate();
+    }
+
     @Override
     public void deleteFromCache(Context context, UUID parent, UUID child) throws SQLException {
         Query query = getHibernateSession(context).createNativeQuery(
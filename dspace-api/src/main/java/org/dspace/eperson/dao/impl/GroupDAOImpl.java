@@ -8,6 +8,8 @@
 package org.dspace.eperson.dao.impl;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
@@ -256,4 +258,14 @@ public class GroupDAOImpl extends AbstractHibernateDSODAO<Group> implements Grou
 
         return count(query);
     }
+
+    @Override
+    public List<Group> findByIds(Context context, Collection<UUID> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Query query = createQuery(context, "SELECT g FROM Group g WHERE g.id IN (:ids)");
+        query.setParameter("ids", new ArrayList<>(ids));
+        return list(query);
+    }
 }
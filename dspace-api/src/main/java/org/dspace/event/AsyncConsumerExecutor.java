@@ -0,0 +1,299 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+
+/**
+ * Runs the events of an asynchronous consumer in the background, so that the consumer doesn't add to the time taken
+ * by {@link Context#commit()}. See {@link ConsumerProfile#isAsync()}.
+ * <p>
+ * The events are spread over a number of lanes by their subject. Each lane has its own thread, queue and instance of
+ * the consumer, so the events about the same subject are consumed in the order in which they were dispatched. The
+ * events handed over together are consumed together, and {@link Consumer#end(Context)} is called after them in a new
+ * Context, which is then committed. A batch which fails is retried after a growing delay, and written to the
+ * dead-letter directory once all the retries failed, so that the lane can go on.
+ * <p>
+ * The events are serialized when they are handed over: the batches waiting in the queues don't hold on to the
+ * dispatching Context, and the dead letters can be read back with {@link SerializationUtils#deserialize(byte[])}.
+ */
+public class AsyncConsumerExecutor {
+
+    private static final Logger log = LogManager.getLogger(AsyncConsumerExecutor.class);
+
+    public static final String LANES_PROPERTY = "event.async.lanes";
+    public static final String QUEUE_SIZE_PROPERTY = "event.async.queue-size";
+    public static final String RETRIES_PROPERTY = "event.async.retries";
+    public static final String RETRY_DELAY_PROPERTY = "event.async.retry-delay";
+    public static final String DEAD_LETTER_DIR_PROPERTY = "event.async.dead-letter.dir";
+    public static final String SHUTDOWN_TIMEOUT_PROPERTY = "event.async.shutdown-timeout";
+
+    private final String consumerName;
+    private final Callable<Consumer> consumerFactory;
+    private final ConfigurationService configurationService;
+
+    private final Lane[] lanes;
+    private final Semaphore capacity;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final AtomicLong deadLetterNumber = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    /**
+     * A batch of serialized events for one lane.
+     *
+     * @param events the serialized {@code ArrayList<Event>}
+     * @param permit whether the batch holds a permit of the queue capacity
+     */
+    private record Batch(byte[] events, boolean permit) {
+    }
+
+    /**
+     * @param consumerName         the configured name of the consumer
+     * @param consumerFactory      creates an initialized instance of the consumer, for each lane and again after a
+     *                             failure, as the consumer may have been left in an inconsistent state
+     * @param configurationService the configuration
+     */
+    public AsyncConsumerExecutor(String consumerName, Callable<Consumer> consumerFactory,
+                                 ConfigurationService configurationService) {
+        this.consumerName = consumerName;
+        this.consumerFactory = consumerFactory;
+        this.configurationService = configurationService;
+        this.capacity = new Semaphore(Math.max(1, configurationService.getIntProperty(QUEUE_SIZE_PROPERTY, 1000)));
+        this.lanes = new Lane[Math.max(1, configurationService.getIntProperty(LANES_PROPERTY, 4))];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].start();
+        }
+    }
+
+    /**
+     * Hand over the events of a transaction. The caller waits while the queues are full, rather than dropping the
+     * events or consuming them out of order, unless it is one of the lanes itself.
+     *
+     * @param events the events which passed the consumer's filters, in the order they were dispatched
+     */
+    public void submit(List<Event> events) {
+        Map<Lane, ArrayList<Event>> byLane = new LinkedHashMap<>();
+        for (Event event : events) {
+            Lane lane = lanes[Math.floorMod(Objects.hashCode(event.getSubjectID()), lanes.length)];
+            byLane.computeIfAbsent(lane, key -> new ArrayList<>()).add(event);
+        }
+        // events raised by the consumer itself mustn't wait for the lanes to make room
+        boolean fromLane = Thread.currentThread() instanceof Lane;
+        for (Map.Entry<Lane, ArrayList<Event>> entry : byLane.entrySet()) {
+            Batch batch = new Batch(SerializationUtils.serialize(entry.getValue()), !fromLane);
+            if (!running) {
+                writeDeadLetter(batch, null);
+                continue;
+            }
+            if (batch.permit()) {
+                try {
+                    capacity.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    writeDeadLetter(batch, e);
+                    continue;
+                }
+            }
+            submitted.add(entry.getValue().size());
+            entry.getKey().queue.add(batch);
+        }
+    }
+
+    /**
+     * Stop the lanes, once they consumed the queued events or the shutdown timeout has passed. The events still
+     * queued then are written to the dead-letter directory.
+     */
+    public void shutdown() {
+        running = false;
+        long deadline = System.currentTimeMillis()
+            + configurationService.getLongProperty(SHUTDOWN_TIMEOUT_PROPERTY, 30) * 1000;
+        for (Lane lane : lanes) {
+            try {
+                lane.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            lane.interrupt();
+        }
+        for (Lane lane : lanes) {
+            Batch batch;
+            while ((batch = lane.queue.poll()) != null) {
+                writeDeadLetter(batch, null);
+            }
+        }
+    }
+
+    public String getConsumerName() {
+        return consumerName;
+    }
+
+    /**
+     * @return the number of events handed over
+     */
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    /**
+     * @return the number of events consumed
+     */
+    public long getConsumed() {
+        return consumed.sum();
+    }
+
+    /**
+     * @return the number of retried batches
+     */
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    /**
+     * @return the number of batches written to the dead-letter directory
+     */
+    public long getDeadLettered() {
+        return deadLettered.sum();
+    }
+
+    /**
+     * @return the number of batches waiting in the queues
+     */
+    public int getPending() {
+        int pending = 0;
+        for (Lane lane : lanes) {
+            pending += lane.queue.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Create the Context in which a batch is consumed. Override to use another Context.
+     *
+     * @return a new Context
+     */
+    protected Context createContext() {
+        Context context = new Context();
+        context.turnOffAuthorisationSystem();
+        return context;
+    }
+
+    private void writeDeadLetter(Batch batch, Exception cause) {
+        File dir = new File(configurationService.getProperty(DEAD_LETTER_DIR_PROPERTY,
+            configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator + "events"));
+        Path file = dir.toPath().resolve(consumerName + "-" + System.currentTimeMillis() + "-"
+                                             + deadLetterNumber.incrementAndGet() + ".ser");
+        try {
+            Files.createDirectories(dir.toPath());
+            Files.write(file, batch.events());
+            log.error("Events for consumer \"{}\" written to {}", consumerName, file, cause);
+        } catch (IOException e) {
+            log.error("Events for consumer \"{}\" lost: {}", consumerName,
+                      SerializationUtils.<ArrayList<Event>>deserialize(batch.events()), e);
+        } finally {
+            deadLettered.increment();
+        }
+    }
+
+    /**
+     * A thread consuming the batches of its queue in order, with its own instance of the consumer.
+     */
+    private class Lane extends Thread {
+        private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+        private Consumer consumer;
+
+        Lane(int number) {
+            super("event-" + consumerName + "-" + number);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (running || !queue.isEmpty()) {
+                Batch batch;
+                try {
+                    batch = queue.poll(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (batch != null) {
+                    try {
+                        consume(batch);
+                    } finally {
+                        if (batch.permit()) {
+                            capacity.release();
+                        }
+                    }
+                }
+            }
+        }
+
+        private void consume(Batch batch) {
+            ArrayList<Event> events = SerializationUtils.deserialize(batch.events());
+            int retries = Math.max(0, configurationService.getIntProperty(RETRIES_PROPERTY, 3));
+            long delay = configurationService.getLongProperty(RETRY_DELAY_PROPERTY, 1000);
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    if (consumer == null) {
+                        consumer = consumerFactory.call();
+                    }
+                    try (Context context = createContext()) {
+                        for (Event event : events) {
+                            consumer.consume(context, event);
+                        }
+                        consumer.end(context);
+                        context.complete();
+                    }
+                    consumed.add(events.size());
+                    return;
+                } catch (Exception e) {
+                    consumer = null;
+                    if (attempt >= retries) {
+                        writeDeadLetter(batch, e);
+                        return;
+                    }
+                    retried.increment();
+                    log.warn("Consumer(\"{}\") failed, retrying in {} ms: {}", consumerName, delay, e.toString());
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException ie) {
+                        writeDeadLetter(batch, e);
+                        return;
+                    }
+                    delay *= 2;
+                }
+            }
+        }
+    }
+}
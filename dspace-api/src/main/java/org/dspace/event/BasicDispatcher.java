@@ -7,16 +7,25 @@
  */
 package org.dspace.event;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.core.Context;
 import org.dspace.core.Utils;
+import org.dspace.event.factory.EventServiceFactory;
 
 /**
  * BasicDispatcher implements the primary task of a Dispatcher: it delivers a
  * filtered list of events, synchronously, to a configured list of consumers. It
  * may be extended for more elaborate behavior.
+ * <p>
+ * The events for the asynchronous consumers (see {@link ConsumerProfile#isAsync()})
+ * are handed over to their {@link AsyncConsumerExecutor} once the transaction is
+ * committed instead.
  *
  * @version $Revision$
  */
@@ -72,7 +81,10 @@ public class BasicDispatcher extends Dispatcher {
 
             if (log.isDebugEnabled()) {
                 log.debug("Processing queue of "
-                              + String.valueOf(ctx.getEvents().size()) + " events.");
+                              + String.valueOf(ctx.getEvents().size()) + " events ("
+                              + EventCoalescer.getReceived() + " events received, "
+                              + EventCoalescer.getMerged() + " merged, "
+                              + EventCoalescer.getDispatched() + " dispatched so far).");
             }
 
             // transaction identifier applies to all events created in
@@ -80,6 +92,9 @@ public class BasicDispatcher extends Dispatcher {
             // some letters so RDF readers don't mistake it for an integer.
             String tid = "TX" + Utils.generateKey();
 
+            // events for the asynchronous consumers, by consumer name
+            Map<String, List<Event>> asyncEvents = new LinkedHashMap<>();
+
             while (ctx.hasEvents()) {
                 Event event = ctx.pollEvent();
                 event.setDispatcher(getIdentifier());
@@ -100,6 +115,12 @@ public class BasicDispatcher extends Dispatcher {
                                           + "\": " + event.toString());
                         }
 
+                        if (cp.isAsync()) {
+                            asyncEvents.computeIfAbsent(cp.getName(), name -> new ArrayList<>()).add(event);
+                            event.setBitSet(cp.getName());
+                            continue;
+                        }
+
                         try {
                             cp.getConsumer().consume(ctx, event);
 
@@ -118,7 +139,7 @@ public class BasicDispatcher extends Dispatcher {
             // Call end on the consumers that got synchronous events.
             for (Iterator ci = consumers.values().iterator(); ci.hasNext(); ) {
                 ConsumerProfile cp = (ConsumerProfile) ci.next();
-                if (cp != null) {
+                if (cp != null && !cp.isAsync()) {
                     if (log.isDebugEnabled()) {
                         log.debug("Calling end for consumer \"" + cp.getName()
                                       + "\"");
@@ -132,6 +153,13 @@ public class BasicDispatcher extends Dispatcher {
                     }
                 }
             }
+
+            // The asynchronous consumers must see the committed changes
+            for (Map.Entry<String, List<Event>> entry : asyncEvents.entrySet()) {
+                AsyncConsumerExecutor executor = EventServiceFactory.getInstance().getEventService()
+                                                                    .getAsyncConsumerExecutor(entry.getKey());
+                ctx.afterCommit(() -> executor.submit(entry.getValue()));
+            }
         }
     }
 
@@ -43,6 +43,11 @@ public class ConsumerProfile {
      */
     private List<int[]> filters;
 
+    /**
+     * Whether the events are consumed in the background, after the commit
+     */
+    private boolean async;
+
     // Prefix of keys in DSpace Configuration.
     private static final String CONSUMER_PREFIX = "event.consumer.";
 
@@ -104,6 +109,8 @@ public class ConsumerProfile {
                 "No filters configured for consumer named: " + name);
         }
 
+        async = configurationService.getBooleanProperty(CONSUMER_PREFIX + name + ".async", false);
+
         consumer = Class.forName(className.trim())
                 .asSubclass(Consumer.class)
                 .getDeclaredConstructor().newInstance();
@@ -163,4 +170,21 @@ public class ConsumerProfile {
     public String getName() {
         return name;
     }
+
+    /**
+     * Whether the consumer is asynchronous: its events are handed over to an {@link AsyncConsumerExecutor} once the
+     * transaction is committed, instead of being consumed within {@link org.dspace.core.Context#commit()}.
+     * Configured by {@code event.consumer.<name>.async}.
+     * <p>
+     * An asynchronous consumer runs in a Context of its own: there is no current user, the authorisation system
+     * is turned off, and the changes it makes are committed separately from the transaction which fired the events.
+     * The events about the same object are consumed in the order of their transactions, but there is no ordering
+     * across transactions otherwise: the events about different objects, or those seen by the synchronous
+     * consumers, may be consumed in any order.
+     *
+     * @return true if the consumer is asynchronous
+     */
+    public boolean isAsync() {
+        return async;
+    }
 }
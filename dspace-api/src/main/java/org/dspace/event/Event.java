@@ -11,10 +11,13 @@ import java.io.Serializable;
 import java.sql.SQLException;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.commons.lang3.builder.HashCodeBuilder;
@@ -548,6 +551,30 @@ public class Event implements Serializable {
         return (List<String>) identifiers.clone();
     }
 
+    /**
+     * Merge a later event about the same subject and object into this one. The
+     * details are merged into a comma separated list without duplicates, and the
+     * identifiers of the later event are added.
+     *
+     * @param later the later event, of the same type
+     */
+    void merge(Event later) {
+        if (later.detail != null && !later.detail.equals(detail)) {
+            if (detail == null) {
+                detail = later.detail;
+            } else {
+                Set<String> details = new LinkedHashSet<>(Arrays.asList(detail.split(", ")));
+                details.addAll(Arrays.asList(later.detail.split(", ")));
+                detail = String.join(", ", details);
+            }
+        }
+        for (String identifier : later.identifiers) {
+            if (!identifiers.contains(identifier)) {
+                identifiers.add(identifier);
+            }
+        }
+    }
+
     /**
      * @return value of transactionID element of the event.
      */
@@ -0,0 +1,124 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merges the repeated modification events of a Context's event queue, so that updating an object many times in a
+ * transaction (e.g. a metadata import or a REST PATCH) doesn't make every consumer handle each update.
+ * <p>
+ * A {@link Event#MODIFY_METADATA} event is merged into the queued one with the same subject and object, their
+ * details being merged into a single list of fields. A {@link Event#MODIFY} event is only dropped if the same event,
+ * details included, is queued already, as its details can have a meaning of their own (e.g. "WITHDRAW"). Any other
+ * event about an object (e.g. its deletion) ends the run of modifications which the later ones can be merged into,
+ * so the order of events which matters to the consumers is kept.
+ * <p>
+ * The counters of the received, merged and dispatched events are shared by all the Contexts.
+ */
+public class EventCoalescer {
+
+    private static final LongAdder received = new LongAdder();
+    private static final LongAdder merged = new LongAdder();
+    private static final LongAdder dispatched = new LongAdder();
+
+    /**
+     * The queued modification events which later ones can be merged into, by subject
+     */
+    private final Map<UUID, Map<Key, Event>> open = new HashMap<>();
+
+    private final boolean enabled;
+
+    private record Key(int eventType, int subjectType, int objectType, UUID objectID) {
+    }
+
+    /**
+     * @param enabled whether events are merged, they are only counted otherwise
+     */
+    public EventCoalescer(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Merge an event into a queued one if possible.
+     *
+     * @param event the event to add to the queue
+     * @return true if the event was merged, and mustn't be queued
+     */
+    public boolean coalesce(Event event) {
+        received.increment();
+        if (!enabled) {
+            return false;
+        }
+        int type = event.getEventType();
+        if (type != Event.MODIFY && type != Event.MODIFY_METADATA) {
+            open.remove(event.getSubjectID());
+            if (event.getObjectID() != null) {
+                open.remove(event.getObjectID());
+            }
+            return false;
+        }
+
+        Map<Key, Event> subjectEvents = open.computeIfAbsent(event.getSubjectID(), id -> new HashMap<>());
+        Key key = key(event);
+        Event queued = subjectEvents.get(key);
+        if (queued != null && (type == Event.MODIFY_METADATA || Objects.equals(queued.getDetail(),
+                                                                                event.getDetail()))) {
+            queued.merge(event);
+            merged.increment();
+            return true;
+        }
+        subjectEvents.put(key, event);
+        return false;
+    }
+
+    /**
+     * Forget an event taken from the queue, as later events can't be merged into it anymore.
+     *
+     * @param event the event taken from the queue
+     */
+    public void remove(Event event) {
+        dispatched.increment();
+        Map<Key, Event> subjectEvents = open.get(event.getSubjectID());
+        if (subjectEvents != null) {
+            subjectEvents.remove(key(event), event);
+            if (subjectEvents.isEmpty()) {
+                open.remove(event.getSubjectID());
+            }
+        }
+    }
+
+    private static Key key(Event event) {
+        return new Key(event.getEventType(), event.getSubjectType(), event.getObjectType(), event.getObjectID());
+    }
+
+    /**
+     * @return the number of events added to the Contexts
+     */
+    public static long getReceived() {
+        return received.sum();
+    }
+
+    /**
+     * @return the number of events merged into a queued one
+     */
+    public static long getMerged() {
+        return merged.sum();
+    }
+
+    /**
+     * @return the number of events taken from the queues to be dispatched
+     */
+    public static long getDispatched() {
+        return dispatched.sum();
+    }
+}
@@ -13,6 +13,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.pool2.KeyedObjectPool;
@@ -51,6 +52,9 @@ public class EventServiceImpl implements EventService {
 
     protected Map<String, Integer> consumerIndicies = null;
 
+    // Executors of the asynchronous consumers, by consumer name
+    protected final Map<String, AsyncConsumerExecutor> asyncExecutors = new ConcurrentHashMap<>();
+
     protected String CONSUMER_PFX = "event.consumer";
 
     private static final ConfigurationService configurationService = DSpaceServicesFactory.getInstance()
@@ -128,6 +132,25 @@ public class EventServiceImpl implements EventService {
 
     }
 
+    @Override
+    public AsyncConsumerExecutor getAsyncConsumerExecutor(String consumerName) {
+        return asyncExecutors.computeIfAbsent(consumerName, name -> new AsyncConsumerExecutor(name, () -> {
+            Consumer consumer = ConsumerProfile.makeConsumerProfile(name).getConsumer();
+            consumer.initialize();
+            return consumer;
+        }, configurationService));
+    }
+
+    /**
+     * Stop the executors of the asynchronous consumers, letting them consume the events already handed over.
+     */
+    public void shutdown() {
+        for (AsyncConsumerExecutor executor : asyncExecutors.values()) {
+            executor.shutdown();
+        }
+        asyncExecutors.clear();
+    }
+
     protected void enumerateConsumers() {
         // Get all configs starting with CONSUMER_PFX
         List<String> propertyNames = configurationService.getPropertyKeys(CONSUMER_PFX);
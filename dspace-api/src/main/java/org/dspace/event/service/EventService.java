@@ -7,6 +7,7 @@
  */
 package org.dspace.event.service;
 
+import org.dspace.event.AsyncConsumerExecutor;
 import org.dspace.event.Dispatcher;
 
 /**
@@ -34,4 +35,12 @@ public interface EventService {
     public void returnDispatcher(String key, Dispatcher disp);
 
     public int getConsumerIndex(String consumerClass);
+
+    /**
+     * Get the executor running the events of an asynchronous consumer, shared by all the dispatchers.
+     *
+     * @param consumerName the configured name of the consumer
+     * @return the executor of the consumer, created on first use
+     */
+    public AsyncConsumerExecutor getAsyncConsumerExecutor(String consumerName);
 }
@@ -0,0 +1,78 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Persistent store of the rendered IIIF manifests of the items, so that they survive restarts and are not rendered
+ * again until the item changes.
+ * <p>
+ * A manifest is rendered from the state of the item at one moment, and the item can change while it is rendered: the
+ * renderer gets a generation before reading the item, and the manifest is only stored if the item hasn't been
+ * removed from the store since then. The items are removed once their changes are committed.
+ * <p>
+ * The generations are tracked per JVM: a removal from another process, e.g. the command line, deletes the stored
+ * manifest but doesn't stop a render already running in the webapp from storing the manifest of the previous state.
+ */
+public interface ManifestStoreService {
+
+    /**
+     * A rendered manifest and its entity tag.
+     *
+     * @param manifest the manifest as JSON
+     * @param etag     the entity tag of the manifest, unquoted
+     */
+    record StoredManifest(String manifest, String etag) implements Serializable {
+    }
+
+    /**
+     * @return whether the manifests are stored, else they're rendered on each request
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the stored manifest of an item.
+     *
+     * @param id the item uuid
+     * @return the stored manifest, or null if there's none
+     */
+    StoredManifest get(UUID id);
+
+    /**
+     * Returns the generation to give to {@link #store(UUID, String, long)} for a manifest rendered from now on.
+     *
+     * @param id the item uuid
+     * @return the current generation of the item
+     */
+    long getGeneration(UUID id);
+
+    /**
+     * Stores the manifest of an item, unless the item was removed from the store after the generation.
+     *
+     * @param id         the item uuid
+     * @param manifest   the manifest as JSON
+     * @param generation the generation of the item before the manifest was rendered
+     * @return the manifest, whether or not it was stored
+     */
+    StoredManifest store(UUID id, String manifest, long generation);
+
+    /**
+     * Removes the stored manifest of an item, which changed.
+     *
+     * @param id the item uuid
+     */
+    void remove(UUID id);
+
+    /**
+     * Removes all the stored manifests.
+     */
+    void removeAll();
+
+}
@@ -0,0 +1,143 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Stores the manifests as files in the {@code iiif.manifest.store.dir} directory, one file per item. A manifest is
+ * written to a temporary file first and then moved in place, so that a reader never gets a partial manifest.
+ */
+public class ManifestStoreServiceImpl implements ManifestStoreService {
+
+    private static final Logger log = LogManager.getLogger(ManifestStoreServiceImpl.class);
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    // Incremented each time manifests are removed from the store.
+    private final AtomicLong generation = new AtomicLong();
+
+    // The generation in which each item was last removed, since all the items were.
+    private final Map<UUID, Long> removed = new ConcurrentHashMap<>();
+
+    // The generation in which all the items were last removed.
+    private long allRemoved;
+
+    @Override
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty("iiif.manifest.store.enabled", true);
+    }
+
+    @Override
+    public StoredManifest get(UUID id) {
+        if (!isEnabled()) {
+            return null;
+        }
+        try {
+            String manifest = Files.readString(getPath(id), StandardCharsets.UTF_8);
+            return new StoredManifest(manifest, DigestUtils.md5Hex(manifest));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.error("Unable to read the stored IIIF manifest of item {}", id, e);
+            return null;
+        }
+    }
+
+    @Override
+    public long getGeneration(UUID id) {
+        return generation.get();
+    }
+
+    @Override
+    public StoredManifest store(UUID id, String manifest, long renderedGeneration) {
+        StoredManifest storedManifest = new StoredManifest(manifest, DigestUtils.md5Hex(manifest));
+        if (!isEnabled()) {
+            return storedManifest;
+        }
+        Path path = getPath(id);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temporary = Files.createTempFile(path.getParent(), id.toString(), ".tmp");
+            Files.writeString(temporary, manifest, StandardCharsets.UTF_8);
+            synchronized (this) {
+                if (allRemoved > renderedGeneration || removed.getOrDefault(id, 0L) > renderedGeneration) {
+                    // the item changed while the manifest was rendered
+                    Files.delete(temporary);
+                } else {
+                    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING,
+                               StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Unable to store the IIIF manifest of item {}", id, e);
+        }
+        return storedManifest;
+    }
+
+    @Override
+    public synchronized void remove(UUID id) {
+        removed.put(id, generation.incrementAndGet());
+        try {
+            Files.deleteIfExists(getPath(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove the stored IIIF manifest of item " + id, e);
+        }
+    }
+
+    @Override
+    public synchronized void removeAll() {
+        allRemoved = generation.incrementAndGet();
+        removed.clear();
+        Path directory = getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        // the sub-directories are kept, as manifests may be stored in them meanwhile
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.filter(Files::isRegularFile)::iterator) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to remove the stored IIIF manifests", e);
+        }
+    }
+
+    private Path getDirectory() {
+        return Path.of(configurationService.getProperty("iiif.manifest.store.dir",
+            configurationService.getProperty("dspace.dir") + "/var/iiif/manifests"));
+    }
+
+    /**
+     * The manifests are spread in sub-directories named after the first characters of the uuids, as a directory
+     * with a file per item would get very large.
+     */
+    private Path getPath(UUID id) {
+        String name = id.toString();
+        return getDirectory().resolve(name.substring(0, 2)).resolve(name + ".json");
+    }
+
+}
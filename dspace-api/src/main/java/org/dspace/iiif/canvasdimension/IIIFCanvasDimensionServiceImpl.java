@@ -15,9 +15,16 @@ import static org.dspace.iiif.util.IIIFSharedUtils.METADATA_IIIF_WIDTH_QUALIFIER
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
@@ -31,6 +38,7 @@ import org.dspace.content.service.CommunityService;
 import org.dspace.content.service.DSpaceObjectService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.iiif.IIIFApiQueryService;
 import org.dspace.iiif.canvasdimension.service.IIIFCanvasDimensionService;
 import org.dspace.iiif.util.IIIFSharedUtils;
@@ -54,12 +62,20 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     DSpaceObjectService<Bitstream> dSpaceObjectService;
     @Autowired()
     IIIFApiQueryService iiifApiQuery;
+    @Autowired()
+    EPersonService ePersonService;
+
+    /**
+     * Handed over to the workers to stop them
+     */
+    private static final UUID END_OF_ITEMS = new UUID(0, 0);
 
     private boolean forceProcessing = false;
     private boolean isQuiet = false;
     private List<String> skipList = null;
     private int max2Process = Integer.MAX_VALUE;
-    private int processed = 0;
+    private int threads = 1;
+    private final AtomicInteger processed = new AtomicInteger();
 
     // used to check for existing canvas dimension
     private static final String IIIF_WIDTH_METADATA = METADATA_IIIF_SCHEMA + "." + METADATA_IIIF_IMAGE_ELEMENT +
@@ -85,6 +101,11 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
         this.skipList = skipList;
     }
 
+    @Override
+    public void setThreads(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
     @Override
     public int processCommunity(Context context, Community community) throws Exception {
         if (!inSkipList(community.getHandle())) {
@@ -97,18 +118,22 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
                 processCollection(context, collection);
             }
         }
-        return processed;
+        return processed.get();
     }
 
     @Override
     public int processCollection(Context context, Collection collection) throws Exception {
         if (!inSkipList(collection.getHandle())) {
             Iterator<Item> itemIterator = itemService.findAllByCollection(context, collection);
-            while (itemIterator.hasNext() && processed < max2Process) {
-                processItem(context, itemIterator.next());
+            if (threads > 1) {
+                processItemsInParallel(context, itemIterator);
+            } else {
+                while (itemIterator.hasNext() && processed.get() < max2Process) {
+                    processItem(context, itemIterator.next());
+                }
             }
         }
-        return processed;
+        return processed.get();
     }
 
     @Override
@@ -117,10 +142,104 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
             boolean isIIIFItem = IIIFSharedUtils.isIIIFItem(item);
             if (isIIIFItem) {
                 if (processItemBundles(context, item)) {
-                    ++processed;
+                    processed.incrementAndGet();
+                }
+                context.uncacheEntity(item);
+            }
+        }
+    }
+
+    /**
+     * Process items with a number of workers, each with its own Context, which is committed after each item. The
+     * given Context only iterates over the items, which are handed over to the workers by UUID. As the workers
+     * process items at the same time, a few more items than the maximum may be processed.
+     * @param context
+     * @param itemIterator
+     * @throws Exception the first exception raised by a worker, which stops the processing (an error raised by a
+     *                   worker is thrown as is)
+     */
+    private void processItemsInParallel(Context context, Iterator<Item> itemIterator) throws Exception {
+        BlockingQueue<UUID> itemIds = new ArrayBlockingQueue<>(threads * 10);
+        UUID userId = context.getCurrentUser() != null ? context.getCurrentUser().getID() : null;
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> runWorker(itemIds, userId, failure), "iiif-canvas-dimensions-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        try {
+            while (itemIterator.hasNext() && processed.get() < max2Process && failure.get() == null) {
+                Item item = itemIterator.next();
+                if (!handOver(itemIds, item.getID(), workers)) {
+                    break;
                 }
                 context.uncacheEntity(item);
             }
+        } finally {
+            for (int i = 0; i < threads; i++) {
+                if (!handOver(itemIds, END_OF_ITEMS, workers)) {
+                    break;
+                }
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        if (failure.get() instanceof Error) {
+            throw (Error) failure.get();
+        } else if (failure.get() != null) {
+            throw (Exception) failure.get();
+        }
+    }
+
+    /**
+     * Queue an item for the workers, as long as a worker is left to take it: a worker only ends before the end of
+     * the items when it failed.
+     * @return false if no worker is left
+     */
+    private boolean handOver(BlockingQueue<UUID> itemIds, UUID itemId, List<Thread> workers)
+        throws InterruptedException {
+        while (!itemIds.offer(itemId, 1, TimeUnit.SECONDS)) {
+            if (workers.stream().noneMatch(Thread::isAlive)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Process the items handed over until the end of the items. After a failure, or once the maximum is reached,
+     * the items are only taken from the queue, so that it doesn't block.
+     */
+    private void runWorker(BlockingQueue<UUID> itemIds, UUID userId, AtomicReference<Throwable> failure) {
+        try (Context context = new Context(Context.Mode.BATCH_EDIT)) {
+            if (userId != null) {
+                context.setCurrentUser(ePersonService.find(context, userId));
+            }
+            UUID itemId;
+            while (!END_OF_ITEMS.equals(itemId = itemIds.take())) {
+                if (failure.get() != null || processed.get() >= max2Process) {
+                    continue;
+                }
+                try {
+                    Item item = itemService.find(context, itemId);
+                    if (item != null) {
+                        processItem(context, item);
+                        context.commit();
+                    }
+                } catch (Exception e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+            if (failure.get() == null) {
+                context.complete();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // e.g. no database connection: the worker ends, and so does the processing
+            failure.compareAndSet(null, e);
         }
     }
 
@@ -151,9 +270,9 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
     }
 
     /**
-     * Gets image height and width for the bitstream. For jp2 images, height and width are
-     * obtained from the IIIF image server. For other formats supported by ImageIO these values
-     * are read from the actual DSpace bitstream content. If bitstream width metadata already exists,
+     * Gets image height and width for the bitstream. These values are read from the header of the
+     * DSpace bitstream content (see {@link ImageDimensionReader}), or obtained from the IIIF image
+     * server if the header cannot be read. If bitstream width metadata already exists,
      * the bitstream is processed when forceProcessing is true.
      * @param context
      * @param bitstream
@@ -184,7 +303,7 @@ public class IIIFCanvasDimensionServiceImpl implements IIIFCanvasDimensionServic
                             dims = iiifApiQuery.getImageDimensions(bitstream);
                         }
                     } catch (IOException e) {
-                        // If an exception was raised by ImageIO, try the iiif image server.
+                        // If the image header cannot be read, try the iiif image server.
                         dims = iiifApiQuery.getImageDimensions(bitstream);
                     }
                 } finally {
@@ -9,39 +9,136 @@ package org.dspace.iiif.canvasdimension;
 
 import static org.dspace.iiif.canvasdimension.Util.checkDimensions;
 
-import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
 import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 /**
  * Reads and return height and width dimensions for image bitstreams.
+ * <p>
+ * Only the headers of the images are read, the images aren't decoded: JPEG 2000 headers are parsed here, as ImageIO
+ * has no reader for them, and the other formats (e.g. JPEG, PNG, TIFF) are read by the ImageIO reader of the format.
  *
  * @author Michael Spalti mspalti@willamette.edu
  */
 public class ImageDimensionReader {
 
+    /**
+     * The signature box which starts a JP2 file
+     */
+    private static final byte[] JP2_SIGNATURE = {0, 0, 0, 12, 'j', 'P', ' ', ' ', '\r', '\n', (byte) 0x87, '\n'};
+
+    /**
+     * The SOC and SIZ markers which start a JPEG 2000 codestream
+     */
+    private static final byte[] J2K_SIGNATURE = {(byte) 0xFF, 0x4F, (byte) 0xFF, 0x51};
+
+    private static final int JP2_HEADER_BOX = 0x6a703268; // "jp2h"
+    private static final int IMAGE_HEADER_BOX = 0x69686472; // "ihdr"
+
     private ImageDimensionReader() {}
 
     /**
-     * Uses ImageIO to read height and width dimensions.
+     * Reads height and width dimensions from the image header.
      * @param image inputstream for dspace image
      * @return image dimensions or null if the image format cannot be read.
-     * @throws Exception
+     * @throws IOException if the image header cannot be read.
      */
     public static int[] getImageDimensions(InputStream image) throws IOException {
-        int[] dims = new int[2];
-        BufferedImage buf = ImageIO.read(image);
-        if (buf != null) {
-            int width = buf.getWidth(null);
-            int height = buf.getHeight(null);
-            if (width > 0 && height > 0) {
-                dims[0] = width;
-                dims[1] = height;
-                return checkDimensions(dims);
-            }
+        BufferedInputStream in = new BufferedInputStream(image);
+        in.mark(JP2_SIGNATURE.length);
+        byte[] signature = in.readNBytes(JP2_SIGNATURE.length);
+        in.reset();
+
+        int[] dims;
+        if (Arrays.equals(signature, JP2_SIGNATURE)) {
+            dims = readJp2Dimensions(new DataInputStream(in));
+        } else if (signature.length >= J2K_SIGNATURE.length
+            && Arrays.equals(signature, 0, J2K_SIGNATURE.length, J2K_SIGNATURE, 0, J2K_SIGNATURE.length)) {
+            dims = readCodestreamDimensions(new DataInputStream(in));
+        } else {
+            dims = readImageIODimensions(in);
+        }
+        if (dims != null && dims[0] > 0 && dims[1] > 0) {
+            return checkDimensions(dims);
         }
         return null;
     }
 
+    /**
+     * Reads the dimensions with the ImageIO reader of the image format, which only reads the header of the image.
+     */
+    private static int[] readImageIODimensions(InputStream image) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(image)) {
+            if (iis == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                return new int[] {reader.getWidth(0), reader.getHeight(0)};
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reads the dimensions from the image header box of a JP2 file, in its JP2 header box.
+     */
+    private static int[] readJp2Dimensions(DataInputStream in) throws IOException {
+        try {
+            while (true) {
+                long length = Integer.toUnsignedLong(in.readInt());
+                int type = in.readInt();
+                long headerLength = 8;
+                if (length == 1) {
+                    length = in.readLong();
+                    headerLength = 16;
+                }
+                if (type == JP2_HEADER_BOX) {
+                    // a superbox: its first box is the image header box
+                    continue;
+                }
+                if (type == IMAGE_HEADER_BOX) {
+                    int height = in.readInt();
+                    int width = in.readInt();
+                    return new int[] {width, height};
+                }
+                if (length == 0) {
+                    // the last box, up to the end of the file
+                    return null;
+                }
+                in.skipNBytes(length - headerLength);
+            }
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the dimensions from the SIZ marker segment of a JPEG 2000 codestream: the width and height of the image
+     * are those of the reference grid less its offsets.
+     */
+    private static int[] readCodestreamDimensions(DataInputStream in) throws IOException {
+        // SOC and SIZ markers, length of the SIZ segment, capabilities
+        in.skipNBytes(8);
+        long width = Integer.toUnsignedLong(in.readInt());
+        long height = Integer.toUnsignedLong(in.readInt());
+        long xOffset = Integer.toUnsignedLong(in.readInt());
+        long yOffset = Integer.toUnsignedLong(in.readInt());
+        return new int[] {(int) (width - xOffset), (int) (height - yOffset)};
+    }
+
 }
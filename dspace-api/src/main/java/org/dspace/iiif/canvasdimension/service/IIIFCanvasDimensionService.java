@@ -66,4 +66,12 @@ public interface IIIFCanvasDimensionService {
      */
     void setSkipList(List<String> skipList);
 
+    /**
+     * Set the number of items of a collection processed at the same time,
+     * each by a worker with its own context. Defaults to 1, which processes
+     * the items one after the other in the given context.
+     * @param threads
+     */
+    void setThreads(int threads);
+
 }
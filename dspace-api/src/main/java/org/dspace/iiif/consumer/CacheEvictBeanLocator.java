@@ -40,6 +40,13 @@ public class CacheEvictBeanLocator implements ApplicationContextAware {
         return null;
     }
 
+    public static ManifestRebuildService getManifestRebuildService() {
+        if (context != null) {
+            return context.getBeanProvider(ManifestRebuildService.class).getIfAvailable();
+        }
+        return null;
+    }
+
     public static CanvasCacheEvictService getCanvasCacheEvictService() {
         if (context != null) {
             return (CanvasCacheEvictService) context.getBean(CANVAS_DIMENSIONS_EVICT_SERVICE);
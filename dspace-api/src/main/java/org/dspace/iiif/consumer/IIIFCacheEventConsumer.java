@@ -8,21 +8,30 @@
 package org.dspace.iiif.consumer;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
 import org.apache.logging.log4j.Logger;
 import org.dspace.content.Bitstream;
 import org.dspace.content.Bundle;
-import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
 import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.event.Consumer;
 import org.dspace.event.Event;
+import org.dspace.iiif.ManifestStoreService;
+import org.dspace.services.factory.DSpaceServicesFactory;
 
 
 /**
- * This consumer is used to evict modified items from the manifests cache.
+ * This consumer is used to evict modified items from the manifests cache and from the manifest store. The
+ * manifests of the modified items are then rendered again in the background.
+ * <p>
+ * When the item of a bundle or bitstream can't be found, e.g. once it is deleted, the whole manifests cache is
+ * cleared, but the stored manifests are kept: removing them all would render every manifest again on its next
+ * request. The evictions are made once the changes are committed, else a manifest rendered meanwhile from the
+ * previous state of the item would be cached or stored again.
  */
 public class IIIFCacheEventConsumer implements Consumer {
 
@@ -32,10 +41,10 @@ public class IIIFCacheEventConsumer implements Consumer {
     private boolean clearAll = false;
 
     // Collects modified items for individual removal from cache.
-    private final Set<DSpaceObject> toEvictFromManifestCache = new HashSet<>();
+    private final Set<UUID> toEvictFromManifestCache = new HashSet<>();
 
     // Collects modified bitstreams for individual removal from canvas dimension cache.
-    private final Set<DSpaceObject> toEvictFromCanvasCache = new HashSet<>();
+    private final Set<UUID> toEvictFromCanvasCache = new HashSet<>();
 
     @Override
     public void initialize() throws Exception {
@@ -44,90 +53,61 @@ public class IIIFCacheEventConsumer implements Consumer {
     @Override
     public void consume(Context ctx, Event event) throws Exception {
         int st = event.getSubjectType();
+        int et = event.getEventType();
         if (!(st == Constants.BUNDLE || st == Constants.ITEM || st == Constants.BITSTREAM)) {
             return;
         }
-        // This subject may become a reference to the parent Item that will be evicted from
-        // the manifests cache.
-        DSpaceObject subject = event.getSubject(ctx);
-        DSpaceObject unmodifiedSubject = event.getSubject(ctx);
-
-        int et = event.getEventType();
-
-        if (et == Event.DELETE || et == Event.REMOVE) {
-            log.warn("IIIF event consumer cannot remove a single item from the cache when " +
-                "a bundle is deleted. The entire cache will be cleared.");
-            clearAll = true;
-        }
-
-        if (st == Constants.BUNDLE) {
-            if ((et == Event.ADD || et == Event.MODIFY || et == Event.MODIFY_METADATA || et == Event.REMOVE
-                || et == Event.DELETE) && subject != null) {
-                // set subject to be the parent Item.
-                subject = ((Bundle) subject).getItems().get(0);
-                if (log.isDebugEnabled()) {
-                    log.debug("Transforming Bundle event into Item event for "
-                        + subject.getID());
-                }
-            } else {
-                return;
-            }
-        }
-
-        if (st == Constants.BITSTREAM) {
-            if (et == Event.DELETE || et == Event.REMOVE) {
-                log.warn("IIIF event consumer cannot remove a single item from the cache when " +
-                    "a bitstream is deleted. The entire cache will be cleared.");
-                clearAll = true;
-            }
-
-            if ((et == Event.ADD || et == Event.MODIFY_METADATA  ) && subject != null
-                && ((Bitstream) subject).getBundles().size() > 0) {
-                // set subject to be the parent Item.
-                Bundle bundle = ((Bitstream) subject).getBundles().get(0);
-                subject = bundle.getItems().get(0);
-                if (log.isDebugEnabled()) {
-                    log.debug("Transforming Bitstream event into Item event for "
-                        + subject.getID());
-                }
-            } else {
-                return;
-            }
-        }
-
-        if (st == Constants.ITEM && et == Event.ADD) {
-            // nothing to evict from cache.
+        if (et != Event.ADD && et != Event.MODIFY && et != Event.MODIFY_METADATA && et != Event.REMOVE
+            && et != Event.DELETE) {
+            log.warn("ManifestsCacheEventConsumer should not have been given this kind of "
+                + "subject in an event, skipping: " + event);
             return;
         }
 
-        switch (et) {
-            case Event.ADD:
-                addToCacheEviction(subject, unmodifiedSubject, st);
-                break;
-            case Event.MODIFY:
-                addToCacheEviction(subject, unmodifiedSubject, st);
+        switch (st) {
+            case Constants.ITEM:
+                // a bundle added to an item doesn't change its manifest until bitstreams are added to it
+                if (et != Event.ADD) {
+                    // the id of a deleted item is still known
+                    toEvictFromManifestCache.add(event.getSubjectID());
+                }
                 break;
-            case Event.MODIFY_METADATA:
-                addToCacheEviction(subject, unmodifiedSubject, st);
+            case Constants.BUNDLE:
+                addItemToEvict((Bundle) event.getSubject(ctx), event);
                 break;
-            case Event.REMOVE:
-                addToCacheEviction(subject, unmodifiedSubject, st);
+            case Constants.BITSTREAM:
+                if (et == Event.MODIFY) {
+                    return;
+                }
+                toEvictFromCanvasCache.add(event.getSubjectID());
+                Bitstream bitstream = (Bitstream) event.getSubject(ctx);
+                if (bitstream != null && !bitstream.getBundles().isEmpty()) {
+                    addItemToEvict(bitstream.getBundles().get(0), event);
+                } else if (et == Event.DELETE || et == Event.REMOVE) {
+                    addItemToEvict(null, event);
+                }
                 break;
-            case Event.DELETE:
-                addToCacheEviction(subject, unmodifiedSubject, st);
+            default:
                 break;
-            default: {
-                log.warn("ManifestsCacheEventConsumer should not have been given this kind of "
-                    + "subject in an event, skipping: " + event);
-            }
         }
     }
 
-    private void addToCacheEviction(DSpaceObject subject, DSpaceObject subject2, int type) {
-        if (type == Constants.BITSTREAM) {
-            toEvictFromCanvasCache.add(subject2);
+    /**
+     * Evict the item of a bundle, or clear the whole manifests cache if the item can't be found.
+     */
+    private void addItemToEvict(Bundle bundle, Event event) {
+        List<Item> items = bundle != null ? bundle.getItems() : List.of();
+        if (items.isEmpty()) {
+            log.warn("IIIF event consumer cannot find the item of a bundle or bitstream, the entire "
+                + "manifests cache will be cleared: " + event);
+            clearAll = true;
+        } else {
+            if (log.isDebugEnabled()) {
+                log.debug("Transforming " + event.getSubjectTypeAsString() + " event into Item event for "
+                    + items.get(0).getID());
+            }
+            toEvictFromManifestCache.add(items.get(0).getID());
         }
-        toEvictFromManifestCache.add(subject);
     }
 
     @Override
@@ -135,23 +115,34 @@ public class IIIFCacheEventConsumer implements Consumer {
         // Get the eviction service beans.
         ManifestsCacheEvictService manifestsCacheEvictService = CacheEvictBeanLocator.getManifestsCacheEvictService();
         CanvasCacheEvictService canvasCacheEvictService = CacheEvictBeanLocator.getCanvasCacheEvictService();
-
-        if (manifestsCacheEvictService != null) {
-            if (clearAll) {
-                manifestsCacheEvictService.evictAllCacheValues();
-            } else {
-                for (DSpaceObject dso : toEvictFromManifestCache) {
-                    UUID uuid = dso.getID();
-                    manifestsCacheEvictService.evictSingleCacheValue(uuid.toString());
+        ManifestRebuildService manifestRebuildService = CacheEvictBeanLocator.getManifestRebuildService();
+
+        // The stored manifests are removed in any process, as they outlive the cache of the webapp.
+        ManifestStoreService manifestStoreService = DSpaceServicesFactory.getInstance().getServiceManager()
+            .getServiceByName(ManifestStoreService.class.getName(), ManifestStoreService.class);
+
+        boolean evictAll = clearAll;
+        List<UUID> items = List.copyOf(toEvictFromManifestCache);
+        List<UUID> bitstreams = List.copyOf(toEvictFromCanvasCache);
+        ctx.afterCommit(() -> {
+            if (manifestsCacheEvictService != null) {
+                if (evictAll) {
+                    manifestsCacheEvictService.evictAllCacheValues();
+                } else {
+                    items.forEach(id -> manifestsCacheEvictService.evictSingleCacheValue(id.toString()));
                 }
             }
-        }
-        if (canvasCacheEvictService != null) {
-            for (DSpaceObject dso : toEvictFromCanvasCache) {
-                UUID uuid = dso.getID();
-                canvasCacheEvictService.evictSingleCacheValue(uuid.toString());
+            if (canvasCacheEvictService != null) {
+                bitstreams.forEach(id -> canvasCacheEvictService.evictSingleCacheValue(id.toString()));
             }
-        }
+            if (manifestStoreService != null) {
+                items.forEach(manifestStoreService::remove);
+                if (manifestRebuildService != null && manifestStoreService.isEnabled()) {
+                    // Render the manifests of the modified items again now rather than on their next request.
+                    manifestRebuildService.rebuild(items);
+                }
+            }
+        });
 
         clearAll = false;
         toEvictFromManifestCache.clear();
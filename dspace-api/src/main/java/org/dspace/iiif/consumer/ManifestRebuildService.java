@@ -0,0 +1,27 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.consumer;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Renders the manifests of modified items again, in the background, into the
+ * {@link org.dspace.iiif.ManifestStoreService}. Implemented by the IIIF webapp module, which renders the manifests.
+ */
+public interface ManifestRebuildService {
+
+    /**
+     * Queues the items whose manifest should be rendered again. The items which no longer exist or have IIIF
+     * disabled are skipped.
+     *
+     * @param ids the item uuids
+     */
+    void rebuild(Collection<UUID> ids);
+
+}
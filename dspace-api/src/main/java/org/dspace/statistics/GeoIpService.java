@@ -10,9 +10,16 @@ package org.dspace.statistics;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.dspace.services.ConfigurationService;
 import org.springframework.beans.factory.annotation.Autowired;
 
@@ -24,25 +31,101 @@ import org.springframework.beans.factory.annotation.Autowired;
  */
 public class GeoIpService {
 
+    private static final Logger log = LogManager.getLogger(GeoIpService.class);
+
+    /**
+     * How often the file is checked for changes, in milliseconds.
+     */
+    private static final long CHECK_INTERVAL = 60_000;
+
+    /**
+     * How long a replaced reader is kept open for the lookups still using it, in milliseconds.
+     */
+    private static final long CLOSE_DELAY = 60_000;
+
     @Autowired
     private ConfigurationService configurationService;
 
+    /**
+     * The shared reader, with the path and the modification time of the file it was opened from, or the error
+     * raised by the last attempt to open it.
+     */
+    private volatile DatabaseReader databaseReader;
+    private volatile IllegalStateException databaseError;
+    private String databasePath;
+    private long databaseModified;
+
+    // When the configuration and the file were last checked.
+    private volatile long checkedAt;
+
+    // The replaced readers, with the time they were replaced, until they are closed.
+    private final Map<DatabaseReader, Long> replacedReaders = new LinkedHashMap<>();
+
     /**
      * Returns an instance of {@link DatabaseReader} based on the configured db
-     * file, if any.
+     * file, if any. The reader is shared: it's only opened again when the file
+     * or its configured path changes, which is checked at most once a
+     * minute. The file is memory-mapped and the
+     * decoded records are cached, so the lookups don't read from the disk.
+     * <p>
+     * A reader which is replaced is closed a minute later, so it must only
+     * be used for the lookups at hand: get the reader
+     * again for the later ones.
      *
      * @return                       the Database reader
      * @throws IllegalStateException if the db file is not configured correctly
      */
     public DatabaseReader getDatabaseReader() throws IllegalStateException {
+        if (System.currentTimeMillis() - checkedAt < CHECK_INTERVAL) {
+            DatabaseReader reader = databaseReader;
+            IllegalStateException error = databaseError;
+            if (error != null) {
+                throw error;
+            }
+            if (reader != null) {
+                return reader;
+            }
+        }
+        return checkDatabaseReader();
+    }
+
+    private synchronized DatabaseReader checkDatabaseReader() {
+        long now = System.currentTimeMillis();
+        closeReplacedReaders(now);
+        try {
+            DatabaseReader reader = openDatabaseReader();
+            if (reader != databaseReader) {
+                replaceDatabaseReader(reader, now);
+            }
+            databaseError = null;
+            return reader;
+        } catch (IllegalStateException e) {
+            databaseError = e;
+            throw e;
+        } finally {
+            checkedAt = now;
+        }
+    }
+
+    private DatabaseReader openDatabaseReader() {
         String dbPath = configurationService.getProperty("usage-statistics.dbfile");
         if (StringUtils.isBlank(dbPath)) {
             throw new IllegalStateException("The required 'dbfile' configuration is missing in usage-statistics.cfg!");
         }
 
+        File dbFile = new File(dbPath);
+        if (databaseReader != null && dbPath.equals(databasePath) && dbFile.lastModified() == databaseModified) {
+            return databaseReader;
+        }
         try {
-            File dbFile = new File(dbPath);
-            return new DatabaseReader.Builder(dbFile).build();
+            long modified = dbFile.lastModified();
+            DatabaseReader reader = new DatabaseReader.Builder(dbFile)
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
+            databasePath = dbPath;
+            databaseModified = modified;
+            return reader;
         } catch (FileNotFoundException fe) {
             throw new IllegalStateException(
                 "The GeoLite Database file is missing (" + dbPath + ")! Solr Statistics cannot generate location " +
@@ -54,4 +137,47 @@ public class GeoIpService {
                     "DSpace installation instructions for more details.", e);
         }
     }
+
+    /**
+     * Share the new reader. The previous one isn't closed right away, as lookups may still be using it.
+     */
+    private void replaceDatabaseReader(DatabaseReader reader, long now) {
+        if (databaseReader != null) {
+            replacedReaders.put(databaseReader, now);
+        }
+        databaseReader = reader;
+    }
+
+    private void closeReplacedReaders(long now) {
+        Iterator<Map.Entry<DatabaseReader, Long>> replaced = replacedReaders.entrySet().iterator();
+        while (replaced.hasNext()) {
+            Map.Entry<DatabaseReader, Long> entry = replaced.next();
+            if (now - entry.getValue() < CLOSE_DELAY) {
+                break;
+            }
+            close(entry.getKey());
+            replaced.remove();
+        }
+    }
+
+    private void close(DatabaseReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.warn("Unable to close a GeoLite Database reader", e);
+        }
+    }
+
+    /**
+     * Close the shared reader and the replaced ones.
+     */
+    public synchronized void shutdown() {
+        replacedReaders.keySet().forEach(this::close);
+        replacedReaders.clear();
+        if (databaseReader != null) {
+            close(databaseReader);
+            databaseReader = null;
+        }
+        checkedAt = 0;
+    }
 }
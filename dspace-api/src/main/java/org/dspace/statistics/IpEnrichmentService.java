@@ -0,0 +1,265 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+import org.apache.commons.validator.routines.InetAddressValidator;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Resolves the host names of client addresses for the usage statistics, so that a slow reverse DNS lookup doesn't
+ * hold up the thread recording a usage event.
+ * <p>
+ * The lookups are done by a small pool of threads with a bounded queue, and concurrent requests for the same address
+ * share a single lookup. The results are cached: the names for {@link #POSITIVE_TTL_PROPERTY}, and the addresses
+ * without a name for {@link #NEGATIVE_TTL_PROPERTY}. Callers either wait up to the resolver timeout for a lookup, see
+ * {@link #getHostName(String)}, or take the best answer known so far without waiting, see
+ * {@link #getKnownHostName(String)}.
+ */
+public class IpEnrichmentService {
+
+    private static final Logger log = LogManager.getLogger(IpEnrichmentService.class);
+
+    public static final String TIMEOUT_PROPERTY = "usage-statistics.resolver.timeout";
+    public static final String THREADS_PROPERTY = "usage-statistics.resolver.threads";
+    public static final String QUEUE_SIZE_PROPERTY = "usage-statistics.resolver.queue-size";
+    public static final String POSITIVE_TTL_PROPERTY = "usage-statistics.resolver.cache.ttl";
+    public static final String NEGATIVE_TTL_PROPERTY = "usage-statistics.resolver.cache.negative-ttl";
+    public static final String MAX_ENTRIES_PROPERTY = "usage-statistics.resolver.cache.max-entries";
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    private final LongSupplier clock;
+
+    private final Map<String, HostName> hostNames = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private ThreadPoolExecutor executor;
+    private boolean shutdown;
+
+    /**
+     * A cached host name.
+     *
+     * @param name      the host name, or the address itself if it has no name
+     * @param expiresAt the time after which the host name must be looked up again
+     */
+    private record HostName(String name, long expiresAt) {
+    }
+
+    public IpEnrichmentService() {
+        this(System::currentTimeMillis);
+    }
+
+    IpEnrichmentService(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Get the host name of an address, waiting up to the resolver timeout for it to be looked up.
+     *
+     * @param ip the IP address
+     * @return the host name, the address itself if it has no name, or null if the address is invalid or the lookup
+     * didn't complete in time
+     */
+    public String getHostName(String ip) {
+        String known = getCachedHostName(ip);
+        if (known != null) {
+            return known;
+        }
+        CompletableFuture<String> lookup = lookup(ip);
+        if (lookup == null) {
+            return null;
+        }
+        try {
+            return lookup.get(configurationService.getIntProperty(TIMEOUT_PROPERTY, 200), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.debug("The lookup of {} didn't complete in time", ip);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get the host name of an address if it's known, without waiting. The address is looked up in the background
+     * otherwise, so that its name is known later on.
+     *
+     * @param ip the IP address
+     * @return the host name, the address itself if it has no name, or null if it isn't known yet
+     */
+    public String getKnownHostName(String ip) {
+        String known = getCachedHostName(ip);
+        if (known == null) {
+            CompletableFuture<String> lookup = lookup(ip);
+            return lookup == null ? null : lookup.getNow(null);
+        }
+        return known;
+    }
+
+    /**
+     * Stop the lookup threads.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of lookups which weren't done because the queue was full
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of cached host names
+     */
+    public int size() {
+        return hostNames.size();
+    }
+
+    /**
+     * Look up the host name of an address. Override to use another resolver.
+     *
+     * @param ip the IP address
+     * @return the host name, or the address itself if it has no name
+     * @throws UnknownHostException if the address is invalid
+     */
+    protected String resolve(String ip) throws UnknownHostException {
+        return InetAddress.getByName(ip).getHostName();
+    }
+
+    private String getCachedHostName(String ip) {
+        if (ip == null) {
+            return null;
+        }
+        HostName hostName = hostNames.get(ip);
+        if (hostName != null && hostName.expiresAt() > clock.getAsLong()) {
+            hits.increment();
+            return hostName.name();
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * @return the lookup of the address, shared with the concurrent callers, or null if the address is invalid or
+     * the lookup can't be queued
+     */
+    private CompletableFuture<String> lookup(String ip) {
+        // anything else than an address literal would be resolved by a forward lookup
+        if (ip == null || !InetAddressValidator.getInstance().isValid(ip)) {
+            return null;
+        }
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> existing = pending.putIfAbsent(ip, lookup);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            getExecutor().execute(() -> complete(ip, lookup));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            pending.remove(ip, lookup);
+            lookup.complete(null);
+            return null;
+        }
+        return lookup;
+    }
+
+    private void complete(String ip, CompletableFuture<String> lookup) {
+        try {
+            String name = resolve(ip);
+            long ttl = ip.equals(name)
+                ? configurationService.getLongProperty(NEGATIVE_TTL_PROPERTY, 300)
+                : configurationService.getLongProperty(POSITIVE_TTL_PROPERTY, 3600);
+            if (hostNames.size() >= configurationService.getIntProperty(MAX_ENTRIES_PROPERTY, 10000)) {
+                prune();
+            }
+            hostNames.put(ip, new HostName(name, clock.getAsLong() + ttl * 1000));
+            lookup.complete(name);
+        } catch (UnknownHostException e) {
+            log.info("Failed DNS Lookup for IP:  {}", ip);
+            log.debug(e.getMessage(), e);
+            lookup.complete(null);
+        } catch (RuntimeException e) {
+            lookup.completeExceptionally(e);
+        } finally {
+            pending.remove(ip, lookup);
+        }
+    }
+
+    /**
+     * Remove the expired host names, or all of them if none has expired.
+     */
+    private void prune() {
+        long now = clock.getAsLong();
+        hostNames.values().removeIf(hostName -> hostName.expiresAt() <= now);
+        if (hostNames.size() >= configurationService.getIntProperty(MAX_ENTRIES_PROPERTY, 10000)) {
+            hostNames.clear();
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The resolver is shut down");
+        }
+        if (executor == null) {
+            int threads = Math.max(1, configurationService.getIntProperty(THREADS_PROPERTY, 4));
+            int queueSize = Math.max(1, configurationService.getIntProperty(QUEUE_SIZE_PROPERTY, 1000));
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "statistics-resolver-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        }
+        return executor;
+    }
+
+    void setConfigurationService(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
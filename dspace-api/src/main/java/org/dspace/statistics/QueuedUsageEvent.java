@@ -0,0 +1,61 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.SolrInputField;
+
+/**
+ * A usage event waiting in the {@link StatisticsIngestQueue}. It holds the fields of the statistics document which
+ * are cheap to get on the request thread, and what's needed to add the remaining fields later on.
+ *
+ * @param fields     the fields of the statistics document known when the event was queued
+ * @param ip         the IP address of the client, whose DNS name and location are added later on, can be null
+ * @param objectType the type of the used object, see {@link org.dspace.core.Constants}
+ * @param objectId   the UUID of the used object, whose parents are added later on, can be null
+ * @param epersonId  the UUID of the user, can be null
+ * @param checkAdmin whether the event should be ignored if the user is an administrator
+ */
+public record QueuedUsageEvent(Map<String, List<Object>> fields, String ip, int objectType, UUID objectId,
+                               UUID epersonId, boolean checkAdmin) {
+
+    /**
+     * Create an event from a (partial) statistics document.
+     *
+     * @param document   the fields of the statistics document known when the event is queued
+     * @param ip         the IP address of the client, can be null
+     * @param objectType the type of the used object
+     * @param objectId   the UUID of the used object, can be null
+     * @param epersonId  the UUID of the user, can be null
+     * @param checkAdmin whether the event should be ignored if the user is an administrator
+     * @return the event
+     */
+    public static QueuedUsageEvent of(SolrInputDocument document, String ip, int objectType, UUID objectId,
+                                      UUID epersonId, boolean checkAdmin) {
+        Map<String, List<Object>> fields = new LinkedHashMap<>();
+        for (SolrInputField field : document) {
+            fields.put(field.getName(), new ArrayList<>(field.getValues()));
+        }
+        return new QueuedUsageEvent(fields, ip, objectType, objectId, epersonId, checkAdmin);
+    }
+
+    /**
+     * @return a new statistics document holding the fields known when the event was queued
+     */
+    public SolrInputDocument toSolrInputDocument() {
+        SolrInputDocument document = new SolrInputDocument();
+        fields.forEach((name, values) -> values.forEach(value -> document.addField(name, value)));
+        return document;
+    }
+}
@@ -52,6 +52,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.validator.routines.InetAddressValidator;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpGet;
 import org.apache.http.impl.client.CloseableHttpClient;
@@ -100,6 +101,7 @@ import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.eperson.service.EPersonService;
 import org.dspace.service.ClientInfoService;
 import org.dspace.services.ConfigurationService;
 import org.dspace.statistics.service.SolrLoggerService;
@@ -127,6 +129,9 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
 
     public static final String DATE_FORMAT_DCDATE = "yyyy-MM-dd'T'HH:mm:ss'Z'";
 
+    /**
+     * The GeoIP reader to use instead of the one of the {@link GeoIpService}, e.g. in the tests
+     */
     protected DatabaseReader locationService;
 
     protected boolean useProxies;
@@ -150,7 +155,13 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Autowired
     protected GeoIpService geoIpService;
     @Autowired
+    protected IpEnrichmentService ipEnrichmentService;
+    @Autowired
     private AuthorizeService authorizeService;
+    @Autowired
+    private EPersonService ePersonService;
+    @Autowired
+    private StatisticsIngestQueue statisticsIngestQueue;
 
     protected SolrClient solr;
 
@@ -198,13 +209,16 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         // Read in the file so we don't have to do it all the time
         //spiderIps = SpiderDetector.getSpiderIpAddresses();
 
-        DatabaseReader service = null;
+        // The reader is taken from the GeoIpService for each event, as it's replaced when the file changes
         try {
-            service = geoIpService.getDatabaseReader();
+            geoIpService.getDatabaseReader();
         } catch (IllegalStateException ex) {
             log.error(ex);
         }
-        locationService = service;
+
+        if (solr != null && statisticsIngestQueue != null) {
+            statisticsIngestQueue.start(this::writeQueuedEvents);
+        }
     }
 
     @Override
@@ -222,9 +236,30 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
     @Override
     public void postView(DSpaceObject dspaceObject, HttpServletRequest request,
                          EPerson currentUser, String referrer) {
-        Context context = new Context();
+        if (isQueueEnabled()) {
+            if (dspaceObject instanceof Bitstream && !isBitstreamLoggable((Bitstream) dspaceObject)) {
+                return;
+            }
+            if (solr == null) {
+                return;
+            }
+            // the admin check and the lookups are left to the workers of the queue
+            String ip = null;
+            String userAgent = null;
+            if (request != null) {
+                ip = clientInfoService.getClientIp(request);
+                userAgent = request.getHeader("User-Agent");
+                if (referrer == null) {
+                    referrer = request.getHeader("referer");
+                }
+            }
+            queueView(dspaceObject, ip, userAgent, referrer, request != null && SpiderDetector.isSpider(request),
+                      currentUser, true);
+            return;
+        }
+
         // Do not record statistics for Admin users
-        try {
+        try (Context context = new Context()) {
             if (authorizeService.isAdmin(context, currentUser)) {
                 return;
             }
@@ -247,13 +282,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             if (doc1 == null) {
                 return;
             }
-            if (dspaceObject instanceof Bitstream) {
-                Bitstream bit = (Bitstream) dspaceObject;
-                List<Bundle> bundles = bit.getBundles();
-                for (Bundle bundle : bundles) {
-                    doc1.addField("bundleName", bundle.getName());
-                }
-            }
+            addBundleNames(doc1, dspaceObject);
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
@@ -290,6 +319,12 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         if (solr == null) {
             return;
         }
+
+        if (isQueueEnabled()) {
+            queueView(dspaceObject, clientInfoService.getClientIp(ip, xforwardedfor), userAgent, referrer,
+                      SpiderDetector.isSpider(ip), currentUser, false);
+            return;
+        }
         initSolrYearCores();
 
         try {
@@ -298,13 +333,7 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             if (doc1 == null) {
                 return;
             }
-            if (dspaceObject instanceof Bitstream) {
-                Bitstream bit = (Bitstream) dspaceObject;
-                List<Bundle> bundles = bit.getBundles();
-                for (Bundle bundle : bundles) {
-                    doc1.addField("bundleName", bundle.getName());
-                }
-            }
+            addBundleNames(doc1, dspaceObject);
 
             doc1.addField("statistics_type", StatisticsType.VIEW.text());
 
@@ -323,6 +352,107 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         }
     }
 
+    /**
+     * Add a VIEW event to the {@link StatisticsIngestQueue}, with the fields which are cheap to get. The DNS name,
+     * location and parents are added by the workers of the queue, see {@link #writeQueuedEvents(List)}. When the
+     * queue isn't started, the event is written right away.
+     *
+     * @param dspaceObject the object used
+     * @param ip           the IP address of the client, or null if unknown
+     * @param userAgent    the user agent of the client, can be null
+     * @param referrer     the referrer, can be null
+     * @param isSpiderBot  whether the client is a spider
+     * @param currentUser  the current user, can be null
+     * @param checkAdmin   whether the event should be ignored if the user is an administrator
+     */
+    protected void queueView(DSpaceObject dspaceObject, String ip, String userAgent, String referrer,
+                             boolean isSpiderBot, EPerson currentUser, boolean checkAdmin) {
+        if (isSpiderBot && !configurationService.getBooleanProperty("usage-statistics.logBots", true)) {
+            return;
+        }
+        initSolrYearCores();
+
+        try {
+            SolrInputDocument doc1 = createSolrDoc(dspaceObject, ip, userAgent, referrer, isSpiderBot, currentUser,
+                                                   false);
+            addBundleNames(doc1, dspaceObject);
+            doc1.addField("statistics_type", StatisticsType.VIEW.text());
+
+            // the DNS name and location of an anonymized address aren't looked up
+            String lookupIp = configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)
+                ? null : ip;
+            QueuedUsageEvent event = QueuedUsageEvent.of(doc1, lookupIp,
+                dspaceObject == null ? -1 : dspaceObject.getType(),
+                dspaceObject == null ? null : dspaceObject.getID(),
+                currentUser == null ? null : currentUser.getID(), checkAdmin);
+            if (!statisticsIngestQueue.add(event)) {
+                writeQueuedEvents(List.of(event));
+            }
+        } catch (RuntimeException re) {
+            throw re;
+        } catch (Exception e) {
+            log.error("Error saving VIEW event to Solr for DSpaceObject {}",
+                      dspaceObject == null ? null : dspaceObject.getID(), e);
+        }
+    }
+
+    /**
+     * Complete a batch of events taken from the {@link StatisticsIngestQueue} with the DNS name and location of the
+     * client and the parents of the used object, and write them to Solr in a single request. The events of
+     * administrators are skipped.
+     *
+     * @param events the queued events
+     * @throws SQLException        in case of a database exception
+     * @throws SolrServerException in case of a Solr exception
+     * @throws IOException         in case of an I/O exception
+     */
+    protected void writeQueuedEvents(List<QueuedUsageEvent> events)
+        throws SQLException, SolrServerException, IOException {
+        List<SolrInputDocument> docs = new ArrayList<>(events.size());
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            for (QueuedUsageEvent event : events) {
+                if (event.checkAdmin() && event.epersonId() != null
+                    && authorizeService.isAdmin(context, ePersonService.find(context, event.epersonId()))) {
+                    continue;
+                }
+                SolrInputDocument doc1 = event.toSolrInputDocument();
+                if (event.ip() != null) {
+                    addDnsAndLocation(doc1, event.ip());
+                }
+                if (event.objectId() != null) {
+                    DSpaceObject dso = contentServiceFactory.getDSpaceObjectService(event.objectType())
+                                                            .find(context, event.objectId());
+                    if (dso != null) {
+                        storeParents(doc1, dso);
+                    }
+                }
+                docs.add(doc1);
+            }
+        }
+        if (docs.isEmpty()) {
+            return;
+        }
+        solr.add(docs);
+        // commits are executed automatically using the solr autocommit
+        if (!configurationService.getBooleanProperty("solr-statistics.autoCommit", true)) {
+            solr.commit(false, false);
+        }
+    }
+
+    private boolean isQueueEnabled() {
+        return statisticsIngestQueue != null && statisticsIngestQueue.isEnabled();
+    }
+
+    private void addBundleNames(SolrInputDocument doc1, DSpaceObject dspaceObject) throws SQLException {
+        if (dspaceObject instanceof Bitstream) {
+            Bitstream bit = (Bitstream) dspaceObject;
+            List<Bundle> bundles = bit.getBundles();
+            for (Bundle bundle : bundles) {
+                doc1.addField("bundleName", bundle.getName());
+            }
+        }
+    }
+
     /**
      * Returns a solr input document containing common information about the statistics
      * regardless if we are logging a search or a view of a DSpace object
@@ -357,12 +487,53 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
             return null;
         }
 
+        if (request == null) {
+            return createSolrDoc(dspaceObject, null, null, null, false, currentUser, true);
+        }
+        //Also store the referrer
+        if (referrer == null) {
+            referrer = request.getHeader("referer");
+        }
+        return createSolrDoc(dspaceObject, clientInfoService.getClientIp(request), request.getHeader("User-Agent"),
+                             referrer, isSpiderBot, currentUser, true);
+    }
+
+    protected SolrInputDocument getCommonSolrDoc(DSpaceObject dspaceObject, String ip, String userAgent,
+                                                 String xforwardedfor, EPerson currentUser,
+                                                 String referrer) throws SQLException {
+        boolean isSpiderBot = SpiderDetector.isSpider(ip);
+        if (isSpiderBot &&
+            !configurationService.getBooleanProperty("usage-statistics.logBots", true)) {
+            return null;
+        }
+
+        return createSolrDoc(dspaceObject, clientInfoService.getClientIp(ip, xforwardedfor), userAgent, referrer,
+                             isSpiderBot, currentUser, true);
+    }
+
+    /**
+     * Create the solr input document of a usage event.
+     *
+     * @param dspaceObject the object used, can be null
+     * @param ip           the IP address of the client, or null if the event doesn't come from a client
+     * @param userAgent    the user agent of the client, can be null
+     * @param referrer     the referrer, can be null
+     * @param isSpiderBot  whether the client is a spider
+     * @param currentUser  the current user, can be null
+     * @param complete     whether to add the DNS name, location and parents, or leave them for later on
+     * @return a solr input document
+     * @throws SQLException in case of a database exception
+     */
+    private SolrInputDocument createSolrDoc(DSpaceObject dspaceObject, String ip, String userAgent, String referrer,
+                                            boolean isSpiderBot, EPerson currentUser, boolean complete)
+        throws SQLException {
         SolrInputDocument doc1 = new SolrInputDocument();
         // Save our basic info that we already have
 
-        if (request != null) {
-            String ip = clientInfoService.getClientIp(request);
-            if (configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
+        if (ip != null) {
+            boolean anonymize = configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log",
+                                                                        false);
+            if (anonymize) {
                 try {
                     doc1.addField("ip", anonymizeIp(ip));
                 } catch (UnknownHostException e) {
@@ -372,67 +543,29 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 doc1.addField("ip", ip);
             }
 
-            //Also store the referrer
+            // Add the referrer, if present
             if (referrer != null) {
                 doc1.addField("referrer", referrer);
-            } else if (request.getHeader("referer") != null) {
-                doc1.addField("referrer", request.getHeader("referer"));
             }
 
-            InetAddress ipAddress = null;
-            try {
-                String dns;
-                if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-                    ipAddress = InetAddress.getByName(ip);
-                    dns = ipAddress.getHostName();
-                } else {
-                    dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
-                }
-                doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-            } catch (UnknownHostException e) {
-                log.info("Failed DNS Lookup for IP:  {}", ip);
-                log.debug(e.getMessage(), e);
+            if (anonymize) {
+                doc1.addField("dns", configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized")
+                                                         .toLowerCase(Locale.ROOT));
+            } else if (complete) {
+                addDnsAndLocation(doc1, ip);
             }
-            if (request.getHeader("User-Agent") != null) {
-                doc1.addField("userAgent", request.getHeader("User-Agent"));
+            if (userAgent != null) {
+                doc1.addField("userAgent", userAgent);
             }
             doc1.addField("isBot", isSpiderBot);
-            // Save the location information if valid, save the event without
-            // location information if not valid
-            if (locationService != null && ipAddress != null) {
-                try {
-                    CityResponse location = locationService.city(ipAddress);
-                    String countryCode = location.getCountry().getIsoCode();
-                    double latitude = location.getLocation().getLatitude();
-                    double longitude = location.getLocation().getLongitude();
-                    if (!(
-                            "--".equals(countryCode)
-                            && latitude == -180
-                            && longitude == -180)
-                    ) {
-                        try {
-                            doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
-                        } catch (Exception e) {
-                            log.warn("Failed to load country/continent table: {}", countryCode);
-                        }
-                        doc1.addField("countryCode", countryCode);
-                        doc1.addField("city", location.getCity().getName());
-                        doc1.addField("latitude", latitude);
-                        doc1.addField("longitude", longitude);
-                    }
-                } catch (IOException e) {
-                    log.warn("GeoIP lookup failed.", e);
-                } catch (GeoIp2Exception e) {
-                    log.info("Unable to get location of request: {}", e.getMessage());
-                }
-            }
         }
 
         if (dspaceObject != null) {
             doc1.addField("id", dspaceObject.getID().toString());
             doc1.addField("type", dspaceObject.getType());
-            storeParents(doc1, dspaceObject);
+            if (complete) {
+                storeParents(doc1, dspaceObject);
+            }
         }
         // Save the current time
         doc1.addField("time", Instant.now().toString());
@@ -443,71 +576,46 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
         return doc1;
     }
 
-    protected SolrInputDocument getCommonSolrDoc(DSpaceObject dspaceObject, String ip, String userAgent,
-                                                 String xforwardedfor, EPerson currentUser,
-                                                 String referrer) throws SQLException {
-        boolean isSpiderBot = SpiderDetector.isSpider(ip);
-        if (isSpiderBot &&
-            !configurationService.getBooleanProperty("usage-statistics.logBots", true)) {
-            return null;
-        }
-
-        SolrInputDocument doc1 = new SolrInputDocument();
-        // Save our basic info that we already have
-
-        ip = clientInfoService.getClientIp(ip, xforwardedfor);
-        if (configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
-            try {
-                doc1.addField("ip", anonymizeIp(ip));
-            } catch (UnknownHostException e) {
-                log.warn(e.getMessage(), e);
-            }
-        } else {
-            doc1.addField("ip", ip);
-        }
-
-        // Add the referrer, if present
-        if (referrer != null) {
-            doc1.addField("referrer", referrer);
+    /**
+     * Add the DNS name and the location of a client address to a solr input document. The event is saved without
+     * the location information if it isn't valid.
+     *
+     * @param doc1 the solr input document
+     * @param ip   the IP address of the client
+     */
+    protected void addDnsAndLocation(SolrInputDocument doc1, String ip) {
+        String dns = ipEnrichmentService.getHostName(ip);
+        if (dns != null) {
+            doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
         }
-
         InetAddress ipAddress = null;
-        try {
-            String dns;
-            if (!configurationService.getBooleanProperty("anonymize_statistics.anonymize_on_log", false)) {
+        if (InetAddressValidator.getInstance().isValid(ip)) {
+            try {
+                // an address literal is parsed without a lookup
                 ipAddress = InetAddress.getByName(ip);
-                dns = ipAddress.getHostName();
-            } else {
-                dns = configurationService.getProperty("anonymize_statistics.dns_mask", "anonymized");
+            } catch (UnknownHostException e) {
+                log.debug(e.getMessage(), e);
             }
-            doc1.addField("dns", dns.toLowerCase(Locale.ROOT));
-        } catch (UnknownHostException e) {
-            log.info("Failed DNS Lookup for IP:  {}", ip);
-            log.debug(e.getMessage(), e);
-        }
-        if (userAgent != null) {
-            doc1.addField("userAgent", userAgent);
         }
-        doc1.addField("isBot", isSpiderBot);
         // Save the location information if valid, save the event without
         // location information if not valid
-        if (locationService != null) {
+        DatabaseReader reader = ipAddress != null ? getLocationService() : null;
+        if (reader != null) {
             try {
-                CityResponse location = locationService.city(ipAddress);
+                CityResponse location = reader.city(ipAddress);
                 String countryCode = location.getCountry().getIsoCode();
                 double latitude = location.getLocation().getLatitude();
                 double longitude = location.getLocation().getLongitude();
                 if (!(
                         "--".equals(countryCode)
-                                && latitude == -180
-                                && longitude == -180)
+                        && latitude == -180
+                        && longitude == -180)
                 ) {
                     try {
                         doc1.addField("continent", LocationUtils
-                                .getContinentCode(countryCode));
+                            .getContinentCode(countryCode));
                     } catch (Exception e) {
-                        System.out
-                                .println("COUNTRY ERROR: " + countryCode);
+                        log.warn("Failed to load country/continent table: {}", countryCode);
                     }
                     doc1.addField("countryCode", countryCode);
                     doc1.addField("city", location.getCity().getName());
@@ -520,19 +628,20 @@ public class SolrLoggerServiceImpl implements SolrLoggerService, InitializingBea
                 log.info("Unable to get location of request: {}", e.getMessage());
             }
         }
+    }
 
-        if (dspaceObject != null) {
-            doc1.addField("id", dspaceObject.getID().toString());
-            doc1.addField("type", dspaceObject.getType());
-            storeParents(doc1, dspaceObject);
+    /**
+     * @return the GeoIP reader, or null if the GeoIP database isn't available (reported when the service starts)
+     */
+    private DatabaseReader getLocationService() {
+        if (locationService != null) {
+            return locationService;
         }
-        // Save the current time
-        doc1.addField("time", Instant.now().toString());
-        if (currentUser != null) {
-            doc1.addField("epersonid", currentUser.getID().toString());
+        try {
+            return geoIpService.getDatabaseReader();
+        } catch (IllegalStateException ex) {
+            return null;
         }
-
-        return doc1;
     }
 
 
@@ -0,0 +1,288 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Bounded queue of usage events, so that recording a usage event doesn't slow down the request. A pool of worker
+ * threads takes the events from the queue in batches and hands them to a {@link BatchWriter}, which completes them
+ * (e.g. with DNS and location lookups) and writes them to the statistics core in a single request.
+ * <p>
+ * Adding an event never blocks. When the queue is full the event is either dropped, or appended to a journal file
+ * which is fed back into the queue once the workers are idle, depending on the configured overflow policy.
+ */
+public class StatisticsIngestQueue {
+
+    private static final Logger log = LogManager.getLogger(StatisticsIngestQueue.class);
+
+    public static final String ENABLED_PROPERTY = "solr-statistics.queue.enabled";
+    public static final String CAPACITY_PROPERTY = "solr-statistics.queue.capacity";
+    public static final String WORKERS_PROPERTY = "solr-statistics.queue.workers";
+    public static final String BATCH_SIZE_PROPERTY = "solr-statistics.queue.batch-size";
+    public static final String OVERFLOW_PROPERTY = "solr-statistics.queue.overflow";
+    public static final String JOURNAL_PROPERTY = "solr-statistics.queue.journal";
+
+    public static final String OVERFLOW_DROP = "drop";
+    public static final String OVERFLOW_JOURNAL = "journal";
+
+    /**
+     * Completes and writes a batch of usage events.
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(List<QueuedUsageEvent> events) throws Exception;
+    }
+
+    @Autowired(required = true)
+    private ConfigurationService configurationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Object journalLock = new Object();
+    private final AtomicBoolean replaying = new AtomicBoolean();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder journaled = new LongAdder();
+
+    private volatile BlockingQueue<QueuedUsageEvent> queue;
+    private volatile boolean running;
+    private ExecutorService workers;
+    private BatchWriter writer;
+    private int batchSize;
+    private File journal;
+
+    /**
+     * @return whether usage events should be written through this queue
+     */
+    public boolean isEnabled() {
+        return configurationService.getBooleanProperty(ENABLED_PROPERTY, false);
+    }
+
+    /**
+     * Start the workers, if the queue is enabled and not started yet.
+     *
+     * @param writer completes and writes the batches of events taken from the queue
+     */
+    public synchronized void start(BatchWriter writer) {
+        if (running || !isEnabled()) {
+            return;
+        }
+        this.writer = writer;
+        this.batchSize = Math.max(1, configurationService.getIntProperty(BATCH_SIZE_PROPERTY, 100));
+        this.journal = new File(configurationService.getProperty(JOURNAL_PROPERTY,
+            configurationService.getProperty("dspace.dir") + File.separator + "var" + File.separator
+                + "statistics-queue.journal"));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, configurationService.getIntProperty(CAPACITY_PROPERTY,
+                                                                                              10000)));
+        int threads = Math.max(1, configurationService.getIntProperty(WORKERS_PROPERTY, 2));
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "statistics-queue-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::work);
+        }
+        log.info("Started {} statistics queue workers", threads);
+    }
+
+    /**
+     * Stop the workers, and write the events left in the queue.
+     */
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        List<QueuedUsageEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Add an event to the queue, without waiting. When the queue is full, the event is dropped or journaled.
+     *
+     * @param event the usage event
+     * @return false if the queue isn't started, the event should then be written right away
+     */
+    public boolean add(QueuedUsageEvent event) {
+        if (!running) {
+            return false;
+        }
+        if (queue.offer(event)) {
+            accepted.increment();
+        } else {
+            overflow(event);
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of events waiting in the queue
+     */
+    public int getDepth() {
+        BlockingQueue<QueuedUsageEvent> current = queue;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * @return the number of events taken into the queue, the events which didn't fit are counted as dropped or
+     * journaled instead
+     */
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getJournaled() {
+        return journaled.sum();
+    }
+
+    private void work() {
+        List<QueuedUsageEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                QueuedUsageEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    replayJournal();
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<QueuedUsageEvent> batch) {
+        try {
+            writer.write(batch);
+            written.add(batch.size());
+        } catch (Exception e) {
+            failed.add(batch.size());
+            log.error("Unable to write {} usage events to the statistics core", batch.size(), e);
+        }
+    }
+
+    private void overflow(QueuedUsageEvent event) {
+        if (OVERFLOW_JOURNAL.equals(configurationService.getProperty(OVERFLOW_PROPERTY, OVERFLOW_DROP))) {
+            synchronized (journalLock) {
+                try {
+                    Files.createDirectories(journal.getAbsoluteFile().getParentFile().toPath());
+                    try (BufferedWriter out = Files.newBufferedWriter(journal.toPath(), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                        out.write(objectMapper.writeValueAsString(event));
+                        out.newLine();
+                    }
+                    journaled.increment();
+                    return;
+                } catch (IOException e) {
+                    log.error("Unable to journal a usage event to {}", journal, e);
+                }
+            }
+        }
+        dropped.increment();
+        log.debug("The statistics queue is full, dropped a usage event of {}", event.objectId());
+    }
+
+    /**
+     * Feed the journaled events back into the queue. The journal is renamed first, so that the events which don't
+     * fit in the queue again are journaled anew.
+     */
+    private void replayJournal() {
+        if (!replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            File replay = new File(journal.getPath() + ".replay");
+            synchronized (journalLock) {
+                // a replay file left by a previous run is replayed first
+                if (!replay.exists() && (!journal.exists() || !journal.renameTo(replay))) {
+                    return;
+                }
+            }
+            int count = 0;
+            try (BufferedReader in = Files.newBufferedReader(replay.toPath(), StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        QueuedUsageEvent event = objectMapper.readValue(line, QueuedUsageEvent.class);
+                        if (!queue.offer(event)) {
+                            overflow(event);
+                        }
+                        count++;
+                    }
+                }
+            }
+            Files.delete(replay.toPath());
+            log.info("Replayed {} journaled usage events", count);
+        } catch (IOException e) {
+            log.error("Unable to replay the journaled usage events of {}", journal, e);
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    void setConfigurationService(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+}
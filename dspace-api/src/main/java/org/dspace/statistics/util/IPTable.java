@@ -7,10 +7,13 @@
  */
 package org.dspace.statistics.util;
 
+import java.net.Inet4Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -18,62 +21,49 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * A Spare v4 IPTable implementation that uses nested HashMaps
- * to optimize IP address matching over ranges of IP addresses.
+ * A table of IPv4 and IPv6 address ranges, to optimize IP address matching over ranges of IP addresses.
+ * <p>
+ * The ranges are sorted and merged into arrays of primitive longs, which are searched with a binary search: an IPv4
+ * address is held in a single long, and an IPv6 address in two (the high and the low 64 bits). The added ranges are
+ * merged into the arrays before the next lookup. Looking up an address doesn't allocate any object, see
+ * {@link #contains(byte[])}.
  *
  * @author mdiggory at atmire.com
  */
 public class IPTable {
     private static final Logger log = LogManager.getLogger(IPTable.class);
 
-    /* A lookup tree for IP addresses and SubnetRanges */
-    private final Set<IPRange> ipRanges = new HashSet<>();
+    private static final long[] NONE = new long[0];
 
-    /**
-     * Internal class representing an IP range
-     */
-    static class IPRange {
-
-        /* Lowest address in the range */
-        private final long ipLo;
+    /* The ranges added since the last lookup, as {lo, hi} for IPv4 and {loHigh, loLow, hiHigh, hiLow} for IPv6 */
+    private final List<long[]> addedV4 = new ArrayList<>();
+    private final List<long[]> addedV6 = new ArrayList<>();
 
-        /* Highest address in the range */
-        private final long ipHi;
+    /* The sorted and merged ranges, or null if ranges were added since they were merged */
+    private volatile Ranges ranges = new Ranges(NONE, NONE, NONE, NONE);
 
-        IPRange(long ipLo, long ipHi) {
-            this.ipLo = ipLo;
-            this.ipHi = ipHi;
-        }
-
-        /**
-         * Get the lowest address in the range
-         * @return  the lowest address as a long integer
-         */
-        public long getIpLo() {
-            return ipLo;
-        }
+    /* The last merged ranges, into which the added ranges are merged */
+    private Ranges merged = ranges;
 
-        /**
-         * Get the highest address in the range
-         * @return  the highest address as a long integer
-         */
-        public long getIpHi() {
-            return ipHi;
-        }
+    /**
+     * Sorted, disjoint and non-adjacent ranges. The IPv6 arrays hold two longs per address.
+     */
+    private record Ranges(long[] v4Lo, long[] v4Hi, long[] v6Lo, long[] v6Hi) {
     }
 
     /**
-     * Can be full v4 IP, subnet or range string.
+     * Can be full v4 or v6 IP, subnet or range string.
      * <ul>
-     *   <li>A full address is a complete dotted-quad:  {@code "1.2.3.4".}
+     *   <li>A full address is a complete dotted-quad:  {@code "1.2.3.4"}, or an IPv6 address:
+     *       {@code "2001:db8::1"}.
      *   <li>A subnet is a dotted-triplet:  {@code "1.2.3"}.  It means an entire
      *       Class C subnet:  "1.2.3.0-1.2.3.255".
-     *   <li>A range is two dotted-quad addresses separated by hyphen:
-     *       {@code "1.2.3.4-1.2.3.14"}.  Only the final octet may be different.
+     *   <li>A CIDR block is an address and a prefix length separated by a slash:
+     *       {@code "172.16.0.0/12"} or {@code "2001:db8::/32"}.
+     *   <li>A range is two addresses separated by hyphen:
+     *       {@code "1.2.3.4-1.2.3.14"}.  Both must be of the same family.
      * </ul>
      *
-     * Any attempt at CIDR notation is ignored.
-     *
      * @param ip IP address(es)
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
@@ -91,11 +81,9 @@ public class IPTable {
             end = range[1].trim();
 
             try {
-                long ipLo = ipToLong(InetAddress.getByName(start));
-                long ipHi = ipToLong(InetAddress.getByName(end));
-                ipRanges.add(new IPRange(ipLo, ipHi));
+                addRange(InetAddress.getByName(start).getAddress(), InetAddress.getByName(end).getAddress());
                 return;
-            } catch (UnknownHostException e) {
+            } catch (UnknownHostException | IllegalArgumentException e) {
                 throw new IPFormatException(ip + " - Range format should be similar to 1.2.3.0-1.2.3.255");
             }
 
@@ -105,26 +93,37 @@ public class IPTable {
             //  192.168   -> 192.168.0.0/16
             //  192.168.1 -> 192.168.1.0/24
             int periods = StringUtils.countMatches(ip, '.');
-            if (periods < 3) {
+            if (periods < 3 && !ip.contains(":") && !ip.contains("/")) {
                 ip = StringUtils.join(ip, StringUtils.repeat(".0", 4 - periods - 1), "/", (periods + 1) * 8);
             }
 
             if (ip.contains("/")) {
                 String[] parts = ip.split("/");
                 try {
-                    long ipLong = ipToLong(InetAddress.getByName(parts[0]));
-                    long mask = (long) Math.pow(2, 32 - Integer.parseInt(parts[1]));
-                    long ipLo = (ipLong / mask) * mask;
-                    long ipHi = (( (ipLong / mask) + 1) * mask) - 1;
-                    ipRanges.add(new IPRange(ipLo, ipHi));
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Invalid CIDR block " + ip);
+                    }
+                    byte[] address = InetAddress.getByName(parts[0].trim()).getAddress();
+                    int prefix = Integer.parseInt(parts[1].trim());
+                    if (prefix < 0 || prefix > address.length * 8) {
+                        throw new IllegalArgumentException("Invalid prefix length " + parts[1]);
+                    }
+                    byte[] lo = address.clone();
+                    byte[] hi = address.clone();
+                    for (int bit = prefix; bit < address.length * 8; bit++) {
+                        int mask = 0x80 >>> (bit % 8);
+                        lo[bit / 8] &= (byte) ~mask;
+                        hi[bit / 8] |= (byte) mask;
+                    }
+                    addRange(lo, hi);
                     return;
                 } catch (Exception e) {
                     throw new IPFormatException(ip + " - Range format should be similar to 172.16.0.0/12");
                 }
             } else {
                 try {
-                    long ipLo = ipToLong(InetAddress.getByName(ip));
-                    ipRanges.add(new IPRange(ipLo, ipLo));
+                    byte[] address = InetAddress.getByName(ip.trim()).getAddress();
+                    addRange(address, address);
                     return;
                 } catch (UnknownHostException e) {
                     throw new IPFormatException(ip + " - IP address format should be similar to 1.2.3.14");
@@ -133,6 +132,30 @@ public class IPTable {
         }
     }
 
+    private synchronized void addRange(byte[] lo, byte[] hi) {
+        if (lo.length != hi.length) {
+            throw new IllegalArgumentException("The addresses of a range must be of the same family");
+        }
+        if (lo.length == 4) {
+            long first = bytesToLong(lo, 0, 4);
+            long last = bytesToLong(hi, 0, 4);
+            if (first > last) {
+                log.warn("Ignoring the empty range {}-{}", longToIp(first), longToIp(last));
+                return;
+            }
+            addedV4.add(new long[] {first, last});
+        } else {
+            long[] range = {bytesToLong(lo, 0, 8), bytesToLong(lo, 8, 8), bytesToLong(hi, 0, 8), bytesToLong(hi, 8, 8)};
+            if (compare(range[0], range[1], range[2], range[3]) > 0) {
+                log.warn("Ignoring the empty range {}-{}", ipv6ToString(range[0], range[1]),
+                         ipv6ToString(range[2], range[3]));
+                return;
+            }
+            addedV6.add(range);
+        }
+        ranges = null;
+    }
+
     /**
      * Convert an IP address to a long integer
      * @param ip    the IP address
@@ -168,9 +191,8 @@ public class IPTable {
     /**
      * Check whether a given address is contained in this netblock.
      *
-     * @param ip the address to be tested
-     * @return true if {@code ip} is within this table's limits.  Returns false
-     *         if {@code ip} looks like an IPv6 address.
+     * @param ip the address to be tested, IPv4 or IPv6
+     * @return true if {@code ip} is within this table's limits.
      * @throws IPFormatException Exception Class to deal with IPFormat errors.
      */
     public boolean contains(String ip) throws IPFormatException {
@@ -178,29 +200,57 @@ public class IPTable {
             throw new IPFormatException("Address may not be null");
         }
 
+        ip = ip.trim();
+        long ipv4 = parseIpv4(ip);
+        if (ipv4 >= 0) {
+            Ranges current = getRanges();
+            return search(current.v4Lo(), current.v4Hi(), ipv4);
+        }
+        // only IPv6 literals, a host name would be looked up
+        if (ip.indexOf(':') < 0) {
+            throw new IPFormatException("ip not valid");
+        }
         try {
-            long ipToTest = ipToLong(InetAddress.getByName(ip));
-            return ipRanges.stream()
-                    .anyMatch(ipRange -> (ipToTest >= ipRange.getIpLo() && ipToTest <= ipRange.getIpHi()));
+            return contains(InetAddress.getByName(ip).getAddress());
         } catch (UnknownHostException e) {
             throw new IPFormatException("ip not valid");
         }
     }
 
     /**
-     * Convert to a Set. This set contains all IPs in the range
+     * Check whether a given address is contained in this netblock, without allocating any object.
+     *
+     * @param address the address to be tested, 4 bytes for IPv4 or 16 bytes for IPv6, in network byte order. The
+     *                IPv4-mapped IPv6 addresses are tested as IPv4 addresses.
+     * @return true if {@code address} is within this table's limits.
+     */
+    public boolean contains(byte[] address) {
+        Ranges current = getRanges();
+        if (address.length == 4) {
+            return search(current.v4Lo(), current.v4Hi(), bytesToLong(address, 0, 4));
+        }
+        if (address.length != 16) {
+            return false;
+        }
+        long high = bytesToLong(address, 0, 8);
+        long low = bytesToLong(address, 8, 8);
+        if (high == 0 && (low >>> 32) == 0xffffL) {
+            return search(current.v4Lo(), current.v4Hi(), low & 0xffffffffL);
+        }
+        return search(current.v6Lo(), current.v6Hi(), high, low);
+    }
+
+    /**
+     * Convert to a Set. This set contains all IPv4 addresses in the range, the IPv6 ranges are left out.
      *
      * @return this table's content as a Set
      */
     public Set<String> toSet() {
         HashSet<String> set = new HashSet<>();
 
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            long ipLo = ipRange.getIpLo();
-            long ipHi = ipRange.getIpHi();
-            for (long ip = ipLo; ip <= ipHi; ip++) {
+        Ranges current = getRanges();
+        for (int i = 0; i < current.v4Lo().length; i++) {
+            for (long ip = current.v4Lo()[i]; ip <= current.v4Hi()[i]; ip++) {
                 set.add(longToIp(ip));
             }
         }
@@ -213,7 +263,8 @@ public class IPTable {
      * @return true if empty, false otherwise
      */
     public boolean isEmpty() {
-        return ipRanges.isEmpty();
+        Ranges current = getRanges();
+        return current.v4Lo().length == 0 && current.v6Lo().length == 0;
     }
 
     /**
@@ -231,17 +282,195 @@ public class IPTable {
      */
     @Override
     public String toString() {
-        StringBuilder stringBuilder = new StringBuilder();
-        Iterator<IPRange> ipRangeIterator = ipRanges.iterator();
-        while (ipRangeIterator.hasNext()) {
-            IPRange ipRange = ipRangeIterator.next();
-            stringBuilder.append(longToIp(ipRange.getIpLo()))
-                    .append("-")
-                    .append(longToIp(ipRange.getIpHi()));
-            if (ipRangeIterator.hasNext()) {
-                stringBuilder.append(", ");
+        Ranges current = getRanges();
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < current.v4Lo().length; i++) {
+            strings.add(longToIp(current.v4Lo()[i]) + "-" + longToIp(current.v4Hi()[i]));
+        }
+        for (int i = 0; i < current.v6Lo().length; i += 2) {
+            strings.add(ipv6ToString(current.v6Lo()[i], current.v6Lo()[i + 1]) + "-"
+                            + ipv6ToString(current.v6Hi()[i], current.v6Hi()[i + 1]));
+        }
+        return String.join(", ", strings);
+    }
+
+    private Ranges getRanges() {
+        Ranges current = ranges;
+        return current != null ? current : merge();
+    }
+
+    /**
+     * Merge the added ranges into the sorted arrays.
+     */
+    private synchronized Ranges merge() {
+        if (ranges != null) {
+            return ranges;
+        }
+        List<long[]> v4 = new ArrayList<>(addedV4);
+        for (int i = 0; i < merged.v4Lo().length; i++) {
+            v4.add(new long[] {merged.v4Lo()[i], merged.v4Hi()[i]});
+        }
+        List<long[]> v6 = new ArrayList<>(addedV6);
+        for (int i = 0; i < merged.v6Lo().length; i += 2) {
+            v6.add(new long[] {merged.v6Lo()[i], merged.v6Lo()[i + 1], merged.v6Hi()[i], merged.v6Hi()[i + 1]});
+        }
+
+        // IPv4 addresses are positive longs
+        v4.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> v4Merged = new ArrayList<>();
+        for (long[] range : v4) {
+            long[] last = v4Merged.isEmpty() ? null : v4Merged.get(v4Merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                v4Merged.add(range.clone());
+            }
+        }
+
+        v6.sort((a, b) -> compare(a[0], a[1], b[0], b[1]));
+        List<long[]> v6Merged = new ArrayList<>();
+        for (long[] range : v6) {
+            long[] last = v6Merged.isEmpty() ? null : v6Merged.get(v6Merged.size() - 1);
+            if (last != null && isAdjacentOrOverlapping(last, range)) {
+                if (compare(range[2], range[3], last[2], last[3]) > 0) {
+                    last[2] = range[2];
+                    last[3] = range[3];
+                }
+            } else {
+                v6Merged.add(range.clone());
             }
         }
-        return stringBuilder.toString();
+
+        long[] v4Lo = new long[v4Merged.size()];
+        long[] v4Hi = new long[v4Merged.size()];
+        for (int i = 0; i < v4Merged.size(); i++) {
+            v4Lo[i] = v4Merged.get(i)[0];
+            v4Hi[i] = v4Merged.get(i)[1];
+        }
+        long[] v6Lo = new long[v6Merged.size() * 2];
+        long[] v6Hi = new long[v6Merged.size() * 2];
+        for (int i = 0; i < v6Merged.size(); i++) {
+            long[] range = v6Merged.get(i);
+            v6Lo[2 * i] = range[0];
+            v6Lo[2 * i + 1] = range[1];
+            v6Hi[2 * i] = range[2];
+            v6Hi[2 * i + 1] = range[3];
+        }
+
+        addedV4.clear();
+        addedV6.clear();
+        merged = new Ranges(v4Lo, v4Hi, v6Lo, v6Hi);
+        ranges = merged;
+        log.debug("Merged {} IPv4 and {} IPv6 ranges", v4Lo.length, v6Lo.length / 2);
+        return merged;
+    }
+
+    /**
+     * @return whether the IPv6 range {@code next}, which doesn't start before {@code last}, starts at most one
+     * address after the end of {@code last}
+     */
+    private static boolean isAdjacentOrOverlapping(long[] last, long[] next) {
+        if (compare(next[0], next[1], last[2], last[3]) <= 0) {
+            return true;
+        }
+        // the address following the end of last, unless last ends at the highest address
+        long low = last[3] + 1;
+        long high = low == 0 ? last[2] + 1 : last[2];
+        return compare(next[0], next[1], high, low) == 0;
+    }
+
+    private static boolean search(long[] lo, long[] hi, long ip) {
+        int first = 0;
+        int last = lo.length - 1;
+        while (first <= last) {
+            int middle = (first + last) >>> 1;
+            if (lo[middle] <= ip) {
+                if (ip <= hi[middle]) {
+                    return true;
+                }
+                first = middle + 1;
+            } else {
+                last = middle - 1;
+            }
+        }
+        return false;
+    }
+
+    private static boolean search(long[] lo, long[] hi, long high, long low) {
+        int first = 0;
+        int last = lo.length / 2 - 1;
+        while (first <= last) {
+            int middle = (first + last) >>> 1;
+            if (compare(lo[2 * middle], lo[2 * middle + 1], high, low) <= 0) {
+                if (compare(high, low, hi[2 * middle], hi[2 * middle + 1]) <= 0) {
+                    return true;
+                }
+                first = middle + 1;
+            } else {
+                last = middle - 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compare two IPv6 addresses, each given as its high and low 64 bits.
+     */
+    private static int compare(long high1, long low1, long high2, long low2) {
+        int result = Long.compareUnsigned(high1, high2);
+        return result != 0 ? result : Long.compareUnsigned(low1, low2);
+    }
+
+    private static long bytesToLong(byte[] bytes, int offset, int length) {
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            result = (result << 8) | (bytes[i] & 0xff);
+        }
+        return result;
+    }
+
+    /**
+     * Parse a dotted-quad IPv4 address, without allocating any object.
+     *
+     * @return the address as a long integer, or -1 if it isn't a dotted-quad IPv4 address
+     */
+    private static long parseIpv4(String ip) {
+        long result = 0;
+        int octets = 0;
+        int octet = -1;
+        for (int i = 0; i < ip.length(); i++) {
+            char c = ip.charAt(i);
+            if (c >= '0' && c <= '9') {
+                octet = octet < 0 ? c - '0' : octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else if (c == '.' && octet >= 0 && octets < 3) {
+                result = (result << 8) | octet;
+                octets++;
+                octet = -1;
+            } else {
+                return -1;
+            }
+        }
+        if (octet < 0 || octets != 3) {
+            return -1;
+        }
+        return (result << 8) | octet;
+    }
+
+    private static String ipv6ToString(long high, long low) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        try {
+            InetAddress address = InetAddress.getByAddress(bytes);
+            // the IPv4-mapped addresses are returned as IPv4 addresses
+            return address instanceof Inet4Address ? "::ffff:" + address.getHostAddress() : address.getHostAddress();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,343 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable set of regular expressions, which tells whether any of them is found in a string without running
+ * each of them in turn.
+ * <p>
+ * Most spider patterns are plain words, or contain a word which every match must contain. These words are put in a
+ * single Aho-Corasick automaton, which finds all of them in one pass over the string. A pattern which is nothing but
+ * its word matches as soon as the word is found, and the other patterns are only run when their word is found. Only
+ * the patterns without such a word (e.g. with top level alternations) are always run.
+ */
+public class PatternSet {
+
+    private static final int[] NO_PATTERNS = new int[0];
+
+    private final Pattern[] patterns;
+
+    /**
+     * Whether each pattern matches exactly when its required literal is found
+     */
+    private final boolean[] literal;
+
+    /**
+     * The patterns without a required literal
+     */
+    private final int[] unfiltered;
+
+    // The automaton: the sorted characters of the transitions of each state and the target states, the failure
+    // transition of each state, and the patterns whose required literal ends in each state.
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failures;
+    private final int[][] outputs;
+
+    /**
+     * @param patterns the patterns, null elements are ignored
+     */
+    public PatternSet(Collection<Pattern> patterns) {
+        this.patterns = patterns.stream().filter(pattern -> pattern != null).toArray(Pattern[]::new);
+        this.literal = new boolean[this.patterns.length];
+
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        ends.add(new ArrayList<>());
+        List<Integer> withoutLiteral = new ArrayList<>();
+        for (int i = 0; i < this.patterns.length; i++) {
+            RequiredLiteral required = requiredLiteral(this.patterns[i]);
+            if (required == null) {
+                withoutLiteral.add(i);
+                continue;
+            }
+            literal[i] = required.whole();
+            int state = 0;
+            for (char c : required.text().toCharArray()) {
+                Integer next = transitions.get(state).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(state).put(c, next);
+                    transitions.add(new HashMap<>());
+                    ends.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            ends.get(state).add(i);
+        }
+        unfiltered = withoutLiteral.stream().mapToInt(Integer::intValue).toArray();
+
+        int states = transitions.size();
+        transitionChars = new char[states][];
+        transitionTargets = new int[states][];
+        for (int state = 0; state < states; state++) {
+            Map<Character, Integer> stateTransitions = transitions.get(state);
+            char[] chars = new char[stateTransitions.size()];
+            int n = 0;
+            for (char c : stateTransitions.keySet()) {
+                chars[n++] = c;
+            }
+            Arrays.sort(chars);
+            int[] targets = new int[chars.length];
+            for (int j = 0; j < chars.length; j++) {
+                targets[j] = stateTransitions.get(chars[j]);
+            }
+            transitionChars[state] = chars;
+            transitionTargets[state] = targets;
+        }
+
+        // breadth first, so the failure state of a state's parent is known before the state itself
+        failures = new int[states];
+        outputs = new int[states][];
+        outputs[0] = toArray(ends.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : transitionTargets[0]) {
+            failures[target] = 0;
+            queue.add(target);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            int[] inherited = outputs[failures[state]];
+            List<Integer> own = ends.get(state);
+            if (own.isEmpty()) {
+                outputs[state] = inherited;
+            } else {
+                int[] merged = Arrays.copyOf(inherited, inherited.length + own.size());
+                for (int j = 0; j < own.size(); j++) {
+                    merged[inherited.length + j] = own.get(j);
+                }
+                outputs[state] = merged;
+            }
+            for (int j = 0; j < transitionChars[state].length; j++) {
+                char c = transitionChars[state][j];
+                int target = transitionTargets[state][j];
+                int failure = failures[state];
+                int next;
+                while ((next = transition(failure, c)) < 0 && failure != 0) {
+                    failure = failures[failure];
+                }
+                failures[target] = next < 0 ? 0 : next;
+                queue.add(target);
+            }
+        }
+    }
+
+    /**
+     * @param input the string to search
+     * @return whether any of the patterns is found in the string
+     */
+    public boolean matches(CharSequence input) {
+        BitSet tried = null;
+        int state = 0;
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = failures[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int pattern : outputs[state]) {
+                if (literal[pattern]) {
+                    return true;
+                }
+                if (tried == null) {
+                    tried = new BitSet(patterns.length);
+                }
+                if (!tried.get(pattern)) {
+                    tried.set(pattern);
+                    if (patterns[pattern].matcher(input).find()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        for (int pattern : unfiltered) {
+            if (patterns[pattern].matcher(input).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the number of patterns
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * @return the number of patterns which are run on every string, because they have no required literal
+     */
+    public int getUnfilteredCount() {
+        return unfiltered.length;
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index < 0 ? -1 : transitionTargets[state][index];
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        return list.isEmpty() ? NO_PATTERNS : list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * A string which every match of a pattern contains.
+     *
+     * @param text  the string
+     * @param whole whether the pattern is nothing but the string, so that it matches whenever the string is found
+     */
+    record RequiredLiteral(String text, boolean whole) {
+    }
+
+    /**
+     * Find the longest string which every match of a pattern contains. Only the characters outside of groups and
+     * character classes are considered, and patterns with flags, top level alternations or quoting aren't analyzed at
+     * all.
+     *
+     * @param pattern the pattern
+     * @return the required literal, or null if none was found
+     */
+    static RequiredLiteral requiredLiteral(Pattern pattern) {
+        if (pattern.flags() != 0) {
+            return null;
+        }
+        String regex = pattern.pattern();
+        StringBuilder run = new StringBuilder();
+        String best = "";
+        boolean whole = true;
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            switch (c) {
+                case '\\':
+                    if (++i >= regex.length()) {
+                        return null;
+                    }
+                    char escaped = regex.charAt(i);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        // only the escapes which can't be followed by more of their own syntax
+                        if ("dDsSwWbBhHvV".indexOf(escaped) < 0) {
+                            return null;
+                        }
+                        best = longest(best, run);
+                        whole = false;
+                    } else if (depth == 0) {
+                        run.append(escaped);
+                    }
+                    break;
+                case '[':
+                    i = endOfClass(regex, i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    best = longest(best, run);
+                    whole = false;
+                    break;
+                case '(':
+                    if (i + 1 < regex.length() && regex.charAt(i + 1) == '?') {
+                        return null;
+                    }
+                    best = longest(best, run);
+                    whole = false;
+                    depth++;
+                    break;
+                case ')':
+                    depth--;
+                    break;
+                case '|':
+                    // an alternation inside a group only affects the group
+                    if (depth == 0) {
+                        return null;
+                    }
+                    break;
+                case '{':
+                    i = regex.indexOf('}', i);
+                    if (i < 0) {
+                        return null;
+                    }
+                    // fall through, the previous character may be repeated zero times
+                case '?':
+                case '*':
+                    if (run.length() > 0) {
+                        run.setLength(run.length() - 1);
+                    }
+                    best = longest(best, run);
+                    whole = false;
+                    break;
+                case '+':
+                case '.':
+                case '^':
+                case '$':
+                    best = longest(best, run);
+                    whole = false;
+                    break;
+                default:
+                    if (depth == 0) {
+                        run.append(c);
+                    }
+                    break;
+            }
+        }
+        best = longest(best, run);
+        if (best.isEmpty() || depth != 0) {
+            return null;
+        }
+        return new RequiredLiteral(best, whole);
+    }
+
+    /**
+     * @return the longer of the best literal so far and the current run, the run is emptied
+     */
+    private static String longest(String best, StringBuilder run) {
+        if (run.length() > best.length()) {
+            best = run.toString();
+        }
+        run.setLength(0);
+        return best;
+    }
+
+    /**
+     * @return the index of the bracket closing the character class opened at start, or -1 if it can't be found or
+     * the class contains nested classes
+     */
+    private static int endOfClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        // a closing bracket right at the start is a literal
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        for (; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                return -1;
+            } else if (c == ']') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
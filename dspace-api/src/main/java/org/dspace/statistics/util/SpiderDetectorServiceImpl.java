@@ -12,9 +12,10 @@ import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -42,21 +43,36 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
     private static final Logger log = LogManager.getLogger();
 
+    /**
+     * Longer user agents aren't kept in the recent verdicts, so that they can't use up much memory.
+     */
+    private static final int MAX_CACHED_AGENT_LENGTH = 1024;
+
     private Boolean useCaseInsensitiveMatching;
 
-    private final List<Pattern> agents
-        = Collections.synchronizedList(new ArrayList<>());
+    private volatile PatternSet agents;
+
+    private volatile PatternSet domains;
 
-    private final List<Pattern> domains
-        = Collections.synchronizedList(new ArrayList<>());
+    /**
+     * The recent verdicts about user agents, as the same few agents make most of the requests.
+     */
+    private final Map<String, Boolean> agentVerdicts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > getAgentCacheSize();
+        }
+    };
+
+    private Integer agentCacheSize;
 
     private final ConfigurationService configurationService;
     private final ClientInfoService clientInfoService;
 
     /**
-     * Sparse HashTable structure to hold IP address ranges.
+     * Sorted IP address ranges, published once they are all loaded.
      */
-    private IPTable table = null;
+    private volatile IPTable table = null;
 
     @Autowired(required = true)
     public SpiderDetectorServiceImpl(ConfigurationService configurationService, ClientInfoService clientInfoService) {
@@ -75,28 +91,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      */
     @Override
     public boolean isSpider(@NotNull String clientIP, String proxyIPs, String hostname, String agent) {
-        // See if any agent patterns match
-        if (null != agent) {
-            synchronized (agents) {
-                if (agents.isEmpty()) {
-                    loadPatterns("agents", agents);
-                }
-            }
-
-            if (isUseCaseInsensitiveMatching()) {
-                agent = StringUtils.lowerCase(agent);
-                hostname = StringUtils.lowerCase(hostname);
-            }
-
-            for (Pattern candidate : agents) {
-
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(agent).find()) {
-                    return true;
-                }
-
+        if (isUseCaseInsensitiveMatching()) {
+            agent = StringUtils.lowerCase(agent);
+            hostname = StringUtils.lowerCase(hostname);
+        }
 
-            }
+        // See if any agent patterns match
+        if (null != agent && isSpiderAgent(agent)) {
+            return true;
         }
 
         // No.  See if any IP addresses match
@@ -114,22 +116,57 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         }
 
         // No.  See if any DNS names match
-        if (null != hostname) {
-            synchronized (domains) {
-                if (domains.isEmpty()) {
-                    loadPatterns("domains", domains);
-                }
+        if (null != hostname && getDomains().matches(hostname)) {
+            return true;
+        }
+
+        // Not a known spider.
+        return false;
+    }
+
+    /**
+     * Match a user agent against the agent patterns, or get the verdict about it from the recent verdicts.
+     *
+     * @param agent the user agent, lowercased if case insensitive matching is enabled
+     * @return whether the user agent matches any of the agent patterns
+     */
+    private boolean isSpiderAgent(String agent) {
+        if (getAgentCacheSize() <= 0 || agent.length() > MAX_CACHED_AGENT_LENGTH) {
+            return getAgents().matches(agent);
+        }
+        Boolean verdict;
+        synchronized (agentVerdicts) {
+            verdict = agentVerdicts.get(agent);
+        }
+        if (verdict == null) {
+            verdict = getAgents().matches(agent);
+            synchronized (agentVerdicts) {
+                agentVerdicts.put(agent, verdict);
             }
-            for (Pattern candidate : domains) {
-                // prevent matcher() invocation from a null Pattern object
-                if (null != candidate && candidate.matcher(hostname).find()) {
-                    return true;
+        }
+        return verdict;
+    }
+
+    private PatternSet getAgents() {
+        if (agents == null) {
+            synchronized (this) {
+                if (agents == null) {
+                    agents = loadPatterns("agents");
                 }
             }
         }
+        return agents;
+    }
 
-        // Not a known spider.
-        return false;
+    private PatternSet getDomains() {
+        if (domains == null) {
+            synchronized (this) {
+                if (domains == null) {
+                    domains = loadPatterns("domains");
+                }
+            }
+        }
+        return domains;
     }
 
     @Override
@@ -166,10 +203,10 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
      * @param directory   simple directory name (e.g. "agents").
      *                    "${dspace.dir}/config/spiders" will be prepended to yield the path to
      *                    the directory of pattern files.
-     * @param patternList patterns read from the files in {@code directory} will
-     *                    be added to this List.
+     * @return the patterns read from the files in {@code directory}, compiled into a single set.
      */
-    private void loadPatterns(String directory, List<Pattern> patternList) {
+    private PatternSet loadPatterns(String directory) {
+        List<Pattern> patternList = new ArrayList<>();
         String dspaceHome = configurationService.getProperty("dspace.dir");
         File spidersDir = new File(dspaceHome, "config/spiders");
         File patternsDir = new File(spidersDir, directory);
@@ -197,6 +234,10 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
         } else {
             log.info("No patterns loaded from {}", patternsDir::getPath);
         }
+        PatternSet patternSet = new PatternSet(patternList);
+        log.info("Compiled {} {} patterns, {} of which are run on every request", patternSet::size,
+                 () -> directory, patternSet::getUnfilteredCount);
+        return patternSet;
     }
 
     @Override
@@ -229,7 +270,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
     public synchronized void loadSpiderIpAddresses() {
 
         if (table == null) {
-            table = new IPTable();
+            IPTable ipTable = new IPTable();
 
             String filePath = configurationService.getProperty("dspace.dir");
 
@@ -241,7 +282,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                         if (file.isFile()) {
                             for (String ip : readPatterns(file)) {
                                 log.debug("Loading {}", ip);
-                                if (!Character.isDigit(ip.charAt(0))) {
+                                if (!Character.isDigit(ip.charAt(0)) && !ip.contains(":")) {
                                     try {
                                         ip = DnsLookup.forward(ip);
                                         log.debug("Resolved to {}", ip);
@@ -250,7 +291,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
                                         continue;
                                     }
                                 }
-                                table.add(ip);
+                                ipTable.add(ip);
                             }
                             log.info("Loaded Spider IP file: " + file);
                         }
@@ -261,6 +302,7 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
             } catch (IOException | IPTable.IPFormatException e) {
                 log.error("Error Loading Spiders:" + e.getMessage(), e);
             }
+            table = ipTable;
 
         }
 
@@ -284,4 +326,14 @@ public class SpiderDetectorServiceImpl implements SpiderDetectorService {
 
         return useCaseInsensitiveMatching;
     }
+
+    /**
+     * @return the maximum number of recent verdicts about user agents to keep, 0 to keep none
+     */
+    private int getAgentCacheSize() {
+        if (agentCacheSize == null) {
+            agentCacheSize = configurationService.getIntProperty("usage-statistics.bots.agent-cache-size", 1000);
+        }
+        return agentCacheSize;
+    }
 }
@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
@@ -45,6 +46,18 @@ public interface BitStoreService {
      */
     public InputStream get(Bitstream bitstream) throws IOException;
 
+    /**
+     * Get the local file holding the bits of the bitstream, so that they can be sent without copying them through
+     * the heap. Stores which don't keep their assets in the local file system return null.
+     *
+     * @param bitstream DSpace Bitstream object
+     * @return The local file, or null if the asset isn't available as a local file
+     * @throws java.io.IOException If a problem occurs while determining the file
+     */
+    public default File getLocalFile(Bitstream bitstream) throws IOException {
+        return null;
+    }
+
     /**
      * Store a stream of bits.
      *
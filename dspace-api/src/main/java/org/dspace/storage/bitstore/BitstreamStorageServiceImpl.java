@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -20,6 +21,7 @@ import java.util.UUID;
 import jakarta.annotation.Nullable;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
@@ -87,6 +89,18 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
      */
     protected final String REGISTERED_FLAG = "-R";
 
+    /**
+     * Whether a new bitstream whose content is identical to an existing bitstream in the same store should share
+     * the stored file of that bitstream, instead of keeping its own copy
+     */
+    private boolean deduplicate = false;
+
+    /**
+     * Whether the content of bitstreams with the same checksum and size is compared byte by byte before they share
+     * a stored file, which protects against checksum collisions
+     */
+    private boolean verifyDuplicates = true;
+
     protected BitstreamStorageServiceImpl() {
 
     }
@@ -121,6 +135,9 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         BitStoreService store = this.getStore(incoming);
         //For efficiencies sake, PUT is responsible for setting bitstream size_bytes, checksum, and checksum_algorithm
         store.put(bitstream, is);
+        if (deduplicate) {
+            deduplicate(context, store, bitstream);
+        }
         //bitstream.setSizeBytes(file.length());
         //bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
         //bitstream.setChecksumAlgorithm("MD5");
@@ -220,6 +237,13 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         return this.getStore(storeNumber).get(bitstream);
     }
 
+    @Override
+    public File retrieveFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException {
+        Integer storeNumber = bitstream.getStoreNumber();
+        return this.getStore(storeNumber).getLocalFile(bitstream);
+    }
+
     @Override
     public void cleanup(boolean deleteDbRecords, boolean verbose) throws SQLException, IOException, AuthorizeException {
         Context context = new Context(Context.Mode.BATCH_EDIT);
@@ -294,12 +318,15 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
                     }
 
 
-                    // Since versioning allows for multiple bitstreams, check if the internal
-                    // identifier isn't used on
-                    // another place
-                    if (bitstreamService.findDuplicateInternalIdentifier(context, bitstream).isEmpty()) {
-                        this.getStore(bitstream.getStoreNumber()).remove(bitstream);
-
+                    // Since versioning and deduplication allow multiple bitstreams to share a stored file, only
+                    // remove the file when no other bitstream references its internal identifier
+                    if (!removeUnreferenced(context, bitstream.getStoreNumber(), bitstream)) {
+                        if (verbose) {
+                            System.out.println(" - Keeping file of bitstreamID " + bid + ", internalID "
+                                                   + bitstream.getInternalId() + ", it is shared with other "
+                                                   + "bitstream(s)");
+                        }
+                    } else {
                         String message = ("Deleted bitstreamID " + bid + ", internalID " + bitstream.getInternalId());
                         if (log.isDebugEnabled()) {
                             log.debug(message);
@@ -419,8 +446,13 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
             bitstreamService.update(context, bitstream);
 
             if (deleteOld) {
-                log.info("Removing bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
-                this.getStore(assetstoreSource).remove(bitstream);
+                // the file stays in the source store while bitstreams which share it are left to migrate
+                if (removeUnreferenced(context, assetstoreSource, bitstream)) {
+                    log.info("Removed bitstream:" + bitstream.getID() + " from assetstore[" + assetstoreSource + "]");
+                } else {
+                    log.info("Kept the file of bitstream:" + bitstream.getID() + " in assetstore[" + assetstoreSource
+                                 + "], it is shared with other bitstreams");
+                }
             }
 
             processedCounter++;
@@ -457,6 +489,87 @@ public class BitstreamStorageServiceImpl implements BitstreamStorageService, Ini
         }
     }
 
+    /**
+     * Remove the stored file of a bitstream from a store, unless other bitstreams in that store still reference it.
+     * The references are counted right before the removal: a bitstream which started to share the file is either
+     * counted, or holds the lock taken by {@link BitstreamService#findByContent} on the bitstream it shares the file
+     * with, which can't be deleted meanwhile.
+     *
+     * @param context     The current context
+     * @param storeNumber The store to remove the file from
+     * @param bitstream   The bitstream
+     * @return whether the file was removed
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     * @throws IOException  If the file can't be removed
+     */
+    protected boolean removeUnreferenced(Context context, int storeNumber, Bitstream bitstream)
+        throws SQLException, IOException {
+        if (bitstreamService.countDuplicateInternalIdentifier(context, bitstream, storeNumber) > 0) {
+            return false;
+        }
+        this.getStore(storeNumber).remove(bitstream);
+        return true;
+    }
+
+    /**
+     * Let the new bitstream share the stored file of an existing bitstream with the same content, if there is one,
+     * and remove the file which was just stored for it. The stored files are reference counted through the
+     * internal identifier: a file is only removed by the cleanup when no bitstream references it anymore.
+     *
+     * @param context   The current context
+     * @param store     The store the bitstream was just stored in
+     * @param bitstream The new bitstream, with its checksum and size set
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    protected void deduplicate(Context context, BitStoreService store, Bitstream bitstream) throws SQLException {
+        if (bitstream.getChecksum() == null || bitstream.getChecksumAlgorithm() == null) {
+            return;
+        }
+        for (Bitstream candidate : bitstreamService.findByContent(context, bitstream, 5)) {
+            try {
+                if (verifyDuplicates && !hasSameContent(store, bitstream, candidate)) {
+                    log.warn("Bitstreams {} and {} have the same checksum and size but a different content",
+                             bitstream.getID(), candidate.getID());
+                    continue;
+                }
+                String internalId = bitstream.getInternalId();
+                store.remove(bitstream);
+                bitstream.setInternalId(candidate.getInternalId());
+                log.debug("Bitstream {} shares the stored file {} of bitstream {}, removed {}",
+                          bitstream.getID(), candidate.getInternalId(), candidate.getID(), internalId);
+                return;
+            } catch (IOException e) {
+                // keep the copy which was stored for the bitstream
+                log.warn("Unable to deduplicate bitstream " + bitstream.getID() + " with " + candidate.getID(), e);
+                return;
+            }
+        }
+    }
+
+    private boolean hasSameContent(BitStoreService store, Bitstream bitstream, Bitstream candidate)
+        throws IOException {
+        try (InputStream content = store.get(bitstream);
+             InputStream candidateContent = store.get(candidate)) {
+            return IOUtils.contentEquals(content, candidateContent);
+        }
+    }
+
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    public void setDeduplicate(boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
+    public boolean isVerifyDuplicates() {
+        return verifyDuplicates;
+    }
+
+    public void setVerifyDuplicates(boolean verifyDuplicates) {
+        this.verifyDuplicates = verifyDuplicates;
+    }
+
     public int getIncoming() {
         return incoming;
     }
@@ -83,6 +83,12 @@ public class DSBitStoreService extends BaseBitStoreService {
         }
     }
 
+    @Override
+    public File getLocalFile(Bitstream bitstream) throws IOException {
+        File file = getFile(bitstream);
+        return file != null && file.isFile() ? file : null;
+    }
+
     /**
      * Store a stream of bits.
      *
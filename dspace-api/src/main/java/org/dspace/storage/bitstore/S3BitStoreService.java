@@ -9,18 +9,27 @@ package org.dspace.storage.bitstore;
 
 import static java.lang.String.valueOf;
 
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
 import com.amazonaws.AmazonClientException;
@@ -31,13 +40,15 @@ import com.amazonaws.regions.Region;
 import com.amazonaws.regions.Regions;
 import com.amazonaws.services.s3.AmazonS3;
 import com.amazonaws.services.s3.AmazonS3ClientBuilder;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
 import com.amazonaws.services.s3.model.AmazonS3Exception;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
 import com.amazonaws.services.s3.model.GetObjectRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.transfer.Download;
-import com.amazonaws.services.s3.transfer.TransferManager;
-import com.amazonaws.services.s3.transfer.TransferManagerBuilder;
-import com.amazonaws.services.s3.transfer.Upload;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.S3Object;
+import com.amazonaws.services.s3.model.UploadPartRequest;
 import jakarta.validation.constraints.NotNull;
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.DefaultParser;
@@ -45,6 +56,7 @@ import org.apache.commons.cli.HelpFormatter;
 import org.apache.commons.cli.Option;
 import org.apache.commons.cli.Options;
 import org.apache.commons.cli.ParseException;
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.http.HttpStatus;
@@ -83,6 +95,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     static final String CSA = "MD5";
 
+    /**
+     * The minimum size S3 accepts for the parts of a multipart upload, but the last one
+     */
+    protected static final int MIN_UPLOAD_PART_SIZE = 5 * 1024 * 1024;
+
     // These settings control the way an identifier is hashed into
     // directory and file names
     //
@@ -108,6 +125,67 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private long bufferSize = 5 * 1024 * 1024;
 
+    /**
+     * The size of the parts in which objects are uploaded to S3. Objects smaller than a part are uploaded with a
+     * single request. S3 requires all parts but the last one to be at least 5Mb. Default 8Mb
+     */
+    private int uploadPartSize = 8 * 1024 * 1024;
+
+    private int minUploadPartSize = MIN_UPLOAD_PART_SIZE;
+
+    /**
+     * The number of threads uploading parts to S3, shared by all uploads. Default 4
+     */
+    private int uploadThreads = 4;
+
+    /**
+     * The maximum number of part buffers, shared by all uploads. This bounds the memory used for uploads to
+     * uploadBuffers * uploadPartSize bytes: when all buffers are in use, uploads wait for a part to be sent. As each
+     * multipart upload holds a buffer while it reads the stream, this is also the maximum number of multipart
+     * uploads running at once. The uploads smaller than a part don't use these buffers. Default 8
+     */
+    private int uploadBuffers = 8;
+
+    /**
+     * The executor uploading the parts, created when the first multipart upload starts
+     */
+    private ExecutorService uploadExecutor = null;
+
+    /**
+     * The pool of part buffers, created when the first multipart upload starts
+     */
+    private BufferPool partBufferPool = null;
+
+    /**
+     * The number of chunks following the current one which a stream downloads ahead, while the current chunk is
+     * being read. Default 2
+     */
+    private int readAhead = 2;
+
+    /**
+     * The number of threads downloading chunks ahead, shared by all streams. Default 8
+     */
+    private int downloadThreads = 8;
+
+    /**
+     * The maximum number of pooled chunk buffers, shared by all streams. This bounds the memory used for read ahead
+     * to downloadBuffers * bufferSize bytes: chunks are only downloaded ahead when a buffer is available, the chunks
+     * being read get a buffer of their own when none is. Default 16
+     */
+    private int downloadBuffers = 16;
+
+    /**
+     * The executor downloading chunks ahead, created when the first stream is read
+     */
+    private ExecutorService downloadExecutor = null;
+
+    /**
+     * The pool of chunk buffers, created when the first stream is read
+     */
+    private BufferPool chunkBufferPool = null;
+
+    private boolean shutdown = false;
+
     /**
      * container for all the assets
      */
@@ -123,12 +201,6 @@ public class S3BitStoreService extends BaseBitStoreService {
      */
     private AmazonS3 s3Service = null;
 
-    /**
-     * S3 transfer manager
-     * this is reused between put calls to use less resources for multiple uploads
-     */
-    private TransferManager tm = null;
-
     private static final ConfigurationService configurationService
             = DSpaceServicesFactory.getInstance().getConfigurationService();
 
@@ -180,6 +252,10 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
 
         try {
+            if (uploadPartSize < minUploadPartSize) {
+                throw new IllegalArgumentException("The upload part size (" + uploadPartSize
+                    + " bytes) is smaller than the minimum of S3 (" + minUploadPartSize + " bytes)");
+            }
             if (StringUtils.isNotBlank(getAwsAccessKey()) && StringUtils.isNotBlank(getAwsSecretKey())) {
                 log.warn("Use local defined S3 credentials");
                 // region
@@ -232,11 +308,6 @@ public class S3BitStoreService extends BaseBitStoreService {
         }
 
         log.info("AWS S3 Assetstore ready to go! bucket:" + bucketName);
-
-        tm = FunctionalUtils.getDefaultOrBuild(tm, () -> TransferManagerBuilder.standard()
-                                                               .withAlwaysCalculateMultipartMd5(true)
-                                                               .withS3Client(s3Service)
-                                                               .build());
     }
 
     /**
@@ -274,6 +345,11 @@ public class S3BitStoreService extends BaseBitStoreService {
      * If this method returns successfully, the bits have been stored.
      * If an exception is thrown, the bits have not been stored.
      * </p>
+     * <p>
+     * The stream is uploaded while it is read, without copying it to a local file first: objects smaller than
+     * the upload part size are sent with a single request, larger objects are sent as a multipart upload whose
+     * parts are uploaded in parallel. The MD5 checksum is computed while the stream is read.
+     * </p>
      *
      * @param in The stream of bits to store
      * @throws java.io.IOException If a problem occurs while storing the bits
@@ -281,39 +357,218 @@ public class S3BitStoreService extends BaseBitStoreService {
     @Override
     public void put(Bitstream bitstream, InputStream in) throws IOException {
         String key = getFullKey(bitstream.getInternalId());
-        //Copy istream to temp file, and send the file, with some metadata
-        File scratchFile = File.createTempFile(bitstream.getInternalId(), "s3bs");
-        try (
-                FileOutputStream fos = new FileOutputStream(scratchFile);
-                // Read through a digest input stream that will work out the MD5
-                DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA));
-        ) {
-            Utils.bufferedCopy(dis, fos);
-            in.close();
+        // Read through a digest input stream that will work out the MD5
+        try (DigestInputStream dis = new DigestInputStream(in, MessageDigest.getInstance(CSA))) {
+            long size = upload(key, dis);
 
-            Upload upload = tm.upload(bucketName, key, scratchFile);
-
-            upload.waitForUploadResult();
-
-            bitstream.setSizeBytes(scratchFile.length());
+            bitstream.setSizeBytes(size);
             // we cannot use the S3 ETAG here as it could be not a MD5 in case of multipart upload (large files) or if
             // the bucket is encrypted
             bitstream.setChecksum(Utils.toHex(dis.getMessageDigest().digest()));
             bitstream.setChecksumAlgorithm(CSA);
 
         } catch (AmazonClientException | IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
             log.error("put(" + bitstream.getInternalId() + ", is)", e);
             throw new IOException(e);
         } catch (NoSuchAlgorithmException nsae) {
             // Should never happen
             log.warn("Caught NoSuchAlgorithmException", nsae);
+        }
+    }
+
+    /**
+     * Upload the stream under the given key, with a single request if the stream is smaller than a part and with
+     * a multipart upload otherwise. The first part is read into an array of its own, sized as it is read, so that
+     * small uploads neither wait for nor hold a pooled part buffer; it is copied to a pooled buffer once the upload
+     * turns out to be a multipart upload.
+     *
+     * @param key The key of the object
+     * @param in  The stream to upload
+     * @return the number of bytes uploaded
+     * @throws IOException          If the stream can't be read or a part can't be uploaded
+     * @throws InterruptedException If interrupted while waiting for a part buffer or an upload
+     */
+    protected long upload(String key, InputStream in) throws IOException, InterruptedException {
+        byte[] firstPart = in.readNBytes(uploadPartSize);
+        if (firstPart.length < uploadPartSize) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(firstPart.length);
+            s3Service.putObject(bucketName, key, new ByteArrayInputStream(firstPart), metadata);
+            return firstPart.length;
+        }
+        byte[] buffer = getPartBufferPool().acquire();
+        System.arraycopy(firstPart, 0, buffer, 0, firstPart.length);
+        return multipartUpload(key, in, buffer);
+    }
+
+    /**
+     * Upload the stream as a multipart upload, starting with the given (full) first part. The next part is read
+     * while the previous ones are being uploaded. The upload is aborted if any part fails.
+     */
+    private long multipartUpload(String key, InputStream in, byte[] firstPart)
+        throws IOException, InterruptedException {
+        BufferPool pool = getPartBufferPool();
+        String uploadId;
+        try {
+            uploadId = s3Service.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key))
+                                .getUploadId();
+        } catch (AmazonClientException e) {
+            pool.release(firstPart);
+            throw e;
+        }
+
+        List<Future<PartETag>> parts = new ArrayList<>();
+        byte[] buffer = firstPart;
+        int length = firstPart.length;
+        long size = 0;
+        boolean completed = false;
+        try {
+            while (length > 0) {
+                size += length;
+                parts.add(uploadPart(key, uploadId, parts.size() + 1, buffer, length));
+                buffer = null;
+                if (length < uploadPartSize) {
+                    break;
+                }
+                checkFailedParts(parts);
+                buffer = pool.acquire();
+                length = IOUtils.read(in, buffer);
+            }
+
+            List<PartETag> partETags = new ArrayList<>(parts.size());
+            for (Future<PartETag> part : parts) {
+                partETags.add(part.get());
+            }
+            s3Service.completeMultipartUpload(
+                new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETags));
+            completed = true;
+            return size;
+        } catch (ExecutionException e) {
+            throw new IOException("Unable to upload a part of " + key, e.getCause());
         } finally {
-            if (!scratchFile.delete()) {
-                scratchFile.deleteOnExit();
+            if (buffer != null) {
+                pool.release(buffer);
+            }
+            if (!completed) {
+                abortMultipartUpload(key, uploadId, parts);
+            }
+        }
+    }
+
+    private Future<PartETag> uploadPart(String key, String uploadId, int partNumber, byte[] buffer, int length) {
+        UploadPartRequest request = new UploadPartRequest()
+            .withBucketName(bucketName)
+            .withKey(key)
+            .withUploadId(uploadId)
+            .withPartNumber(partNumber)
+            .withInputStream(new ByteArrayInputStream(buffer, 0, length))
+            .withPartSize(length);
+        try {
+            return getUploadExecutor().submit(() -> {
+                try {
+                    return s3Service.uploadPart(request).getPartETag();
+                } finally {
+                    getPartBufferPool().release(buffer);
+                }
+            });
+        } catch (RuntimeException e) {
+            getPartBufferPool().release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Fail fast when a part which was already sent failed, instead of reading the rest of the stream first.
+     */
+    private void checkFailedParts(List<Future<PartETag>> parts) throws ExecutionException, InterruptedException {
+        for (Future<PartETag> part : parts) {
+            if (part.isDone()) {
+                part.get();
             }
         }
     }
 
+    /**
+     * Wait for the parts which are still being uploaded (so that their buffers are released) and abort the upload.
+     */
+    private void abortMultipartUpload(String key, String uploadId, List<Future<PartETag>> parts) {
+        for (Future<PartETag> part : parts) {
+            try {
+                part.get();
+            } catch (ExecutionException e) {
+                // already reported
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        try {
+            s3Service.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+        } catch (AmazonClientException e) {
+            log.error("Unable to abort the multipart upload of " + key, e);
+        }
+    }
+
+    /**
+     * Stop the upload and download threads, once the parts and chunks they were given are sent or downloaded.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        if (uploadExecutor != null) {
+            uploadExecutor.shutdown();
+        }
+        if (downloadExecutor != null) {
+            downloadExecutor.shutdown();
+        }
+    }
+
+    private synchronized ExecutorService getUploadExecutor() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The S3 store is shut down");
+        }
+        if (uploadExecutor == null) {
+            uploadExecutor = newDaemonExecutor(uploadThreads, "s3-upload-");
+        }
+        return uploadExecutor;
+    }
+
+    private synchronized BufferPool getPartBufferPool() {
+        if (partBufferPool == null) {
+            partBufferPool = new BufferPool(uploadPartSize, Math.max(1, uploadBuffers));
+        }
+        return partBufferPool;
+    }
+
+    private synchronized ExecutorService getDownloadExecutor() {
+        if (shutdown) {
+            throw new RejectedExecutionException("The S3 store is shut down");
+        }
+        if (downloadExecutor == null) {
+            downloadExecutor = newDaemonExecutor(downloadThreads, "s3-download-");
+        }
+        return downloadExecutor;
+    }
+
+    private synchronized BufferPool getChunkBufferPool() {
+        if (chunkBufferPool == null) {
+            chunkBufferPool = new BufferPool((int) Math.min(Integer.MAX_VALUE - 8, bufferSize),
+                                             Math.max(1, downloadBuffers));
+        }
+        return chunkBufferPool;
+    }
+
+    private static ExecutorService newDaemonExecutor(int threads, String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /**
      * Obtain technical metadata about an asset in the asset store.
      *
@@ -619,80 +874,348 @@ public class S3BitStoreService extends BaseBitStoreService {
         this.bufferSize = bufferSize;
     }
 
+    public void setUploadPartSize(int uploadPartSize) {
+        this.uploadPartSize = uploadPartSize;
+    }
+
+    /**
+     * This setter is used for test purpose, as S3 mocks accept smaller parts.
+     */
+    void setMinUploadPartSize(int minUploadPartSize) {
+        this.minUploadPartSize = minUploadPartSize;
+    }
+
+    public void setUploadThreads(int uploadThreads) {
+        this.uploadThreads = uploadThreads;
+    }
+
+    public void setUploadBuffers(int uploadBuffers) {
+        this.uploadBuffers = uploadBuffers;
+    }
+
+    public void setReadAhead(int readAhead) {
+        this.readAhead = readAhead;
+    }
+
+    public void setDownloadThreads(int downloadThreads) {
+        this.downloadThreads = downloadThreads;
+    }
+
+    public void setDownloadBuffers(int downloadBuffers) {
+        this.downloadBuffers = downloadBuffers;
+    }
+
     /**
-     * This inner class represent an InputStream that uses temporary files to
-     * represent chunk of the object downloaded from S3. When the input stream is
-     * read the class look first to the current chunk and download a new one once if
-     * the current one as been fully read. The class is responsible to close a chunk
-     * as soon as a new one is retrieved, the last chunk is closed when the input
-     * stream itself is closed or the last byte is read (the first of the two)
+     * A bounded pool of equally sized buffers. The buffers are allocated when they are first needed and reused
+     * afterwards, {@link #acquire()} blocks while all buffers are in use.
+     */
+    private static class BufferPool {
+        private final int bufferSize;
+        private final Semaphore available;
+        private final Queue<byte[]> free = new ConcurrentLinkedQueue<>();
+
+        private BufferPool(int bufferSize, int maxBuffers) {
+            this.bufferSize = bufferSize;
+            this.available = new Semaphore(maxBuffers);
+        }
+
+        private byte[] acquire() throws InterruptedException {
+            available.acquire();
+            return take();
+        }
+
+        /**
+         * @return a buffer, or null if all buffers are in use
+         */
+        private byte[] tryAcquire() {
+            return available.tryAcquire() ? take() : null;
+        }
+
+        private byte[] take() {
+            byte[] buffer = free.poll();
+            return buffer != null ? buffer : new byte[bufferSize];
+        }
+
+        private void release(byte[] buffer) {
+            free.offer(buffer);
+            available.release();
+        }
+    }
+
+    /**
+     * This inner class represent an InputStream that downloads the object from S3 in chunks (ranged GETs) of at
+     * most bufferSize bytes, kept in pooled in-memory buffers.
+     * <p>
+     * While the stream is read sequentially, the next chunks are downloaded ahead in the background, so that the
+     * reader doesn't wait for each chunk in turn. Chunks are only downloaded ahead when a buffer is available in
+     * the pool, which bounds the memory used by read ahead. The chunk being read never waits for the pool: when
+     * all pooled buffers are in use, it is downloaded into a buffer of its own.
+     * <p>
+     * The length of the object is taken from the bitstream. Opening the stream downloads the first chunk (or only
+     * checks that an empty object exists), so that a missing object fails when the stream is opened. The chunks
+     * following it are only downloaded ahead once the stream is read past it.
+     * <p>
+     * The stream is seekable through {@link #skip(long)}: skipping doesn't download the skipped bytes, the next
+     * read downloads the chunk starting at the new position. This way HTTP Range requests (served by skipping to
+     * the start of the range) only download the bytes they need, besides the first chunk. The chunks downloaded
+     * ahead are discarded when the stream is closed.
      */
     public class S3LazyInputStream extends InputStream {
-        private InputStream currentChunkStream;
-        private String objectKey;
-        private long endOfChunk = -1;
-        private long chunkMaxSize;
+        private final String objectKey;
+        private final int chunkMaxSize;
+        private final long fileSize;
+        private final BufferPool pool;
         private long currPos = 0;
-        private long fileSize;
+        // the chunk holding the current position, or null
+        private Chunk currentChunk;
+        // the chunks downloaded ahead, in order, following the current chunk
+        private final Deque<Chunk> aheadChunks = new ArrayDeque<>();
+        private boolean closed = false;
 
         public S3LazyInputStream(String objectKey, long chunkMaxSize, long fileSize) throws IOException {
             this.objectKey = objectKey;
-            this.chunkMaxSize = chunkMaxSize;
-            this.endOfChunk = 0;
+            this.chunkMaxSize = (int) Math.min(Integer.MAX_VALUE - 8, chunkMaxSize);
             this.fileSize = fileSize;
-            downloadChunk();
+            this.pool = getChunkBufferPool();
+            if (fileSize > 0) {
+                ensureChunk(false);
+            } else {
+                try {
+                    s3Service.getObjectMetadata(bucketName, objectKey);
+                } catch (AmazonClientException e) {
+                    throw new IOException(e);
+                }
+            }
         }
 
         @Override
         public int read() throws IOException {
-            // is the current chunk completely read and other are available?
-            if (currPos == endOfChunk && currPos < fileSize) {
-                currentChunkStream.close();
-                downloadChunk();
+            if (!ensureChunk()) {
+                return -1;
             }
+            int byteRead = currentChunk.buffer[(int) (currPos - currentChunk.start)] & 0xFF;
+            currPos++;
+            return byteRead;
+        }
 
-            int byteRead = currPos < endOfChunk ? currentChunkStream.read() : -1;
-            // do we get any data or are we at the end of the file?
-            if (byteRead != -1) {
-                currPos++;
-            } else {
-                currentChunkStream.close();
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
             }
-            return byteRead;
+            if (!ensureChunk()) {
+                return -1;
+            }
+            int offsetInChunk = (int) (currPos - currentChunk.start);
+            int count = Math.min(len, currentChunk.length - offsetInChunk);
+            System.arraycopy(currentChunk.buffer, offsetInChunk, b, off, count);
+            currPos += count;
+            return count;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0 || closed) {
+                return 0;
+            }
+            long skipped = Math.min(n, fileSize - currPos);
+            currPos += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            if (currentChunk == null || !currentChunk.contains(currPos)) {
+                return 0;
+            }
+            return (int) (currentChunk.start + currentChunk.length - currPos);
         }
 
         /**
-         * This method download the next chunk from S3
+         * Make sure the current chunk holds the current position, taking it from the chunks downloaded ahead or
+         * downloading it, and schedule the download of the following chunks.
          *
-         * @throws IOException
-         * @throws FileNotFoundException
+         * @return false if the end of the stream is reached
          */
-        private void downloadChunk() throws IOException, FileNotFoundException {
-            // Create a DownloadFileRequest with the desired byte range
-            long startByte = currPos; // Start byte (inclusive)
-            long endByte = Long.min(startByte + chunkMaxSize - 1, fileSize - 1); // End byte (inclusive)
-            GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
-                    .withRange(startByte, endByte);
-
-            File currentChunkFile = File.createTempFile("s3-disk-copy-" + UUID.randomUUID(), "temp");
-            currentChunkFile.deleteOnExit();
+        private boolean ensureChunk() throws IOException {
+            return ensureChunk(true);
+        }
+
+        /**
+         * @param readAhead whether the following chunks may be downloaded ahead when reading sequentially
+         * @return false if the end of the stream is reached
+         */
+        private boolean ensureChunk(boolean readAhead) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (currPos >= fileSize) {
+                return false;
+            }
+            if (currentChunk != null && currentChunk.contains(currPos)) {
+                return true;
+            }
+            // Reading sequentially (from the start or past the current chunk): download the next chunks ahead.
+            // After a seek they aren't downloaded until the stream is read past the first chunk, so that small
+            // ranges only download what they need
+            boolean sequential = currentChunk == null ? currPos == 0
+                : currPos == currentChunk.start + currentChunk.length;
+            releaseCurrentChunk();
+            while (!aheadChunks.isEmpty() && !aheadChunks.peekFirst().contains(currPos)) {
+                aheadChunks.pollFirst().discard();
+            }
+            Chunk chunk = aheadChunks.pollFirst();
             try {
-                Download download = tm.download(getRequest, currentChunkFile);
-                download.waitForCompletion();
-                currentChunkStream = new DeleteOnCloseFileInputStream(currentChunkFile);
-                endOfChunk = endOfChunk + download.getProgress().getBytesTransferred();
-            } catch (AmazonClientException | InterruptedException e) {
-                currentChunkFile.delete();
-                throw new IOException(e);
+                if (chunk == null) {
+                    // the reader never waits for the pool: without a pooled buffer, the chunk gets a buffer of its own
+                    byte[] buffer = pool.tryAcquire();
+                    chunk = buffer != null ? new Chunk(currPos, buffer, true)
+                        : new Chunk(currPos, new byte[(int) Math.min(chunkMaxSize, fileSize - currPos)], false);
+                    chunk.download();
+                } else {
+                    chunk.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (chunk != null) {
+                    chunk.discard();
+                }
+                throw new IOException("Interrupted while downloading " + objectKey, e);
+            } catch (IOException | RuntimeException e) {
+                chunk.discard();
+                throw e;
+            }
+            currentChunk = chunk;
+            if (readAhead && sequential) {
+                scheduleReadAhead();
+            }
+            return true;
+        }
+
+        private void scheduleReadAhead() {
+            Chunk last = aheadChunks.isEmpty() ? currentChunk : aheadChunks.peekLast();
+            long nextStart = last.start + last.length;
+            while (aheadChunks.size() < readAhead && nextStart < fileSize) {
+                byte[] buffer = pool.tryAcquire();
+                if (buffer == null) {
+                    // all buffers are in use, continue without read ahead
+                    break;
+                }
+                Chunk chunk = new Chunk(nextStart, buffer, true);
+                chunk.downloadAsync();
+                aheadChunks.addLast(chunk);
+                nextStart = chunk.start + chunk.length;
+            }
+        }
+
+        private void releaseCurrentChunk() {
+            if (currentChunk != null) {
+                currentChunk.discard();
+                currentChunk = null;
             }
         }
 
         @Override
         public void close() throws IOException {
-            if (currentChunkStream != null) {
-                currentChunkStream.close();
+            if (closed) {
+                return;
+            }
+            closed = true;
+            releaseCurrentChunk();
+            while (!aheadChunks.isEmpty()) {
+                aheadChunks.pollFirst().discard();
             }
         }
 
+        /**
+         * A range of the object, downloaded into a pooled buffer
+         */
+        private class Chunk {
+            private final long start;
+            private final int length;
+            private final byte[] buffer;
+            private final boolean pooled;
+            private Future<?> future;
+            private boolean released = false;
+
+            private Chunk(long start, byte[] buffer, boolean pooled) {
+                this.start = start;
+                this.length = (int) Math.min(buffer.length, Math.min(chunkMaxSize, fileSize - start));
+                this.buffer = buffer;
+                this.pooled = pooled;
+            }
+
+            private boolean contains(long position) {
+                return position >= start && position < start + length;
+            }
+
+            private void download() throws IOException {
+                GetObjectRequest getRequest = new GetObjectRequest(bucketName, objectKey)
+                    .withRange(start, start + length - 1);
+                try (S3Object object = s3Service.getObject(getRequest);
+                     InputStream in = object.getObjectContent()) {
+                    IOUtils.readFully(in, buffer, 0, length);
+                } catch (AmazonClientException e) {
+                    throw new IOException(e);
+                }
+            }
+
+            private void downloadAsync() {
+                try {
+                    future = getDownloadExecutor().submit(() -> {
+                        download();
+                        return null;
+                    });
+                } catch (RuntimeException e) {
+                    // the chunk will be downloaded when it is needed
+                    log.warn("Unable to download a chunk of " + objectKey + " ahead", e);
+                }
+            }
+
+            private void await() throws IOException, InterruptedException {
+                if (future == null) {
+                    download();
+                    return;
+                }
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof IOException ? (IOException) e.getCause()
+                        : new IOException(e.getCause());
+                }
+            }
+
+            /**
+             * Give the buffer back to the pool (if it was taken from it), once the download (if any) is no longer
+             * using it
+             */
+            private void discard() {
+                if (released) {
+                    return;
+                }
+                if (future != null && !future.cancel(false)) {
+                    // the download is running or done, wait for it so that the buffer isn't reused too early
+                    boolean interrupted = false;
+                    while (true) {
+                        try {
+                            future.get();
+                            break;
+                        } catch (ExecutionException e) {
+                            // the chunk isn't used
+                            break;
+                        } catch (InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                released = true;
+                if (pooled) {
+                    pool.release(buffer);
+                }
+            }
+        }
     }
 }
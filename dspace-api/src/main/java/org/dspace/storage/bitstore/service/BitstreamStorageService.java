@@ -7,6 +7,7 @@
  */
 package org.dspace.storage.bitstore.service;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -126,6 +127,19 @@ public interface BitstreamStorageService {
     public InputStream retrieve(Context context, Bitstream bitstream)
         throws SQLException, IOException;
 
+    /**
+     * Retrieve the local file holding the bits of the bitstream, when its store keeps them in the local file
+     * system. Callers can use it to send the bits without copying them through the heap.
+     *
+     * @param context   The current context
+     * @param bitstream The bitstream to retrieve
+     * @return The local file, or null if the bits aren't available as a local file
+     * @throws IOException  If a problem occurs while determining the file
+     * @throws SQLException If a problem occurs accessing the RDBMS
+     */
+    public File retrieveFile(Context context, Bitstream bitstream)
+        throws SQLException, IOException;
+
     /**
      * Clean up the bitstream storage area. This method deletes any bitstreams
      * which are more than 1 hour old and marked deleted. The deletions cannot
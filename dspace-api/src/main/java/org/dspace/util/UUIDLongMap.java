@@ -0,0 +1,129 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import java.util.UUID;
+
+/**
+ * Compact hash map from UUIDs to primitive longs, e.g. to hold a timestamp for millions of objects.
+ * <p>
+ * Keys and values are stored in primitive arrays using open addressing, which takes about 40 bytes per entry
+ * instead of the ~150 bytes per entry of a {@code HashMap<UUID, Long>}. Entries can't be removed.
+ * This class is not thread-safe.
+ */
+public class UUIDLongMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] mostSignificantBits;
+    private long[] leastSignificantBits;
+    private long[] values;
+    private boolean[] used;
+    private int size = 0;
+
+    /**
+     * Create a map for the given number of entries, it grows as needed when more entries are added.
+     * @param expectedSize The expected number of entries
+     */
+    public UUIDLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Associate the value with the UUID, replacing any previous value.
+     * @param uuid  The key, not null
+     * @param value The value
+     */
+    public void put(UUID uuid, long value) {
+        if (size + 1 > used.length * LOAD_FACTOR) {
+            grow();
+        }
+        insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), value);
+    }
+
+    /**
+     * Get the value associated with the UUID.
+     * @param uuid          The key
+     * @param defaultValue  The value to return when no value is associated with the UUID
+     * @return              The associated value, or the default value
+     */
+    public long get(UUID uuid, long defaultValue) {
+        int slot = find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    /**
+     * @param uuid  The key
+     * @return      Whether a value is associated with the UUID
+     */
+    public boolean containsKey(UUID uuid) {
+        return used[find(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())];
+    }
+
+    /**
+     * @return the number of entries in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    private void allocate(int capacity) {
+        mostSignificantBits = new long[capacity];
+        leastSignificantBits = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+    }
+
+    private void insert(long msb, long lsb, long value) {
+        int slot = find(msb, lsb);
+        if (!used[slot]) {
+            used[slot] = true;
+            mostSignificantBits[slot] = msb;
+            leastSignificantBits[slot] = lsb;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Find the slot holding the key, or the empty slot where it should be inserted.
+     */
+    private int find(long msb, long lsb) {
+        int mask = used.length - 1;
+        int slot = hash(msb, lsb) & mask;
+        while (used[slot] && (mostSignificantBits[slot] != msb || leastSignificantBits[slot] != lsb)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldMostSignificantBits = mostSignificantBits;
+        long[] oldLeastSignificantBits = leastSignificantBits;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(used.length * 2);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                insert(oldMostSignificantBits[i], oldLeastSignificantBits[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long hash = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "UUIDLongMap[size=" + size + ", capacity=" + used.length + "]";
+    }
+}
@@ -0,0 +1,23 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Create table for the discovery index queue
+-----------------------------------------------------------------------------------
+
+CREATE SEQUENCE discovery_index_queue_id_seq;
+
+CREATE TABLE discovery_index_queue
+(
+    id INTEGER NOT NULL,
+    unique_index_id VARCHAR(255) NOT NULL,
+    queued TIMESTAMP NOT NULL,
+    CONSTRAINT discovery_index_queue_pkey PRIMARY KEY (id)
+);
+
+CREATE INDEX discovery_index_queue_queued_index on discovery_index_queue(queued);
@@ -0,0 +1,14 @@
+--
+-- The contents of this file are subject to the license and copyright
+-- detailed in the LICENSE and NOTICE files at the root of the source
+-- tree and available online at
+--
+-- http://www.dspace.org/license/
+--
+
+-----------------------------------------------------------------------------------
+-- Index the bitstream content columns, used to find bitstreams sharing a stored file
+-----------------------------------------------------------------------------------
+
+CREATE INDEX bitstream_checksum_idx ON bitstream(checksum);
+CREATE INDEX bitstream_internal_id_idx ON bitstream(internal_id);
@@ -0,0 +1,118 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.authorize.factory.AuthorizeServiceFactory;
+import org.dspace.authorize.service.AuthorizeService;
+import org.dspace.builder.BundleBuilder;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Bundle;
+import org.dspace.content.Collection;
+import org.dspace.content.Community;
+import org.dspace.content.DSpaceObject;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.CommunityService;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.eperson.EPerson;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the changes of a Context invalidate the decisions of the {@link AuthorizationDecisionCache} they affect,
+ * through the {@link AuthorizationCacheConsumer}.
+ */
+public class AuthorizationCacheConsumerIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final AuthorizeService authorizeService = AuthorizeServiceFactory.getInstance().getAuthorizeService();
+
+    private final CommunityService communityService = ContentServiceFactory.getInstance().getCommunityService();
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty(AuthorizationDecisionCache.ENABLED_PROPERTY, true);
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        configurationService.setProperty(AuthorizationDecisionCache.ENABLED_PROPERTY, false);
+        super.destroy();
+    }
+
+    @Test
+    public void bundlePolicyChangeInvalidatesTheDecision() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        Bundle bundle = BundleBuilder.createBundle(context, item).withName("ORIGINAL").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(isAuthorized(null, bundle, Constants.READ));
+
+        context.turnOffAuthorisationSystem();
+        authorizeService.removeAllPolicies(context, context.reloadEntity(bundle));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(isAuthorized(null, bundle, Constants.READ));
+    }
+
+    @Test
+    public void collectionMoveInvalidatesTheDecisionsAboutItsItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Community administered = CommunityBuilder.createSubCommunity(context, parentCommunity)
+                                                 .withName("Administered Community").withAdminGroup(eperson).build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertFalse(isAuthorized(eperson, item, Constants.ADMIN));
+
+        context.turnOffAuthorisationSystem();
+        communityService.addCollection(context, context.reloadEntity(administered), context.reloadEntity(collection));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(isAuthorized(eperson, item, Constants.ADMIN));
+    }
+
+    /**
+     * Decide in another Context, without changes, so that the decision is shared through the cache.
+     */
+    private boolean isAuthorized(EPerson user, DSpaceObject dso, int action) throws Exception {
+        Context userContext = new Context();
+        try {
+            userContext.setCurrentUser(user == null ? null : userContext.reloadEntity(user));
+            return authorizeService.authorizeActionBoolean(userContext, userContext.reloadEntity(dso), action);
+        } finally {
+            userContext.abort();
+        }
+    }
+}
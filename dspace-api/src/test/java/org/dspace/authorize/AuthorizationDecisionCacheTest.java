@@ -0,0 +1,119 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.authorize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.dspace.authorize.AuthorizationDecisionCache.Key;
+import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AuthorizationDecisionCacheTest {
+
+    private final AtomicLong time = new AtomicLong(1000000);
+    private AuthorizationDecisionCache cache;
+
+    private final UUID item = UUID.randomUUID();
+    private final UUID bitstream = UUID.randomUUID();
+    private final Key itemKey = new Key(null, Set.of(), item, Constants.READ);
+    private final Key bitstreamKey = new Key(null, Set.of(), bitstream, Constants.READ);
+
+    @Before
+    public void setUp() {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.getIntProperty(anyString(), anyInt()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        when(configurationService.getLongProperty(anyString(), anyLong()))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+        cache = new AuthorizationDecisionCache(time::get);
+        cache.setConfigurationService(configurationService);
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        assertNull(cache.get(itemKey));
+        cache.put(itemKey, cache.currentTime(), true, null);
+
+        assertTrue(cache.get(itemKey));
+        assertNull(cache.get(new Key(UUID.randomUUID(), Set.of(), item, Constants.READ)));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void testExpires() {
+        cache.put(itemKey, cache.currentTime(), false, null);
+        time.addAndGet(299000);
+        assertFalse(cache.get(itemKey));
+
+        time.addAndGet(1000);
+        assertNull(cache.get(itemKey));
+    }
+
+    @Test
+    public void testInvalidateObjectAndOwnedObjects() {
+        UUID other = UUID.randomUUID();
+        Key otherKey = new Key(null, Set.of(), other, Constants.READ);
+        cache.put(itemKey, cache.currentTime(), true, null);
+        cache.put(bitstreamKey, cache.currentTime(), true, item);
+        cache.put(otherKey, cache.currentTime(), true, null);
+
+        time.incrementAndGet();
+        cache.invalidate(item);
+
+        assertNull(cache.get(itemKey));
+        assertNull(cache.get(bitstreamKey));
+        assertTrue(cache.get(otherKey));
+    }
+
+    @Test
+    public void testIgnoresDecisionsComputedDuringSettleTime() {
+        long computedAt = cache.currentTime();
+        cache.invalidate(item);
+
+        // computed before the invalidation
+        cache.put(itemKey, computedAt, true, null);
+        assertNull(cache.get(itemKey));
+
+        // computed before the invalidated changes were committed
+        time.addAndGet(4000);
+        cache.put(itemKey, cache.currentTime(), true, null);
+        assertNull(cache.get(itemKey));
+
+        time.addAndGet(2000);
+        cache.put(itemKey, cache.currentTime(), true, null);
+        assertTrue(cache.get(itemKey));
+    }
+
+    @Test
+    public void testInvalidateAll() {
+        cache.put(itemKey, cache.currentTime(), true, null);
+        cache.put(bitstreamKey, cache.currentTime(), true, item);
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(itemKey));
+        cache.put(itemKey, cache.currentTime(), true, null);
+        assertNull(cache.get(itemKey));
+    }
+}
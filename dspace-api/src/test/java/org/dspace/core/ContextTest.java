@@ -24,6 +24,7 @@ import java.sql.SQLException;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.dspace.AbstractUnitTest;
 import org.dspace.authorize.AuthorizeException;
@@ -401,6 +402,54 @@ public class ContextTest extends AbstractUnitTest {
         cleanupContext(instance);
     }
 
+    /**
+     * Test of afterCommit method, of class Context.
+     */
+    @Test
+    public void testAfterCommit() throws SQLException {
+        Context instance = new Context();
+        AtomicInteger runs = new AtomicInteger();
+
+        instance.afterCommit(runs::incrementAndGet);
+        assertThat("testAfterCommit 0", runs.get(), equalTo(0));
+
+        // The action runs once the transaction is committed, and only once
+        instance.commit();
+        assertThat("testAfterCommit 1", runs.get(), equalTo(1));
+        instance.commit();
+        assertThat("testAfterCommit 2", runs.get(), equalTo(1));
+
+        // complete() commits too
+        instance.afterCommit(runs::incrementAndGet);
+        instance.complete();
+        assertThat("testAfterCommit 3", runs.get(), equalTo(2));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
+    /**
+     * Test that the afterCommit actions are dropped when the Context is rolled back or aborted.
+     */
+    @Test
+    public void testAfterCommitDroppedOnAbort() throws SQLException {
+        Context instance = new Context();
+        AtomicInteger runs = new AtomicInteger();
+
+        // A rolled back action doesn't run on the next commit
+        instance.afterCommit(runs::incrementAndGet);
+        instance.rollback();
+        instance.commit();
+        assertThat("testAfterCommitDroppedOnAbort 0", runs.get(), equalTo(0));
+
+        instance.afterCommit(runs::incrementAndGet);
+        instance.abort();
+        assertThat("testAfterCommitDroppedOnAbort 1", runs.get(), equalTo(0));
+
+        // Cleanup our context
+        cleanupContext(instance);
+    }
+
     /**
      * Test of isValid method, of class Context.
      */
@@ -18,7 +18,10 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -684,6 +687,40 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         assertSearchQuery(IndexableItem.TYPE, 3, 3, 0, -1);
     }
 
+    @Test
+    public void updateIndexOfStaleItemsTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col = CollectionBuilder.createCollection(context, parentCommunity)
+                                          .withName("Collection")
+                                          .build();
+        Item staleItem = ItemBuilder.createItem(context, col)
+                                    .withTitle("Stale item")
+                                    .build();
+        Item freshItem = ItemBuilder.createItem(context, col)
+                                    .withTitle("Fresh item")
+                                    .build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        Instant staleIndexed = getLastIndexed(staleItem);
+        Instant freshIndexed = getLastIndexed(freshItem);
+
+        // modified within the same millisecond as it was last indexed, without updating the index
+        staleItem = context.reloadEntity(staleItem);
+        staleItem.setLastModified(staleIndexed.plus(1, ChronoUnit.MICROS));
+        freshItem = context.reloadEntity(freshItem);
+        freshItem.setLastModified(freshIndexed.minusSeconds(1));
+        context.commit();
+
+        indexer.updateIndex(context, false);
+
+        assertTrue(getLastIndexed(staleItem).isAfter(staleIndexed));
+        assertEquals(freshIndexed, getLastIndexed(freshItem));
+    }
+
     @Test
     public void iteratorSearchServiceTest() throws SearchServiceException {
         String subject1 = "subject1";
@@ -905,6 +942,15 @@ public class DiscoveryIT extends AbstractIntegrationTestWithDatabase {
         }
     }
 
+    private Instant getLastIndexed(Item item) throws SolrServerException, IOException {
+        SolrQuery query = new SolrQuery(SearchUtils.RESOURCE_ID_FIELD + ":" + item.getID());
+        query.addFilterQuery(SearchUtils.RESOURCE_TYPE_FIELD + ":" + IndexableItem.TYPE);
+        query.setFields(SearchUtils.LAST_INDEXED_FIELD);
+        Object value = solrSearchCore.getSolr().query(query).getResults().get(0)
+                                     .getFirstValue(SearchUtils.LAST_INDEXED_FIELD);
+        return value instanceof Date ? ((Date) value).toInstant() : (Instant) value;
+    }
+
     private void assertSearchQuery(String resourceType, int size) throws SearchServiceException {
         assertSearchQuery(resourceType, size, size, 0, -1);
     }
@@ -0,0 +1,53 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.discovery.ParallelItemIndexer.UUIDRange;
+import org.junit.Test;
+
+public class ParallelItemIndexerTest {
+
+    @Test
+    public void testSinglePartitionCoversEverything() {
+        List<UUIDRange> partitions = ParallelItemIndexer.partition(1);
+        assertEquals(1, partitions.size());
+        assertNull(partitions.get(0).getLowerBound());
+        assertNull(partitions.get(0).getUpperBound());
+    }
+
+    @Test
+    public void testPartitionsAreConsecutive() {
+        List<UUIDRange> partitions = ParallelItemIndexer.partition(16);
+        assertEquals(16, partitions.size());
+        assertNull(partitions.get(0).getLowerBound());
+        assertNull(partitions.get(15).getUpperBound());
+        for (int i = 1; i < partitions.size(); i++) {
+            assertEquals(partitions.get(i - 1).getUpperBound(), partitions.get(i).getLowerBound());
+        }
+    }
+
+    @Test
+    public void testPartitionsAreAscendingAsUnsignedValues() {
+        List<UUIDRange> partitions = ParallelItemIndexer.partition(16);
+        // The upper half of the UUID space has a negative most significant long, it should still come last
+        assertEquals(UUID.fromString("10000000-0000-0000-0000-000000000000"), partitions.get(0).getUpperBound());
+        assertEquals(UUID.fromString("f0000000-0000-0000-0000-000000000000"), partitions.get(15).getLowerBound());
+        for (int i = 2; i < partitions.size(); i++) {
+            long previous = partitions.get(i - 1).getLowerBound().getMostSignificantBits();
+            long current = partitions.get(i).getLowerBound().getMostSignificantBits();
+            assertTrue(Long.compareUnsigned(previous, current) < 0);
+        }
+    }
+}
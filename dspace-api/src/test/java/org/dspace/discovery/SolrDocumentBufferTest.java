@@ -0,0 +1,169 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.SolrInputDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SolrDocumentBufferTest {
+
+    @Mock
+    private SolrClient solrClient;
+
+    private SolrDocumentBuffer buffer;
+
+    @Before
+    public void setUp() {
+        buffer = new SolrDocumentBuffer(() -> solrClient, 3, Long.MAX_VALUE);
+    }
+
+    @Test
+    public void testWritesImmediatelyWithoutBatch() throws Exception {
+        SolrInputDocument document = document("Item-1");
+        buffer.add(document);
+        buffer.deleteById("Item-2");
+
+        verify(solrClient).add(document);
+        verify(solrClient).deleteById("Item-2");
+        assertFalse(buffer.isBuffering());
+    }
+
+    @Test
+    public void testBuffersUntilEnd() throws Exception {
+        buffer.begin();
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        assertTrue(buffer.isBuffering());
+        verifyNoInteractions(solrClient);
+
+        List<String> failed = buffer.end();
+
+        assertTrue(failed.isEmpty());
+        assertFalse(buffer.isBuffering());
+        verify(solrClient).add(documents(2));
+    }
+
+    @Test
+    public void testFlushesWhenFull() throws Exception {
+        buffer.begin();
+        buffer.add(document("Item-1"));
+        buffer.add(document("Item-2"));
+        buffer.add(document("Item-3"));
+
+        verify(solrClient).add(documents(3));
+        buffer.end();
+    }
+
+    @Test
+    public void testFlushesWhenTooLarge() throws Exception {
+        buffer = new SolrDocumentBuffer(() -> solrClient, 100, 10);
+        buffer.begin();
+        buffer.add(document("Item-1"));
+
+        verify(solrClient).add(documents(1));
+        buffer.end();
+    }
+
+    @Test
+    public void testNestedBatchesFlushOnOutermostEnd() throws Exception {
+        buffer.begin();
+        buffer.begin();
+        buffer.add(document("Item-1"));
+        buffer.end();
+        verifyNoInteractions(solrClient);
+
+        buffer.end();
+        verify(solrClient).add(documents(1));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testLastChangeWins() throws Exception {
+        buffer.begin();
+        buffer.add(document("Item-1"));
+        buffer.deleteById("Item-1");
+        buffer.deleteById("Item-2");
+        buffer.add(document("Item-2"));
+        buffer.end();
+
+        InOrder inOrder = inOrder(solrClient);
+        inOrder.verify(solrClient).deleteById(List.of("Item-1"));
+        ArgumentCaptor<Collection<SolrInputDocument>> captor = ArgumentCaptor.forClass(Collection.class);
+        inOrder.verify(solrClient).add(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        assertEquals("Item-2",
+                     captor.getValue().iterator().next().getFieldValue(SearchUtils.RESOURCE_UNIQUE_ID));
+    }
+
+    @Test
+    public void testDeleteByQueryFlushesFirst() throws Exception {
+        buffer.begin();
+        buffer.add(document("Item-1"));
+        buffer.deleteByQuery("search.resourcetype:Item");
+
+        InOrder inOrder = inOrder(solrClient);
+        inOrder.verify(solrClient).add(documents(1));
+        inOrder.verify(solrClient).deleteByQuery("search.resourcetype:Item");
+        buffer.end();
+    }
+
+    @Test
+    public void testReportsFailuresPerDocument() throws Exception {
+        SolrInputDocument valid = document("Item-1");
+        SolrInputDocument invalid = document("Item-2");
+        doThrow(new SolrException(SolrException.ErrorCode.BAD_REQUEST, "invalid"))
+            .when(solrClient).add(anyCollection());
+        doThrow(new SolrException(SolrException.ErrorCode.BAD_REQUEST, "invalid"))
+            .when(solrClient).add(invalid);
+
+        buffer.begin();
+        buffer.add(valid);
+        buffer.add(invalid);
+        List<String> failed = buffer.end();
+
+        assertEquals(List.of("Item-2"), failed);
+        verify(solrClient).add(valid);
+        verify(solrClient, never()).deleteById(anyList());
+        verify(solrClient, never()).deleteByQuery(any());
+    }
+
+    private SolrInputDocument document(String uniqueId) {
+        SolrInputDocument document = new SolrInputDocument();
+        document.addField(SearchUtils.RESOURCE_UNIQUE_ID, uniqueId);
+        return document;
+    }
+
+    private Collection<SolrInputDocument> documents(int size) {
+        return argThat(documents -> documents.size() == size);
+    }
+}
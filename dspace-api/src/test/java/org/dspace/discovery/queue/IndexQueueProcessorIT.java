@@ -0,0 +1,117 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.builder.CollectionBuilder;
+import org.dspace.builder.CommunityBuilder;
+import org.dspace.builder.ItemBuilder;
+import org.dspace.content.Collection;
+import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.ItemService;
+import org.dspace.discovery.DiscoverQuery;
+import org.dspace.discovery.DiscoverResult;
+import org.dspace.discovery.SearchService;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.SearchUtils;
+import org.dspace.discovery.indexobject.IndexableItem;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the discovery index queue, from the changes queued by the
+ * {@link org.dspace.discovery.IndexEventConsumer} to their processing by the {@link IndexQueueProcessor}.
+ */
+public class IndexQueueProcessorIT extends AbstractIntegrationTestWithDatabase {
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private final IndexQueueService indexQueueService = DSpaceServicesFactory.getInstance().getServiceManager()
+        .getServiceByName(IndexQueueService.class.getName(), IndexQueueService.class);
+
+    private final ItemService itemService = ContentServiceFactory.getInstance().getItemService();
+
+    private SearchService searchService;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        configurationService.setProperty(IndexQueueService.ENABLED_PROPERTY, true);
+        searchService = SearchUtils.getSearchService();
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        // the objects created by the tests are cleaned up with the index updated right away
+        configurationService.setProperty(IndexQueueService.ENABLED_PROPERTY, false);
+        indexQueueService.delete(context, indexQueueService.findOldest(context, Integer.MAX_VALUE));
+        context.commit();
+        super.destroy();
+    }
+
+    @Test
+    public void processIndexesQueuedItems() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        ItemBuilder.createItem(context, collection).withTitle("Queued item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertTrue(indexQueueService.countEntries(context) > 0);
+        assertItemsFound(0);
+
+        assertTrue(new IndexQueueProcessor().process() > 0);
+
+        assertEquals(0, indexQueueService.countEntries(context));
+        assertItemsFound(1);
+    }
+
+    @Test
+    public void processUnindexesQueuedDeletions() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection collection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                 .withName("Collection").build();
+        Item item = ItemBuilder.createItem(context, collection).withTitle("Deleted item").build();
+        context.restoreAuthSystemState();
+        context.commit();
+        new IndexQueueProcessor().process();
+        assertItemsFound(1);
+
+        context.turnOffAuthorisationSystem();
+        itemService.delete(context, context.reloadEntity(item));
+        context.restoreAuthSystemState();
+        context.commit();
+
+        assertItemsFound(1);
+        assertTrue(new IndexQueueProcessor().process() > 0);
+        assertEquals(0, indexQueueService.countEntries(context));
+        assertItemsFound(0);
+    }
+
+    private void assertItemsFound(int count) throws SearchServiceException {
+        DiscoverQuery discoverQuery = new DiscoverQuery();
+        discoverQuery.setQuery("*:*");
+        discoverQuery.addFilterQueries("search.resourcetype:" + IndexableItem.TYPE);
+        DiscoverResult discoverResult = searchService.search(context, discoverQuery);
+        assertEquals(count, discoverResult.getTotalSearchResults());
+    }
+}
@@ -0,0 +1,30 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.discovery.queue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class IndexQueueProcessorTest {
+
+    @Test
+    public void testSplitSpreadsEvenly() {
+        List<List<Integer>> chunks = IndexQueueProcessor.split(List.of(1, 2, 3, 4, 5, 6, 7), 3);
+        assertEquals(List.of(List.of(1, 2, 3), List.of(4, 5, 6), List.of(7)), chunks);
+    }
+
+    @Test
+    public void testSplitNeverCreatesEmptyChunks() {
+        assertEquals(List.of(List.of(1), List.of(2)), IndexQueueProcessor.split(List.of(1, 2), 4));
+        assertTrue(IndexQueueProcessor.split(List.of(), 4).isEmpty());
+    }
+}
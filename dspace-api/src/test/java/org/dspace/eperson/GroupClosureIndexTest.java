@@ -0,0 +1,138 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.eperson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.dspace.services.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class GroupClosureIndexTest {
+
+    private final UUID admin = UUID.randomUUID();
+    private final UUID collectionAdmin = UUID.randomUUID();
+    private final UUID submitters = UUID.randomUUID();
+    private final UUID other = UUID.randomUUID();
+
+    // admin > collectionAdmin > submitters
+    private final Set<Pair<UUID, UUID>> closure = Set.of(
+        Pair.of(admin, collectionAdmin), Pair.of(admin, submitters), Pair.of(collectionAdmin, submitters));
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private final AtomicLong time = new AtomicLong(1000);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private GroupClosureIndex index;
+
+    @Before
+    public void setUp() {
+        index = new GroupClosureIndex(time::get) {
+            @Override
+            protected Set<Pair<UUID, UUID>> loadClosure() {
+                loads.incrementAndGet();
+                return closure;
+            }
+        };
+        index.setConfigurationService(configurationService);
+    }
+
+    @Test
+    public void testSnapshot() {
+        GroupClosureIndex.Snapshot snapshot = new GroupClosureIndex.Snapshot(closure, 0);
+
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.isParentOf(admin, collectionAdmin));
+        assertTrue(snapshot.isParentOf(admin, submitters));
+        assertTrue(snapshot.isParentOf(collectionAdmin, submitters));
+        assertFalse(snapshot.isParentOf(submitters, collectionAdmin));
+        assertFalse(snapshot.isParentOf(admin, admin));
+        assertFalse(snapshot.isParentOf(admin, other));
+        assertFalse(snapshot.isParentOf(other, submitters));
+
+        assertEquals(Set.of(admin, collectionAdmin), snapshot.getParents(List.of(submitters, other)));
+        assertEquals(Set.of(admin), snapshot.getParents(List.of(collectionAdmin)));
+        assertTrue(snapshot.getParents(List.of(admin, other)).isEmpty());
+    }
+
+    @Test
+    public void testDisabled() {
+        when(configurationService.getBooleanProperty(GroupClosureIndex.ENABLED_PROPERTY, false)).thenReturn(false);
+
+        assertNull(index.getSnapshot());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testSnapshotIsShared() {
+        enable();
+        GroupClosureIndex.Snapshot snapshot = index.getSnapshot();
+
+        assertNotNull(snapshot);
+        assertSame(snapshot, index.getSnapshot());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testSnapshotExpires() {
+        enable();
+        GroupClosureIndex.Snapshot snapshot = index.getSnapshot();
+        time.addAndGet(60_000);
+
+        assertNotSame(snapshot, index.getSnapshot());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testInvalidateSettles() {
+        when(configurationService.getBooleanProperty(GroupClosureIndex.ENABLED_PROPERTY, false)).thenReturn(true);
+        when(configurationService.getLongProperty(eq(GroupClosureIndex.SETTLE_TIME_PROPERTY), anyLong()))
+            .thenReturn(5L);
+        index.getSnapshot();
+        index.invalidate();
+
+        // the changes may not be committed yet
+        assertNull(index.getSnapshot());
+        time.addAndGet(5_000);
+        assertNull(index.getSnapshot());
+
+        time.incrementAndGet();
+        assertNotNull(index.getSnapshot());
+        assertEquals(2, loads.get());
+    }
+
+    /**
+     * Enable the index, with snapshots expiring after a minute.
+     */
+    private void enable() {
+        when(configurationService.getBooleanProperty(GroupClosureIndex.ENABLED_PROPERTY, false)).thenReturn(true);
+        when(configurationService.getLongProperty(eq(GroupClosureIndex.MAX_AGE_PROPERTY), anyLong())).thenReturn(60L);
+    }
+}
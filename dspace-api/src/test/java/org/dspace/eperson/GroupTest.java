@@ -571,6 +571,45 @@ public class GroupTest extends AbstractUnitTest {
         assertFalse(groupService.isParentOf(context, topGroup, level1Group));
     }
 
+    @Test
+    public void updateMemberGroupUpdatesParents() throws SQLException, AuthorizeException, IOException {
+        Group level3Group = null;
+        try {
+            context.turnOffAuthorisationSystem();
+            level3Group = createGroup("level3Group");
+            groupService.addMember(context, level2Group, level3Group);
+            // only update the new member group, the relations to all its new parents must be added
+            groupService.update(context, level3Group);
+
+            assertTrue(groupService.isParentOf(context, level2Group, level3Group));
+            assertTrue(groupService.isParentOf(context, level1Group, level3Group));
+            assertTrue(groupService.isParentOf(context, topGroup, level3Group));
+
+            groupService.removeMember(context, level1Group, level2Group);
+            groupService.update(context, level2Group);
+
+            assertTrue(groupService.isParentOf(context, level2Group, level3Group));
+            assertFalse(groupService.isParentOf(context, level1Group, level3Group));
+            assertFalse(groupService.isParentOf(context, topGroup, level3Group));
+            assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+        } finally {
+            if (level3Group != null) {
+                groupService.delete(context, level3Group);
+            }
+            context.restoreAuthSystemState();
+        }
+    }
+
+    @Test
+    public void deleteGroupUpdatesParents() throws SQLException, AuthorizeException, IOException {
+        context.turnOffAuthorisationSystem();
+        groupService.delete(context, level1Group);
+        level1Group = null;
+        context.restoreAuthSystemState();
+
+        assertFalse(groupService.isParentOf(context, topGroup, level2Group));
+    }
+
     @Test
     public void allMemberGroups() throws SQLException, AuthorizeException, EPersonDeletionException, IOException {
         EPerson ePerson = createEPersonAndAddToGroup("allMemberGroups@dspace.org", level1Group);
@@ -0,0 +1,181 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncConsumerExecutorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    // the details of the consumed events, by subject
+    private final Map<UUID, List<String>> consumed = new ConcurrentHashMap<>();
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicInteger consumers = new AtomicInteger();
+
+    private AsyncConsumerExecutor executor;
+
+    @Before
+    public void setUp() {
+        when(configurationService.getIntProperty(eq(AsyncConsumerExecutor.LANES_PROPERTY), anyInt())).thenReturn(3);
+        when(configurationService.getIntProperty(eq(AsyncConsumerExecutor.QUEUE_SIZE_PROPERTY), anyInt()))
+            .thenReturn(100);
+        when(configurationService.getIntProperty(eq(AsyncConsumerExecutor.RETRIES_PROPERTY), anyInt())).thenReturn(2);
+        when(configurationService.getLongProperty(eq(AsyncConsumerExecutor.RETRY_DELAY_PROPERTY), anyLong()))
+            .thenReturn(10L);
+        when(configurationService.getLongProperty(eq(AsyncConsumerExecutor.SHUTDOWN_TIMEOUT_PROPERTY), anyLong()))
+            .thenReturn(10L);
+
+        executor = new AsyncConsumerExecutor("test", this::createConsumer, configurationService) {
+            @Override
+            protected Context createContext() {
+                return mock(Context.class);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testEventsAreConsumedInOrderPerSubject() throws Exception {
+        List<UUID> subjects = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        for (int i = 0; i < 50; i++) {
+            List<Event> events = new ArrayList<>();
+            for (UUID subject : subjects) {
+                events.add(new Event(Event.MODIFY, Constants.ITEM, subject, String.valueOf(i)));
+            }
+            executor.submit(events);
+        }
+
+        await(() -> executor.getConsumed() == 200);
+        for (UUID subject : subjects) {
+            List<String> details = consumed.get(subject);
+            assertEquals(50, details.size());
+            for (int i = 0; i < 50; i++) {
+                assertEquals(String.valueOf(i), details.get(i));
+            }
+        }
+        assertEquals(200, executor.getSubmitted());
+        assertTrue("Each lane has its own consumer", consumers.get() <= 3);
+    }
+
+    @Test
+    public void testFailedBatchIsRetried() throws Exception {
+        failures.set(2);
+        UUID subject = UUID.randomUUID();
+        executor.submit(List.of(new Event(Event.CREATE, Constants.ITEM, subject, "created"),
+                                new Event(Event.MODIFY, Constants.ITEM, subject, "modified")));
+
+        await(() -> executor.getConsumed() == 2);
+        assertEquals(2, executor.getRetried());
+        assertEquals(0, executor.getDeadLettered());
+        // the consumer is replaced after each failure
+        assertEquals(3, consumers.get());
+        assertEquals(List.of("created", "modified"), consumed.get(subject));
+    }
+
+    @Test
+    public void testFailedBatchIsWrittenToDeadLetters() throws Exception {
+        when(configurationService.getProperty(eq(AsyncConsumerExecutor.DEAD_LETTER_DIR_PROPERTY), anyString()))
+            .thenReturn(folder.getRoot().getPath());
+        failures.set(3);
+        UUID subject = UUID.randomUUID();
+        executor.submit(List.of(new Event(Event.DELETE, Constants.ITEM, subject, "deleted")));
+
+        await(() -> executor.getDeadLettered() == 1);
+        File[] deadLetters = folder.getRoot().listFiles();
+        assertEquals(1, deadLetters.length);
+        List<Event> events = SerializationUtils.deserialize(Files.readAllBytes(deadLetters[0].toPath()));
+        assertEquals(1, events.size());
+        assertEquals(subject, events.get(0).getSubjectID());
+        assertEquals(0, executor.getConsumed());
+
+        // the lane goes on with the next events
+        executor.submit(List.of(new Event(Event.CREATE, Constants.ITEM, subject, "created")));
+        await(() -> executor.getConsumed() == 1);
+    }
+
+    private Consumer createConsumer() {
+        consumers.incrementAndGet();
+        return new Consumer() {
+            private final List<Event> events = new ArrayList<>();
+
+            @Override
+            public void initialize() {
+            }
+
+            @Override
+            public void consume(Context ctx, Event event) {
+                events.add(event);
+            }
+
+            @Override
+            public void end(Context ctx) {
+                if (failures.getAndDecrement() > 0) {
+                    throw new IllegalStateException("Failed");
+                }
+                for (Event event : events) {
+                    consumed.computeIfAbsent(event.getSubjectID(), key -> Collections.synchronizedList(
+                        new ArrayList<>())).add(event.getDetail());
+                }
+                events.clear();
+            }
+
+            @Override
+            public void finish(Context ctx) {
+            }
+        };
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
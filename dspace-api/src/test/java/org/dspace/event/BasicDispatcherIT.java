@@ -0,0 +1,174 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.BooleanSupplier;
+
+import org.dspace.AbstractIntegrationTestWithDatabase;
+import org.dspace.core.Constants;
+import org.dspace.core.Context;
+import org.dspace.event.factory.EventServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link BasicDispatcher} consumes the events of the synchronous consumers within the commit, and
+ * hands over those of the asynchronous consumers to their {@link AsyncConsumerExecutor} once the transaction is
+ * committed.
+ */
+public class BasicDispatcherIT extends AbstractIntegrationTestWithDatabase {
+
+    private static final String SYNC_CONSUMER = "synctest";
+    private static final String ASYNC_CONSUMER = "asynctest";
+
+    // the events consumed by the test consumers, with the threads which consumed them
+    private static final Queue<Consumed> consumed = new ConcurrentLinkedQueue<>();
+
+    private final ConfigurationService configurationService =
+        DSpaceServicesFactory.getInstance().getConfigurationService();
+
+    private BasicDispatcher dispatcher;
+
+    @Override
+    @Before
+    public void setUp() throws Exception {
+        super.setUp();
+        consumed.clear();
+        configurationService.setProperty("event.consumer." + SYNC_CONSUMER + ".class",
+                                         SyncRecordingConsumer.class.getName());
+        configurationService.setProperty("event.consumer." + ASYNC_CONSUMER + ".class",
+                                         AsyncRecordingConsumer.class.getName());
+        for (String name : List.of(SYNC_CONSUMER, ASYNC_CONSUMER)) {
+            configurationService.setProperty("event.consumer." + name + ".filters", "Item+Modify");
+        }
+        configurationService.setProperty("event.consumer." + ASYNC_CONSUMER + ".async", true);
+
+        dispatcher = new BasicDispatcher("test");
+        dispatcher.addConsumerProfile(ConsumerProfile.makeConsumerProfile(SYNC_CONSUMER));
+        dispatcher.addConsumerProfile(ConsumerProfile.makeConsumerProfile(ASYNC_CONSUMER));
+    }
+
+    @Override
+    @After
+    public void destroy() throws Exception {
+        // stop the executor of the asynchronous consumer, the next tests get a new one
+        ((EventServiceImpl) EventServiceFactory.getInstance().getEventService()).shutdown();
+        for (String name : List.of(SYNC_CONSUMER, ASYNC_CONSUMER)) {
+            configurationService.setProperty("event.consumer." + name + ".class", null);
+            configurationService.setProperty("event.consumer." + name + ".filters", null);
+        }
+        configurationService.setProperty("event.consumer." + ASYNC_CONSUMER + ".async", null);
+        super.destroy();
+    }
+
+    @Test
+    public void asyncConsumerIsCalledAfterTheCommit() throws Exception {
+        UUID subject = UUID.randomUUID();
+        context.addEvent(new Event(Event.MODIFY, Constants.ITEM, subject, "modified"));
+        dispatcher.dispatch(context);
+
+        // only the synchronous consumer got the event, within the dispatch
+        assertEquals(List.of(new Consumed(SYNC_CONSUMER, subject, "modified", Thread.currentThread())),
+                     List.copyOf(consumed));
+
+        context.commit();
+
+        await(() -> consumed.size() == 2);
+        Consumed async = List.copyOf(consumed).get(1);
+        assertEquals(ASYNC_CONSUMER, async.consumer);
+        assertEquals(subject, async.subject);
+        assertNotEquals("The asynchronous consumer runs in the background", Thread.currentThread(), async.thread);
+    }
+
+    @Test
+    public void asyncConsumerIsNotCalledOnAbort() throws Exception {
+        UUID subject = UUID.randomUUID();
+        Context aborted = new Context();
+        aborted.addEvent(new Event(Event.MODIFY, Constants.ITEM, subject, "aborted"));
+        dispatcher.dispatch(aborted);
+        aborted.abort();
+
+        // the events about the same object are consumed in order: once the committed one is, the aborted one would be
+        Context committed = new Context();
+        committed.addEvent(new Event(Event.MODIFY, Constants.ITEM, subject, "committed"));
+        dispatcher.dispatch(committed);
+        committed.complete();
+
+        await(() -> consumed.stream().anyMatch(c -> ASYNC_CONSUMER.equals(c.consumer)));
+        assertEquals(List.of("aborted", "committed"), consumed.stream()
+            .filter(c -> SYNC_CONSUMER.equals(c.consumer)).map(c -> c.detail).toList());
+        assertEquals(List.of("committed"), consumed.stream()
+            .filter(c -> ASYNC_CONSUMER.equals(c.consumer)).map(c -> c.detail).toList());
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    /**
+     * An event consumed by one of the test consumers.
+     */
+    private record Consumed(String consumer, UUID subject, String detail, Thread thread) {
+    }
+
+    /**
+     * Records the events it consumes, under the name of the consumer.
+     */
+    private abstract static class RecordingConsumer implements Consumer {
+
+        private final String name;
+
+        private RecordingConsumer(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void initialize() {
+        }
+
+        @Override
+        public void consume(Context ctx, Event event) {
+            consumed.add(new Consumed(name, event.getSubjectID(), event.getDetail(), Thread.currentThread()));
+        }
+
+        @Override
+        public void end(Context ctx) {
+        }
+
+        @Override
+        public void finish(Context ctx) {
+        }
+    }
+
+    public static class SyncRecordingConsumer extends RecordingConsumer {
+        public SyncRecordingConsumer() {
+            super(SYNC_CONSUMER);
+        }
+    }
+
+    public static class AsyncRecordingConsumer extends RecordingConsumer {
+        public AsyncRecordingConsumer() {
+            super(ASYNC_CONSUMER);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.event;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.dspace.core.Constants;
+import org.junit.Test;
+
+public class EventCoalescerTest {
+
+    private final UUID item = UUID.randomUUID();
+    private final UUID collection = UUID.randomUUID();
+
+    @Test
+    public void testMetadataModificationsAreMerged() {
+        EventCoalescer coalescer = new EventCoalescer(true);
+        Event first = new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title, dc.date.issued",
+                                new ArrayList<>(List.of("123456789/1")));
+        long merged = EventCoalescer.getMerged();
+
+        assertFalse(coalescer.coalesce(first));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY, Constants.ITEM, item, null)));
+        assertTrue(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title, dc.subject",
+                                                new ArrayList<>(List.of("123456789/1", "doi:10.5072/1")))));
+
+        assertEquals("dc.title, dc.date.issued, dc.subject", first.getDetail());
+        assertEquals(List.of("123456789/1", "doi:10.5072/1"), first.getIdentifiers());
+        assertTrue(EventCoalescer.getMerged() >= merged + 1);
+    }
+
+    @Test
+    public void testModificationsWithOtherDetailsAreKept() {
+        EventCoalescer coalescer = new EventCoalescer(true);
+
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY, Constants.ITEM, item, "WITHDRAW")));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY, Constants.ITEM, item, "REINSTATE")));
+        assertTrue(coalescer.coalesce(new Event(Event.MODIFY, Constants.ITEM, item, "WITHDRAW")));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY, Constants.ITEM, UUID.randomUUID(), "WITHDRAW")));
+    }
+
+    @Test
+    public void testOtherEventsEndTheRunOfModifications() {
+        EventCoalescer coalescer = new EventCoalescer(true);
+
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title")));
+        assertFalse(coalescer.coalesce(new Event(Event.ADD, Constants.COLLECTION, collection, Constants.ITEM, item,
+                                                 null)));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title")));
+        assertFalse(coalescer.coalesce(new Event(Event.DELETE, Constants.ITEM, item, null)));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title")));
+    }
+
+    @Test
+    public void testDispatchedEventsAreNotMergedInto() {
+        EventCoalescer coalescer = new EventCoalescer(true);
+        Event first = new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title");
+
+        assertFalse(coalescer.coalesce(first));
+        coalescer.remove(first);
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.subject")));
+        assertEquals("dc.title", first.getDetail());
+    }
+
+    @Test
+    public void testDisabled() {
+        EventCoalescer coalescer = new EventCoalescer(false);
+        long received = EventCoalescer.getReceived();
+
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title")));
+        assertFalse(coalescer.coalesce(new Event(Event.MODIFY_METADATA, Constants.ITEM, item, "dc.title")));
+        assertTrue(EventCoalescer.getReceived() >= received + 2);
+    }
+}
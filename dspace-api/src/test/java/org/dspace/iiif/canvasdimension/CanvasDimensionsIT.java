@@ -13,8 +13,10 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.dspace.AbstractIntegrationTestWithDatabase;
 import org.dspace.builder.BitstreamBuilder;
@@ -25,6 +27,8 @@ import org.dspace.content.Bitstream;
 import org.dspace.content.Collection;
 import org.dspace.content.Community;
 import org.dspace.content.Item;
+import org.dspace.content.factory.ContentServiceFactory;
+import org.dspace.content.service.BitstreamService;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -45,6 +49,8 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
     private final static String METADATA_IIIF_HEIGHT = "iiif.image.height";
     private final static String METADATA_IIIF_WIDTH = "iiif.image.width";
 
+    private final BitstreamService bitstreamService = ContentServiceFactory.getInstance().getBitstreamService();
+
     private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
     private final PrintStream originalOut = System.out;
 
@@ -364,7 +370,7 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
                               .enableIIIF()
                               .build();
 
-        // Add jp2 image to verify image server call for dimensions
+        // Add jp2 image (300 x 200), whose dimensions are read from its header
         InputStream input = this.getClass().getResourceAsStream("cat.jp2");
         bitstream = BitstreamBuilder
             .createBitstream(context, iiifItem, input)
@@ -378,6 +384,39 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
         execCanvasScript(id);
 
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                            .anyMatch(m -> m.getValue().contentEquals("400")));
+        assertTrue(bitstream.getMetadata().stream()
+                            .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                            .anyMatch(m -> m.getValue().contentEquals("600")));
+
+    }
+
+    @Test
+    public void processItemWithUnreadableImage() throws Exception {
+        context.turnOffAuthorisationSystem();
+        // Create a new Item
+        iiifItem = ItemBuilder.createItem(context, col1)
+                              .withTitle("Test Item")
+                              .withIssueDate("2017-10-17")
+                              .enableIIIF()
+                              .build();
+
+        // Add an image which cannot be read to verify image server call for dimensions
+        InputStream input = IOUtils.toInputStream("not an image", StandardCharsets.UTF_8);
+        bitstream = BitstreamBuilder
+            .createBitstream(context, iiifItem, input)
+            .withName("Bitstream2.jpg")
+            .withMimeType("image/jpeg")
+            .build();
+
+        context.restoreAuthSystemState();
+
+        String id = iiifItem.getID().toString();
+
+        execCanvasScript(id);
+
         assertTrue(bitstream.getMetadata().stream()
                             .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
                             .anyMatch(m -> m.getValue().contentEquals("64")));
@@ -387,6 +426,46 @@ public class CanvasDimensionsIT extends AbstractIntegrationTestWithDatabase  {
 
     }
 
+    @Test
+    public void processCollectionInParallel() throws Exception {
+        context.turnOffAuthorisationSystem();
+        Item[] items = new Item[5];
+        Bitstream[] bitstreams = new Bitstream[items.length];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = ItemBuilder.createItem(context, col1)
+                                  .withTitle("Test Item " + i)
+                                  .withIssueDate("2017-10-17")
+                                  .enableIIIF()
+                                  .build();
+            // Add jpeg image bitstream (300 x 200)
+            InputStream input = this.getClass().getResourceAsStream("cat.jpg");
+            bitstreams[i] = BitstreamBuilder
+                .createBitstream(context, items[i], input)
+                .withName("Bitstream" + i + ".jpg")
+                .withMimeType("image/jpeg")
+                .build();
+        }
+        context.restoreAuthSystemState();
+        // the workers have their own contexts, which only see what has been committed
+        context.commit();
+
+        String id = col1.getID().toString();
+        runDSpaceScript("iiif-canvas-dimensions", "-e", "admin@email.com", "-i", id, "-t", "2");
+
+        Pattern regex = Pattern.compile(".*5 IIIF items were processed", Pattern.DOTALL);
+        assertTrue(regex.matcher(StringUtils.chomp(outContent.toString())).find());
+        // the bitstreams were updated by the workers, in other contexts
+        for (Bitstream processed : bitstreams) {
+            Bitstream reloaded = bitstreamService.find(context, processed.getID());
+            assertTrue(reloaded.getMetadata().stream()
+                               .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_HEIGHT))
+                               .anyMatch(m -> m.getValue().contentEquals("400")));
+            assertTrue(reloaded.getMetadata().stream()
+                               .filter(m -> m.getMetadataField().toString('.').contentEquals(METADATA_IIIF_WIDTH))
+                               .anyMatch(m -> m.getValue().contentEquals("600")));
+        }
+    }
+
     @Test
     public void processParentCommunityWithMaximum() throws Exception {
         context.turnOffAuthorisationSystem();
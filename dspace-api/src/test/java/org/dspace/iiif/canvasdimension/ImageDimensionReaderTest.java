@@ -0,0 +1,74 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.iiif.canvasdimension;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+
+import org.junit.Test;
+
+public class ImageDimensionReaderTest {
+
+    @Test
+    public void testJpeg() throws Exception {
+        try (InputStream image = getClass().getResourceAsStream("cat.jpg")) {
+            // 300 x 200, doubled as it is smaller than 1200 pixels
+            assertArrayEquals(new int[] {600, 400}, ImageDimensionReader.getImageDimensions(image));
+        }
+    }
+
+    @Test
+    public void testJp2() throws Exception {
+        try (InputStream image = getClass().getResourceAsStream("cat.jp2")) {
+            assertArrayEquals(new int[] {600, 400}, ImageDimensionReader.getImageDimensions(image));
+        }
+    }
+
+    @Test
+    public void testJpeg2000Codestream() throws Exception {
+        ByteArrayOutputStream codestream = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(codestream);
+        // SOC, SIZ, length, capabilities, reference grid size and image offset
+        out.write(new byte[] {(byte) 0xFF, 0x4F, (byte) 0xFF, 0x51});
+        out.writeShort(41);
+        out.writeShort(0);
+        out.writeInt(2010);
+        out.writeInt(3010);
+        out.writeInt(10);
+        out.writeInt(10);
+
+        assertArrayEquals(new int[] {2000, 3000},
+                          ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(codestream.toByteArray())));
+    }
+
+    @Test
+    public void testPngAndTiff() throws Exception {
+        BufferedImage image = new BufferedImage(1300, 1500, BufferedImage.TYPE_INT_RGB);
+        for (String format : new String[] {"png", "tiff"}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            ImageIO.write(image, format, out);
+            assertArrayEquals(format, new int[] {1300, 1500},
+                              ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    @Test
+    public void testUnreadableImage() throws Exception {
+        assertNull(ImageDimensionReader.getImageDimensions(
+            new ByteArrayInputStream("not an image".getBytes(StandardCharsets.UTF_8))));
+        assertNull(ImageDimensionReader.getImageDimensions(new ByteArrayInputStream(new byte[0])));
+    }
+}
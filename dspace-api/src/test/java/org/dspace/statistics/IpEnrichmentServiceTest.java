@@ -0,0 +1,194 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IpEnrichmentServiceTest {
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private final AtomicLong time = new AtomicLong(1000);
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final Map<String, String> names = new ConcurrentHashMap<>(Map.of("192.0.2.1", "crawler.example.org"));
+    private volatile CountDownLatch release = new CountDownLatch(0);
+
+    private IpEnrichmentService service;
+
+    @Before
+    public void setUp() {
+        service = new IpEnrichmentService(time::get) {
+            @Override
+            protected String resolve(String ip) {
+                lookups.incrementAndGet();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return names.getOrDefault(ip, ip);
+            }
+        };
+        service.setConfigurationService(configurationService);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    public void testHostNameIsCached() {
+        stubTimeout(1000);
+        stubResolver(2, 10);
+        stubCache(IpEnrichmentService.POSITIVE_TTL_PROPERTY, 60);
+
+        assertEquals("crawler.example.org", service.getHostName("192.0.2.1"));
+        assertEquals("crawler.example.org", service.getHostName("192.0.2.1"));
+
+        assertEquals(1, lookups.get());
+        assertEquals(1, service.getHits());
+        assertEquals(1, service.size());
+    }
+
+    @Test
+    public void testHostNameExpires() {
+        stubTimeout(1000);
+        stubResolver(2, 10);
+        stubCache(IpEnrichmentService.POSITIVE_TTL_PROPERTY, 60);
+
+        service.getHostName("192.0.2.1");
+        time.addAndGet(60_000);
+        service.getHostName("192.0.2.1");
+
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void testAddressWithoutName() {
+        stubTimeout(1000);
+        stubResolver(2, 10);
+        stubCache(IpEnrichmentService.NEGATIVE_TTL_PROPERTY, 5);
+
+        assertEquals("192.0.2.2", service.getHostName("192.0.2.2"));
+
+        // cached for the negative time to live only
+        time.addAndGet(4_000);
+        service.getHostName("192.0.2.2");
+        assertEquals(1, lookups.get());
+        time.addAndGet(1_000);
+        service.getHostName("192.0.2.2");
+        assertEquals(2, lookups.get());
+    }
+
+    @Test
+    public void testInvalidAddress() {
+        assertNull(service.getHostName("not-an-address.example.org"));
+        assertNull(service.getHostName(null));
+        assertNull(service.getKnownHostName(null));
+
+        assertEquals(0, lookups.get());
+    }
+
+    @Test
+    public void testLookupTimesOut() throws Exception {
+        stubTimeout(50);
+        stubResolver(2, 10);
+        stubCache(IpEnrichmentService.POSITIVE_TTL_PROPERTY, 60);
+        release = new CountDownLatch(1);
+
+        assertNull(service.getHostName("192.0.2.1"));
+        release.countDown();
+
+        // the lookup completes in the background
+        await(() -> service.size() == 1);
+        assertEquals("crawler.example.org", service.getHostName("192.0.2.1"));
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testKnownHostName() throws Exception {
+        stubResolver(2, 10);
+        stubCache(IpEnrichmentService.POSITIVE_TTL_PROPERTY, 60);
+        release = new CountDownLatch(1);
+
+        assertNull(service.getKnownHostName("192.0.2.1"));
+        assertNull(service.getKnownHostName("192.0.2.1"));
+        release.countDown();
+
+        await(() -> "crawler.example.org".equals(service.getKnownHostName("192.0.2.1")));
+        // the concurrent requests shared a single lookup
+        assertEquals(1, lookups.get());
+    }
+
+    @Test
+    public void testQueueFull() {
+        stubResolver(1, 1);
+        release = new CountDownLatch(1);
+
+        service.getKnownHostName("192.0.2.1");
+        service.getKnownHostName("192.0.2.2");
+        service.getKnownHostName("192.0.2.3");
+
+        assertTrue(service.getRejected() >= 1);
+    }
+
+    private void stubTimeout(int timeout) {
+        when(configurationService.getIntProperty(eq(IpEnrichmentService.TIMEOUT_PROPERTY), anyInt()))
+            .thenReturn(timeout);
+    }
+
+    private void stubResolver(int threads, int queueSize) {
+        when(configurationService.getIntProperty(eq(IpEnrichmentService.THREADS_PROPERTY), anyInt()))
+            .thenReturn(threads);
+        when(configurationService.getIntProperty(eq(IpEnrichmentService.QUEUE_SIZE_PROPERTY), anyInt()))
+            .thenReturn(queueSize);
+    }
+
+    /**
+     * Stub the size of the cache, and the time to live (in seconds) of the kind of host names the test looks up.
+     */
+    private void stubCache(String ttlProperty, long ttl) {
+        when(configurationService.getIntProperty(eq(IpEnrichmentService.MAX_ENTRIES_PROPERTY), anyInt()))
+            .thenReturn(100);
+        when(configurationService.getLongProperty(eq(ttlProperty), anyLong())).thenReturn(ttl);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
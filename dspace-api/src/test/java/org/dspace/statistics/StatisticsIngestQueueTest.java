@@ -0,0 +1,218 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.apache.solr.common.SolrInputDocument;
+import org.dspace.core.Constants;
+import org.dspace.services.ConfigurationService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatisticsIngestQueueTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    private final List<List<QueuedUsageEvent>> batches = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch firstBatchTaken = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private File journal;
+    private StatisticsIngestQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        journal = new File(folder.getRoot(), "statistics-queue.journal");
+        queue = new StatisticsIngestQueue();
+        queue.setConfigurationService(configurationService);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    public void testNotStarted() {
+        assertFalse(queue.add(event()));
+        assertEquals(0, queue.getAccepted());
+    }
+
+    @Test
+    public void testNotStartedWhenDisabled() {
+        when(configurationService.getBooleanProperty(StatisticsIngestQueue.ENABLED_PROPERTY, false))
+            .thenReturn(false);
+        queue.start(batches::add);
+
+        assertFalse(queue.add(event()));
+    }
+
+    @Test
+    public void testWritesInBatches() throws Exception {
+        start(this::blockFirstBatch, 100);
+
+        assertTrue(queue.add(event()));
+        assertTrue(firstBatchTaken.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 7; i++) {
+            assertTrue(queue.add(event()));
+        }
+        assertEquals(7, queue.getDepth());
+        release.countDown();
+
+        await(() -> queue.getWritten() == 8);
+        // the first event alone, then the waiting events by three
+        assertEquals(List.of(1, 3, 3, 1), batches.stream().map(List::size).toList());
+        assertEquals(8, queue.getAccepted());
+        assertEquals(0, queue.getDropped());
+    }
+
+    @Test
+    public void testDropsWhenFull() throws Exception {
+        start(this::blockFirstBatch, 1);
+
+        queue.add(event());
+        assertTrue(firstBatchTaken.await(10, TimeUnit.SECONDS));
+        queue.add(event());
+        queue.add(event());
+
+        assertEquals(1, queue.getDepth());
+        assertEquals(1, queue.getDropped());
+        release.countDown();
+
+        await(() -> queue.getWritten() == 2);
+        assertEquals(2, queue.getAccepted());
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    public void testJournalsWhenFull() throws Exception {
+        when(configurationService.getProperty(StatisticsIngestQueue.OVERFLOW_PROPERTY,
+                                              StatisticsIngestQueue.OVERFLOW_DROP))
+            .thenReturn(StatisticsIngestQueue.OVERFLOW_JOURNAL);
+        start(this::blockFirstBatch, 1);
+
+        queue.add(event());
+        assertTrue(firstBatchTaken.await(10, TimeUnit.SECONDS));
+        queue.add(event());
+        QueuedUsageEvent journaled = event();
+        queue.add(journaled);
+
+        assertEquals(1, queue.getJournaled());
+        assertEquals(0, queue.getDropped());
+        assertEquals(2, queue.getAccepted());
+        assertEquals(1, Files.readAllLines(journal.toPath()).size());
+        release.countDown();
+
+        // the journal is replayed once the queue is idle
+        await(() -> queue.getWritten() == 3);
+        QueuedUsageEvent replayed = batches.get(batches.size() - 1).get(0);
+        assertEquals(journaled.objectId(), replayed.objectId());
+        assertEquals(journaled.ip(), replayed.ip());
+        assertEquals(journaled.fields(), replayed.fields());
+        await(() -> !journal.exists() && !new File(journal.getPath() + ".replay").exists());
+    }
+
+    @Test
+    public void testShutdownWritesQueuedEvents() throws Exception {
+        start(this::blockFirstBatch, 100);
+
+        queue.add(event());
+        assertTrue(firstBatchTaken.await(10, TimeUnit.SECONDS));
+        queue.add(event());
+        queue.add(event());
+        release.countDown();
+        queue.shutdown();
+
+        assertEquals(3, queue.getWritten());
+        assertEquals(0, queue.getDepth());
+        assertFalse(queue.add(event()));
+    }
+
+    @Test
+    public void testFailedBatch() throws Exception {
+        start(events -> {
+            throw new IllegalStateException("Solr is down");
+        }, 1);
+
+        queue.add(event());
+
+        await(() -> queue.getFailed() == 1);
+        assertEquals(0, queue.getWritten());
+    }
+
+    /**
+     * Start the queue with a single worker, writing batches of three events.
+     */
+    private void start(StatisticsIngestQueue.BatchWriter writer, int capacity) {
+        when(configurationService.getBooleanProperty(StatisticsIngestQueue.ENABLED_PROPERTY, false)).thenReturn(true);
+        when(configurationService.getIntProperty(eq(StatisticsIngestQueue.CAPACITY_PROPERTY), anyInt()))
+            .thenReturn(capacity);
+        when(configurationService.getIntProperty(eq(StatisticsIngestQueue.WORKERS_PROPERTY), anyInt()))
+            .thenReturn(1);
+        when(configurationService.getIntProperty(eq(StatisticsIngestQueue.BATCH_SIZE_PROPERTY), anyInt()))
+            .thenReturn(3);
+        when(configurationService.getProperty(eq(StatisticsIngestQueue.JOURNAL_PROPERTY), anyString()))
+            .thenReturn(journal.getPath());
+        queue.start(writer);
+    }
+
+    private void blockFirstBatch(List<QueuedUsageEvent> events) throws InterruptedException {
+        batches.add(new ArrayList<>(events));
+        if (firstBatchTaken.getCount() > 0) {
+            firstBatchTaken.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private QueuedUsageEvent event() {
+        UUID id = UUID.randomUUID();
+        SolrInputDocument doc = new SolrInputDocument();
+        doc.addField("id", id.toString());
+        doc.addField("type", Constants.ITEM);
+        doc.addField("isBot", false);
+        doc.addField("statistics_type", SolrLoggerServiceImpl.StatisticsType.VIEW.text());
+        return QueuedUsageEvent.of(doc, "127.0.0.1", Constants.ITEM, id, null, true);
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -163,6 +163,65 @@ public class IPTableTest {
         assertFalse("Range should not contain value above upper limit", instance.contains("192.168.2.0"));
     }
 
+    @Test
+    public void testOverlappingRangesContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("10.0.0.0 - 10.0.0.100");
+        instance.add("10.0.0.50 - 10.0.0.150");
+        instance.add("10.0.0.151");
+        instance.add("10.0.1.0/24");
+        instance.add("10.0.0.10");
+
+        assertEquals("Overlapping and adjacent ranges should be merged",
+                     "10.0.0.0-10.0.0.151, 10.0.1.0-10.0.1.255", instance.toString());
+        assertTrue(instance.contains("10.0.0.120"));
+        assertTrue(instance.contains("10.0.0.151"));
+        assertFalse(instance.contains("10.0.0.152"));
+        assertTrue(instance.contains("10.0.1.7"));
+
+        // ranges added after a lookup are merged too
+        instance.add("10.0.0.152 - 10.0.0.255");
+        assertTrue(instance.contains("10.0.0.200"));
+        assertEquals("10.0.0.0-10.0.1.255", instance.toString());
+    }
+
+    @Test
+    public void testIpv6RangeContains() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("2001:db8::/32");
+        instance.add("2001:db9::1");
+        instance.add("fe80::1 - fe80::ff");
+
+        assertTrue("Range should contain lower limit", instance.contains("2001:db8::"));
+        assertTrue("Range should contain upper limit", instance.contains("2001:db8:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertTrue("Range should contain values in between limits", instance.contains("2001:db8:1234::42"));
+        assertTrue("Single address should match", instance.contains("2001:db9::1"));
+        assertTrue("Range should contain values in between limits", instance.contains("fe80::80"));
+
+        assertFalse("Range should not contain value below lower limit",
+                    instance.contains("2001:db7:ffff:ffff:ffff:ffff:ffff:ffff"));
+        assertFalse("Range should not contain value above upper limit", instance.contains("2001:db9::2"));
+        assertFalse(instance.contains("fe80::100"));
+        assertFalse("IPv4 address should not match IPv6 ranges", instance.contains("32.1.13.184"));
+        assertEquals("IPv6 ranges are not listed", 0, instance.toSet().size());
+    }
+
+    @Test
+    public void testContainsAddressBytes() throws Exception {
+        IPTable instance = new IPTable();
+        instance.add("192.168.1");
+        instance.add("2001:db8::/64");
+
+        assertTrue(instance.contains(new byte[] {(byte) 192, (byte) 168, 1, 42}));
+        assertFalse(instance.contains(new byte[] {(byte) 192, (byte) 168, 2, 42}));
+        // IPv4-mapped IPv6 address of 192.168.1.42
+        assertTrue(instance.contains(new byte[] {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, (byte) 0xff, (byte) 0xff,
+            (byte) 192, (byte) 168, 1, 42}));
+        assertTrue(instance.contains(new byte[] {0x20, 0x01, 0x0d, (byte) 0xb8, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1}));
+        assertFalse(instance.contains(new byte[] {0x20, 0x01, 0x0d, (byte) 0xb8, 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 1}));
+        assertFalse(instance.contains(new byte[] {1, 2}));
+    }
+
     /**
      * Test of isEmpty method, of class IPTable.
      * @throws java.lang.Exception passed through.
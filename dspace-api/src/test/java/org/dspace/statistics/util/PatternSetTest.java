@@ -0,0 +1,156 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.statistics.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import org.dspace.AbstractDSpaceTest;
+import org.dspace.core.factory.CoreServiceFactory;
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+import org.junit.Test;
+
+public class PatternSetTest extends AbstractDSpaceTest {
+
+    private static final List<String> BROWSER_AGENTS = List.of(
+        "Mozilla/5.0 (X11; Linux x86_64; rv:91.0) Gecko/20100101 Firefox/91.0",
+        "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 "
+            + "Safari/537.36",
+        "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) AppleWebKit/605.1.15 (KHTML, like Gecko) "
+            + "Version/17.0 Mobile/15E148 Safari/604.1",
+        "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)",
+        "Mozilla/5.0 (compatible; bingbot/2.0; +http://www.bing.com/bingbot.htm)",
+        "curl/8.4.0",
+        "python-requests/2.31.0",
+        "Buck/2.2; (+https://app.hypefactors.com/media-monitoring/about.html)",
+        "",
+        "x",
+        "IDA");
+
+    @Test
+    public void testRequiredLiteral() {
+        assertLiteral("bot", true, "bot");
+        assertLiteral("Mozilla/4", true, "Mozilla\\/4");
+        assertLiteral("Buck/", false, "^Buck\\/[0-9]");
+        assertLiteral("fish", false, "[^a]fish");
+        assertLiteral("aria2/", false, "aria2\\/\\d");
+        assertLiteral("Alexandria", false, "Alexandria(\\s|\\+)prototype(\\s|\\+)project");
+        assertLiteral("scraper", false, "API[\\+\\s]scraper");
+        assertLiteral("crawle", false, "crawler?");
+        assertLiteral("crawl", false, "crawl(er)?s");
+        assertLiteral("ab", false, "ab+c");
+        assertLiteral("Java", false, "Java\\d{1,2}x");
+        assertLiteral("abc", false, "[]x]abc");
+
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("^.?$")));
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("google|bing")));
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("(?i)bot")));
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("\\Qa.b\\E")));
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("\\p{Alpha}")));
+        assertNull(PatternSet.requiredLiteral(Pattern.compile("bot", Pattern.CASE_INSENSITIVE)));
+    }
+
+    @Test
+    public void testMatches() {
+        PatternSet set = compile("bot", "^Buck\\/[0-9]", "crawl(er)?s", "^.?$", "google|bing", "spider");
+
+        assertEquals(6, set.size());
+        assertEquals(2, set.getUnfilteredCount());
+        assertTrue(set.matches("msnbot is watching you"));
+        assertTrue(set.matches("Buck/2.2"));
+        assertFalse(set.matches("a Buck/2.2"));
+        assertTrue(set.matches("crawlers"));
+        assertTrue(set.matches("crawls"));
+        assertFalse(set.matches("crawler"));
+        assertTrue(set.matches(""));
+        assertTrue(set.matches("x"));
+        assertTrue(set.matches("bing"));
+        assertTrue(set.matches("baiduspider"));
+        assertFalse(set.matches("Firefox"));
+    }
+
+    @Test
+    public void testOverlappingLiterals() {
+        // "she" is found through the failure transition of "hers"
+        PatternSet set = compile("hers", "she\\d", "his");
+
+        assertTrue(set.matches("ushe1"));
+        assertFalse(set.matches("usher"));
+        assertTrue(set.matches("ahishers"));
+        assertFalse(set.matches("shelf"));
+    }
+
+    @Test
+    public void testEmpty() {
+        PatternSet set = new PatternSet(new ArrayList<>());
+
+        assertFalse(set.matches("bot"));
+        assertFalse(set.matches(""));
+    }
+
+    /**
+     * The set must give the same verdicts as running each pattern in turn, for the shipped COUNTER agent list, in
+     * both case sensitive and case insensitive (lowercased) form.
+     */
+    @Test
+    public void testSameVerdictsAsEachPattern() throws Exception {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        SpiderDetectorService spiderDetectorService = new SpiderDetectorServiceImpl(configurationService,
+            CoreServiceFactory.getInstance().getClientInfoService());
+        File counterAgents = new File(configurationService.getProperty("dspace.dir"), "config/spiders/agents/example");
+        List<String> regexes = new ArrayList<>(spiderDetectorService.readPatterns(counterAgents));
+        assertFalse(regexes.isEmpty());
+
+        List<String> agents = new ArrayList<>(BROWSER_AGENTS);
+        for (String regex : regexes) {
+            PatternSet.RequiredLiteral literal = PatternSet.requiredLiteral(Pattern.compile(regex));
+            if (literal != null) {
+                agents.add(literal.text());
+                agents.add("Mozilla/5.0 (compatible; " + literal.text() + "/1.0)");
+            }
+        }
+
+        for (boolean lowercase : new boolean[] {false, true}) {
+            List<Pattern> patterns = new ArrayList<>();
+            for (String regex : regexes) {
+                patterns.add(Pattern.compile(lowercase ? regex.toLowerCase(Locale.ROOT) : regex));
+            }
+            PatternSet set = new PatternSet(patterns);
+            assertTrue("Most patterns should have a required literal",
+                       set.getUnfilteredCount() < patterns.size() / 4);
+
+            for (String agent : agents) {
+                String candidate = lowercase ? agent.toLowerCase(Locale.ROOT) : agent;
+                boolean expected = patterns.stream().anyMatch(pattern -> pattern.matcher(candidate).find());
+                assertEquals(candidate, expected, set.matches(candidate));
+            }
+        }
+    }
+
+    private static void assertLiteral(String expected, boolean whole, String regex) {
+        PatternSet.RequiredLiteral literal = PatternSet.requiredLiteral(Pattern.compile(regex));
+        assertEquals(regex, new PatternSet.RequiredLiteral(expected, whole), literal);
+    }
+
+    private static PatternSet compile(String... regexes) {
+        List<Pattern> patterns = new ArrayList<>();
+        for (String regex : regexes) {
+            patterns.add(Pattern.compile(regex));
+        }
+        return new PatternSet(patterns);
+    }
+}
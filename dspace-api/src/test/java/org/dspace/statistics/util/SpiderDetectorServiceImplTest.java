@@ -323,6 +323,24 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
     }
 
 
+    /**
+     * Test that the recent verdicts about user agents give the same results as matching the patterns
+     */
+    @Test
+    public void testRepeatedAgents() {
+        for (int cacheSize : new int[] {0, 1, 1000}) {
+            configurationService.setProperty("usage-statistics.bots.agent-cache-size", cacheSize);
+            spiderDetectorService = new SpiderDetectorServiceImpl(configurationService, clientInfoService);
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue("'msnbot' did not match agent patterns",
+                           spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "msnbot is watching you"));
+                assertFalse("'Firefox' matched agent patterns",
+                            spiderDetectorService.isSpider(NOT_A_BOT_ADDRESS, null, null, "Firefox"));
+            }
+        }
+    }
+
     /**
      * Method to make sure the SpiderDetector is using CaseSensitive matching again after each test
      *
@@ -332,5 +350,6 @@ public class SpiderDetectorServiceImplTest extends AbstractDSpaceTest {
     public void cleanup() throws Exception {
         spiderDetectorService = null;
         configurationService.setProperty("usage-statistics.bots.case-insensitive", false);
+        configurationService.setProperty("usage-statistics.bots.agent-cache-size", null);
     }
 }
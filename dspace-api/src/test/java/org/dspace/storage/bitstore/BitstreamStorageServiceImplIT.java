@@ -10,12 +10,14 @@ package org.dspace.storage.bitstore;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.io.IOUtils;
@@ -78,6 +80,7 @@ public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDa
     public void cleanUp() throws IOException {
         // Restore the bitstore storage stores
         bitstreamStorageService.setStores(originalBitstores);
+        bitstreamStorageService.setDeduplicate(false);
     }
 
     /**
@@ -185,6 +188,59 @@ public class BitstreamStorageServiceImplIT extends AbstractIntegrationTestWithDa
         assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(3));
     }
 
+    /**
+     * Test that bitstreams with the same content share a single stored file when deduplication is enabled
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testDeduplicate() throws Exception {
+        bitstreamStorageService.setDeduplicate(true);
+
+        context.turnOffAuthorisationSystem();
+        Bitstream original = createBitstream("Duplicated content");
+        Bitstream duplicate = createBitstream("Duplicated content");
+        Bitstream other = createBitstream("Other content");
+        context.restoreAuthSystemState();
+
+        assertThat(duplicate.getInternalId(), equalTo(original.getInternalId()));
+        assertThat(other.getInternalId().equals(original.getInternalId()), equalTo(false));
+        assertThat(bitstreamService.countDuplicateInternalIdentifier(context, original, SOURCE_STORE), equalTo(1));
+        try (InputStream content = bitstreamStorageService.retrieve(context, duplicate)) {
+            assertThat(IOUtils.toString(content, UTF_8), equalTo("Duplicated content"));
+        }
+    }
+
+    /**
+     * Test that migrating with deleteOld keeps a shared file in the source assetstore until the last bitstream
+     * which shares it is migrated
+     *
+     * @throws Exception if an exception occurs.
+     */
+    @Test
+    public void testMigrateDeduplicated() throws Exception {
+        bitstreamStorageService.setDeduplicate(true);
+        Map<Integer, BitStoreService> stores = bitstreamStorageService.getStores();
+        stores.put(DEST_STORE, new LimitedTempDSBitStoreService(tempStoreDir, Integer.MAX_VALUE));
+
+        context.turnOffAuthorisationSystem();
+        Bitstream original = createBitstream("Duplicated content");
+        Bitstream duplicate = createBitstream("Duplicated content");
+        context.commit();
+
+        bitstreamStorageService.migrate(context, SOURCE_STORE, DEST_STORE, true, 10);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        assertThat(bitstreamService.countByStoreNumber(context, DEST_STORE).intValue(), equalTo(2));
+        for (Bitstream bitstream : List.of(context.reloadEntity(original), context.reloadEntity(duplicate))) {
+            try (InputStream content = bitstreamStorageService.retrieve(context, bitstream)) {
+                assertThat(IOUtils.toString(content, UTF_8), equalTo("Duplicated content"));
+            }
+        }
+        assertThat(stores.get(SOURCE_STORE).about(original, List.of("size_bytes")), nullValue());
+    }
+
     private void createBitstreams(Context context, int numBitstreams)
         throws SQLException {
         context.turnOffAuthorisationSystem();
@@ -111,6 +111,7 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     @After
     public void cleanUp() {
+        s3BitStoreService.shutdown();
         s3Mock.shutdown();
     }
 
@@ -191,6 +192,94 @@ public class S3BitStoreServiceIT extends AbstractIntegrationTestWithDatabase {
 
     }
 
+    @Test
+    public void testBitstreamPutAndGetWithMultipartUpload() throws IOException {
+
+        s3BitStoreService.setMinUploadPartSize(10);
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.setUploadBuffers(2);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String contentOverFiveParts = "Test bitstream content uploaded in several parts";
+        String contentExactlyTwoParts = "Exactly twenty bytes";
+        Bitstream bitstreamOverFiveParts = createBitstream(contentOverFiveParts);
+        Bitstream bitstreamExactlyTwoParts = createBitstream(contentExactlyTwoParts);
+        context.restoreAuthSystemState();
+
+        checkMultipartPut(contentOverFiveParts, bitstreamOverFiveParts);
+        checkMultipartPut(contentExactlyTwoParts, bitstreamExactlyTwoParts);
+
+    }
+
+    private void checkMultipartPut(String content, Bitstream bitstream) throws IOException {
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        assertThat(bitstream.getSizeBytes(), is((long) content.length()));
+        assertThat(bitstream.getChecksum(), is(Utils.toHex(generateChecksum(content))));
+        assertThat(bitstream.getChecksumAlgorithm(), is(CSA));
+
+        InputStream inputStream = s3BitStoreService.get(bitstream);
+        assertThat(IOUtils.toString(inputStream, UTF_8), is(content));
+    }
+
+    @Test
+    public void testDoNotInitializeWithTooSmallUploadParts() throws IOException {
+
+        s3BitStoreService.setUploadPartSize(10);
+        s3BitStoreService.init();
+
+        assertThat(s3BitStoreService.isInitialized(), is(false));
+
+    }
+
+    @Test
+    public void testBitstreamGetWithSkip() throws IOException {
+
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream contentThis content span three chunks";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(inputStream.skip(30), is(30L));
+            assertThat(IOUtils.toString(inputStream, UTF_8), is(content.substring(30)));
+        }
+
+        try (InputStream inputStream = s3BitStoreService.get(bitstream)) {
+            assertThat(inputStream.skip(100), is((long) content.length()));
+            assertThat(inputStream.read(), is(-1));
+        }
+
+    }
+
+    @Test
+    public void testBitstreamGetWithoutFreeBuffer() throws IOException {
+
+        s3BitStoreService.setDownloadBuffers(1);
+        s3BitStoreService.init();
+
+        context.turnOffAuthorisationSystem();
+        String content = "Test bitstream contentThis content span three chunks";
+        Bitstream bitstream = createBitstream(content);
+        context.restoreAuthSystemState();
+
+        s3BitStoreService.put(bitstream, toInputStream(content));
+
+        // the first stream holds the only pooled buffer, the second one doesn't wait for it
+        try (InputStream first = s3BitStoreService.get(bitstream);
+             InputStream second = s3BitStoreService.get(bitstream)) {
+            assertThat(first.read(), is((int) 'T'));
+            assertThat(IOUtils.toString(second, UTF_8), is(content));
+            assertThat(IOUtils.toString(first, UTF_8), is(content.substring(1)));
+        }
+
+    }
+
     @Test
     public void testBitstreamPutAndGetWithSubFolder() throws IOException {
 
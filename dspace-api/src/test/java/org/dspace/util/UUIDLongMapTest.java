@@ -0,0 +1,75 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class UUIDLongMapTest {
+
+    @Test
+    public void testPutAndGet() {
+        UUIDLongMap map = new UUIDLongMap(2);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        map.put(first, 1L);
+        map.put(second, 2L);
+
+        assertEquals(2, map.size());
+        assertEquals(1L, map.get(first, -1L));
+        assertEquals(2L, map.get(second, -1L));
+        assertTrue(map.containsKey(first));
+    }
+
+    @Test
+    public void testMissingKeyReturnsDefault() {
+        UUIDLongMap map = new UUIDLongMap(0);
+        map.put(UUID.randomUUID(), 1L);
+
+        UUID missing = UUID.randomUUID();
+        assertEquals(-1L, map.get(missing, -1L));
+        assertFalse(map.containsKey(missing));
+    }
+
+    @Test
+    public void testPutReplacesValue() {
+        UUIDLongMap map = new UUIDLongMap(1);
+        UUID uuid = UUID.randomUUID();
+        map.put(uuid, 1L);
+        map.put(uuid, 2L);
+
+        assertEquals(1, map.size());
+        assertEquals(2L, map.get(uuid, -1L));
+    }
+
+    @Test
+    public void testGrowsBeyondExpectedSize() {
+        UUIDLongMap map = new UUIDLongMap(0);
+        Map<UUID, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            long value = random.nextLong();
+            map.put(uuid, value);
+            expected.put(uuid, value);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<UUID, Long> entry : expected.entrySet()) {
+            assertEquals((long) entry.getValue(), map.get(entry.getKey(), -1L));
+        }
+    }
+}
@@ -10,9 +10,11 @@ package org.dspace.app.iiif;
 import java.util.UUID;
 
 import org.dspace.core.Context;
+import org.dspace.iiif.ManifestStoreService.StoredManifest;
 import org.dspace.web.ContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -43,15 +45,17 @@ public class IIIFController {
      * for the object. It then embeds the sequence(s) of canvases that should be rendered
      * to the user.
      *
-     * Called with GET to retrieve the manifest for a single DSpace item.
+     * Called with GET to retrieve the manifest for a single DSpace item. The manifest has an ETag, and a
+     * request with a matching If-None-Match header gets a 304 (Not Modified) response.
      *
      * @param id DSpace Item uuid
      * @return manifest as JSON
      */
     @RequestMapping(method = RequestMethod.GET, value = "/{id}/manifest", produces = "application/json")
-    public String findOne(@PathVariable UUID id) {
+    public ResponseEntity<String> findOne(@PathVariable UUID id) {
         Context context = ContextUtil.obtainCurrentRequestContext();
-        return iiifFacade.getManifest(context, id);
+        StoredManifest manifest = iiifFacade.getManifest(context, id);
+        return ResponseEntity.ok().eTag(manifest.etag()).body(manifest.manifest());
     }
 
     /**
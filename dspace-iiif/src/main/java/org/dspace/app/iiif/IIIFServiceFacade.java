@@ -19,6 +19,8 @@ import org.dspace.content.Item;
 import org.dspace.content.service.BitstreamService;
 import org.dspace.content.service.ItemService;
 import org.dspace.core.Context;
+import org.dspace.iiif.ManifestStoreService;
+import org.dspace.iiif.ManifestStoreService.StoredManifest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.rest.webmvc.ResourceNotFoundException;
@@ -52,6 +54,9 @@ public class IIIFServiceFacade {
     @Autowired
     CanvasLookupService canvasLookupService;
 
+    @Autowired
+    ManifestStoreService manifestStoreService;
+
     @Autowired
     IIIFUtils utils;
 
@@ -62,15 +67,21 @@ public class IIIFServiceFacade {
      * includes the descriptive, rights and linking information for the object. It then embeds
      * the sequence(s) of canvases that should be rendered to the user.
      *
-     * Returns manifest for single DSpace item.
+     * Returns manifest for single DSpace item. The manifest is read from the manifest store, or rendered and
+     * stored if it isn't there yet.
      *
      * @param id DSpace Item uuid
-     * @return manifest as JSON
+     * @return manifest as JSON, with its entity tag
      */
     @Cacheable(key = "#id.toString()", cacheNames = "manifests")
     @PreAuthorize("hasPermission(#id, 'ITEM', 'READ')")
-    public String getManifest(Context context, UUID id)
+    public StoredManifest getManifest(Context context, UUID id)
             throws ResourceNotFoundException {
+        StoredManifest manifest = manifestStoreService.get(id);
+        if (manifest != null) {
+            return manifest;
+        }
+        long generation = manifestStoreService.getGeneration(id);
         Item item;
         try {
             item = itemService.find(context, id);
@@ -80,7 +91,7 @@ public class IIIFServiceFacade {
         if (item == null || !utils.isIIIFEnabled(item)) {
             throw new ResourceNotFoundException("IIIF manifest for  id " + id + " not found");
         }
-        return manifestService.getManifest(item, context);
+        return manifestStoreService.store(id, manifestService.getManifest(item, context), generation);
     }
 
     /**
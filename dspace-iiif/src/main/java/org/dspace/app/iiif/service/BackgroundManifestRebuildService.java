@@ -0,0 +1,154 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.iiif.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.dspace.app.iiif.service.utils.IIIFUtils;
+import org.dspace.content.Item;
+import org.dspace.content.service.ItemService;
+import org.dspace.core.Context;
+import org.dspace.iiif.ManifestStoreService;
+import org.dspace.iiif.consumer.ManifestRebuildService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.AbstractRequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Renders the manifests of the modified items into the {@link ManifestStoreService} with a pool of
+ * {@code iiif.manifest.rebuild.threads} threads, so that the next request of a manifest doesn't wait for it.
+ * <p>
+ * The manifest services are request scoped: each manifest is rendered in a request scope of its own, which isn't
+ * bound to an HTTP request.
+ */
+@Component
+public class BackgroundManifestRebuildService implements ManifestRebuildService, DisposableBean {
+
+    private static final Logger log = LogManager.getLogger(BackgroundManifestRebuildService.class);
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ManifestService manifestService;
+
+    @Autowired
+    ManifestStoreService manifestStoreService;
+
+    @Autowired
+    IIIFUtils utils;
+
+    // The items queued and not yet rendered, so that an item modified many times is rendered once.
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor;
+
+    public BackgroundManifestRebuildService(ConfigurationService configurationService) {
+        executor = Executors.newFixedThreadPool(
+            Math.max(1, configurationService.getIntProperty("iiif.manifest.rebuild.threads", 1)));
+    }
+
+    @Override
+    public void rebuild(Collection<UUID> ids) {
+        for (UUID id : ids) {
+            if (pending.add(id)) {
+                executor.execute(() -> render(id));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void render(UUID id) {
+        pending.remove(id);
+        long generation = manifestStoreService.getGeneration(id);
+        RenderRequestAttributes attributes = new RenderRequestAttributes();
+        RequestContextHolder.setRequestAttributes(attributes);
+        try (Context context = new Context(Context.Mode.READ_ONLY)) {
+            context.turnOffAuthorisationSystem();
+            Item item = itemService.find(context, id);
+            if (item != null && utils.isIIIFEnabled(item)) {
+                manifestStoreService.store(id, manifestService.getManifest(item, context), generation);
+            }
+        } catch (Exception e) {
+            // the manifest is rendered on its next request instead
+            log.error("Unable to render the IIIF manifest of item {}", id, e);
+        } finally {
+            attributes.requestCompleted();
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    /**
+     * The attributes of a request scope which only lasts for the rendering of a manifest.
+     */
+    private static class RenderRequestAttributes extends AbstractRequestAttributes {
+
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        @Override
+        public Object getAttribute(String name, int scope) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public void setAttribute(String name, Object value, int scope) {
+            attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name, int scope) {
+            attributes.remove(name);
+            removeRequestDestructionCallback(name);
+        }
+
+        @Override
+        public String[] getAttributeNames(int scope) {
+            return attributes.keySet().toArray(new String[0]);
+        }
+
+        @Override
+        public void registerDestructionCallback(String name, Runnable callback, int scope) {
+            registerRequestDestructionCallback(name, callback);
+        }
+
+        @Override
+        public Object resolveReference(String key) {
+            return null;
+        }
+
+        @Override
+        public String getSessionId() {
+            throw new IllegalStateException("No session when rendering a manifest in the background");
+        }
+
+        @Override
+        public Object getSessionMutex() {
+            throw new IllegalStateException("No session when rendering a manifest in the background");
+        }
+
+        @Override
+        protected void updateAccessedSessionAttributes() {
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.app;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Progress of an OAI import which has not ended yet, so that an import which crashed is resumed where it stopped
+ * rather than started over.
+ * <p>
+ * An import indexes the items modified since a date in phases, each phase in the order of the item ids. The
+ * checkpoint records the date the import was started with, the current phase and the last item of the phase which
+ * is committed to the index: the date can't be taken from the index again, as the items indexed before the crash
+ * were modified after it. The items modified after the import was started are indexed again on resume.
+ */
+public class ImportCheckpoint {
+
+    private static final String SINCE = "since";
+    private static final String STARTED = "started";
+    private static final String PHASE = "phase";
+    private static final String LAST_ID = "lastId";
+
+    private final Path path;
+
+    private Instant since;
+    private Instant started;
+    private int phase;
+    private String lastId;
+
+    /**
+     * @param file the file of the checkpoint, which exists while an import has not ended
+     */
+    public ImportCheckpoint(File file) {
+        this.path = file.toPath();
+    }
+
+    /**
+     * Reads the checkpoint of the import which has not ended, if there's one.
+     *
+     * @return whether there's an import to resume
+     * @throws IOException if the checkpoint can't be read
+     */
+    public boolean load() throws IOException {
+        if (!Files.exists(path)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        String date = properties.getProperty(SINCE);
+        since = StringUtils.isBlank(date) ? null : Instant.parse(date);
+        started = Instant.parse(properties.getProperty(STARTED));
+        phase = Integer.parseInt(properties.getProperty(PHASE, "0"));
+        lastId = StringUtils.trimToNull(properties.getProperty(LAST_ID));
+        return true;
+    }
+
+    /**
+     * Starts the checkpoint of a new import.
+     *
+     * @param since the date the items are indexed from, null for a full import
+     * @throws IOException if the checkpoint can't be written
+     */
+    public void start(Instant since) throws IOException {
+        this.since = since;
+        this.started = Instant.now();
+        this.phase = 0;
+        this.lastId = null;
+        write();
+    }
+
+    /**
+     * @return the date the items are indexed from, null for a full import
+     */
+    public Instant getSince() {
+        return since;
+    }
+
+    /**
+     * @return the current phase of the import
+     */
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the id of the last item of the current phase committed to the index, null if none is
+     */
+    public String getLastId() {
+        return lastId;
+    }
+
+    /**
+     * Checks whether an item of a phase was committed to the index before the checkpoint, and not modified since the
+     * import started. The items of a phase are ordered by id, the uuids being compared as the database does.
+     *
+     * @param phase        the phase of the item
+     * @param id           the item uuid
+     * @param lastModified the last modification date of the item
+     * @return whether the item can be skipped
+     */
+    public boolean isCommitted(int phase, UUID id, Instant lastModified) {
+        if (lastModified == null || !lastModified.isBefore(started)) {
+            return false;
+        }
+        return phase < this.phase || phase == this.phase && lastId != null && id.toString().compareTo(lastId) <= 0;
+    }
+
+    /**
+     * Records the progress of the import. The progress of a phase before the current one, which is indexed again on
+     * resume, is ignored: the checkpoint never moves back.
+     *
+     * @param phase  the current phase
+     * @param lastId the id of the last item of the phase committed to the index, null if none is
+     * @throws IOException if the checkpoint can't be written
+     */
+    public void save(int phase, UUID lastId) throws IOException {
+        if (phase < this.phase) {
+            return;
+        }
+        this.phase = phase;
+        this.lastId = lastId == null ? null : lastId.toString();
+        write();
+    }
+
+    /**
+     * Removes the checkpoint, once the import has ended.
+     *
+     * @throws IOException if the checkpoint can't be removed
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    private void write() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(SINCE, since == null ? "" : since.toString());
+        properties.setProperty(STARTED, started.toString());
+        properties.setProperty(PHASE, String.valueOf(phase));
+        properties.setProperty(LAST_ID, lastId == null ? "" : lastId);
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        // written aside and moved in place, so that a crash never leaves a partial checkpoint
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temporary)) {
+            properties.store(out, "OAI import in progress");
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+}
@@ -15,6 +15,7 @@ import static org.apache.solr.common.params.CursorMarkParams.CURSOR_MARK_START;
 import static org.dspace.xoai.util.ItemUtils.retrieveMetadata;
 
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.net.ConnectException;
 import java.sql.SQLException;
@@ -25,13 +26,28 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
 
 import com.lyncode.xoai.dataprovider.exceptions.ConfigurationException;
 import com.lyncode.xoai.dataprovider.exceptions.WritingXmlException;
+import com.lyncode.xoai.dataprovider.services.api.ResourceResolver;
 import com.lyncode.xoai.dataprovider.xml.XmlOutputContext;
 import com.lyncode.xoai.dataprovider.xml.xoai.Metadata;
 import org.apache.commons.cli.CommandLine;
@@ -72,6 +88,7 @@ import org.dspace.xoai.services.api.cache.XOAICacheService;
 import org.dspace.xoai.services.api.cache.XOAIItemCacheService;
 import org.dspace.xoai.services.api.cache.XOAILastCompilationCacheService;
 import org.dspace.xoai.services.api.solr.SolrServerResolver;
+import org.dspace.xoai.services.impl.resources.PrecompiledTemplates;
 import org.dspace.xoai.solr.DSpaceSolrSearch;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrException;
 import org.dspace.xoai.solr.exceptions.DSpaceSolrIndexerException;
@@ -98,6 +115,12 @@ public class XOAI {
     private XOAIItemCacheService xoaiItemCacheService;
     @Autowired
     private CollectionsService collectionsService;
+    @Autowired
+    private ResourceResolver resourceResolver;
+
+    private Map<String, Templates> precompiledStylesheets;
+
+    private ImportCheckpoint checkpoint;
 
     private final AuthorizeService authorizeService;
     private final ItemService itemService;
@@ -107,7 +130,7 @@ public class XOAI {
 
     private List<XOAIExtensionItemCompilePlugin> extensionPlugins;
 
-    private List<String> getFileFormats(Item item) {
+    private List<String> getFileFormats(Context context, Item item) {
         List<String> formats = new ArrayList<>();
         try {
             for (Bundle b : itemService.getBundles(item, "ORIGINAL")) {
@@ -153,11 +176,19 @@ public class XOAI {
     public int index() throws DSpaceSolrIndexerException {
         int result = 0;
         try {
+            checkpoint = new ImportCheckpoint(
+                new File(configurationService.getProperty("oai.cache.dir"), "import.checkpoint"));
 
             if (clean) {
+                checkpoint.delete();
                 clearIndex();
                 System.out.println("Using full import.");
+                checkpoint.start(null);
                 result = this.indexAll();
+            } else if (checkpoint.load()) {
+                System.out.println("Resuming the import stopped in phase " + checkpoint.getPhase()
+                                       + " after item " + checkpoint.getLastId());
+                result = checkpoint.getSince() == null ? this.indexAll() : this.index(checkpoint.getSince());
             } else {
                 SolrQuery solrParams = new SolrQuery("*:*").addField("item.lastmodified")
                         .addSort("item.lastmodified", ORDER.desc).setRows(1);
@@ -165,14 +196,17 @@ public class XOAI {
                 SolrDocumentList results = DSpaceSolrSearch.query(solrServerResolver.getServer(), solrParams);
                 if (results.getNumFound() == 0) {
                     System.out.println("There are no indexed documents, using full import.");
+                    checkpoint.start(null);
                     result = this.indexAll();
                 } else {
-                    result = this.index(((java.util.Date) results.get(0).getFieldValue("item.lastmodified"))
-                                            .toInstant());
+                    Instant last = ((java.util.Date) results.get(0).getFieldValue("item.lastmodified")).toInstant();
+                    checkpoint.start(last);
+                    result = this.index(last);
                 }
 
             }
             solrServerResolver.getServer().commit();
+            checkpoint.delete();
 
             // Set last compilation date
             xoaiLastCompilationCacheService.put(Instant.now());
@@ -194,8 +228,8 @@ public class XOAI {
             Iterator<Item> nonDiscoverableChangedItems = itemService
                     .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, last);
             Iterator<Item> possiblyChangedItems = getItemsWithPossibleChangesBefore(last);
-            return this.index(discoverableChangedItems) + this.index(nonDiscoverableChangedItems)
-                    + this.index(possiblyChangedItems);
+            return this.index(discoverableChangedItems, 0, true) + this.index(nonDiscoverableChangedItems, 1, true)
+                    + this.index(possiblyChangedItems, 2, false);
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -266,7 +300,7 @@ public class XOAI {
                     null);
             Iterator<Item> nonDiscoverableItems = itemService
                     .findInArchiveOrWithdrawnNonDiscoverableModifiedSince(context, null);
-            return this.index(discoverableItems) + this.index(nonDiscoverableItems);
+            return this.index(discoverableItems, 0, true) + this.index(nonDiscoverableItems, 1, true);
         } catch (SQLException ex) {
             throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
         }
@@ -309,54 +343,216 @@ public class XOAI {
         }
     }
 
-    private int index(Iterator<Item> iterator) throws DSpaceSolrIndexerException {
+    /**
+     * Index the items of a phase of the import. The documents are built by {@code oai.import.threads} workers, each
+     * with a context of its own, and sent to Solr in batches by a single writer, which soft commits each batch and
+     * hard commits every {@code oai.import.checkpoint.batches} batches, recording the progress of the import in the
+     * checkpoint.
+     *
+     * @param iterator the items of the phase
+     * @param phase    the number of the phase in the import
+     * @param byId     whether the items are ordered by id, so that the phase can be resumed after the last
+     *                 committed item, else it is indexed again
+     * @return the number of items of the phase
+     * @throws DSpaceSolrIndexerException if the documents can't be sent to Solr
+     */
+    private int index(Iterator<Item> iterator, int phase, boolean byId) throws DSpaceSolrIndexerException {
+        int threads = Math.max(1, configurationService.getIntProperty("oai.import.threads", 1));
+        int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
+        int checkpointBatches = Math.max(1, configurationService.getIntProperty("oai.import.checkpoint.batches", 10));
+        BlockingQueue<IndexTask> tasks = new ArrayBlockingQueue<>(batchSize);
+        BlockingQueue<IndexResult> results = new ArrayBlockingQueue<>(batchSize);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
         try {
-            int i = 0;
-            int batchSize = configurationService.getIntProperty("oai.import.batch.size", 1000);
             SolrClient server = solrServerResolver.getServer();
-            ArrayList<SolrInputDocument> list = new ArrayList<>();
-            while (iterator.hasNext()) {
-                try {
-                    Item item = iterator.next();
-                    if (item.getHandle() == null) {
-                        log.warn("Skipped item without handle: " + item.getID());
-                    } else {
-                        list.add(this.index(item));
-                    }
-                    // Uncache the item to keep memory consumption low
-                    context.uncacheEntity(item);
+            if (phase > checkpoint.getPhase()) {
+                checkpoint.save(phase, null);
+            }
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> buildDocuments(tasks, results, failure, batchSize));
+            }
+            Future<?> writer = executor.submit(
+                () -> writeDocuments(server, results, failure, threads, batchSize, checkpointBatches, phase, byId));
 
-                } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
-                    log.error(ex.getMessage(), ex);
+            int i = 0;
+            int queued = 0;
+            int skipped = 0;
+            while (iterator.hasNext() && failure.get() == null) {
+                Item item = iterator.next();
+                if (item.getHandle() == null) {
+                    log.warn("Skipped item without handle: " + item.getID());
+                } else if (checkpoint.isCommitted(phase, item.getID(), item.getLastModified())) {
+                    skipped++;
+                } else {
+                    queue(tasks, new IndexTask(queued++, item.getID()), failure);
                 }
                 i++;
-                if (i % 1000 == 0 && batchSize != 1000) {
-                    System.out.println(i + " items imported so far...");
+                // Uncache the item to keep memory consumption low
+                try {
+                    context.uncacheEntity(item);
+                    if (i % batchSize == 0) {
+                        context.uncacheEntities();
+                    }
+                } catch (SQLException ex) {
+                    log.error("Error uncaching entities", ex);
                 }
-                if (i % batchSize == 0) {
-                    System.out.println(i + " items imported so far...");
-                    server.add(list);
-                    server.commit();
-                    list.clear();
+            }
+            for (int t = 0; t < threads && failure.get() == null; t++) {
+                queue(tasks, IndexTask.END, failure);
+            }
+            // after a failure, the workers and the writer which are still running are interrupted
+            if (failure.get() == null) {
+                writer.get();
+            }
+            if (failure.get() != null) {
+                throw new DSpaceSolrIndexerException(failure.get().getMessage(), failure.get());
+            }
+            if (skipped > 0) {
+                System.out.println("Skipped " + skipped + " items committed before the import was resumed");
+            }
+            System.out.println("Total: " + (i - skipped) + " items");
+            return i - skipped;
+        } catch (SolrServerException | IOException | ExecutionException ex) {
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue a task for the workers, unless the import failed, which could leave no worker to take it.
+     */
+    private void queue(BlockingQueue<IndexTask> tasks, IndexTask task, AtomicReference<Throwable> failure)
+        throws InterruptedException {
+        while (failure.get() == null && !tasks.offer(task, 1, TimeUnit.SECONDS)) {
+            // wait for a worker to take a task, or for a failure
+        }
+    }
+
+    /**
+     * Build the documents of the queued items, until the end of the queue, in a context of this worker. The import
+     * fails if the worker can't go on.
+     */
+    private void buildDocuments(BlockingQueue<IndexTask> tasks, BlockingQueue<IndexResult> results,
+                                AtomicReference<Throwable> failure, int batchSize) {
+        try (Context workerContext = new Context(Context.Mode.READ_ONLY)) {
+            int built = 0;
+            IndexTask task;
+            while ((task = tasks.take()) != IndexTask.END) {
+                SolrInputDocument doc = null;
+                // the queue is drained after a failure, so that the import ends
+                if (failure.get() == null) {
                     try {
-                        context.uncacheEntities();
+                        Item item = itemService.find(workerContext, task.id());
+                        if (item != null) {
+                            doc = this.index(workerContext, item);
+                            workerContext.uncacheEntity(item);
+                        }
+                    } catch (SQLException | IOException | XMLStreamException | WritingXmlException ex) {
+                        log.error(ex.getMessage(), ex);
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                }
+                results.put(new IndexResult(task.seq(), task.id(), doc));
+                if (++built % batchSize == 0) {
+                    try {
+                        workerContext.uncacheEntities();
                     } catch (SQLException ex) {
                         log.error("Error uncaching entities", ex);
                     }
                 }
             }
-            System.out.println("Total: " + i + " items");
-            if (i > 0) {
-                if (!list.isEmpty()) {
-                    server.add(list);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable ex) {
+            // e.g. no database connection, or an error building a document
+            failure.compareAndSet(null, ex);
+        } finally {
+            try {
+                results.put(IndexResult.END);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Send the built documents to Solr in batches, until each worker has ended. The checkpoint records the last item
+     * of the longest run of queued items which are all hard committed.
+     */
+    private Void writeDocuments(SolrClient server, BlockingQueue<IndexResult> results,
+                                AtomicReference<Throwable> failure, int workers, int batchSize,
+                                int checkpointBatches, int phase, boolean byId) throws InterruptedException {
+        List<IndexResult> batch = new ArrayList<>();
+        // the items written out of order, by sequence number
+        TreeMap<Integer, UUID> written = new TreeMap<>();
+        int contiguous = -1;
+        UUID lastId = null;
+        int batches = 0;
+        int count = 0;
+        int ended = 0;
+        while (ended < workers) {
+            IndexResult result = results.take();
+            if (result == IndexResult.END) {
+                ended++;
+            } else if (failure.get() == null) {
+                batch.add(result);
+            }
+            boolean last = ended == workers;
+            if (failure.get() != null || batch.size() < batchSize && !(last && (!batch.isEmpty() || batches > 0))) {
+                continue;
+            }
+            try {
+                List<SolrInputDocument> docs = new ArrayList<>();
+                for (IndexResult indexed : batch) {
+                    if (indexed.doc() != null) {
+                        docs.add(indexed.doc());
+                    }
+                    written.put(indexed.seq(), indexed.id());
+                }
+                if (!docs.isEmpty()) {
+                    server.add(docs);
+                }
+                count += batch.size();
+                while (!written.isEmpty() && written.firstKey() == contiguous + 1) {
+                    contiguous++;
+                    lastId = written.pollFirstEntry().getValue();
                 }
-                server.commit(true, true);
-                list.clear();
+                if (last || ++batches % checkpointBatches == 0) {
+                    server.commit(true, true);
+                    checkpoint.save(phase, byId ? lastId : null);
+                } else {
+                    server.commit(false, false, true);
+                }
+                if (!batch.isEmpty()) {
+                    System.out.println(count + " items imported so far...");
+                }
+            } catch (Throwable ex) {
+                // the results are still drained, so that the workers end
+                failure.compareAndSet(null, ex);
             }
-            return i;
-        } catch (SolrServerException | IOException ex) {
-            throw new DSpaceSolrIndexerException(ex.getMessage(), ex);
+            batch.clear();
         }
+        return null;
+    }
+
+    /**
+     * An item to index, with its sequence number in the phase.
+     */
+    private record IndexTask(int seq, UUID id) {
+        private static final IndexTask END = new IndexTask(-1, null);
+    }
+
+    /**
+     * The document of an indexed item, null if it could not be built.
+     */
+    private record IndexResult(int seq, UUID id, SolrInputDocument doc) {
+        private static final IndexResult END = new IndexResult(-1, null, null);
     }
 
     /**
@@ -368,7 +564,7 @@ public class XOAI {
      * @return date
      * @throws SQLException
      */
-    private Instant getMostRecentModificationDate(Item item) throws SQLException {
+    private Instant getMostRecentModificationDate(Context context, Item item) throws SQLException {
         List<Instant> dates = new LinkedList<>();
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
@@ -394,7 +590,7 @@ public class XOAI {
         return lastChange;
     }
 
-    private SolrInputDocument index(Item item)
+    private SolrInputDocument index(Context context, Item item)
             throws SQLException, IOException, XMLStreamException, WritingXmlException {
         SolrInputDocument doc = new SolrInputDocument();
         doc.addField("item.id", item.getID().toString());
@@ -402,7 +598,7 @@ public class XOAI {
         String handle = item.getHandle();
         doc.addField("item.handle", handle);
 
-        boolean isEmbargoed = !this.isPublic(item);
+        boolean isEmbargoed = !this.isPublic(context, item);
         boolean isCurrentlyVisible = this.checkIfVisibleInOAI(item);
         boolean isIndexed = this.checkIfIndexed(item);
 
@@ -425,7 +621,7 @@ public class XOAI {
         // if the visibility of the item will change in the future due to an
         // embargo, mark it as such.
 
-        doc.addField("item.willChangeStatus", willChangeStatus(item));
+        doc.addField("item.willChangeStatus", willChangeStatus(context, item));
 
         /*
          * Mark an item as deleted not only if it is withdrawn, but also if it is made
@@ -446,7 +642,7 @@ public class XOAI {
          * date and take the most recent of those which have already passed.
          */
         doc.addField("item.lastmodified",
-                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(item)));
+                SolrUtils.getDateFormatter().format(this.getMostRecentModificationDate(context, item)));
 
         if (item.getSubmitter() != null) {
             doc.addField("item.submitter", item.getSubmitter().getEmail());
@@ -483,7 +679,7 @@ public class XOAI {
             }
         }
 
-        for (String f : getFileFormats(item)) {
+        for (String f : getFileFormats(context, item)) {
             doc.addField("metadata.dc.format.mimetype", f);
         }
 
@@ -504,7 +700,20 @@ public class XOAI {
         metadata.write(xmlContext);
         xmlContext.getWriter().flush();
         xmlContext.getWriter().close();
-        doc.addField("item.compile", out.toString());
+        String compiled = out.toString();
+        doc.addField("item.compile", compiled);
+
+        // Precompile the disseminations of the item, so that they aren't transformed on each request
+        for (Map.Entry<String, Templates> stylesheet : getPrecompiledStylesheets().entrySet()) {
+            try {
+                String output = PrecompiledTemplates.transform(stylesheet.getValue(), compiled);
+                if (output != null) {
+                    doc.addField(PrecompiledTemplates.getFieldName(stylesheet.getKey()), output);
+                }
+            } catch (TransformerException ex) {
+                log.error("Unable to precompile " + stylesheet.getKey() + " for item " + item.getID(), ex);
+            }
+        }
 
         if (verbose) {
             println(String.format("Item %s with handle %s indexed", item.getID().toString(), handle));
@@ -513,7 +722,26 @@ public class XOAI {
         return doc;
     }
 
-    private boolean willChangeStatus(Item item) throws SQLException {
+    /**
+     * Get the stylesheets whose output is precompiled in the index, by path.
+     *
+     * @return the compiled stylesheets
+     */
+    private synchronized Map<String, Templates> getPrecompiledStylesheets() {
+        if (precompiledStylesheets == null) {
+            precompiledStylesheets = new LinkedHashMap<>();
+            for (String path : PrecompiledTemplates.getStylesheets()) {
+                try {
+                    precompiledStylesheets.put(path, resourceResolver.getTemplates(path));
+                } catch (IOException | TransformerConfigurationException ex) {
+                    log.error("Unable to load the precompiled stylesheet " + path, ex);
+                }
+            }
+        }
+        return precompiledStylesheets;
+    }
+
+    private boolean willChangeStatus(Context context, Item item) throws SQLException {
         List<ResourcePolicy> policies = authorizeService.getPoliciesActionFilter(context, item, Constants.READ);
         for (ResourcePolicy policy : policies) {
             if ((policy.getGroup() != null) && (policy.getGroup().getName().equals("Anonymous"))) {
@@ -529,7 +757,7 @@ public class XOAI {
         return false;
     }
 
-    private boolean isPublic(Item item) {
+    private boolean isPublic(Context context, Item item) {
         boolean pub = false;
         try {
             // Check if READ access allowed on this Item
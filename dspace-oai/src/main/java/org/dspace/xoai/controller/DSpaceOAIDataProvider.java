@@ -38,6 +38,8 @@ import org.dspace.xoai.services.api.context.ContextServiceException;
 import org.dspace.xoai.services.api.xoai.IdentifyResolver;
 import org.dspace.xoai.services.api.xoai.ItemRepositoryResolver;
 import org.dspace.xoai.services.api.xoai.SetRepositoryResolver;
+import org.dspace.xoai.services.impl.resources.PrecompiledTemplates;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionKeys;
 import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -158,6 +160,8 @@ public class DSpaceOAIDataProvider {
                                "Unexpected error while writing the output. For more information visit the log files.");
         } finally {
             closeContext(context);
+            DSpaceResumptionKeys.clear();
+            PrecompiledTemplates.clear();
         }
 
         return null; // response without content
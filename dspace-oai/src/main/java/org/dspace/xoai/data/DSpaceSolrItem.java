@@ -10,13 +10,16 @@ package org.dspace.xoai.data;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.lyncode.xoai.dataprovider.core.ItemMetadata;
 import com.lyncode.xoai.dataprovider.core.ReferenceSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.common.SolrDocument;
+import org.dspace.xoai.services.impl.resources.PrecompiledTemplates;
 
 /**
  * @author Lyncode Development Team (dspace at lyncode dot com)
@@ -56,6 +59,14 @@ public class DSpaceSolrItem extends DSpaceItem {
         }
 
         deleted = (Boolean) doc.getFieldValue("item.deleted");
+
+        Map<String, String> disseminations = new HashMap<>();
+        for (String field : doc.getFieldNames()) {
+            if (field.startsWith(PrecompiledTemplates.FIELD_PREFIX)) {
+                disseminations.put(field, (String) doc.getFieldValue(field));
+            }
+        }
+        PrecompiledTemplates.register(unparsedMD, disseminations);
     }
 
     @Override
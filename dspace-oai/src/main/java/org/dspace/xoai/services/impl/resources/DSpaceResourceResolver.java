@@ -48,6 +48,10 @@ public class DSpaceResourceResolver implements ResourceResolver {
         // XSLT-files (like <xsl:import href="utils.xsl"/>)
         String systemId = basePath + "/" + path;
         mySrc.setSystemId(systemId);
-        return transformerFactory.newTemplates(mySrc);
+        Templates templates = transformerFactory.newTemplates(mySrc);
+        if (PrecompiledTemplates.getStylesheets().contains(path)) {
+            return new PrecompiledTemplates(templates, path);
+        }
+        return templates;
     }
 }
@@ -0,0 +1,245 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.resources;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import javax.xml.transform.ErrorListener;
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.URIResolver;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.dspace.services.ConfigurationService;
+import org.dspace.services.factory.DSpaceServicesFactory;
+
+/**
+ * Templates of a metadata format stylesheet whose output is precompiled by the OAI import, for each item, in the
+ * {@code item.dissemination.*} fields of the OAI core. When the stylesheet is applied to the compiled metadata of an
+ * item of the request, the stored output is written instead of transforming the metadata again.
+ * <p>
+ * The items of the request are registered for the thread of the request, and must be cleared at its end. Any other
+ * input, e.g. the output of a context transformer, is transformed by the stylesheet.
+ */
+public class PrecompiledTemplates implements Templates {
+
+    public static final String FIELD_PREFIX = "item.dissemination.";
+
+    // The precompiled outputs of the items of the request, by compiled metadata and by field.
+    private static final ThreadLocal<Map<String, Map<String, String>>> disseminations =
+        ThreadLocal.withInitial(HashMap::new);
+
+    private final Templates templates;
+    private final String field;
+
+    public PrecompiledTemplates(Templates templates, String stylesheet) {
+        this.templates = templates;
+        this.field = getFieldName(stylesheet);
+    }
+
+    /**
+     * @return the paths of the stylesheets whose output is precompiled, relative to the OAI configuration directory
+     */
+    public static List<String> getStylesheets() {
+        ConfigurationService configurationService = DSpaceServicesFactory.getInstance().getConfigurationService();
+        return Arrays.asList(configurationService.getArrayProperty("oai.import.precompiled.stylesheet"));
+    }
+
+    /**
+     * @param stylesheet the path of the stylesheet
+     * @return the name of the OAI core field with the output of the stylesheet
+     */
+    public static String getFieldName(String stylesheet) {
+        return FIELD_PREFIX + stylesheet.replaceAll("[^A-Za-z0-9]", "_");
+    }
+
+    /**
+     * Applies a stylesheet to the compiled metadata of an item, as the data provider would.
+     *
+     * @param templates the stylesheet
+     * @param compiled  the compiled metadata of the item
+     * @return the output, or null if it isn't text in UTF-8
+     * @throws TransformerException if the metadata cannot be transformed
+     */
+    public static String transform(Templates templates, String compiled) throws TransformerException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        templates.newTransformer().transform(
+            new StreamSource(new ByteArrayInputStream(compiled.getBytes(StandardCharsets.UTF_8))),
+            new StreamResult(out));
+        String output = out.toString(StandardCharsets.UTF_8);
+        // the output is written back as it was produced, else it isn't stored
+        return Arrays.equals(out.toByteArray(), output.getBytes(StandardCharsets.UTF_8)) ? output : null;
+    }
+
+    /**
+     * Registers the precompiled outputs of an item of the request.
+     *
+     * @param compiled the compiled metadata of the item
+     * @param outputs  the outputs, by field
+     */
+    public static void register(String compiled, Map<String, String> outputs) {
+        if (compiled != null && !outputs.isEmpty()) {
+            disseminations.get().put(compiled, outputs);
+        }
+    }
+
+    /**
+     * Forgets the items of the current request.
+     */
+    public static void clear() {
+        disseminations.remove();
+    }
+
+    @Override
+    public Transformer newTransformer() throws TransformerConfigurationException {
+        return new PrecompiledTransformer(templates.newTransformer());
+    }
+
+    @Override
+    public Properties getOutputProperties() {
+        return templates.getOutputProperties();
+    }
+
+    /**
+     * Writes the precompiled output of the item whose compiled metadata is transformed, if there's one.
+     */
+    private class PrecompiledTransformer extends Transformer {
+
+        private final Transformer transformer;
+
+        // The output is only precompiled for the transformer as is, with the output properties of the stylesheet.
+        private boolean customized;
+
+        PrecompiledTransformer(Transformer transformer) {
+            this.transformer = transformer;
+        }
+
+        @Override
+        public void transform(Source source, Result result) throws TransformerException {
+            if (customized || disseminations.get().isEmpty() || !(source instanceof StreamSource)
+                || ((StreamSource) source).getInputStream() == null || !(result instanceof StreamResult)) {
+                transformer.transform(source, result);
+                return;
+            }
+            StreamSource streamSource = (StreamSource) source;
+            byte[] input;
+            try (InputStream in = streamSource.getInputStream()) {
+                input = in.readAllBytes();
+            } catch (IOException e) {
+                throw new TransformerException(e);
+            }
+            String compiled = new String(input, StandardCharsets.UTF_8);
+            Map<String, String> outputs = disseminations.get().get(compiled);
+            String output = outputs != null ? outputs.get(field) : null;
+            if (output == null || !Arrays.equals(input, compiled.getBytes(StandardCharsets.UTF_8))) {
+                transformer.transform(new StreamSource(new ByteArrayInputStream(input), streamSource.getSystemId()),
+                                      result);
+                return;
+            }
+            StreamResult streamResult = (StreamResult) result;
+            try {
+                if (streamResult.getOutputStream() != null) {
+                    streamResult.getOutputStream().write(output.getBytes(StandardCharsets.UTF_8));
+                } else if (streamResult.getWriter() != null) {
+                    streamResult.getWriter().write(output);
+                } else {
+                    transformer.transform(
+                        new StreamSource(new ByteArrayInputStream(input), streamSource.getSystemId()), result);
+                }
+            } catch (IOException e) {
+                throw new TransformerException(e);
+            }
+        }
+
+        @Override
+        public void setParameter(String name, Object value) {
+            customized = true;
+            transformer.setParameter(name, value);
+        }
+
+        @Override
+        public Object getParameter(String name) {
+            return transformer.getParameter(name);
+        }
+
+        @Override
+        public void clearParameters() {
+            transformer.clearParameters();
+        }
+
+        @Override
+        public void setURIResolver(URIResolver resolver) {
+            customized = true;
+            transformer.setURIResolver(resolver);
+        }
+
+        @Override
+        public URIResolver getURIResolver() {
+            return transformer.getURIResolver();
+        }
+
+        @Override
+        public void setOutputProperties(Properties oformat) {
+            if (oformat != null) {
+                oformat.stringPropertyNames().forEach(name -> checkOutputProperty(name, oformat.getProperty(name)));
+            }
+            transformer.setOutputProperties(oformat);
+        }
+
+        @Override
+        public Properties getOutputProperties() {
+            return transformer.getOutputProperties();
+        }
+
+        @Override
+        public void setOutputProperty(String name, String value) {
+            checkOutputProperty(name, value);
+            transformer.setOutputProperty(name, value);
+        }
+
+        /**
+         * An output property set to the value of the xsl:output of the stylesheet, e.g. the XML declaration omitted
+         * by the data provider, doesn't change the output.
+         */
+        private void checkOutputProperty(String name, String value) {
+            if (!Objects.equals(value, templates.getOutputProperties().getProperty(name))) {
+                customized = true;
+            }
+        }
+
+        @Override
+        public String getOutputProperty(String name) {
+            return transformer.getOutputProperty(name);
+        }
+
+        @Override
+        public void setErrorListener(ErrorListener listener) {
+            transformer.setErrorListener(listener);
+        }
+
+        @Override
+        public ErrorListener getErrorListener() {
+            return transformer.getErrorListener();
+        }
+    }
+
+}
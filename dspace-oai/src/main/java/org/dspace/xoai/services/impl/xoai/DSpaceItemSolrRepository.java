@@ -26,6 +26,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.solr.client.solrj.SolrClient;
 import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.util.ClientUtils;
 import org.apache.solr.common.SolrDocument;
 import org.apache.solr.common.SolrDocumentList;
 import org.dspace.xoai.data.DSpaceSolrItem;
@@ -100,18 +101,33 @@ public class DSpaceItemSolrRepository extends DSpaceItemRepository {
         }
     }
 
+    /**
+     * Retrieves a page of items. The items are sorted by id: when the id of the last item of the previous page is
+     * known from the resumption token, the page is searched from it rather than from its offset, so that a page costs
+     * the same whatever its depth in the list.
+     */
     private QueryResult retrieveItems(List<ScopedFilter> filters, int offset, int length)
             throws DSpaceSolrException, IOException {
         List<Item> list = new ArrayList<>();
         SolrQuery params = new SolrQuery(solrQueryResolver.buildQuery(filters))
-            .setRows(length)
-            .setStart(offset);
+            .setRows(length);
+        String lastId = DSpaceResumptionKeys.getRequested(offset);
+        if (lastId != null) {
+            params.addFilterQuery("item.id:{" + ClientUtils.escapeQueryChars(lastId) + " TO *]");
+        } else {
+            params.setStart(offset);
+        }
         SolrDocumentList solrDocuments = DSpaceSolrSearch.query(server, params);
         for (SolrDocument doc : solrDocuments) {
             list.add(new DSpaceSolrItem(doc));
         }
-        return new QueryResult(list, (solrDocuments.getNumFound() > offset + length),
-                               (int) solrDocuments.getNumFound());
+        if (!solrDocuments.isEmpty()) {
+            SolrDocument lastDocument = solrDocuments.get(solrDocuments.size() - 1);
+            DSpaceResumptionKeys.setNext(offset + length, String.valueOf(lastDocument.getFieldValue("item.id")));
+        }
+        // only the items after the last one are found when searching from it
+        int total = (int) solrDocuments.getNumFound() + (lastId != null ? offset : 0);
+        return new QueryResult(list, total > offset + length, total);
     }
 
     private class QueryResult {
@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.services.impl.xoai;
+
+/**
+ * Carries the search keys of the pages of items between the {@link DSpaceResumptionTokenFormatter} and the
+ * {@link DSpaceItemSolrRepository}. The search key of a page is the id of the last item of the previous page, the
+ * items being sorted by id: the page is searched from it rather than from its offset, which Solr would have to skip
+ * through.
+ * <p>
+ * The XOAI data provider only passes offsets from the resumption token to the repository, and from the repository to
+ * the next resumption token, so the keys are kept with their offset for the thread of the request, and must be
+ * cleared at the end of the request.
+ */
+public final class DSpaceResumptionKeys {
+
+    private record Key(int offset, String lastId) {
+    }
+
+    // The key of the requested page, from the resumption token.
+    private static final ThreadLocal<Key> requested = new ThreadLocal<>();
+
+    // The key of the page after the requested one, for the next resumption token.
+    private static final ThreadLocal<Key> next = new ThreadLocal<>();
+
+    private DSpaceResumptionKeys() { }
+
+    /**
+     * Sets the key of the requested page, null for a page to search from its offset.
+     */
+    public static void setRequested(int offset, String lastId) {
+        requested.set(lastId == null ? null : new Key(offset, lastId));
+    }
+
+    /**
+     * @return the key of the requested page at the offset, or null if unknown
+     */
+    public static String getRequested(int offset) {
+        return getLastId(requested.get(), offset);
+    }
+
+    /**
+     * Sets the key of the page after the requested one, the id of the last item of the requested page.
+     */
+    public static void setNext(int offset, String lastId) {
+        next.set(lastId == null ? null : new Key(offset, lastId));
+    }
+
+    /**
+     * @return the key of the next page at the offset, or null if unknown
+     */
+    public static String getNext(int offset) {
+        return getLastId(next.get(), offset);
+    }
+
+    /**
+     * Forgets the keys of the current request.
+     */
+    public static void clear() {
+        requested.remove();
+        next.remove();
+    }
+
+    private static String getLastId(Key key, int offset) {
+        return key != null && key.offset() == offset ? key.lastId() : null;
+    }
+
+}
@@ -7,6 +7,8 @@
  */
 package org.dspace.xoai.services.impl.xoai;
 
+import java.util.UUID;
+
 import com.lyncode.xoai.dataprovider.core.ResumptionToken;
 import com.lyncode.xoai.dataprovider.exceptions.BadResumptionToken;
 import com.lyncode.xoai.dataprovider.services.api.ResumptionTokenFormatter;
@@ -26,14 +28,18 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
     @Override
     public ResumptionToken parse(String resumptionToken) throws BadResumptionToken {
         if (resumptionToken == null) {
+            DSpaceResumptionKeys.setRequested(0, null);
             return new ResumptionToken();
         }
         String[] res = resumptionToken.split("/", -1);
-        if (res.length != 5) {
+        if (res.length != 5 && res.length != 6) {
             throw new BadResumptionToken();
         } else {
             try {
                 int offset = Integer.parseInt(res[4]);
+                // the id of the last item of the previous page, in the tokens of the item lists
+                String lastId = (res.length == 6) ? UUID.fromString(res[5]).toString() : null;
+                DSpaceResumptionKeys.setRequested(offset, lastId);
                 String prefix = (res[0].equals("")) ? null : res[0];
                 String set = (res[3].equals("")) ? null : res[3];
                 java.util.Date from = (res[1].equals("")) ? null : java.util.Date.from(DateUtils.parse(res[1]));
@@ -67,6 +73,10 @@ public class DSpaceResumptionTokenFormatter implements ResumptionTokenFormatter
         }
         result += "/";
         result += resumptionToken.getOffset();
+        String lastId = DSpaceResumptionKeys.getNext(resumptionToken.getOffset());
+        if (lastId != null) {
+            result += "/" + lastId;
+        }
         return result;
     }
 
@@ -0,0 +1,116 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.app;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.dspace.xoai.app.ImportCheckpoint;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ImportCheckpointTest {
+    private static final Instant SINCE = Instant.parse("2024-01-01T00:00:00Z");
+    private static final UUID LAST_ID = UUID.fromString("8fffffff-0000-0000-0000-000000000000");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+    private Instant before;
+
+    @Before
+    public void setUp() {
+        file = new File(folder.getRoot(), "oai/import.checkpoint");
+        before = Instant.now().minusSeconds(60);
+    }
+
+    @Test
+    public void noImportToResume() throws Exception {
+        assertThat(new ImportCheckpoint(file).load(), is(false));
+    }
+
+    @Test
+    public void resumeFromSavedProgress() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file);
+        checkpoint.start(SINCE);
+        checkpoint.save(1, LAST_ID);
+
+        ImportCheckpoint resumed = new ImportCheckpoint(file);
+        assertThat(resumed.load(), is(true));
+        assertThat(resumed.getSince(), is(SINCE));
+        assertThat(resumed.getPhase(), is(1));
+        assertThat(resumed.getLastId(), is(LAST_ID.toString()));
+    }
+
+    @Test
+    public void fullImportHasNoDate() throws Exception {
+        new ImportCheckpoint(file).start(null);
+
+        ImportCheckpoint resumed = new ImportCheckpoint(file);
+        assertThat(resumed.load(), is(true));
+        assertThat(resumed.getSince(), nullValue());
+        assertThat(resumed.getLastId(), nullValue());
+    }
+
+    @Test
+    public void skipsItemsCommittedBeforeTheCheckpoint() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file);
+        checkpoint.start(SINCE);
+        checkpoint.save(1, LAST_ID);
+
+        // uuids are ordered as the database does, not as UUID.compareTo does
+        UUID lower = UUID.fromString("7fffffff-0000-0000-0000-000000000000");
+        UUID higher = UUID.fromString("90000000-0000-0000-0000-000000000000");
+        assertThat(checkpoint.isCommitted(0, higher, before), is(true));
+        assertThat(checkpoint.isCommitted(1, lower, before), is(true));
+        assertThat(checkpoint.isCommitted(1, LAST_ID, before), is(true));
+        assertThat(checkpoint.isCommitted(1, higher, before), is(false));
+        assertThat(checkpoint.isCommitted(2, lower, before), is(false));
+    }
+
+    @Test
+    public void indexesItemsModifiedSinceTheImportStarted() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file);
+        checkpoint.start(SINCE);
+        checkpoint.save(1, LAST_ID);
+
+        assertThat(checkpoint.isCommitted(0, LAST_ID, Instant.now().plusSeconds(60)), is(false));
+        assertThat(checkpoint.isCommitted(0, LAST_ID, null), is(false));
+    }
+
+    @Test
+    public void earlierPhaseDoesNotMoveTheCheckpointBack() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file);
+        checkpoint.start(SINCE);
+        checkpoint.save(1, LAST_ID);
+        checkpoint.save(0, UUID.fromString("ffffffff-0000-0000-0000-000000000000"));
+
+        ImportCheckpoint resumed = new ImportCheckpoint(file);
+        assertThat(resumed.load(), is(true));
+        assertThat(resumed.getPhase(), is(1));
+        assertThat(resumed.getLastId(), is(LAST_ID.toString()));
+    }
+
+    @Test
+    public void deleteEndsTheImport() throws Exception {
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file);
+        checkpoint.start(SINCE);
+        checkpoint.delete();
+
+        assertThat(new ImportCheckpoint(file).load(), is(false));
+        assertThat(file.exists(), is(false));
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.resources;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.xml.transform.Templates;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import com.lyncode.xoai.util.XSLPipeline;
+import org.apache.commons.io.IOUtils;
+import org.dspace.xoai.services.impl.resources.PrecompiledTemplates;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrecompiledTemplatesTest {
+    private static final String STYLESHEET = "metadataFormats/title.xsl";
+    private static final String XSL = "<xsl:stylesheet version=\"1.0\" "
+        + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+        + "<xsl:output omit-xml-declaration=\"yes\" method=\"xml\"/>"
+        + "<xsl:template match=\"/\"><title><xsl:value-of select=\"/item/title\"/></title></xsl:template>"
+        + "</xsl:stylesheet>";
+    private static final String COMPILED = "<item><title>Théorie</title></item>";
+
+    private Templates templates;
+    private PrecompiledTemplates underTest;
+
+    @Before
+    public void setUp() throws Exception {
+        templates = TransformerFactory.newInstance().newTemplates(new StreamSource(new StringReader(XSL)));
+        underTest = new PrecompiledTemplates(templates, STYLESHEET);
+    }
+
+    @After
+    public void cleanup() {
+        PrecompiledTemplates.clear();
+    }
+
+    @Test
+    public void fieldName() {
+        assertThat(PrecompiledTemplates.getFieldName(STYLESHEET), is("item.dissemination.metadataFormats_title_xsl"));
+    }
+
+    @Test
+    public void transformWithoutPrecompiledOutput() throws Exception {
+        assertThat(transform(underTest.newTransformer(), COMPILED), containsString("<title>Théorie</title>"));
+    }
+
+    @Test
+    public void transformWithPrecompiledOutput() throws Exception {
+        String output = PrecompiledTemplates.transform(templates, COMPILED);
+        assertThat(output, is(transform(templates.newTransformer(), COMPILED)));
+
+        // a stored output differing from the actual one shows it is written as is
+        PrecompiledTemplates.register(COMPILED, Map.of(PrecompiledTemplates.getFieldName(STYLESHEET), "stored"));
+        assertThat(transform(underTest.newTransformer(), COMPILED), is("stored"));
+
+        // any other input is transformed
+        assertThat(transform(underTest.newTransformer(), "<item><title>Other</title></item>"),
+                   containsString("<title>Other</title>"));
+
+        // as is the input once the transformer is given parameters
+        Transformer transformer = underTest.newTransformer();
+        transformer.setParameter("lang", "en");
+        assertThat(transform(transformer, COMPILED), containsString("<title>Théorie</title>"));
+    }
+
+    @Test
+    public void pipelineWithPrecompiledOutput() throws Exception {
+        PrecompiledTemplates.register(COMPILED, Map.of(PrecompiledTemplates.getFieldName(STYLESHEET), "stored"));
+
+        // the data provider omits the XML declaration, as the stylesheet does
+        assertThat(pipeline(underTest, COMPILED), is("stored"));
+
+        // the stored output isn't used when the declaration is omitted from the output of a stylesheet keeping it
+        Templates keepingDeclaration = TransformerFactory.newInstance().newTemplates(
+            new StreamSource(new StringReader(XSL.replace("omit-xml-declaration=\"yes\"", ""))));
+        assertThat(pipeline(new PrecompiledTemplates(keepingDeclaration, STYLESHEET), COMPILED),
+                   containsString("<title>Théorie</title>"));
+    }
+
+    private String pipeline(Templates templates, String input) throws Exception {
+        return IOUtils.toString(new XSLPipeline(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), true)
+                                    .apply(templates)
+                                    .getTransformed(), StandardCharsets.UTF_8);
+    }
+
+    private String transform(Transformer transformer, String input) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transformer.transform(new StreamSource(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))),
+                              new StreamResult(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.xoai.tests.unit.services.impl.xoai;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.UUID;
+
+import com.lyncode.xoai.dataprovider.core.ResumptionToken;
+import com.lyncode.xoai.dataprovider.exceptions.BadResumptionToken;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionKeys;
+import org.dspace.xoai.services.impl.xoai.DSpaceResumptionTokenFormatter;
+import org.junit.After;
+import org.junit.Test;
+
+public class DSpaceResumptionTokenFormatterTest {
+    private static final String LAST_ID = UUID.randomUUID().toString();
+
+    private final DSpaceResumptionTokenFormatter underTest = new DSpaceResumptionTokenFormatter();
+
+    @After
+    public void cleanup() {
+        DSpaceResumptionKeys.clear();
+    }
+
+    @Test
+    public void formatWithoutKey() throws Exception {
+        assertThat(underTest.format(new ResumptionToken(3, null, null, null, null)), is("////3"));
+    }
+
+    @Test
+    public void formatWithKeyOfNextPage() throws Exception {
+        DSpaceResumptionKeys.setNext(100, LAST_ID);
+
+        assertThat(underTest.format(new ResumptionToken(100, "oai_dc", "col_1", null, null)),
+                   is("oai_dc///col_1/100/" + LAST_ID));
+        // the key is for the page at offset 100 only
+        assertThat(underTest.format(new ResumptionToken(200, "oai_dc", null, null, null)), is("oai_dc////200"));
+    }
+
+    @Test
+    public void parseWithKey() throws Exception {
+        ResumptionToken token = underTest.parse("oai_dc///col_1/100/" + LAST_ID);
+
+        assertThat(token.getOffset(), is(100));
+        assertThat(token.getMetadataPrefix(), is("oai_dc"));
+        assertThat(token.getSet(), is("col_1"));
+        assertThat(DSpaceResumptionKeys.getRequested(100), is(LAST_ID));
+        assertThat(DSpaceResumptionKeys.getRequested(200), is(nullValue()));
+    }
+
+    @Test
+    public void parseWithoutKey() throws Exception {
+        DSpaceResumptionKeys.setRequested(100, LAST_ID);
+
+        ResumptionToken token = underTest.parse("oai_dc////100");
+
+        assertThat(token.getOffset(), is(100));
+        assertThat(DSpaceResumptionKeys.getRequested(100), is(nullValue()));
+    }
+
+    @Test(expected = BadResumptionToken.class)
+    public void parseWithInvalidKey() throws Exception {
+        underTest.parse("oai_dc////100/not-an-id");
+    }
+}
@@ -31,6 +31,7 @@ import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.hateoas.BitstreamResource;
 import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.HttpHeadersInitializer;
+import org.dspace.app.rest.utils.SendfileUtil;
 import org.dspace.app.rest.utils.Utils;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.content.Bitstream;
@@ -232,6 +233,14 @@ public class BitstreamRestController {
                     return ResponseEntity.ok().headers(httpHeaders).build();
                 }
 
+                // Let the servlet container send local files straight from the file system
+                if (bitstreamResource.isFile()
+                        && configurationService.getBooleanProperty("webui.content_sendfile.enabled", true)
+                        && SendfileUtil.sendFile(request, response, httpHeaders, bitstreamResource.getFile())) {
+                    log.debug("Sending bitstream {} using sendfile", uuid);
+                    return null;
+                }
+
                 return ResponseEntity.ok().headers(httpHeaders).body(bitstreamResource);
             }
 
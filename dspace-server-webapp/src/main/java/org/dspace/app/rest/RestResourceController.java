@@ -18,10 +18,16 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.UUID;
 
 import com.fasterxml.jackson.databind.JsonNode;
@@ -51,9 +57,13 @@ import org.dspace.app.rest.model.hateoas.HALResource;
 import org.dspace.app.rest.model.patch.Patch;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.repository.LinkRestRepository;
+import org.dspace.app.rest.utils.ContextUtil;
 import org.dspace.app.rest.utils.RestRepositoryUtils;
 import org.dspace.app.rest.utils.Utils;
+import org.dspace.app.util.Util;
 import org.dspace.authorize.AuthorizeException;
+import org.dspace.core.Context;
+import org.dspace.services.ConfigurationService;
 import org.dspace.util.UUIDUtils;
 import org.springframework.aop.AopInvocationException;
 import org.springframework.beans.factory.InitializingBean;
@@ -74,6 +84,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -82,6 +93,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -118,6 +130,9 @@ public class RestResourceController implements InitializingBean {
     @Autowired
     ConverterService converter;
 
+    @Autowired
+    private ConfigurationService configurationService;
+
     @Override
     public void afterPropertiesSet() {
         List<Link> links = new ArrayList<>();
@@ -202,10 +217,71 @@ public class RestResourceController implements InitializingBean {
      */
     @RequestMapping(method = RequestMethod.GET, value = REGEX_REQUESTMAPPING_IDENTIFIER_AS_UUID)
     public HALResource<RestAddressableModel> findOne(@PathVariable String apiCategory, @PathVariable String model,
-                                                        @PathVariable UUID uuid) {
+                                                        @PathVariable UUID uuid, HttpServletRequest request,
+                                                        HttpServletResponse response) {
+        if (isNotModified(apiCategory, model, uuid, request, response)) {
+            // 304 Not Modified, without a body
+            return null;
+        }
         return findOneInternal(apiCategory, model, uuid);
     }
 
+    /**
+     * Check a conditional request for a single resource, before the resource is converted. A weak ETag is derived
+     * from the time the resource was last modified, the projection and embeds requested, and the current user (as
+     * e.g. hidden metadata are only shown to administrators). The ETag is set on the response, which is turned into
+     * a 304 Not Modified response if it matches the If-None-Match header.
+     * <p>
+     * Only the repositories which know the time their resources were last modified support this, see
+     * {@link DSpaceRestRepository#findLastModified(Context, Serializable)}. The resources embedded in the response
+     * can change without that time changing, so requests with embeds are only checked if
+     * {@code rest.etag.embeds.enabled} is set.
+     *
+     * @return true if the resource wasn't modified, and mustn't be returned
+     */
+    private <ID extends Serializable> boolean isNotModified(String apiCategory, String model, ID id,
+                                                             HttpServletRequest request,
+                                                             HttpServletResponse response) {
+        if (!configurationService.getBooleanProperty("rest.etag.enabled", true)) {
+            return false;
+        }
+        // the projection and embed parameters, e.g. embed.size, which shape the response
+        Map<String, List<String>> parameters = new TreeMap<>();
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            if (parameter.getKey().startsWith("projection") || parameter.getKey().startsWith("embed")) {
+                parameters.put(parameter.getKey(), Arrays.stream(parameter.getValue()).sorted().toList());
+            }
+        }
+        if (!parameters.isEmpty() && !configurationService.getBooleanProperty("rest.etag.embeds.enabled", false)) {
+            return false;
+        }
+        DSpaceRestRepository<RestAddressableModel, ID> repository = utils.getResourceRepository(apiCategory, model);
+        Instant lastModified;
+        try {
+            lastModified = repository.findLastModifiedById(id);
+        } catch (ClassCastException | IllegalArgumentException | AopInvocationException e) {
+            // not found, see findOneInternal
+            return false;
+        }
+        if (lastModified == null) {
+            return false;
+        }
+
+        Context context = ContextUtil.obtainContext(request);
+        // the same on all nodes and across restarts, until the version or the configured salt changes
+        String salt = Util.getSourceVersion() + ";" + configurationService.getProperty("rest.etag.salt", "");
+        String validator = apiCategory + "." + model + "/" + id + "@" + lastModified + ";" + salt
+            + ";user=" + (context.getCurrentUser() == null ? "" : context.getCurrentUser().getID())
+            + ";groups=" + new TreeSet<>(context.getSpecialGroupUuids())
+            + ";parameters=" + parameters;
+        String etag = "W/\"" + DigestUtils.md5DigestAsHex(validator.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        // the response depends on the user, so only private caches may store it
+        response.setHeader(HttpHeaders.CACHE_CONTROL,
+                           context.getCurrentUser() == null ? "no-cache" : "private, no-cache");
+        return new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
     /**
      * Internal method to retrieve single resource from an identifier of generic type
      *
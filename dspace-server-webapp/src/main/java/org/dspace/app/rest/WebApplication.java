@@ -25,6 +25,8 @@ import org.dspace.app.rest.utils.DSpaceAPIRequestLoggingFilter;
 import org.dspace.app.sitemap.GenerateSitemaps;
 import org.dspace.app.solrdatabaseresync.SolrDatabaseResyncCli;
 import org.dspace.app.util.DSpaceContextListener;
+import org.dspace.discovery.SearchServiceException;
+import org.dspace.discovery.queue.IndexQueueProcessor;
 import org.dspace.google.GoogleAsyncEventListener;
 import org.dspace.utils.servlet.DSpaceWebappServletFilter;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -88,6 +90,11 @@ public class WebApplication {
         SolrDatabaseResyncCli.runScheduled();
     }
 
+    @Scheduled(cron = "${discovery.index.queue.cron:-}")
+    public void processDiscoveryIndexQueue() throws SQLException, SearchServiceException {
+        IndexQueueProcessor.runScheduled();
+    }
+
     @Scheduled(cron = "${google.analytics.cron:-}")
     public void sendGoogleAnalyticsEvents() {
         googleAsyncEventListener.sendCollectedEvents();
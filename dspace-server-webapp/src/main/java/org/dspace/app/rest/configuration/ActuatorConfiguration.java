@@ -13,9 +13,12 @@ import java.util.Arrays;
 
 import org.apache.solr.client.solrj.SolrServerException;
 import org.dspace.app.rest.DiscoverableEndpointsService;
+import org.dspace.app.rest.health.AuthorizationCacheHealthIndicator;
+import org.dspace.app.rest.health.DiscoveryIndexQueueHealthIndicator;
 import org.dspace.app.rest.health.GeoIpHealthIndicator;
 import org.dspace.app.rest.health.SEOHealthIndicator;
 import org.dspace.app.rest.health.SolrHealthIndicator;
+import org.dspace.app.rest.health.StatisticsQueueHealthIndicator;
 import org.dspace.authority.AuthoritySolrServiceImpl;
 import org.dspace.discovery.SolrSearchCore;
 import org.dspace.statistics.SolrStatisticsCore;
@@ -95,6 +98,27 @@ public class ActuatorConfiguration {
         return new GeoIpHealthIndicator();
     }
 
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("discoveryIndexQueue")
+    @ConditionalOnProperty("discovery.index.queue.enabled")
+    public DiscoveryIndexQueueHealthIndicator discoveryIndexQueueHealthIndicator() {
+        return new DiscoveryIndexQueueHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("authorizationCache")
+    @ConditionalOnProperty("core.authorization.cache.enabled")
+    public AuthorizationCacheHealthIndicator authorizationCacheHealthIndicator() {
+        return new AuthorizationCacheHealthIndicator();
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("statisticsQueue")
+    @ConditionalOnProperty("solr-statistics.queue.enabled")
+    public StatisticsQueueHealthIndicator statisticsQueueHealthIndicator() {
+        return new StatisticsQueueHealthIndicator();
+    }
+
     public String getActuatorBasePath() {
         return actuatorBasePath;
     }
@@ -213,6 +213,7 @@ public class ConverterService {
                 transformedList.add(transformedObject);
             }
         }
+        utils.linkBatch(transformedList);
         return new PageImpl(transformedList, pageable, modelObjects.size());
     }
 
@@ -237,6 +238,7 @@ public class ConverterService {
                 transformedList.add(transformedObject);
             }
         }
+        utils.linkBatch(transformedList);
         if (pageable == null) {
             pageable = utils.getPageable(pageable);
         }
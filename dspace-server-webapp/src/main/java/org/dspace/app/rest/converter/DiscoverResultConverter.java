@@ -20,6 +20,7 @@ import org.dspace.app.rest.model.SearchResultEntryRest;
 import org.dspace.app.rest.model.SearchResultsRest;
 import org.dspace.app.rest.parameter.SearchFilter;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.utils.Utils;
 import org.dspace.core.Context;
 import org.dspace.discovery.DiscoverResult;
 import org.dspace.discovery.IndexableObject;
@@ -47,6 +48,8 @@ public class DiscoverResultConverter {
     private DiscoverFacetsConverter facetConverter;
     @Autowired
     private SearchFilterToAppliedFilterConverter searchFilterToAppliedFilterConverter;
+    @Autowired
+    private Utils utils;
 
     public SearchResultsRest convert(final Context context, final String query, final List<String> dsoTypes,
                                      final String configurationName, final String scope,
@@ -94,6 +97,8 @@ public class DiscoverResultConverter {
 
             resultsRest.addSearchResult(resultEntry);
         }
+        utils.linkBatch(CollectionUtils.emptyIfNull(resultsRest.getSearchResults()).stream()
+                                       .map(SearchResultEntryRest::getIndexableObject).toList());
     }
 
     private RestAddressableModel convertDSpaceObject(final IndexableObject indexableObject,
@@ -0,0 +1,37 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.authorize.AuthorizationDecisionCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the hits, misses, size and invalidations of the shared
+ * {@link AuthorizationDecisionCache}, counted since the application started.
+ */
+public class AuthorizationCacheHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private AuthorizationDecisionCache authorizationDecisionCache;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        long hits = authorizationDecisionCache.getHits();
+        long misses = authorizationDecisionCache.getMisses();
+        builder.up()
+               .withDetail("hits", hits)
+               .withDetail("misses", misses)
+               .withDetail("hitRatio", hits + misses == 0 ? 0d : (double) hits / (hits + misses))
+               .withDetail("size", authorizationDecisionCache.size())
+               .withDetail("invalidations", authorizationDecisionCache.getInvalidations());
+    }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import static org.dspace.app.rest.configuration.ActuatorConfiguration.UP_WITH_ISSUES_STATUS;
+
+import java.time.Duration;
+
+import org.dspace.core.Context;
+import org.dspace.discovery.queue.service.IndexQueueService;
+import org.dspace.services.ConfigurationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the depth (the number of queued records) and the lag (how
+ * long the oldest record has been waiting) of the discovery index queue. The status is UP_WITH_ISSUES when the lag
+ * exceeds the configured maximum.
+ */
+public class DiscoveryIndexQueueHealthIndicator extends AbstractHealthIndicator {
+
+    public static final String MAX_LAG_PROPERTY = "discovery.index.queue.max-lag";
+
+    @Autowired
+    private IndexQueueService indexQueueService;
+
+    @Autowired
+    private ConfigurationService configurationService;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        Context context = new Context(Context.Mode.READ_ONLY);
+        try {
+            long depth = indexQueueService.countEntries(context);
+            Duration lag = indexQueueService.getLag(context);
+            Duration maxLag = Duration.ofSeconds(configurationService.getLongProperty(MAX_LAG_PROPERTY, 600));
+
+            if (lag.compareTo(maxLag) > 0) {
+                builder.status(UP_WITH_ISSUES_STATUS)
+                       .withDetail("reason", "The oldest record has been waiting for more than " + maxLag);
+            } else {
+                builder.up();
+            }
+            builder.withDetail("depth", depth)
+                   .withDetail("lagSeconds", lag.toSeconds());
+        } finally {
+            context.abort();
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.health;
+
+import org.dspace.statistics.StatisticsIngestQueue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health.Builder;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Implementation of {@link HealthIndicator} that reports the depth of the {@link StatisticsIngestQueue} and the
+ * number of usage events it accepted, wrote, failed to write, dropped and journaled since the application started.
+ */
+public class StatisticsQueueHealthIndicator extends AbstractHealthIndicator {
+
+    @Autowired
+    private StatisticsIngestQueue statisticsIngestQueue;
+
+    @Override
+    protected void doHealthCheck(Builder builder) throws Exception {
+        builder.up()
+               .withDetail("depth", statisticsIngestQueue.getDepth())
+               .withDetail("accepted", statisticsIngestQueue.getAccepted())
+               .withDetail("written", statisticsIngestQueue.getWritten())
+               .withDetail("failed", statisticsIngestQueue.getFailed())
+               .withDetail("dropped", statisticsIngestQueue.getDropped())
+               .withDetail("journaled", statisticsIngestQueue.getJournaled());
+    }
+
+}
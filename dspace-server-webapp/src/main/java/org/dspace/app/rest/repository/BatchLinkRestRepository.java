@@ -0,0 +1,36 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.dspace.app.rest.projection.Projection;
+
+/**
+ * A {@link LinkRestRepository} which can also get the linked resource of many objects at once. When a page of
+ * objects is converted, the rel is then embedded with one call for the whole page rather than one call, and its
+ * queries, per object.
+ * <p>
+ * The objects for which no result is returned are embedded through the link method of the
+ * {@link org.dspace.app.rest.model.LinkRest} annotation, one by one, as usual. An implementation should leave out
+ * the objects which the current user is not allowed to read, so that the link method can deny the access to them.
+ *
+ * @see org.dspace.app.rest.utils.Utils#embedOrLinkClassLevelRels
+ */
+public interface BatchLinkRestRepository extends LinkRestRepository {
+
+    /**
+     * Get the linked resources of several objects.
+     *
+     * @param ids        the ids of the objects, as given to the link method
+     * @param projection the projection to use for the linked resources
+     * @return the linked resource of each object, by id, with a null value for an object without one
+     */
+    Map<Object, Object> getResources(List<Object> ids, Projection projection);
+}
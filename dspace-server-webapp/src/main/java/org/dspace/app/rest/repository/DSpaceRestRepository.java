@@ -11,6 +11,7 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.Serializable;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -147,6 +148,31 @@ public abstract class DSpaceRestRepository<T extends RestAddressableModel, ID ex
      */
     public abstract T findOne(Context context, ID id);
 
+    /**
+     * Return the time a specific REST object was last modified, so that a conditional request for it can be answered
+     * without converting it
+     *
+     * @return the last modification time, or null if it isn't known
+     */
+    public Instant findLastModifiedById(ID id) {
+        Context context = obtainContext();
+        return getThisRepository().findLastModified(context, id);
+    }
+
+    /**
+     * Method to override to support conditional requests for a specific REST object instance. It must check the
+     * same permissions as {@link #findOne(Context, Serializable)}. The default implementation returns null.
+     *
+     * @param context
+     *            the dspace context
+     * @param id
+     *            the rest object id
+     * @return the time the object was last modified, or null if it isn't known
+     */
+    public Instant findLastModified(Context context, ID id) {
+        return null;
+    }
+
     @Override
     /**
      * Return true if an object exist for the specified ID. The default implementation is inefficient as it retrieves
@@ -10,6 +10,10 @@ package org.dspace.app.rest.repository;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.annotation.Nullable;
@@ -19,9 +23,11 @@ import org.dspace.access.status.service.AccessStatusService;
 import org.dspace.app.rest.model.AccessStatusRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.AccessStatus;
 import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -34,7 +40,7 @@ import org.springframework.stereotype.Component;
  */
 @Component(ItemRest.CATEGORY + "." + ItemRest.PLURAL_NAME + "." + ItemRest.ACCESS_STATUS)
 public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
-    implements LinkRestRepository {
+    implements BatchLinkRestRepository {
 
     @Autowired
     ItemService itemService;
@@ -42,6 +48,9 @@ public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
     @Autowired
     AccessStatusService accessStatusService;
 
+    @Autowired
+    AuthorizeService authorizeService;
+
     @PreAuthorize("hasPermission(#itemId, 'ITEM', 'READ')")
     public AccessStatusRest getAccessStatus(@Nullable HttpServletRequest request,
                                             UUID itemId,
@@ -53,18 +62,48 @@ public class ItemAccessStatusLinkRepository extends AbstractDSpaceRestRepository
             if (item == null) {
                 throw new ResourceNotFoundException("No such item: " + itemId);
             }
-            AccessStatusRest accessStatusRest = new AccessStatusRest();
-            AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
-            String status = accessStatus.getStatus();
-            if (status == DefaultAccessStatusHelper.EMBARGO) {
-                LocalDate availabilityDate = accessStatus.getAvailabilityDate();
-                String embargoDate = availabilityDate.toString();
-                accessStatusRest.setEmbargoDate(embargoDate);
+            return getAccessStatus(context, item);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Calculate the access status of the items which the current user can read, loading the bundles and bitstreams
+     * of all the items at once.
+     */
+    @Override
+    public Map<Object, Object> getResources(List<Object> ids, Projection projection) {
+        try {
+            Context context = obtainContext();
+            List<Item> items = new ArrayList<>(ids.size());
+            for (Object id : ids) {
+                Item item = itemService.find(context, (UUID) id);
+                if (item != null && authorizeService.authorizeActionBoolean(context, item, Constants.READ)) {
+                    items.add(item);
+                }
+            }
+            itemService.prefetchBundlesAndBitstreams(context, items);
+            Map<Object, Object> accessStatuses = new HashMap<>();
+            for (Item item : items) {
+                accessStatuses.put(item.getID(), getAccessStatus(context, item));
             }
-            accessStatusRest.setStatus(status);
-            return accessStatusRest;
+            return accessStatuses;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private AccessStatusRest getAccessStatus(Context context, Item item) throws SQLException {
+        AccessStatusRest accessStatusRest = new AccessStatusRest();
+        AccessStatus accessStatus = accessStatusService.getAccessStatus(context, item);
+        String status = accessStatus.getStatus();
+        if (status == DefaultAccessStatusHelper.EMBARGO) {
+            LocalDate availabilityDate = accessStatus.getAvailabilityDate();
+            String embargoDate = availabilityDate.toString();
+            accessStatusRest.setEmbargoDate(embargoDate);
+        }
+        accessStatusRest.setStatus(status);
+        return accessStatusRest;
+    }
 }
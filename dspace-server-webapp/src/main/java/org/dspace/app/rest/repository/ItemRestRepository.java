@@ -9,6 +9,7 @@ package org.dspace.app.rest.repository;
 
 import java.io.IOException;
 import java.sql.SQLException;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -120,6 +121,30 @@ public class ItemRestRepository extends DSpaceObjectRestRepository<Item, ItemRes
         return converter.toRest(item, utils.obtainProjection());
     }
 
+    @Override
+    @PreAuthorize("hasPermission(#id, 'ITEM', 'STATUS') || hasPermission(#id, 'ITEM', 'READ')")
+    public Instant findLastModified(Context context, UUID id) {
+        Item item = null;
+        try {
+            item = itemService.find(context, id);
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        if (item == null || item.getTemplateItemOf() != null) {
+            return null;
+        }
+        try {
+            // the virtual metadata of the related items (and of the items they are related to) change without the
+            // item being modified, so these items get no ETag
+            if (relationshipService.countByItem(context, item) > 0) {
+                return null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+        return item.getLastModified();
+    }
+
     @Override
     @PreAuthorize("hasAuthority('ADMIN')")
     public Page<ItemRest> findAll(Context context, Pageable pageable) {
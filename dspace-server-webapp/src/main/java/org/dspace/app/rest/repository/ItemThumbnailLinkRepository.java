@@ -9,6 +9,10 @@
 package org.dspace.app.rest.repository;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.annotation.Nullable;
@@ -16,9 +20,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.dspace.app.rest.model.BitstreamRest;
 import org.dspace.app.rest.model.ItemRest;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.content.Item;
 import org.dspace.content.Thumbnail;
 import org.dspace.content.service.ItemService;
+import org.dspace.core.Constants;
 import org.dspace.core.Context;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
@@ -30,10 +36,13 @@ import org.springframework.stereotype.Component;
  * Link repository for the thumbnail Bitstream of an Item
  */
 @Component(ItemRest.CATEGORY + "." + ItemRest.PLURAL_NAME + "." + ItemRest.THUMBNAIL)
-public class ItemThumbnailLinkRepository extends AbstractDSpaceRestRepository implements LinkRestRepository {
+public class ItemThumbnailLinkRepository extends AbstractDSpaceRestRepository implements BatchLinkRestRepository {
     @Autowired
     ItemService itemService;
 
+    @Autowired
+    AuthorizeService authorizeService;
+
     @PreAuthorize("hasPermission(#itemId, 'ITEM', 'READ')")
     public BitstreamRest getThumbnail(@Nullable HttpServletRequest request,
                                       UUID itemId,
@@ -45,13 +54,43 @@ public class ItemThumbnailLinkRepository extends AbstractDSpaceRestRepository im
             if (item == null) {
                 throw new ResourceNotFoundException("No such item: " + itemId);
             }
-            Thumbnail thumbnail = itemService.getThumbnail(context, item, false);
-            if (thumbnail == null) {
-                return null;
+            return getThumbnail(context, item, projection);
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the thumbnails of the items which the current user can read, loading the bundles and bitstreams of all
+     * the items at once.
+     */
+    @Override
+    public Map<Object, Object> getResources(List<Object> ids, Projection projection) {
+        try {
+            Context context = obtainContext();
+            List<Item> items = new ArrayList<>(ids.size());
+            for (Object id : ids) {
+                Item item = itemService.find(context, (UUID) id);
+                if (item != null && authorizeService.authorizeActionBoolean(context, item, Constants.READ)) {
+                    items.add(item);
+                }
+            }
+            itemService.prefetchBundlesAndBitstreams(context, items);
+            Map<Object, Object> thumbnails = new HashMap<>();
+            for (Item item : items) {
+                thumbnails.put(item.getID(), getThumbnail(context, item, projection));
             }
-            return converter.toRest(thumbnail.getThumb(), projection);
+            return thumbnails;
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
+
+    private BitstreamRest getThumbnail(Context context, Item item, Projection projection) throws SQLException {
+        Thumbnail thumbnail = itemService.getThumbnail(context, item, false);
+        if (thumbnail == null) {
+            return null;
+        }
+        return converter.toRest(thumbnail.getThumb(), projection);
+    }
 }
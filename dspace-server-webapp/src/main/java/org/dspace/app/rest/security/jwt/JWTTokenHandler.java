@@ -11,6 +11,9 @@ import java.sql.SQLException;
 import java.text.ParseException;
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.nimbusds.jose.CompressionAlgorithm;
 import com.nimbusds.jose.EncryptionMethod;
@@ -38,6 +41,7 @@ import org.apache.logging.log4j.Logger;
 import org.dspace.authorize.AuthorizeException;
 import org.dspace.core.Context;
 import org.dspace.eperson.EPerson;
+import org.dspace.eperson.PasswordHash;
 import org.dspace.eperson.service.EPersonService;
 import org.dspace.service.ClientInfoService;
 import org.dspace.services.ConfigurationService;
@@ -59,6 +63,12 @@ public abstract class JWTTokenHandler {
     private static final int MAX_CLOCK_SKEW_SECONDS = 60;
     private static final String AUTHORIZATION_TOKEN_PARAMETER = "authentication-token";
 
+    /**
+     * The number of seconds a verified token is remembered, 0 to verify every token each time it is used
+     */
+    public static final String CACHE_TTL_PROPERTY = "jwt.cache.ttl";
+    public static final String CACHE_MAX_ENTRIES_PROPERTY = "jwt.cache.max-entries";
+
     private static final Logger log = LogManager.getLogger();
 
     @Autowired
@@ -79,6 +89,22 @@ public abstract class JWTTokenHandler {
     private String generatedJwtKey;
     private String generatedEncryptionKey;
 
+    /**
+     * The tokens verified recently, by token
+     */
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * A token whose signature and expiration were verified, with the state of its EPerson at that time.
+     *
+     * @param claims       the claims of the token
+     * @param sessionSalt  the session salt of the EPerson, which is changed by a logout or a new session
+     * @param passwordHash the password hash of the EPerson
+     * @param expiresAt    when the token must be verified again, in milliseconds
+     */
+    private record VerifiedToken(JWTClaimsSet claims, String sessionSalt, String passwordHash, long expiresAt) {
+    }
+
     /**
      * Get the configuration property key for the token secret.
      * @return the configuration property key
@@ -125,6 +151,18 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isBlank(token)) {
             return null;
         }
+        // skip the decryption and verification of a token verified recently, as long as its EPerson is unchanged
+        VerifiedToken verifiedToken = verifiedTokens.get(token);
+        if (verifiedToken != null) {
+            EPerson ePerson = getEPerson(context, verifiedToken.claims());
+            if (verifiedToken.expiresAt() > System.currentTimeMillis() && isUnchanged(verifiedToken, ePerson)) {
+                log.debug("Received verified token for username: {}", ePerson::getEmail);
+                parseClaims(context, request, verifiedToken.claims());
+                return ePerson;
+            }
+            verifiedTokens.remove(token);
+        }
+
         // parse/decrypt the token
         SignedJWT signedJWT = getSignedJWT(token);
         // get the claims set from the parsed token
@@ -137,9 +175,8 @@ public abstract class JWTTokenHandler {
 
             log.debug("Received valid token for username: {}", ePerson::getEmail);
 
-            for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
-                jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
-            }
+            parseClaims(context, request, jwtClaimsSet);
+            rememberVerifiedToken(token, jwtClaimsSet, ePerson);
 
             return ePerson;
         } else {
@@ -196,6 +233,7 @@ public abstract class JWTTokenHandler {
         if (StringUtils.isNotBlank(token)) {
 
             EPerson ePerson = parseEPersonFromToken(token, request, context);
+            verifiedTokens.remove(token);
             if (ePerson != null) {
                 ePerson.setSessionSalt("");
             }
@@ -323,6 +361,53 @@ public abstract class JWTTokenHandler {
         return ePersonClaimProvider.getEPerson(context, jwtClaimsSet);
     }
 
+    private void parseClaims(Context context, HttpServletRequest request, JWTClaimsSet jwtClaimsSet)
+        throws SQLException {
+        for (JWTClaimProvider jwtClaimProvider : jwtClaimProviders) {
+            jwtClaimProvider.parseClaim(context, request, jwtClaimsSet);
+        }
+    }
+
+    /**
+     * Remember a valid token for the configured time, or until it expires, so that it isn't decrypted and verified
+     * again by the next requests.
+     * @param token string token
+     * @param jwtClaimsSet claims set of the token
+     * @param ePerson EPerson of the token
+     */
+    private void rememberVerifiedToken(String token, JWTClaimsSet jwtClaimsSet, EPerson ePerson) {
+        long ttl = configurationService.getLongProperty(CACHE_TTL_PROPERTY, 60);
+        if (ttl <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (verifiedTokens.size() >= configurationService.getIntProperty(CACHE_MAX_ENTRIES_PROPERTY, 10000)) {
+            verifiedTokens.values().removeIf(verifiedToken -> verifiedToken.expiresAt() <= now);
+            if (verifiedTokens.size() >= configurationService.getIntProperty(CACHE_MAX_ENTRIES_PROPERTY, 10000)) {
+                verifiedTokens.clear();
+            }
+        }
+        long expiresAt = Math.min(now + ttl * 1000, jwtClaimsSet.getExpirationTime().getTime());
+        verifiedTokens.put(token, new VerifiedToken(jwtClaimsSet, ePerson.getSessionSalt(), getPasswordHash(ePerson),
+                                                    expiresAt));
+    }
+
+    /**
+     * Whether the EPerson of a verified token still has the session salt and password it had then: a logout, a new
+     * session or a password change make the token be verified again.
+     */
+    private boolean isUnchanged(VerifiedToken verifiedToken, EPerson ePerson) {
+        return ePerson != null
+            && StringUtils.isNotBlank(ePerson.getSessionSalt())
+            && verifiedToken.sessionSalt().equals(ePerson.getSessionSalt())
+            && Objects.equals(verifiedToken.passwordHash(), getPasswordHash(ePerson));
+    }
+
+    private String getPasswordHash(EPerson ePerson) {
+        PasswordHash passwordHash = ePersonService.getPasswordHash(ePerson);
+        return passwordHash != null ? passwordHash.getHashString() : null;
+    }
+
     /**
      * Create a signed JWT from the given EPerson and claims set.
      * @param request current request
@@ -8,6 +8,9 @@
 package org.dspace.app.rest.utils;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.sql.SQLException;
@@ -92,9 +95,33 @@ public class BitstreamResource extends AbstractResource {
     public InputStream getInputStream() throws IOException {
         fetchDocument();
 
+        if (document.file() != null) {
+            return new FileInputStream(document.file());
+        }
         return document.inputStream();
     }
 
+    /**
+     * @return whether the content is available as a local file, which can be sent without copying it through the
+     * heap
+     */
+    @Override
+    public boolean isFile() {
+        fetchDocument();
+
+        return document.file() != null;
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        fetchDocument();
+
+        if (document.file() == null) {
+            throw new FileNotFoundException(getDescription() + " is not available as a local file");
+        }
+        return document.file();
+    }
+
     @Override
     public String getFilename() {
         return name;
@@ -127,9 +154,7 @@ public class BitstreamResource extends AbstractResource {
                         coverPage.length,
                         new ByteArrayInputStream(coverPage));
             } else {
-                this.document = new BitstreamDocument(bitstream.getChecksum(),
-                        bitstream.getSizeBytes(),
-                        bitstreamService.retrieve(context, bitstream));
+                this.document = getBitstreamDocument(context, bitstream);
             }
         } catch (SQLException | AuthorizeException | IOException e) {
             throw new RuntimeException(e);
@@ -138,6 +163,20 @@ public class BitstreamResource extends AbstractResource {
         LOG.debug("fetched document {} {}", shouldGenerateCoverPage, document);
     }
 
+    /**
+     * Get the document for the content of the bitstream. When the assetstore keeps the content in a local file, the
+     * document refers to that file instead of holding an open stream.
+     */
+    BitstreamDocument getBitstreamDocument(Context context, Bitstream bitstream)
+            throws SQLException, AuthorizeException, IOException {
+        File file = bitstreamService.retrieveFile(context, bitstream);
+        if (file != null) {
+            return new BitstreamDocument(bitstream.getChecksum(), bitstream.getSizeBytes(), null, file);
+        }
+        return new BitstreamDocument(bitstream.getChecksum(), bitstream.getSizeBytes(),
+                bitstreamService.retrieve(context, bitstream));
+    }
+
     String etag(Bitstream bitstream) {
 
          /* Ideally we would calculate the md5 checksum based on the document with coverpage.
@@ -165,5 +204,9 @@ public class BitstreamResource extends AbstractResource {
         return context;
     }
 
-    record BitstreamDocument(String etag, long length, InputStream inputStream) {}
+    record BitstreamDocument(String etag, long length, InputStream inputStream, File file) {
+        BitstreamDocument(String etag, long length, InputStream inputStream) {
+            this(etag, length, inputStream, null);
+        }
+    }
 }
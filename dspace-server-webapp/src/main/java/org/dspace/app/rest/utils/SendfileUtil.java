@@ -0,0 +1,110 @@
+/**
+ * The contents of this file are subject to the license and copyright
+ * detailed in the LICENSE and NOTICE files at the root of the source
+ * tree and available online at
+ *
+ * http://www.dspace.org/license/
+ */
+package org.dspace.app.rest.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+/**
+ * Utility methods to send a local file as the body of a response using the sendfile support of the servlet
+ * container, so that the operating system copies the file to the socket without passing the content through the
+ * JVM heap.
+ * <p>
+ * Tomcat announces this support with the {@link #SENDFILE_SUPPORTED} request attribute, and sends the file given in
+ * the {@link #SENDFILE_FILENAME} attribute once the servlet returns without writing a body. Requests for multiple
+ * ranges or with an If-Range header aren't handled here, they should be served by the regular (streaming) path.
+ */
+public class SendfileUtil {
+
+    private static final Logger log = LogManager.getLogger(SendfileUtil.class);
+
+    public static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    public static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    public static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    public static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    /**
+     * Default constructor
+     */
+    private SendfileUtil() { }
+
+    /**
+     * @param request the servlet request object
+     * @return whether the servlet container can send files for this request
+     */
+    public static boolean isSendfileSupported(HttpServletRequest request) {
+        return Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED));
+    }
+
+    /**
+     * Prepare the response to send the file, or the single byte range requested from it, through the sendfile
+     * support of the servlet container. The status and headers are set on the response, the caller shouldn't write
+     * anything else to it.
+     *
+     * @param request  the servlet request object
+     * @param response the servlet response object
+     * @param headers  the headers to send with the file, the Content-Length is replaced by the length of the range
+     * @param file     the file to send
+     * @return true if the file will be sent by the servlet container, false if the request should be served by the
+     * regular path
+     * @throws IOException if the path of the file can't be determined
+     */
+    public static boolean sendFile(HttpServletRequest request, HttpServletResponse response, HttpHeaders headers,
+                                   File file) throws IOException {
+        if (!isSendfileSupported(request) || request.getHeader(HttpHeaders.IF_RANGE) != null) {
+            return false;
+        }
+
+        long length = file.length();
+        long start = 0;
+        long end = length;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (StringUtils.isNotBlank(rangeHeader)) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() != 1) {
+                    return false;
+                }
+                start = ranges.get(0).getRangeStart(length);
+                end = ranges.get(0).getRangeEnd(length) + 1;
+            } catch (IllegalArgumentException e) {
+                // let the regular path reject the unsatisfiable range
+                log.debug("Invalid range {} for a file of {} bytes", rangeHeader, length, e);
+                return false;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+        } else {
+            response.setStatus(HttpServletResponse.SC_OK);
+        }
+
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(header.getKey())) {
+                for (String value : header.getValue()) {
+                    response.addHeader(header.getKey(), value);
+                }
+            }
+        }
+        response.setContentLengthLong(end - start);
+
+        request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        return true;
+    }
+}
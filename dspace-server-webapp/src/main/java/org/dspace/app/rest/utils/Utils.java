@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -73,6 +74,7 @@ import org.dspace.app.rest.projection.CompositeProjection;
 import org.dspace.app.rest.projection.DefaultProjection;
 import org.dspace.app.rest.projection.EmbedRelsProjection;
 import org.dspace.app.rest.projection.Projection;
+import org.dspace.app.rest.repository.BatchLinkRestRepository;
 import org.dspace.app.rest.repository.DSpaceRestRepository;
 import org.dspace.app.rest.repository.LinkRestRepository;
 import org.dspace.app.rest.repository.ReloadableEntityObjectRepository;
@@ -84,6 +86,7 @@ import org.dspace.core.Context;
 import org.dspace.services.ConfigurationService;
 import org.dspace.services.RequestService;
 import org.dspace.services.factory.DSpaceServicesFactory;
+import org.dspace.services.model.Request;
 import org.dspace.util.UUIDUtils;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -121,6 +124,11 @@ public class Utils {
      */
     private static final int EMBED_MAX_LEVELS = 10;
 
+    /**
+     * The request attribute holding the {@link LinkBatches} of the request.
+     */
+    private static final String LINK_BATCHES_ATTRIBUTE = Utils.class.getName() + ".linkBatches";
+
     @Autowired
     ApplicationContext applicationContext;
 
@@ -148,6 +156,24 @@ public class Utils {
     /** Cache to support fast lookups of LinkRest method annotation information. */
     private final Map<Method, Optional<LinkRest>> linkAnnotationForMethod = new HashMap<>();
 
+    /**
+     * The rest objects converted together during a request, and the linked resources which a
+     * {@link BatchLinkRestRepository} returned for them.
+     */
+    private static class LinkBatches {
+        /** The objects converted together, by object */
+        private final Map<RestAddressableModel, List<RestAddressableModel>> pages = new IdentityHashMap<>();
+        /** The linked resources, by repository and projection */
+        private final Map<List<Object>, BatchResources> resources = new HashMap<>();
+    }
+
+    private static class BatchResources {
+        /** The ids of the objects requested from the repository already */
+        private final Set<Object> requested = new HashSet<>();
+        /** The linked resources not embedded yet, by object id */
+        private final Map<Object, Object> resources = new HashMap<>();
+    }
+
     public <T> Page<T> getPage(List<T> fullContents, @Nullable Pageable optionalPageable) {
         Pageable pageable = getPageable(optionalPageable);
         int total = fullContents.size();
@@ -745,8 +771,17 @@ public class Utils {
             Method method = requireMethod(linkRepository.getClass(), linkRest.method());
             Object contentId = getContentIdForLinkMethod(resource.getContent(), method);
             try {
-                Object linkedObject = method.invoke(linkRepository, null, contentId,
-                                                    projection.getPagingOptions(rel, resource, oldLinks), projection);
+                Map<Object, Object> batched = linkRepository instanceof BatchLinkRestRepository
+                    ? getBatchedResources((BatchLinkRestRepository) linkRepository, resource.getContent(), rel,
+                                          method, contentId)
+                    : Map.of();
+                Object linkedObject;
+                if (batched.containsKey(contentId)) {
+                    linkedObject = batched.remove(contentId);
+                } else {
+                    linkedObject = method.invoke(linkRepository, null, contentId,
+                                                 projection.getPagingOptions(rel, resource, oldLinks), projection);
+                }
                 resource.embedResource(rel, wrapForEmbedding(resource, linkedObject, link, oldLinks));
             } catch (InvocationTargetException e) {
                 // This will be thrown from the LinkRepository if a Resource has been requested that'll try to embed
@@ -766,6 +801,90 @@ public class Utils {
         }
     }
 
+    /**
+     * Remembers that the given rest objects are converted together, e.g. as a page of results, so that a rel
+     * whose link repository is a {@link BatchLinkRestRepository} is embedded with one call for all of them
+     * rather than one call per object. Does nothing outside of a request.
+     *
+     * @param restObjects the rest objects, of which the {@link RestAddressableModel}s are remembered.
+     */
+    public void linkBatch(Iterable<?> restObjects) {
+        List<RestAddressableModel> page = new ArrayList<>();
+        for (Object restObject : restObjects) {
+            if (restObject instanceof RestAddressableModel) {
+                page.add((RestAddressableModel) restObject);
+            }
+        }
+        if (page.size() < 2) {
+            return;
+        }
+        LinkBatches linkBatches = getLinkBatches(true);
+        if (linkBatches != null) {
+            for (RestAddressableModel restObject : page) {
+                linkBatches.pages.put(restObject, page);
+            }
+        }
+    }
+
+    /**
+     * Gets the linked resources of the given rest object and of the objects converted together with it, which
+     * haven't been embedded yet, calling the batch repository once for all the objects which it wasn't asked
+     * about yet.
+     *
+     * @param repository the batch link repository.
+     * @param restObject the rest object whose rel is embedded.
+     * @param rel the name of the rel.
+     * @param method the link method of the repository, which gives the type of the object ids.
+     * @param contentId the id of the rest object.
+     * @return the linked resources not embedded yet, by object id, which may not contain the given id.
+     */
+    private Map<Object, Object> getBatchedResources(BatchLinkRestRepository repository,
+                                                    RestAddressableModel restObject, String rel, Method method,
+                                                    Object contentId) {
+        LinkBatches linkBatches = getLinkBatches(false);
+        List<RestAddressableModel> page = linkBatches != null ? linkBatches.pages.get(restObject) : null;
+        if (page == null) {
+            return Map.of();
+        }
+        Projection projection = restObject.getProjection();
+        BatchResources batchResources = linkBatches.resources.computeIfAbsent(List.of(repository, projection),
+                                                                             key -> new BatchResources());
+        if (batchResources.requested.contains(contentId)) {
+            return batchResources.resources;
+        }
+        List<Object> ids = new ArrayList<>();
+        for (RestAddressableModel sibling : page) {
+            if (sibling.getClass() == restObject.getClass() && sibling.getProjection() == projection
+                && sibling.getEmbedLevel() == restObject.getEmbedLevel()
+                && repository.isEmbeddableRelation(sibling, rel)) {
+                Object id = getContentIdForLinkMethod(sibling, method);
+                if (batchResources.requested.add(id)) {
+                    ids.add(id);
+                }
+            }
+        }
+        if (batchResources.requested.add(contentId)) {
+            ids.add(contentId);
+        }
+        if (ids.size() > 1) {
+            batchResources.resources.putAll(repository.getResources(ids, projection));
+        }
+        return batchResources.resources;
+    }
+
+    private @Nullable LinkBatches getLinkBatches(boolean create) {
+        Request currentRequest = requestService.getCurrentRequest();
+        if (currentRequest == null) {
+            return null;
+        }
+        LinkBatches linkBatches = (LinkBatches) currentRequest.getAttribute(LINK_BATCHES_ATTRIBUTE);
+        if (linkBatches == null && create) {
+            linkBatches = new LinkBatches();
+            currentRequest.setAttribute(LINK_BATCHES_ATTRIBUTE, linkBatches);
+        }
+        return linkBatches;
+    }
+
     /**
      * Adds embeds (if the maximum embed level has not been exceeded yet) for all properties annotated with
      * {@code @LinkRel} or whose return types are {@link RestAddressableModel} subclasses.
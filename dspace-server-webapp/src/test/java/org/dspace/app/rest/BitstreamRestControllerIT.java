@@ -41,6 +41,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.io.ByteArrayInputStream;
@@ -70,6 +71,7 @@ import org.dspace.app.requestitem.RequestItem;
 import org.dspace.app.requestitem.service.RequestItemService;
 import org.dspace.app.rest.model.RequestItemRest;
 import org.dspace.app.rest.test.AbstractControllerIntegrationTest;
+import org.dspace.app.rest.utils.SendfileUtil;
 import org.dspace.authorize.service.AuthorizeService;
 import org.dspace.authorize.service.ResourcePolicyService;
 import org.dspace.builder.BitstreamBuilder;
@@ -348,6 +350,74 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
             checkNumberOfStatsRecords(bitstream, 0);
     }
 
+    @Test
+    public void retrieveBitstreamUsingSendfile() throws Exception {
+        context.turnOffAuthorisationSystem();
+
+        //** GIVEN **
+        //1. A community-collection structure with one parent community and one collections.
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+
+        //2. A public item with a bitstream in the local assetstore
+        String bitstreamContent = "0123456789";
+
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+
+            Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                          .withTitle("Public item 1")
+                                          .build();
+
+            bitstream = BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Test bitstream")
+                .withMimeType("text/plain")
+                .build();
+        }
+        context.restoreAuthSystemState();
+
+        //** WHEN **
+        //The servlet container supports sendfile
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(SendfileUtil.SENDFILE_SUPPORTED, true))
+
+                   //** THEN **
+                   .andExpect(status().isOk())
+                   .andExpect(header().longValue("Content-Length", 10))
+                   .andExpect(header().string("ETag", "\"" + bitstream.getChecksum() + "\""))
+                   //The file is left to the servlet container instead of being written by DSpace
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_FILENAME, not(nullValue())))
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_START, 0L))
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_END, 10L))
+                   .andExpect(content().bytes(new byte[0]));
+
+        //** WHEN **
+        //We download only a specific byte range of the bitstream
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(SendfileUtil.SENDFILE_SUPPORTED, true)
+                                .header("Range", "bytes=1-3"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(header().longValue("Content-Length", 3))
+                   .andExpect(header().string("Content-Range", "bytes 1-3/10"))
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_START, 1L))
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_END, 4L));
+
+        //** WHEN **
+        //We request multiple ranges, which are streamed as usual
+        getClient().perform(get("/api/core/bitstreams/" + bitstream.getID() + "/content")
+                                .requestAttr(SendfileUtil.SENDFILE_SUPPORTED, true)
+                                .header("Range", "bytes=1-3,5-6"))
+
+                   //** THEN **
+                   .andExpect(status().is(206))
+                   .andExpect(request().attribute(SendfileUtil.SENDFILE_FILENAME, nullValue()));
+    }
+
     @Test
     public void testBitstreamName() throws Exception {
 
@@ -1214,6 +1284,8 @@ public class BitstreamRestControllerIT extends AbstractControllerIntegrationTest
         var bitstreamStorageServiceSpy = spy(bitstreamStorageService);
         ReflectionTestUtils.setField(bitstreamService, "bitstreamStorageService", bitstreamStorageServiceSpy);
         doReturn(inputStreamSpy).when(bitstreamStorageServiceSpy).retrieve(any(), eq(bitstream));
+        // Stream the content instead of serving the local file
+        doReturn(null).when(bitstreamStorageServiceSpy).retrieveFile(any(), eq(bitstream));
 
         //** WHEN **
         //We download the bitstream
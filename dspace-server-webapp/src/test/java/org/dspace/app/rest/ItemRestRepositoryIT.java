@@ -25,13 +25,16 @@ import static org.hamcrest.Matchers.emptyOrNullString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -50,6 +53,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.ws.rs.core.MediaType;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.CharEncoding;
+import org.dspace.access.status.DefaultAccessStatusHelper;
 import org.dspace.app.rest.matcher.BitstreamMatcher;
 import org.dspace.app.rest.matcher.BundleMatcher;
 import org.dspace.app.rest.matcher.CollectionMatcher;
@@ -88,6 +92,7 @@ import org.dspace.content.Relationship;
 import org.dspace.content.RelationshipType;
 import org.dspace.content.WorkspaceItem;
 import org.dspace.content.service.CollectionService;
+import org.dspace.content.service.ItemService;
 import org.dspace.core.Constants;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
@@ -113,6 +118,9 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
     @Autowired
     private CollectionService collectionService;
 
+    @Autowired
+    private ItemService itemService;
+
     @Autowired
     private OrcidQueueService orcidQueueService;
 
@@ -425,6 +433,97 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
                 .andExpect(jsonPath("$", publicItem1Matcher));
     }
 
+    @Test
+    public void findOneConditionalTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1").build();
+        Item publicItem1 = ItemBuilder.createItem(context, col1).withTitle("Public item 1").build();
+        context.restoreAuthSystemState();
+
+        String etag = getClient().perform(get("/api/core/items/" + publicItem1.getID()))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().string("ETag", startsWith("W/")))
+                                 .andReturn().getResponse().getHeader("ETag");
+
+        // The unchanged item isn't returned again
+        getClient().perform(get("/api/core/items/" + publicItem1.getID()).header("If-None-Match", etag))
+                   .andExpect(status().isNotModified())
+                   .andExpect(content().string(""));
+
+        // The response of another user may differ
+        String token = getAuthToken(admin.getEmail(), password);
+        getClient(token).perform(get("/api/core/items/" + publicItem1.getID()).header("If-None-Match", etag))
+                        .andExpect(status().isOk())
+                        .andExpect(header().string("ETag", not(etag)));
+
+        // Embeds aren't checked, as the embedded resources may have changed
+        getClient().perform(get("/api/core/items/" + publicItem1.getID()).param("embed", "owningCollection")
+                                                                          .header("If-None-Match", etag))
+                   .andExpect(status().isOk());
+
+        // The modified item is returned again
+        context.turnOffAuthorisationSystem();
+        publicItem1 = context.reloadEntity(publicItem1);
+        itemService.addMetadata(context, publicItem1, "dc", "subject", null, null, "Modified");
+        itemService.update(context, publicItem1);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/api/core/items/" + publicItem1.getID()).header("If-None-Match", etag))
+                   .andExpect(status().isOk())
+                   .andExpect(header().string("ETag", not(etag)))
+                   .andExpect(jsonPath("$.metadata['dc.subject'][0].value", is("Modified")));
+    }
+
+    @Test
+    public void findOneConditionalWithRelatedItemTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context).withName("Parent Community").build();
+        Collection persons = CollectionBuilder.createCollection(context, parentCommunity).withName("Persons")
+                                              .withEntityType("Person").build();
+        Collection publications = CollectionBuilder.createCollection(context, parentCommunity)
+                                                   .withName("Publications").withEntityType("Publication").build();
+        author1 = ItemBuilder.createItem(context, persons)
+                             .withTitle("Author1")
+                             .withPersonIdentifierLastName("Smith")
+                             .withPersonIdentifierFirstName("Donald")
+                             .build();
+        publication1 = ItemBuilder.createItem(context, publications).withTitle("Publication1").build();
+        context.restoreAuthSystemState();
+
+        String etag = getClient().perform(get("/api/core/items/" + publication1.getID()))
+                                 .andExpect(status().isOk())
+                                 .andReturn().getResponse().getHeader("ETag");
+
+        context.turnOffAuthorisationSystem();
+        EntityType publication = EntityTypeBuilder.createEntityTypeBuilder(context, "Publication").build();
+        EntityType person = EntityTypeBuilder.createEntityTypeBuilder(context, "Person").build();
+        isAuthorOfPublication = RelationshipTypeBuilder
+            .createRelationshipTypeBuilder(context, publication, person, "isAuthorOfPublication",
+                "isPublicationOfAuthor", 0, null, 0, null).build();
+        RelationshipBuilder.createRelationshipBuilder(context, publication1, author1, isAuthorOfPublication).build();
+        context.restoreAuthSystemState();
+
+        // The virtual metadata of the item change with the related item, so the item has no ETag
+        getClient().perform(get("/api/core/items/" + publication1.getID()).header("If-None-Match", etag))
+                   .andExpect(status().isOk())
+                   .andExpect(header().doesNotExist("ETag"))
+                   .andExpect(jsonPath("$.metadata['dc.contributor.author'][0].value", is("Smith, Donald")));
+
+        // Editing the related item changes the item
+        context.turnOffAuthorisationSystem();
+        author1 = context.reloadEntity(author1);
+        itemService.replaceMetadata(context, author1, "person", "familyName", null, null, "Doe", null, -1, 0);
+        itemService.update(context, author1);
+        context.commit();
+        context.restoreAuthSystemState();
+
+        getClient().perform(get("/api/core/items/" + publication1.getID()).header("If-None-Match", etag))
+                   .andExpect(status().isOk())
+                   .andExpect(jsonPath("$.metadata['dc.contributor.author'][0].value", is("Doe, Donald")));
+    }
+
     @Test
     public void findOneWithdrawnAsCollectionAdminTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -4782,6 +4881,53 @@ public class ItemRestRepositoryIT extends AbstractControllerIntegrationTest {
                    .andExpect(jsonPath("$.embargoDate", notNullValue()));
     }
 
+    @Test
+    public void findAllWithEmbeddedThumbnailAndAccessStatusTest() throws Exception {
+        context.turnOffAuthorisationSystem();
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection owningCollection = CollectionBuilder.createCollection(context, parentCommunity)
+                                                       .withName("Owning Collection")
+                                                       .build();
+        Item itemWithFiles = ItemBuilder.createItem(context, owningCollection)
+                                        .withTitle("Item with files")
+                                        .build();
+        Bundle originalBundle = BundleBuilder.createBundle(context, itemWithFiles)
+                                             .withName(Constants.DEFAULT_BUNDLE_NAME)
+                                             .build();
+        BitstreamBuilder.createBitstream(context, originalBundle, IOUtils.toInputStream("dummy", "utf-8"))
+                        .withName("test.pdf")
+                        .withMimeType("application/pdf")
+                        .withEmbargoPeriod(Period.ofMonths(6))
+                        .build();
+        Bundle thumbnailBundle = BundleBuilder.createBundle(context, itemWithFiles)
+                                              .withName("THUMBNAIL")
+                                              .build();
+        BitstreamBuilder.createBitstream(context, thumbnailBundle, IOUtils.toInputStream("thumbnail", "utf-8"))
+                        .withName("test.pdf.jpg")
+                        .withMimeType("image/jpeg")
+                        .build();
+        Item itemWithoutFiles = ItemBuilder.createItem(context, owningCollection)
+                                           .withTitle("Item without files")
+                                           .build();
+        context.restoreAuthSystemState();
+
+        // the embeds of the page are fetched at once, and must match those of each item on its own
+        String token = getAuthToken(admin.getEmail(), password);
+        String withFiles = "$._embedded.items[?(@.uuid == '" + itemWithFiles.getID() + "')]";
+        String withoutFiles = "$._embedded.items[?(@.uuid == '" + itemWithoutFiles.getID() + "')]";
+        getClient(token).perform(get("/api/core/items").param("embed", "thumbnail", "accessStatus"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath(withFiles + "._embedded.thumbnail.name", hasItem("test.pdf.jpg")))
+                        .andExpect(jsonPath(withFiles + "._embedded.accessStatus.status",
+                                            hasItem(DefaultAccessStatusHelper.EMBARGO)))
+                        .andExpect(jsonPath(withFiles + "._embedded.accessStatus.embargoDate",
+                                            hasItem(notNullValue())))
+                        .andExpect(jsonPath(withoutFiles + "._embedded.accessStatus.status",
+                                            hasItem(DefaultAccessStatusHelper.METADATA_ONLY)));
+    }
+
     @Test
     public void findSubmitterByAdminTest() throws Exception {
         context.turnOffAuthorisationSystem();
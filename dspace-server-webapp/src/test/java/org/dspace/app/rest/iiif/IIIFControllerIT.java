@@ -8,6 +8,8 @@
 package org.dspace.app.rest.iiif;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -36,6 +38,8 @@ import org.dspace.content.Item;
 import org.dspace.content.service.ItemService;
 import org.dspace.eperson.EPerson;
 import org.dspace.eperson.Group;
+import org.dspace.iiif.ManifestStoreService;
+import org.dspace.iiif.ManifestStoreService.StoredManifest;
 import org.dspace.services.ConfigurationService;
 import org.hamcrest.Matchers;
 import org.junit.Test;
@@ -51,6 +55,9 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
     @Autowired
     private ConfigurationService configurationService;
 
+    @Autowired
+    private ManifestStoreService manifestStoreService;
+
     @Test
     public void disabledTest() throws Exception {
         context.turnOffAuthorisationSystem();
@@ -1400,6 +1407,66 @@ public class IIIFControllerIT extends AbstractControllerIntegrationTest {
                    .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
     }
 
+    @Test
+    public void findOneFromManifestStoreWithETag() throws Exception {
+        String patchRequestBody =
+                "[{\"op\": \"replace\",\"path\": \"/metadata/dc.title/0/value\",\"value\": \"Public item (revised)\"}]";
+
+        context.turnOffAuthorisationSystem();
+
+        parentCommunity = CommunityBuilder.createCommunity(context)
+                                          .withName("Parent Community")
+                                          .build();
+        Collection col1 = CollectionBuilder.createCollection(context, parentCommunity).withName("Collection 1")
+                                           .build();
+
+        Item publicItem1 = ItemBuilder.createItem(context, col1)
+                                      .withTitle("Public item 1")
+                                      .withIssueDate("2017-10-17")
+                                      .enableIIIF()
+                                      .build();
+
+        String bitstreamContent = "ThisIsSomeDummyText";
+        try (InputStream is = IOUtils.toInputStream(bitstreamContent, CharEncoding.UTF_8)) {
+            BitstreamBuilder
+                .createBitstream(context, publicItem1, is)
+                .withName("Bitstream1.jpg")
+                .withMimeType("image/jpeg")
+                .build();
+        }
+
+        context.restoreAuthSystemState();
+
+        String etag = getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest"))
+                                 .andExpect(status().isOk())
+                                 .andExpect(header().exists("ETag"))
+                                 .andExpect(jsonPath("$.metadata[0].value", is("Public item 1")))
+                                 .andReturn().getResponse().getHeader("ETag");
+
+        // The rendered manifest is stored, with the same ETag.
+        StoredManifest storedManifest = manifestStoreService.get(publicItem1.getID());
+        assertNotNull(storedManifest);
+        assertEquals(etag, "\"" + storedManifest.etag() + "\"");
+
+        getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest")
+                                .header("If-None-Match", etag))
+                   .andExpect(status().isNotModified());
+
+        String token = getAuthToken(admin.getEmail(), password);
+
+        // The Item update removes the stored manifest, and the manifest is rendered again with a new ETag.
+        getClient(token).perform(patch("/api/core/items/" + publicItem1.getID())
+                                .content(patchRequestBody)
+                                .contentType(MediaType.APPLICATION_JSON_PATCH_JSON))
+                        .andExpect(status().isOk());
+
+        getClient().perform(get("/iiif/" + publicItem1.getID() + "/manifest")
+                                .header("If-None-Match", etag))
+                   .andExpect(status().isOk())
+                   .andExpect(header().string("ETag", Matchers.not(etag)))
+                   .andExpect(jsonPath("$.metadata[0].value", is("Public item (revised)")));
+    }
+
     @Test
     public void setDefaultCanvasDimensionCustomBundle() throws Exception {
 
@@ -9,6 +9,8 @@ package org.dspace.app.rest.security.jwt;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.text.ParseException;
@@ -153,4 +155,38 @@ public class JWTTokenHandlerTest {
         assertEquals(null, parsed);
     }
 
+    @Test
+    public void testVerifiedTokenIsRemembered() throws Exception {
+        when(configurationService.getLongProperty(JWTTokenHandler.CACHE_TTL_PROPERTY, 60)).thenReturn(60L);
+        when(configurationService.getIntProperty(JWTTokenHandler.CACHE_MAX_ENTRIES_PROPERTY, 10000))
+            .thenReturn(10000);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        // the token is only verified once, but its claims are parsed for each request
+        verify(loginJWTTokenHandler, times(1)).isValidToken(any(), any(), any(), any());
+        verify(ePersonClaimProvider, times(2)).parseClaim(any(), any(), any());
+    }
+
+    @Test
+    public void testRememberedTokenIsVerifiedAgainAfterNewSession() throws Exception {
+        when(configurationService.getLongProperty(JWTTokenHandler.CACHE_TTL_PROPERTY, 60)).thenReturn(60L);
+        when(configurationService.getIntProperty(JWTTokenHandler.CACHE_MAX_ENTRIES_PROPERTY, 10000))
+            .thenReturn(10000);
+        when(ePersonClaimProvider.getEPerson(any(Context.class), any(JWTClaimsSet.class))).thenReturn(ePerson);
+        Instant previous = Instant.now().minus(10000000000L, ChronoUnit.MILLIS);
+        String token = loginJWTTokenHandler
+            .createTokenForEPerson(context, new MockHttpServletRequest(), previous);
+        assertEquals(ePerson, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+
+        // a new session salt makes the remembered token invalid
+        when(ePerson.getSessionSalt()).thenReturn("abcdefghijabcdefghijabcdefghijab");
+        assertEquals(null, loginJWTTokenHandler.parseEPersonFromToken(token, httpServletRequest, context));
+        verify(loginJWTTokenHandler, times(2)).isValidToken(any(), any(), any(), any());
+    }
+
 }
@@ -21,15 +21,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.configuration2.CombinedConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.ConfigurationConverter;
 import org.apache.commons.configuration2.HierarchicalConfiguration;
 import org.apache.commons.configuration2.builder.ConfigurationBuilderEvent;
+import org.apache.commons.configuration2.builder.ConfigurationBuilderResultCreatedEvent;
 import org.apache.commons.configuration2.builder.combined.ReloadingCombinedConfigurationBuilder;
 import org.apache.commons.configuration2.builder.fluent.Parameters;
 import org.apache.commons.configuration2.convert.DefaultListDelimiterHandler;
+import org.apache.commons.configuration2.event.ConfigurationEvent;
 import org.apache.commons.configuration2.event.Event;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.apache.commons.configuration2.tree.ImmutableNode;
@@ -42,6 +46,12 @@ import org.springframework.core.io.ClassPathResource;
 /**
  * The central DSpace configuration service. Uses Apache Commons Configuration
  * to provide the ability to reload Property files.
+ * <P>
+ * The (interpolated) values of the properties are converted to simple types
+ * once and kept until the configuration changes, so that they can be read
+ * concurrently without locking nor going through the Configuration object,
+ * which isn't thread-safe. Any change to the Configuration (including a
+ * reload) discards all converted values at once.
  *
  * @author Tim Donohue (rewrote to use Apache Commons Config
  * @author Aaron Zeckoski
@@ -70,6 +80,24 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     // Configuration list delimiter. Configurations with this character will be split into arrays
     public static final char CONFIG_LIST_DELIMITER = ',';
 
+    // How often (in ms) reads of converted values check for the automatic reloading of configuration files
+    private static final long RELOAD_CHECK_INTERVAL = 1_000;
+
+    // Maximum number of converted values, to bound the memory used when property names are generated
+    private static final int MAX_CONVERTED_VALUES = 10_000;
+
+    // Marks a property which doesn't exist in the converted values
+    private static final Object ABSENT = new Object();
+
+    // Marks a property whose value is null in the converted values
+    private static final Object NULL = new Object();
+
+    // Types whose converted values are immutable (or, for arrays, copied), so they can be shared between readers
+    private static final Set<Class<?>> CONVERTED_TYPES = Set.of(
+        Object.class, String.class, String[].class, Boolean.class, boolean.class, Integer.class, int.class,
+        Long.class, long.class, Double.class, double.class, Float.class, float.class, Short.class, short.class,
+        Byte.class, byte.class, BigDecimal.class, BigInteger.class);
+
     // Current ConfigurationBuilder
     // NOTE: we only cache the "builder", as it controls when a configuration is automatically reloaded
     private ReloadingCombinedConfigurationBuilder configurationBuilder = null;
@@ -80,6 +108,13 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     // Current Configuration Definition File
     private String configDefinition = null;
 
+    // Values of the properties, by name and type, converted from the current Configuration.
+    // Replaced by an empty map whenever the Configuration changes.
+    private volatile Map<ConvertedValueKey, Object> convertedValues = new ConcurrentHashMap<>();
+
+    // Next time (in ms) at which the configuration files are checked for automatic reloading
+    private volatile long nextReloadCheck = 0;
+
     /**
      * Initializes a ConfigurationService based on default values. The DSpace
      * Home directory is determined based on system properties / searching.
@@ -200,7 +235,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      * @see org.dspace.services.ConfigurationService#getProperty(java.lang.String)
      */
     @Override
-    public synchronized String getProperty(String name) {
+    public String getProperty(String name) {
         return getProperty(name, null);
     }
 
@@ -211,7 +246,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      * @see org.dspace.services.ConfigurationService#getProperty(java.lang.String, java.lang.String)
      */
     @Override
-    public synchronized String getProperty(String name, String defaultValue) {
+    public String getProperty(String name, String defaultValue) {
         return getPropertyAsType(name, defaultValue);
     }
 
@@ -316,7 +351,15 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      */
     @Override
     public <T> T getPropertyAsType(String name, Class<T> type) {
-        return convert(name, type);
+        if (!CONVERTED_TYPES.contains(type)) {
+            return convert(name, type);
+        }
+        Object value = getConvertedValue(name, type);
+        if (value == ABSENT) {
+            // Special case. For booleans, return false if key doesn't exist
+            return Boolean.class.equals(type) || boolean.class.equals(type) ? (T) Boolean.FALSE : null;
+        }
+        return (T) value;
     }
 
     /* (non-Javadoc)
@@ -333,17 +376,6 @@ public final class DSpaceConfigurationService implements ConfigurationService {
     @Override
     public <T> T getPropertyAsType(String name, T defaultValue, boolean setDefaultIfNotFound) {
 
-        // If this key doesn't exist, immediately return a value
-        if (!hasProperty(name)) {
-            // if flag is set, save the default value as the new value for this property
-            if (setDefaultIfNotFound) {
-                setProperty(name, defaultValue);
-            }
-
-            // Either way, return our default value as if it was the setting
-            return defaultValue;
-        }
-
         // Avoid NPE. If null defaultValue passed in, assume Object class
         Class type = Object.class;
         if (defaultValue != null) {
@@ -351,7 +383,23 @@ public final class DSpaceConfigurationService implements ConfigurationService {
             type = defaultValue.getClass();
         }
 
-        return (T) convert(name, type);
+        if (CONVERTED_TYPES.contains(type)) {
+            Object value = getConvertedValue(name, type);
+            if (value != ABSENT) {
+                return (T) value;
+            }
+        } else if (hasProperty(name)) {
+            return (T) convert(name, type);
+        }
+
+        // This key doesn't exist
+        // if flag is set, save the default value as the new value for this property
+        if (setDefaultIfNotFound) {
+            setProperty(name, defaultValue);
+        }
+
+        // Either way, return our default value as if it was the setting
+        return defaultValue;
     }
 
 
@@ -362,11 +410,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
      */
     @Override
     public boolean hasProperty(String name) {
-        if (getConfiguration().containsKey(name)) {
-            return true;
-        } else {
-            return false;
-        }
+        return getConvertedValue(name, null) != ABSENT;
     }
 
     @Override
@@ -537,6 +581,19 @@ public final class DSpaceConfigurationService implements ConfigurationService {
                                  .setFile(new File(this.configDefinition))
                                  .setListDelimiterHandler(listDelimiterHandler));
 
+            // Discard the converted values whenever the Configuration is (re)created or changed
+            this.configurationBuilder.addEventListener(ConfigurationBuilderEvent.RESET,
+                (ConfigurationBuilderEvent e) -> clearConvertedValues());
+            this.configurationBuilder.addEventListener(ConfigurationBuilderResultCreatedEvent.RESULT_CREATED,
+                (ConfigurationBuilderResultCreatedEvent e) -> {
+                    e.getConfiguration().addEventListener(ConfigurationEvent.ANY, (ConfigurationEvent ce) -> {
+                        if (!ce.isBeforeUpdate()) {
+                            clearConvertedValues();
+                        }
+                    });
+                    clearConvertedValues();
+                });
+
             // Parse our configuration definition and initialize resulting Configuration
             this.configurationBuilder.getConfiguration();
 
@@ -584,6 +641,7 @@ public final class DSpaceConfigurationService implements ConfigurationService {
             log.error("Unable to reload configurations based on definition at {}",
                     this.configDefinition, ce);
         }
+        clearConvertedValues();
         log.info("Reloaded configuration service: {}", this::toString);
     }
 
@@ -720,6 +778,68 @@ public final class DSpaceConfigurationService implements ConfigurationService {
         return catalina;
     }
 
+    /**
+     * Get the value of a given property converted to a simple type, from the
+     * converted values of the current Configuration. The value is converted
+     * (under lock, as the Configuration isn't thread-safe) the first time it's
+     * requested after a change of the Configuration.
+     *
+     * @param name Key of the property
+     * @param type one of the {@link #CONVERTED_TYPES}, or null to only check whether the property exists
+     * @return converted value (true when type is null), or {@link #ABSENT} if the property doesn't exist
+     */
+    private Object getConvertedValue(String name, Class<?> type) {
+        long now = System.currentTimeMillis();
+        if (now >= nextReloadCheck) {
+            nextReloadCheck = now + RELOAD_CHECK_INTERVAL;
+            // requesting the Configuration from the builder checks the reloadable files for updates
+            getConfiguration();
+        }
+
+        Map<ConvertedValueKey, Object> values = convertedValues;
+        ConvertedValueKey key = new ConvertedValueKey(name, type);
+        Object value = values.get(key);
+        if (value == null) {
+            synchronized (this) {
+                if (!getConfiguration().containsKey(name)) {
+                    value = ABSENT;
+                } else if (type == null) {
+                    value = Boolean.TRUE;
+                } else {
+                    value = convert(name, type);
+                    if (value == null) {
+                        value = NULL;
+                    }
+                }
+            }
+            if (values.size() >= MAX_CONVERTED_VALUES) {
+                values.clear();
+            }
+            // if the Configuration changed meanwhile, this only updates the discarded values
+            values.put(key, value);
+        }
+
+        if (value == NULL) {
+            return null;
+        } else if (value instanceof String[]) {
+            return ((String[]) value).clone();
+        }
+        return value;
+    }
+
+    /**
+     * Discard all converted values, as the Configuration changed.
+     */
+    private void clearConvertedValues() {
+        convertedValues = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Name and type of a converted value
+     */
+    private record ConvertedValueKey(String name, Class<?> type) {
+    }
+
     /**
      * Convert the value of a given property to a specific object type.
      * <P>
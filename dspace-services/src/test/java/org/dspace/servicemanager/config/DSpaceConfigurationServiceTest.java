@@ -17,10 +17,15 @@ import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.apache.commons.configuration2.HierarchicalConfiguration;
@@ -439,6 +444,69 @@ public class DSpaceConfigurationServiceTest {
 
     }
 
+    /**
+     * Test that changes made directly to the Configuration object are seen by the property getters.
+     */
+    @Test
+    public void testChangeThroughConfiguration() {
+        assertEquals("This is key1=This is a value", configurationService.getProperty("test.key2"));
+        assertEquals(123, configurationService.getIntProperty("sample.number"));
+
+        configurationService.getConfiguration().setProperty("test.key1", "Another value");
+        configurationService.getConfiguration().setProperty("sample.number", "456");
+
+        assertEquals("This is key1=Another value", configurationService.getProperty("test.key2"));
+        assertEquals(456, configurationService.getIntProperty("sample.number"));
+
+        configurationService.getConfiguration().clearProperty("sample.number");
+
+        assertFalse(configurationService.hasProperty("sample.number"));
+        assertEquals(7, configurationService.getIntProperty("sample.number", 7));
+    }
+
+    /**
+     * Test that the arrays returned by getArrayProperty() can be changed by the caller.
+     */
+    @Test
+    public void testGetArrayPropertyReturnsCopy() {
+        String[] array = configurationService.getArrayProperty("sample.array");
+        array[0] = "changed";
+
+        assertEquals("itemA", configurationService.getArrayProperty("sample.array")[0]);
+    }
+
+    /**
+     * Test reading properties from many threads while they're changed.
+     */
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                readers.add(executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        int number = configurationService.getIntProperty("sample.number");
+                        assertTrue(number == 123 || number == 456);
+                        assertEquals("DSpace", configurationService.getProperty("service.name"));
+                        assertTrue(configurationService.getBooleanProperty("sample.boolean"));
+                    }
+                }));
+            }
+            for (int i = 0; i < 1_000; i++) {
+                configurationService.setProperty("sample.number", i % 2 == 0 ? "456" : "123");
+            }
+            for (Future<?> reader : readers) {
+                reader.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        configurationService.setProperty("sample.number", "789");
+        assertEquals(789, configurationService.getIntProperty("sample.number"));
+    }
+
     /**
      * Test method for {@link org.dspace.servicemanager.config.DSpaceConfigurationService#getConfiguration()}.
      */